@@ -0,0 +1,393 @@
+package com.intuit.producerconsumer.jmh;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import com.intuit.producerconsumer.ConditionSharedBuffer;
+import com.intuit.producerconsumer.SharedBuffer;
+import com.intuit.producerconsumer.StripedBuffer;
+import com.intuit.producerconsumer.ringbuffer.MpmcRingBuffer;
+import com.intuit.producerconsumer.ringbuffer.SpscRingBuffer;
+import com.intuit.producerconsumer.workstealing.WorkStealingBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Control;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * JMH benchmark moving items through every buffer implementation at
+ * 1:1, 1:N, N:1 and N:M producer:consumer thread counts (N = M = 4).
+ * 
+ * Each JMH group runs producer threads and consumer threads against one
+ * shared buffer. Throughput mode reports operations per microsecond per
+ * side; SampleTime mode reports the latency distribution of a single
+ * produce or consume call (p50 ... p99.99).
+ * 
+ * Two flavours of every group:
+ * - oneToOne, oneToMany, ...: retry offer()/poll() (spin, then yield), the
+ *   path of lock-free callers that never park
+ * - oneToOneBlocking, ...: call produce()/consume() and wait inside the
+ *   buffer, the path the Producer and Consumer runnables use
+ * When JMH ends an iteration one side stops first, and a thread blocked on
+ * the other side would hang the run. So the first thread that sees the
+ * measurement end closes the buffer, which wakes the rest; every iteration
+ * gets a fresh buffer. Give the run at least as many cores as threads (8
+ * for N:M).
+ * 
+ * The 1:1 groups also run the single-producer/single-consumer ring (spsc),
+ * which the other groups cannot use.
+ * 
+ * Run (after mvn install of the main project and mvn package here):
+ *   java -jar target/benchmarks.jar -rf json -rff results.json
+ *   java -jar target/benchmarks.jar manyToMany -p type=shared,stealing -p capacity=1024
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferBenchmark {
+    // Preallocated item: measure the buffer, not boxing
+    private static final Integer ITEM = 42;
+    
+    // Failed offer()/poll() retries before yielding the core
+    private static final int SPIN_TRIES = 64;
+    
+    /**
+     * Common part of the group states: builds the buffer and hands out the
+     * per-thread views.
+     */
+    abstract static class GroupBuffers {
+        BoundedBuffer<Integer> buffer;
+        
+        void create(String type, int capacity, BenchmarkParams params) {
+            int producers = threadCount(params, true);
+            int consumers = threadCount(params, false);
+            switch (type) {
+                case "spsc":
+                    buffer = new SpscRingBuffer<>(capacity);
+                    break;
+                case "shared":
+                    buffer = new SharedBuffer<>(capacity);
+                    break;
+                case "condition":
+                    buffer = new ConditionSharedBuffer<>(capacity);
+                    break;
+                case "arrayblockingqueue":
+                    buffer = new QueueBuffer<>(new ArrayBlockingQueue<>(capacity));
+                    break;
+                case "linkedblockingqueue":
+                    buffer = new QueueBuffer<>(new LinkedBlockingQueue<>(capacity));
+                    break;
+                case "mpmc":
+                    buffer = new MpmcRingBuffer<>(capacity);
+                    break;
+                case "striped":
+                    buffer = new StripedBuffer<>(capacity, producers);
+                    break;
+                case "stealing":
+                    buffer = new WorkStealingBuffer<>(capacity, consumers);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown buffer type: " + type);
+            }
+        }
+        
+        /**
+         * Returns the view one thread should use: its own lane (striped
+         * producers) or its own deque (work-stealing consumers), otherwise
+         * the buffer itself.
+         */
+        BoundedBuffer<Integer> viewFor(BenchmarkParams params, ThreadParams thread) {
+            boolean producer = isProducerSubgroup(params, thread.getSubgroupIndex());
+            int index = thread.getSubgroupThreadIndex();
+            if (producer && buffer instanceof StripedBuffer) {
+                return ((StripedBuffer<Integer>) buffer).lane(index);
+            }
+            if (!producer && buffer instanceof WorkStealingBuffer) {
+                return ((WorkStealingBuffer<Integer>) buffer).worker(index);
+            }
+            return buffer;
+        }
+    }
+    
+    /**
+     * The buffer shared by all threads of one group.
+     */
+    @State(Scope.Group)
+    public static class Buffers extends GroupBuffers {
+        // spsc is left out: it supports only the 1:1 groups (see PairBuffers)
+        @Param({"shared", "condition", "arrayblockingqueue", "linkedblockingqueue", "mpmc", "striped", "stealing"})
+        public String type;
+        
+        @Param({"16", "1024"})
+        public int capacity;
+        
+        // Per iteration: the blocking groups close the buffer when an iteration ends
+        @Setup(Level.Iteration)
+        public void setUp(BenchmarkParams params) {
+            create(type, capacity, params);
+        }
+    }
+    
+    /**
+     * The buffer of a 1:1 group: every type plus spsc.
+     */
+    @State(Scope.Group)
+    public static class PairBuffers extends GroupBuffers {
+        @Param({"spsc", "shared", "condition", "arrayblockingqueue", "linkedblockingqueue", "mpmc", "striped", "stealing"})
+        public String type;
+        
+        @Param({"16", "1024"})
+        public int capacity;
+        
+        @Setup(Level.Iteration)
+        public void setUp(BenchmarkParams params) {
+            create(type, capacity, params);
+        }
+    }
+    
+    /**
+     * Per-thread view of the group's buffer.
+     */
+    @State(Scope.Thread)
+    public static class Endpoint {
+        BoundedBuffer<Integer> view;
+        
+        @Setup(Level.Iteration)
+        public void setUp(Buffers buffers, BenchmarkParams params, ThreadParams thread) {
+            view = buffers.viewFor(params, thread);
+        }
+    }
+    
+    /**
+     * Per-thread view of a 1:1 group's buffer.
+     */
+    @State(Scope.Thread)
+    public static class PairEndpoint {
+        BoundedBuffer<Integer> view;
+        
+        @Setup(Level.Iteration)
+        public void setUp(PairBuffers buffers, BenchmarkParams params, ThreadParams thread) {
+            view = buffers.viewFor(params, thread);
+        }
+    }
+    
+    @Benchmark
+    @Group("oneToOne")
+    @GroupThreads(1)
+    public void oneToOneProduce(PairEndpoint endpoint, Control control) {
+        produce(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("oneToOne")
+    @GroupThreads(1)
+    public Integer oneToOneConsume(PairEndpoint endpoint, Control control) {
+        return consume(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("oneToMany")
+    @GroupThreads(1)
+    public void oneToManyProduce(Endpoint endpoint, Control control) {
+        produce(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("oneToMany")
+    @GroupThreads(4)
+    public Integer oneToManyConsume(Endpoint endpoint, Control control) {
+        return consume(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("manyToOne")
+    @GroupThreads(4)
+    public void manyToOneProduce(Endpoint endpoint, Control control) {
+        produce(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("manyToOne")
+    @GroupThreads(1)
+    public Integer manyToOneConsume(Endpoint endpoint, Control control) {
+        return consume(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("manyToMany")
+    @GroupThreads(4)
+    public void manyToManyProduce(Endpoint endpoint, Control control) {
+        produce(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("manyToMany")
+    @GroupThreads(4)
+    public Integer manyToManyConsume(Endpoint endpoint, Control control) {
+        return consume(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("oneToOneBlocking")
+    @GroupThreads(1)
+    public void oneToOneBlockingProduce(PairEndpoint endpoint, Control control) throws InterruptedException {
+        produceBlocking(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("oneToOneBlocking")
+    @GroupThreads(1)
+    public Integer oneToOneBlockingConsume(PairEndpoint endpoint, Control control) throws InterruptedException {
+        return consumeBlocking(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("oneToManyBlocking")
+    @GroupThreads(1)
+    public void oneToManyBlockingProduce(Endpoint endpoint, Control control) throws InterruptedException {
+        produceBlocking(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("oneToManyBlocking")
+    @GroupThreads(4)
+    public Integer oneToManyBlockingConsume(Endpoint endpoint, Control control) throws InterruptedException {
+        return consumeBlocking(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("manyToOneBlocking")
+    @GroupThreads(4)
+    public void manyToOneBlockingProduce(Endpoint endpoint, Control control) throws InterruptedException {
+        produceBlocking(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("manyToOneBlocking")
+    @GroupThreads(1)
+    public Integer manyToOneBlockingConsume(Endpoint endpoint, Control control) throws InterruptedException {
+        return consumeBlocking(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("manyToManyBlocking")
+    @GroupThreads(4)
+    public void manyToManyBlockingProduce(Endpoint endpoint, Control control) throws InterruptedException {
+        produceBlocking(endpoint.view, control);
+    }
+    
+    @Benchmark
+    @Group("manyToManyBlocking")
+    @GroupThreads(4)
+    public Integer manyToManyBlockingConsume(Endpoint endpoint, Control control) throws InterruptedException {
+        return consumeBlocking(endpoint.view, control);
+    }
+    
+    private static void produce(BoundedBuffer<Integer> buffer, Control control) {
+        int attempt = 0;
+        while (!buffer.offer(ITEM)) {
+            if (control.stopMeasurement) {
+                return;
+            }
+            attempt = idle(attempt);
+        }
+    }
+    
+    private static Integer consume(BoundedBuffer<Integer> buffer, Control control) {
+        int attempt = 0;
+        Integer item;
+        while ((item = buffer.poll()) == null) {
+            if (control.stopMeasurement) {
+                return null;
+            }
+            attempt = idle(attempt);
+        }
+        return item;
+    }
+    
+    /**
+     * Blocking produce(). Once the measurement has ended the first caller
+     * closes the buffer, which wakes every thread still waiting in it.
+     */
+    private static void produceBlocking(BoundedBuffer<Integer> buffer, Control control) throws InterruptedException {
+        if (control.stopMeasurement) {
+            buffer.close();
+            return;
+        }
+        try {
+            buffer.produce(ITEM);
+        } catch (IllegalStateException e) {
+            // Closed by a thread that saw the end of the iteration
+        }
+    }
+    
+    /**
+     * Blocking consume(); returns null once the buffer has been closed at
+     * the end of the iteration.
+     */
+    private static Integer consumeBlocking(BoundedBuffer<Integer> buffer, Control control) throws InterruptedException {
+        if (control.stopMeasurement) {
+            buffer.close();
+            return null;
+        }
+        return buffer.consume();
+    }
+    
+    /**
+     * Spins briefly, then yields so that oversubscribed runs (more threads
+     * than cores) still make progress.
+     */
+    private static int idle(int attempt) {
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+            return attempt + 1;
+        }
+        Thread.yield();
+        return attempt;
+    }
+    
+    /**
+     * Returns the number of producer or consumer threads of the running group.
+     */
+    private static int threadCount(BenchmarkParams params, boolean producers) {
+        int[] counts = params.getThreadGroups();
+        int subgroup = 0;
+        for (String label : params.getThreadGroupLabels()) {
+            if (isProducerLabel(label) == producers) {
+                return counts[subgroup];
+            }
+            subgroup++;
+        }
+        throw new IllegalStateException("No " + (producers ? "producer" : "consumer") + " threads");
+    }
+    
+    private static boolean isProducerSubgroup(BenchmarkParams params, int subgroupIndex) {
+        int subgroup = 0;
+        for (String label : params.getThreadGroupLabels()) {
+            if (subgroup++ == subgroupIndex) {
+                return isProducerLabel(label);
+            }
+        }
+        throw new IllegalStateException("Unknown subgroup: " + subgroupIndex);
+    }
+    
+    private static boolean isProducerLabel(String label) {
+        return label.endsWith("Produce");
+    }
+}
@@ -0,0 +1,80 @@
+package com.intuit.producerconsumer.jmh;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts a java.util.concurrent BlockingQueue to BoundedBuffer so the JDK
+ * queues run through exactly the same benchmark code as our buffers.
+ * 
+ * The JDK queues have no close(), so produce()/consume() wait in short
+ * timed slices and re-check the closed flag between them: close() wakes a
+ * blocked thread within one slice, as the blocking benchmarks need at the
+ * end of every iteration.
+ */
+final class QueueBuffer<T> implements BoundedBuffer<T> {
+    // Longest a blocked produce()/consume() waits before re-checking close()
+    private static final long CLOSE_CHECK_MICROS = 100;
+    
+    private final BlockingQueue<T> queue;
+    private volatile boolean closed;
+    
+    QueueBuffer(BlockingQueue<T> queue) {
+        this.queue = queue;
+    }
+    
+    @Override
+    public void produce(T item) throws InterruptedException {
+        while (!closed) {
+            if (queue.offer(item, CLOSE_CHECK_MICROS, TimeUnit.MICROSECONDS)) {
+                return;
+            }
+        }
+        throw new IllegalStateException("Buffer is closed");
+    }
+    
+    @Override
+    public T consume() throws InterruptedException {
+        while (true) {
+            T item = queue.poll(CLOSE_CHECK_MICROS, TimeUnit.MICROSECONDS);
+            if (item != null) {
+                return item;
+            }
+            if (closed) {
+                // End of stream once drained
+                return queue.poll();
+            }
+        }
+    }
+    
+    @Override
+    public boolean offer(T item) {
+        return queue.offer(item);
+    }
+    
+    @Override
+    public T poll() {
+        return queue.poll();
+    }
+    
+    @Override
+    public void close() {
+        closed = true;
+    }
+    
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    @Override
+    public int size() {
+        return queue.size();
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+}
@@ -0,0 +1,56 @@
+#!/bin/bash
+
+################################################################################
+# Primitive Buffer Generator
+# Generates the Int/Long/Double variants of the primitive package from the
+# templates in src/main/templates/primitive. Edit the templates, then run
+# this script; never edit the generated files directly.
+#
+# Usage: ./generate-primitives.sh          regenerate all variants
+#        ./generate-primitives.sh --check  fail if a variant is out of date
+################################################################################
+
+set -e  # Exit on any error
+
+cd "$(dirname "$0")"
+
+TEMPLATE_DIR="src/main/templates/primitive"
+TARGET_DIR="src/main/java/com/intuit/producerconsumer/primitive"
+
+# Type name : primitive type : boxed type
+# Template placeholders: @Type@, @type@, @Boxed@ and @Pad@ (spaces as wide as @Type@)
+TYPES=("Int:int:Integer" "Long:long:Long" "Double:double:Double")
+
+CHECK=false
+if [ "$1" = "--check" ]; then
+    CHECK=true
+fi
+
+STALE=0
+for template in "$TEMPLATE_DIR"/*.java.tmpl; do
+    base=$(basename "$template" .java.tmpl)
+    for entry in "${TYPES[@]}"; do
+        IFS=':' read -r type_name primitive boxed <<< "$entry"
+        target="$TARGET_DIR/${type_name}${base}.java"
+        # Spaces as wide as the type name, to align wrapped parameter lists
+        pad=$(printf '%*s' "${#type_name}" '')
+        generated=$(
+            echo "// Generated from $template by generate-primitives.sh - edit the template, not this file."
+            sed -e "s/@Type@/${type_name}/g" -e "s/@type@/${primitive}/g" -e "s/@Boxed@/${boxed}/g" -e "s/@Pad@/${pad}/g" "$template"
+        )
+        if [ "$CHECK" = true ]; then
+            if [ "$generated" != "$(cat "$target" 2>/dev/null)" ]; then
+                echo "Out of date: $target"
+                STALE=1
+            fi
+        else
+            echo "$generated" > "$target"
+            echo "Generated $target"
+        fi
+    done
+done
+
+if [ $STALE -ne 0 ]; then
+    echo "Run ./generate-primitives.sh to regenerate the primitive variants."
+    exit 1
+fi
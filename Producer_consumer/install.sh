@@ -49,14 +49,14 @@ if command -v java &> /dev/null; then
     JAVA_VERSION=$(java -version 2>&1 | awk -F '"' '/version/ {print $2}')
     print_success "Java found: $JAVA_VERSION"
     
-    # Check if Java version is 11 or higher
+    # Check if Java version is 21 or higher (virtual threads)
     JAVA_MAJOR_VERSION=$(echo $JAVA_VERSION | cut -d'.' -f1)
-    if [ "$JAVA_MAJOR_VERSION" -lt 11 ] && [ "$JAVA_MAJOR_VERSION" -ne 1 ]; then
-        print_error "Java 11 or higher is required. Current version: $JAVA_VERSION"
+    if [ "$JAVA_MAJOR_VERSION" -lt 21 ]; then
+        print_error "Java 21 or higher is required. Current version: $JAVA_VERSION"
         exit 1
     fi
 else
-    print_error "Java is not installed. Please install Java 11 or higher."
+    print_error "Java is not installed. Please install Java 21 or higher."
     echo "Download from: https://www.oracle.com/java/technologies/downloads/"
     exit 1
 fi
@@ -18,7 +18,7 @@ fi
 # Check if Java is installed
 if ! command -v java &> /dev/null; then
     echo "Error: Java is not installed or not in PATH"
-    echo "Please install Java JDK 11 or higher"
+    echo "Please install Java JDK 21 or higher"
     exit 1
 fi
 
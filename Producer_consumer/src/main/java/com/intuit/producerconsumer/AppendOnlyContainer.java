@@ -0,0 +1,71 @@
+package com.intuit.producerconsumer;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * AppendOnlyContainer is the contract shared by every thread-safe item store
+ * that consumers write into.
+ * 
+ * It covers appending and reading, but not removal, so a destination can be
+ * any implementation:
+ * - {@link Container}: synchronized list that also supports remove()
+ * - {@link ChunkedContainer}: lock-free, append-only chunked storage for
+ *   destinations written by many consumers at once
+ * 
+ * @param <T> Type of items held by the container
+ */
+public interface AppendOnlyContainer<T> {
+    
+    /**
+     * Add an item to the container.
+     * @param item Item to add to the container
+     */
+    void add(T item);
+    
+    /**
+     * Add all items to the container (in iteration order).
+     * @param newItems Items to add to the container
+     */
+    void addAll(Collection<? extends T> newItems);
+    
+    /**
+     * Get item at specific index.
+     * @param index Index of item to retrieve
+     * @return The item at specified index, or null if index is invalid
+     */
+    T get(int index);
+    
+    /**
+     * Get a copy of the items in the range [fromIndex, toIndex), clipped to
+     * the current size.
+     * @param fromIndex Index of the first item to read (inclusive)
+     * @param toIndex Index after the last item to read (exclusive)
+     * @return A new list containing the items in the range
+     */
+    List<T> getRange(int fromIndex, int toIndex);
+    
+    /**
+     * Returns the current number of items in the container.
+     * @return Current size of the container
+     */
+    int size();
+    
+    /**
+     * Checks if the container is empty.
+     * @return true if container is empty, false otherwise
+     */
+    boolean isEmpty();
+    
+    /**
+     * Returns a copy of all items in the container.
+     * @return A new list containing all items in this container
+     */
+    List<T> getAll();
+    
+    /**
+     * Returns the name of this container.
+     * @return Container name
+     */
+    String getName();
+}
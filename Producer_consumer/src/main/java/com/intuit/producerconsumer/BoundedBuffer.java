@@ -0,0 +1,120 @@
+package com.intuit.producerconsumer;
+
+import java.util.Collection;
+
+/**
+ * BoundedBuffer is the common contract shared by every buffer implementation
+ * that sits between a {@link Producer} and a {@link Consumer}.
+ * 
+ * Implementations differ in how they coordinate threads (monitor wait/notify,
+ * lock-free ring buffers, ...) but all of them honour the same semantics:
+ * - produce(): adds an item, BLOCKING while the buffer is full
+ * - consume(): removes the oldest item (FIFO), BLOCKING while the buffer is empty
+ * - offer()/poll(): non-blocking variants that fail fast instead of waiting
+ * - produceAll()/drainTo(): bulk variants that move many items per call
+ * - close(): end-of-stream - producers may no longer add items, consumers
+ *   drain what is left and then get null (consume) / 0 (drainTo)
+ * 
+ * @param <T> Type of items held by the buffer
+ */
+public interface BoundedBuffer<T> {
+    
+    /**
+     * Adds an item to the buffer, waiting for space if the buffer is full.
+     * @param item The item to add to the buffer
+     * @throws InterruptedException if thread is interrupted while waiting
+     * @throws IllegalStateException if the buffer is (or gets) closed
+     */
+    void produce(T item) throws InterruptedException;
+    
+    /**
+     * Removes and returns the oldest item, waiting if the buffer is empty.
+     * @return The item removed from the buffer, or null once the buffer is
+     *         both closed and empty (end of stream)
+     * @throws InterruptedException if thread is interrupted while waiting
+     */
+    T consume() throws InterruptedException;
+    
+    /**
+     * Adds an item only if space is immediately available.
+     * @param item The item to add to the buffer
+     * @return true if the item was added, false if the buffer was full
+     * @throws IllegalStateException if the buffer is closed
+     */
+    boolean offer(T item);
+    
+    /**
+     * Removes and returns the oldest item only if one is immediately available.
+     * @return The item removed from the buffer, or null if the buffer was empty
+     */
+    T poll();
+    
+    /**
+     * Adds all items in iteration order, waiting for space whenever the buffer is full.
+     * The default implementation produces items one by one; lock-based buffers
+     * override it to move as many items as fit per lock acquisition.
+     * 
+     * @param items The items to add to the buffer
+     * @throws InterruptedException if thread is interrupted while waiting
+     */
+    default void produceAll(Collection<? extends T> items) throws InterruptedException {
+        for (T item : items) {
+            produce(item);
+        }
+    }
+    
+    /**
+     * Removes up to maxItems items and adds them to the target collection.
+     * Waits until at least one item is available, then takes whatever else
+     * is immediately available without waiting again.
+     * 
+     * @param target Collection receiving the removed items (in FIFO order)
+     * @param maxItems Maximum number of items to remove (must be positive)
+     * @return Number of items moved into target, 0 once the buffer is both
+     *         closed and empty (end of stream)
+     * @throws InterruptedException if thread is interrupted while waiting
+     */
+    default int drainTo(Collection<? super T> target, int maxItems) throws InterruptedException {
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("maxItems must be positive: " + maxItems);
+        }
+        T first = consume();
+        if (first == null) {
+            return 0;
+        }
+        target.add(first);
+        int drained = 1;
+        T item;
+        while (drained < maxItems && (item = poll()) != null) {
+            target.add(item);
+            drained++;
+        }
+        return drained;
+    }
+    
+    /**
+     * Signals end of stream. Items already in the buffer can still be
+     * consumed; producing afterwards fails, and waiting consumers wake up
+     * as soon as the buffer is empty. Closing twice has no effect.
+     * Call it once every producer has finished producing.
+     */
+    void close();
+    
+    /**
+     * Checks if close() has been called.
+     * @return true if the buffer is closed
+     */
+    boolean isClosed();
+    
+    /**
+     * Returns the current number of items in the buffer.
+     * @return Current buffer size
+     */
+    int size();
+    
+    /**
+     * Checks if the buffer is empty.
+     * @return true if buffer is empty, false otherwise
+     */
+    boolean isEmpty();
+}
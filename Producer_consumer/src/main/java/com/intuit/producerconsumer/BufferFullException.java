@@ -0,0 +1,19 @@
+package com.intuit.producerconsumer;
+
+/**
+ * Thrown by produce() when the buffer is full and its {@link OverflowStrategy}
+ * is REJECT, or BLOCK_WITH_TIMEOUT and the timeout elapsed.
+ * 
+ * The item was NOT added. Like a full java.util.Queue.add(), this is an
+ * IllegalStateException.
+ */
+public class BufferFullException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * @param message Description of why the item was not accepted
+     */
+    public BufferFullException(String message) {
+        super(message);
+    }
+}
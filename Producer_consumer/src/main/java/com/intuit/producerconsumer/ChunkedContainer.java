@@ -0,0 +1,197 @@
+package com.intuit.producerconsumer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ChunkedContainer is a lock-free AppendOnlyContainer for destinations
+ * written by many consumers at once.
+ * 
+ * Key Concepts:
+ * - Index reservation: add() claims its index with one atomic
+ *   getAndIncrement(), so writers never wait for each other (wait-free)
+ * - Chunked storage: chunk k holds FIRST_CHUNK_SIZE * 2^k slots. A full
+ *   container grows by allocating the next chunk - existing items are never
+ *   copied, unlike ArrayList growth under a lock
+ * - Lock-free reads: get(index) maps the index to (chunk, offset) with bit
+ *   arithmetic and reads the slot with a volatile load
+ * 
+ * Visibility: a slot becomes readable once its writer has stored the item,
+ * so while adds are in flight get() may return null for a reserved index and
+ * getAll()/getRange() skip such slots. size() counts completed adds only.
+ * 
+ * Append-only: there is no remove(), and null items are rejected (null
+ * marks a slot that is still being written).
+ */
+public class ChunkedContainer<T> implements AppendOnlyContainer<T> {
+    // log2 of the first chunk size (16 slots)
+    private static final int FIRST_CHUNK_SHIFT = 4;
+    private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_SHIFT;
+    
+    // Chunk sizes 16, 32, ..., 2^30: together they address almost every int index
+    private static final int MAX_CHUNKS = Integer.SIZE - 1 - FIRST_CHUNK_SHIFT;
+    
+    // Total number of slots in all chunks (2^31 - 16)
+    private static final int MAX_SIZE = Integer.MAX_VALUE - FIRST_CHUNK_SIZE + 1;
+    
+    // Lazily allocated chunks; a chunk is installed exactly once with CAS
+    private final AtomicReferenceArray<AtomicReferenceArray<T>> chunks =
+        new AtomicReferenceArray<>(MAX_CHUNKS);
+    
+    // Next index to hand out to a writer
+    private final AtomicInteger reserved = new AtomicInteger();
+    
+    // Number of adds whose item has been stored
+    private final LongAdder completed = new LongAdder();
+    
+    // Name of this container (for identification and logging)
+    private final String name;
+    
+    /**
+     * Constructs a new empty ChunkedContainer with the specified name.
+     * @param name Name identifier for this container
+     */
+    public ChunkedContainer(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Appends an item. Wait-free: one atomic increment plus, at most once per
+     * chunk, a CAS to install a newly allocated chunk.
+     * @param item Item to add (must not be null)
+     */
+    @Override
+    public void add(T item) {
+        Objects.requireNonNull(item, "ChunkedContainer does not accept null items");
+        store(reserved.getAndIncrement(), item);
+        completed.increment();
+    }
+    
+    /**
+     * Appends all items, reserving one contiguous index range for the batch.
+     * @param newItems Items to add (none of them may be null)
+     */
+    @Override
+    public void addAll(Collection<? extends T> newItems) {
+        // Validate first: a rejected batch must not leave reserved-but-empty slots behind
+        for (T item : newItems) {
+            Objects.requireNonNull(item, "ChunkedContainer does not accept null items");
+        }
+        int count = newItems.size();
+        if (count == 0) {
+            return;
+        }
+        int index = reserved.getAndAdd(count);
+        for (T item : newItems) {
+            store(index++, item);
+        }
+        completed.add(count);
+    }
+    
+    /**
+     * Get item at specific index without locking.
+     * @param index Index of item to retrieve
+     * @return The item, or null if the index is invalid or still being written
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= Math.min(reserved.get(), MAX_SIZE)) {
+            return null;
+        }
+        AtomicReferenceArray<T> chunk = chunks.get(chunkIndex(index));
+        return chunk == null ? null : chunk.get(chunkOffset(index));
+    }
+    
+    /**
+     * Returns the stored items in the range [fromIndex, toIndex), clipped to
+     * the reserved size. Slots still being written are skipped.
+     */
+    @Override
+    public List<T> getRange(int fromIndex, int toIndex) {
+        int to = Math.min(toIndex, Math.min(reserved.get(), MAX_SIZE));
+        List<T> result = new ArrayList<>(Math.max(to - fromIndex, 0));
+        for (int i = Math.max(fromIndex, 0); i < to; i++) {
+            T item = get(i);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the number of completed adds.
+     * @return Current size of the container
+     */
+    @Override
+    public int size() {
+        return (int) completed.sum();
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Returns a copy of all stored items in index order.
+     * @return A new list containing the items
+     */
+    @Override
+    public List<T> getAll() {
+        return getRange(0, Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public String toString() {
+        return getName() + " [size=" + size() + ", items=" + getAll() + "]";
+    }
+    
+    private void store(int index, T item) {
+        if (index < 0 || index >= MAX_SIZE) {
+            throw new IllegalStateException("ChunkedContainer is full");
+        }
+        chunk(chunkIndex(index)).set(chunkOffset(index), item);
+    }
+    
+    /**
+     * Returns the chunk, allocating and installing it if needed.
+     * Threads losing the CAS race use the winner's chunk.
+     */
+    private AtomicReferenceArray<T> chunk(int chunkIndex) {
+        AtomicReferenceArray<T> chunk = chunks.get(chunkIndex);
+        if (chunk == null) {
+            AtomicReferenceArray<T> created = new AtomicReferenceArray<>(FIRST_CHUNK_SIZE << chunkIndex);
+            chunk = chunks.compareAndExchange(chunkIndex, null, created);
+            if (chunk == null) {
+                chunk = created;
+            }
+        }
+        return chunk;
+    }
+    
+    /**
+     * Chunk k covers indexes [16 * (2^k - 1), 16 * (2^(k+1) - 1)).
+     * Shifting the index by 16 makes the chunk number the position of the
+     * highest set bit.
+     */
+    private static int chunkIndex(int index) {
+        int shifted = index + FIRST_CHUNK_SIZE;
+        return (Integer.SIZE - 1 - Integer.numberOfLeadingZeros(shifted)) - FIRST_CHUNK_SHIFT;
+    }
+    
+    private static int chunkOffset(int index) {
+        int shifted = index + FIRST_CHUNK_SIZE;
+        return shifted - Integer.highestOneBit(shifted);
+    }
+}
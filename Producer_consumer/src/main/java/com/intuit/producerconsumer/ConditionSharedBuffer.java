@@ -0,0 +1,407 @@
+package com.intuit.producerconsumer;
+
+import com.intuit.producerconsumer.event.BufferEventListener;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ConditionSharedBuffer is a bounded buffer with the same blocking semantics
+ * as {@link SharedBuffer}, built on ReentrantLock and two Condition objects
+ * instead of one object monitor.
+ * 
+ * Key Concepts:
+ * - notFull: producers wait here while the buffer is full
+ * - notEmpty: consumers wait here while the buffer is empty
+ * - signal() instead of notifyAll(): a produce wakes exactly ONE waiting
+ *   consumer and a consume wakes exactly ONE waiting producer, so threads
+ *   of the wrong kind are never woken just to go back to sleep
+ * - fair mode: optional FIFO hand-off of the lock to the longest waiter
+ *   (lower throughput, but no thread can be starved)
+ * - while loop: still required, await() may return spuriously
+ * - close(): signals both conditions so every waiter re-checks and sees
+ *   end of stream
+ * 
+ * Counters record how often threads waited, how often they were woken up
+ * and how many of those wakeups found the condition still false, so the
+ * effect of targeted signalling can be measured against SharedBuffer.
+ * Like SharedBuffer, events are reported to a {@link BufferEventListener}
+ * after the lock is released.
+ */
+public class ConditionSharedBuffer<T> implements BoundedBuffer<T> {
+    // Internal queue to store items (FIFO - First In First Out)
+    private final Queue<T> buffer;
+    
+    // Maximum number of items the buffer can hold
+    private final int capacity;
+    
+    // Lock guarding the queue and the counters below
+    private final ReentrantLock lock;
+    
+    // Signalled when an item is removed (space became available)
+    private final Condition notFull;
+    
+    // Signalled when an item is added (data became available)
+    private final Condition notEmpty;
+    
+    // Receives produced/consumed/waiting events (never null)
+    private final BufferEventListener listener;
+    
+    // Set by close(): no more items will be produced (guarded by lock)
+    private boolean closed;
+    
+    // Number of times a thread had to wait (guarded by lock)
+    private long waitCount;
+    
+    // Number of times a waiting thread returned from await() (guarded by lock)
+    private long wakeupCount;
+    
+    // Wakeups that found the condition still false and waited again (guarded by lock)
+    private long spuriousRecheckCount;
+    
+    /**
+     * Constructor initializes a non-fair buffer with specified capacity.
+     * @param capacity Maximum number of items the buffer can hold
+     */
+    public ConditionSharedBuffer(int capacity) {
+        this(capacity, false);
+    }
+    
+    /**
+     * Constructor initializes the buffer with specified capacity and lock fairness.
+     * @param capacity Maximum number of items the buffer can hold
+     * @param fair true to grant the lock to the longest-waiting thread first
+     */
+    public ConditionSharedBuffer(int capacity, boolean fair) {
+        this(capacity, fair, BufferEventListener.NO_OP);
+    }
+    
+    /**
+     * Constructor initializes the buffer with capacity, lock fairness and event listener.
+     * @param capacity Maximum number of items the buffer can hold
+     * @param fair true to grant the lock to the longest-waiting thread first
+     * @param listener Listener notified about buffer events
+     */
+    public ConditionSharedBuffer(int capacity, boolean fair, BufferEventListener listener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.buffer = new ArrayDeque<>(capacity);
+        this.capacity = capacity;
+        this.lock = new ReentrantLock(fair);
+        this.notFull = lock.newCondition();
+        this.notEmpty = lock.newCondition();
+        this.listener = listener;
+    }
+    
+    /**
+     * Adds an item, waiting on notFull while the buffer is full.
+     * Wakes up exactly one waiting consumer.
+     */
+    @Override
+    public void produce(T item) throws InterruptedException {
+        int size;
+        boolean waited = false;
+        lock.lockInterruptibly();
+        try {
+            waited = mustWait(true);
+            awaitWhile(notFull, true);
+            ensureOpen();
+            buffer.add(item);
+            size = buffer.size();
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+            reportWaits(true, waited ? 1 : 0);
+        }
+        listener.onProduced(item, size);
+    }
+    
+    /**
+     * Removes the oldest item, waiting on notEmpty while the buffer is empty.
+     * Wakes up exactly one waiting producer.
+     */
+    @Override
+    public T consume() throws InterruptedException {
+        T item;
+        int size;
+        boolean waited = false;
+        lock.lockInterruptibly();
+        try {
+            waited = mustWait(false);
+            awaitWhile(notEmpty, false);
+            if (buffer.isEmpty()) {
+                // Closed and fully drained: end of stream
+                return null;
+            }
+            item = buffer.poll();
+            size = buffer.size();
+            notFull.signal();
+        } finally {
+            lock.unlock();
+            reportWaits(false, waited ? 1 : 0);
+        }
+        listener.onConsumed(item, size);
+        return item;
+    }
+    
+    /**
+     * Adds the items, moving as many as fit per lock acquisition.
+     * Wakes all waiting consumers only when more than one item was added.
+     */
+    @Override
+    public void produceAll(Collection<? extends T> items) throws InterruptedException {
+        int size;
+        int waits = 0;
+        lock.lockInterruptibly();
+        try {
+            ensureOpen();
+            int added = 0;
+            for (T item : items) {
+                if (buffer.size() == capacity) {
+                    signalConsumers(added);
+                    added = 0;
+                    if (mustWait(true)) {
+                        waits++;
+                    }
+                    awaitWhile(notFull, true);
+                    ensureOpen();
+                }
+                buffer.add(item);
+                added++;
+            }
+            size = buffer.size();
+            signalConsumers(added);
+        } finally {
+            lock.unlock();
+            reportWaits(true, waits);
+        }
+        listener.onProducedBatch(items.size(), size);
+    }
+    
+    /**
+     * Removes up to maxItems items in one lock acquisition.
+     * Wakes all waiting producers only when more than one slot was freed.
+     */
+    @Override
+    public int drainTo(Collection<? super T> target, int maxItems) throws InterruptedException {
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("maxItems must be positive: " + maxItems);
+        }
+        int drained = 0;
+        int size;
+        boolean waited = false;
+        lock.lockInterruptibly();
+        try {
+            waited = mustWait(false);
+            awaitWhile(notEmpty, false);
+            if (buffer.isEmpty()) {
+                return 0;
+            }
+            while (drained < maxItems && !buffer.isEmpty()) {
+                target.add(buffer.poll());
+                drained++;
+            }
+            size = buffer.size();
+            if (drained == 1) {
+                notFull.signal();
+            } else {
+                notFull.signalAll();
+            }
+        } finally {
+            lock.unlock();
+            reportWaits(false, waited ? 1 : 0);
+        }
+        listener.onConsumedBatch(drained, size);
+        return drained;
+    }
+    
+    @Override
+    public boolean offer(T item) {
+        int size;
+        lock.lock();
+        try {
+            ensureOpen();
+            if (buffer.size() == capacity) {
+                return false;
+            }
+            buffer.add(item);
+            size = buffer.size();
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        listener.onProduced(item, size);
+        return true;
+    }
+    
+    @Override
+    public T poll() {
+        T item;
+        int size;
+        lock.lock();
+        try {
+            if (buffer.isEmpty()) {
+                return null;
+            }
+            item = buffer.poll();
+            size = buffer.size();
+            notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+        listener.onConsumed(item, size);
+        return item;
+    }
+    
+    /**
+     * Wakes one consumer per added item (all of them for a multi-item batch).
+     * Must be called with the lock held.
+     */
+    private void signalConsumers(int added) {
+        if (added == 1) {
+            notEmpty.signal();
+        } else if (added > 1) {
+            notEmpty.signalAll();
+        }
+    }
+    
+    /**
+     * True if a producer (whileFull) or consumer would have to wait right now.
+     * Must be called with the lock held.
+     */
+    private boolean mustWait(boolean whileFull) {
+        return (whileFull ? buffer.size() == capacity : buffer.isEmpty()) && !closed;
+    }
+    
+    /**
+     * Waits on the given condition while the buffer is full (producer side)
+     * or empty (consumer side) and not closed. Must be called with the lock held.
+     * The listener is told by the caller, after the lock is released.
+     */
+    private void awaitWhile(Condition condition, boolean whileFull) throws InterruptedException {
+        boolean waited = false;
+        while (mustWait(whileFull)) {
+            if (waited) {
+                // Woken up, but another thread got there first (or spurious wakeup)
+                spuriousRecheckCount++;
+            } else {
+                waitCount++;
+                waited = true;
+            }
+            condition.await();
+            wakeupCount++;
+        }
+    }
+    
+    /**
+     * Reports recorded waits to the listener. Must be called WITHOUT the lock held.
+     */
+    private void reportWaits(boolean producer, int waits) {
+        for (int i = 0; i < waits; i++) {
+            if (producer) {
+                listener.onProducerWaiting();
+            } else {
+                listener.onConsumerWaiting();
+            }
+        }
+    }
+    
+    /**
+     * Closes the buffer (end of stream) and wakes up every waiting thread.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notFull.signalAll();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Throws if the buffer has been closed. Must be called with the lock held.
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+    }
+    
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return buffer.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Returns true if this buffer hands the lock to waiting threads in FIFO order.
+     * @return Lock fairness flag
+     */
+    public boolean isFair() {
+        return lock.isFair();
+    }
+    
+    /**
+     * Returns how many produce/consume calls had to wait at least once.
+     * @return Number of waits
+     */
+    public long getWaitCount() {
+        lock.lock();
+        try {
+            return waitCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns how many times a waiting thread was woken up.
+     * @return Number of wakeups
+     */
+    public long getWakeupCount() {
+        lock.lock();
+        try {
+            return wakeupCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns how many wakeups found the condition still false and had to wait again.
+     * @return Number of wasted wakeups
+     */
+    public long getSpuriousRecheckCount() {
+        lock.lock();
+        try {
+            return spuriousRecheckCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,33 +1,71 @@
 package com.intuit.producerconsumer;
 
+import com.intuit.producerconsumer.metrics.LatencyRecorder;
+import com.intuit.producerconsumer.metrics.LatencyTracker;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Consumer thread that reads items from a shared buffer 
  * and stores them in a destination container.
  * 
  * The Consumer implements the Runnable interface to run as a separate thread.
  * It continuously consumes items from the shared buffer and stores them
- * in the destination container until the specified number of items are consumed.
+ * in the destination container until the specified number of items are consumed,
+ * or - with {@link #UNTIL_CLOSED} - until the buffer is closed and drained.
+ * In the latter mode consumers balance the load among themselves: a fast
+ * consumer simply takes more items than a slow one.
+ * 
+ * Thread Safety: All synchronization is handled by the BoundedBuffer implementation
+ * (SharedBuffer, SpscRingBuffer, ...).
  * 
- * Thread Safety: All synchronization is handled by the SharedBuffer class.
+ * With a {@link LatencyTracker} the consumer also records the sink time of
+ * every item: from consume() returning until the item is in the destination
+ * container (the processing delay is not included).
  */
 public class Consumer<T> implements Runnable {
-    // Shared buffer from which items are consumed (thread-safe)
-    private final SharedBuffer<T> sharedBuffer;
+    /**
+     * Item count meaning "consume until the buffer is closed and empty".
+     */
+    public static final int UNTIL_CLOSED = Integer.MAX_VALUE;
+    
+    // Shared buffer from which items are consumed (any thread-safe BoundedBuffer)
+    private final BoundedBuffer<T> sharedBuffer;
     
     // Destination container where consumed items are stored
-    private final Container<T> destinationContainer;
+    private final AppendOnlyContainer<T> destinationContainer;
     
     // Name of this consumer (for logging/identification)
     private final String name;
     
-    // Number of items this consumer should consume before stopping
+    // Number of items this consumer should consume before stopping (or UNTIL_CLOSED)
     private final int itemsToConsume;
     
     // Delay in milliseconds between consuming items (simulates processing time)
     private final int delayMs;
     
+    // Maximum number of items moved per buffer drain / destination write
+    private final int batchSize;
+    
+    // Records dequeue-to-sink latency, or null when not tracking
+    private final LatencyRecorder sinkTime;
+    
+    /**
+     * Constructs a new Consumer that consumes one item at a time until the
+     * buffer is closed and empty.
+     * 
+     * @param name Name of this consumer thread
+     * @param sharedBuffer Shared buffer to consume items from
+     * @param destinationContainer Container to store consumed items
+     * @param delayMs Delay in milliseconds between consuming items (0 = no delay)
+     */
+    public Consumer(String name, BoundedBuffer<T> sharedBuffer, 
+                   AppendOnlyContainer<T> destinationContainer, int delayMs) {
+        this(name, sharedBuffer, destinationContainer, UNTIL_CLOSED, delayMs, 1);
+    }
+    
     /**
-     * Constructs a new Consumer.
+     * Constructs a new Consumer that moves one item at a time.
      * 
      * @param name Name of this consumer thread
      * @param sharedBuffer Shared buffer to consume items from
@@ -35,13 +73,53 @@ public class Consumer<T> implements Runnable {
      * @param itemsToConsume Number of items to consume before stopping
      * @param delayMs Delay in milliseconds between consuming items (0 = no delay)
      */
-    public Consumer(String name, SharedBuffer<T> sharedBuffer, 
-                   Container<T> destinationContainer, int itemsToConsume, int delayMs) {
+    public Consumer(String name, BoundedBuffer<T> sharedBuffer, 
+                   AppendOnlyContainer<T> destinationContainer, int itemsToConsume, int delayMs) {
+        this(name, sharedBuffer, destinationContainer, itemsToConsume, delayMs, 1);
+    }
+    
+    /**
+     * Constructs a new Consumer that moves up to batchSize items at a time.
+     * Each batch costs one drainTo() call and one destination addAll()
+     * instead of one lock round-trip per item on both sides.
+     * 
+     * @param name Name of this consumer thread
+     * @param sharedBuffer Shared buffer to consume items from
+     * @param destinationContainer Container to store consumed items
+     * @param itemsToConsume Number of items to consume before stopping (or UNTIL_CLOSED)
+     * @param delayMs Delay in milliseconds between consuming batches (0 = no delay)
+     * @param batchSize Maximum number of items per batch (1 = item by item)
+     */
+    public Consumer(String name, BoundedBuffer<T> sharedBuffer, 
+                   AppendOnlyContainer<T> destinationContainer, int itemsToConsume, int delayMs,
+                   int batchSize) {
+        this(name, sharedBuffer, destinationContainer, itemsToConsume, delayMs, batchSize, null);
+    }
+    
+    /**
+     * Constructs a new Consumer that also records sink latency.
+     * 
+     * @param name Name of this consumer thread
+     * @param sharedBuffer Shared buffer to consume items from
+     * @param destinationContainer Container to store consumed items
+     * @param itemsToConsume Number of items to consume before stopping (or UNTIL_CLOSED)
+     * @param delayMs Delay in milliseconds between consuming batches (0 = no delay)
+     * @param batchSize Maximum number of items per batch (1 = item by item)
+     * @param latencyTracker Tracker receiving sink times (null = no tracking)
+     */
+    public Consumer(String name, BoundedBuffer<T> sharedBuffer, 
+                   AppendOnlyContainer<T> destinationContainer, int itemsToConsume, int delayMs,
+                   int batchSize, LatencyTracker latencyTracker) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
         this.name = name;
         this.sharedBuffer = sharedBuffer;
         this.destinationContainer = destinationContainer;
         this.itemsToConsume = itemsToConsume;
         this.delayMs = delayMs;
+        this.batchSize = batchSize;
+        this.sinkTime = latencyTracker == null ? null : latencyTracker.sinkTime();
     }
     
     /**
@@ -53,12 +131,21 @@ public class Consumer<T> implements Runnable {
      * 2. Store item in destination container
      * 3. Sleep for configured delay (simulates processing time)
      * 4. Repeat until specified number of items are consumed
+     *    (or until the buffer reports end of stream)
+     * 
+     * With a batch size above 1, steps 1 and 2 move a whole batch at once.
      */
     @Override
     public void run() {
         try {
             System.out.println(name + " started consuming...");
             
+            if (batchSize > 1) {
+                int consumed = consumeInBatches();
+                System.out.println(name + " finished consuming " + consumed + " items.");
+                return;
+            }
+            
             // Track number of items consumed so far
             int consumed = 0;
             
@@ -67,9 +154,17 @@ public class Consumer<T> implements Runnable {
                 // Consume item from shared buffer
                 // This call may BLOCK if buffer is empty (wait/notify mechanism)
                 T item = sharedBuffer.consume();
+                if (item == null) {
+                    // Buffer closed and drained: end of stream
+                    break;
+                }
+                long dequeuedNanos = sinkTime == null ? 0 : System.nanoTime();
                 
                 // Store consumed item in destination container
                 destinationContainer.add(item);
+                if (sinkTime != null) {
+                    sinkTime.record(System.nanoTime() - dequeuedNanos);
+                }
                 
                 // Increment consumed count
                 consumed++;
@@ -90,6 +185,37 @@ public class Consumer<T> implements Runnable {
         }
     }
     
+    /**
+     * Batch variant of the main loop: one drainTo() and one addAll()
+     * per batch of up to batchSize items.
+     * @return Number of items consumed
+     */
+    private int consumeInBatches() throws InterruptedException {
+        List<T> batch = new ArrayList<>(batchSize);
+        int consumed = 0;
+        while (consumed < itemsToConsume) {
+            batch.clear();
+            
+            // May BLOCK until at least one item is available; never takes more than our share
+            int drained = sharedBuffer.drainTo(batch, Math.min(batchSize, itemsToConsume - consumed));
+            if (drained == 0) {
+                // Buffer closed and drained: end of stream
+                break;
+            }
+            long dequeuedNanos = sinkTime == null ? 0 : System.nanoTime();
+            destinationContainer.addAll(batch);
+            if (sinkTime != null) {
+                sinkTime.record(System.nanoTime() - dequeuedNanos, drained);
+            }
+            consumed += drained;
+            
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+        }
+        return consumed;
+    }
+    
     /**
      * Returns the name of this consumer.
      * @return Consumer name
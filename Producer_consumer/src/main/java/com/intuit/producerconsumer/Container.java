@@ -1,6 +1,7 @@
 package com.intuit.producerconsumer;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -9,10 +10,11 @@ import java.util.List;
  * Used as source container (for producer) and destination container (for consumer).
  * 
  * This class provides a simple thread-safe wrapper around a List.
+ * Unlike other AppendOnlyContainer implementations it also supports remove().
  * All operations are synchronized to ensure thread safety when accessed
  * by multiple threads concurrently.
  */
-public class Container<T> {
+public class Container<T> implements AppendOnlyContainer<T> {
     // Synchronized list to store items in a thread-safe manner
     // Collections.synchronizedList wraps ArrayList with synchronized methods
     private final List<T> items;
@@ -39,6 +41,15 @@ public class Container<T> {
         items.add(item);
     }
     
+    /**
+     * Add all items to the container in one lock acquisition.
+     * Thread-safe operation.
+     * @param newItems Items to add to the container (in iteration order)
+     */
+    public synchronized void addAll(Collection<? extends T> newItems) {
+        items.addAll(newItems);
+    }
+    
     /**
      * Remove and return an item from the container at specified index.
      * Thread-safe operation.
@@ -65,6 +76,24 @@ public class Container<T> {
         return null;
     }
     
+    /**
+     * Get a copy of the items in the range [fromIndex, toIndex) without removing them.
+     * The range is clipped to the current size, so reading past the end simply
+     * returns fewer items (or an empty list).
+     * Thread-safe operation - one lock acquisition for the whole range.
+     * @param fromIndex Index of the first item to read (inclusive)
+     * @param toIndex Index after the last item to read (exclusive)
+     * @return A new list containing the items in the range
+     */
+    public synchronized List<T> getRange(int fromIndex, int toIndex) {
+        int from = Math.max(fromIndex, 0);
+        int to = Math.min(toIndex, items.size());
+        if (from >= to) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(items.subList(from, to));
+    }
+    
     /**
      * Returns the current number of items in the container.
      * Thread-safe operation.
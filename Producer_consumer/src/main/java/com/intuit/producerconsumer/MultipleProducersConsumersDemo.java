@@ -1,12 +1,46 @@
 package com.intuit.producerconsumer;
 
+import com.intuit.producerconsumer.event.AsyncLoggingEventListener;
+import com.intuit.producerconsumer.workstealing.WorkStealingBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.function.IntFunction;
+
 /**
  * Demonstration with multiple producers and consumers.
  * Shows concurrent thread interaction and synchronization.
+ * 
+ * Consumers do not get a fixed share of the items: they run until the
+ * buffer is closed and drained, so a faster consumer simply takes more.
+ * 
+ * Pass "condition" or "mpmc" as the first argument to replace the
+ * single-monitor SharedBuffer with ConditionSharedBuffer (targeted
+ * signalling) or the lock-free MpmcRingBuffer. Pass "stealing" to give each
+ * consumer its own deque in a WorkStealingBuffer, or "striped" to give each
+ * producer its own lane in a StripedBuffer.
+ * 
+ * Pass "compare" to skip the demo and measure SharedBuffer against
+ * WorkStealingBuffer and StripedBuffer instead: 4 producers and 4 consumers
+ * move timestamped items with no artificial delay, and the run prints
+ * throughput plus mean and max producer-to-consumer latency for each buffer.
  */
 public class MultipleProducersConsumersDemo {
     
+    // Settings for the "compare" mode
+    private static final int COMPARE_PRODUCERS = 4;
+    private static final int COMPARE_CONSUMERS = 4;
+    private static final int COMPARE_ITEMS_PER_PRODUCER = 250_000;
+    private static final int COMPARE_CAPACITY = 1024;
+    private static final int COMPARE_ROUNDS = 3;
+    
     public static void main(String[] args) throws InterruptedException {
+        if (args.length > 0 && "compare".equalsIgnoreCase(args[0])) {
+            runComparison();
+            return;
+        }
+        
         System.out.println("=== Multiple Producers and Consumers Demo ===\n");
         
         // Create source containers for each producer
@@ -21,8 +55,41 @@ public class MultipleProducersConsumersDemo {
         System.out.println("Initial " + sourceContainer1);
         System.out.println("Initial " + sourceContainer2 + "\n");
         
-        // Create shared buffer
-        SharedBuffer<String> sharedBuffer = new SharedBuffer<>(3);
+        // Create shared buffer (SPSC is not allowed here: there are 2 producers and 2 consumers)
+        String bufferType = args.length > 0 ? args[0] : "shared";
+        if ("spsc".equalsIgnoreCase(bufferType)) {
+            throw new IllegalArgumentException("spsc buffer supports only one producer and one consumer");
+        }
+        AsyncLoggingEventListener logger = new AsyncLoggingEventListener();
+        BoundedBuffer<String> sharedBuffer;
+        BoundedBuffer<String> producerBuffer1;
+        BoundedBuffer<String> producerBuffer2;
+        BoundedBuffer<String> consumerBuffer1;
+        BoundedBuffer<String> consumerBuffer2;
+        if ("stealing".equalsIgnoreCase(bufferType)) {
+            // One deque per consumer; each consumer takes from its own view
+            WorkStealingBuffer<String> stealingBuffer = new WorkStealingBuffer<>(3, 2);
+            sharedBuffer = stealingBuffer;
+            producerBuffer1 = sharedBuffer;
+            producerBuffer2 = sharedBuffer;
+            consumerBuffer1 = stealingBuffer.worker(0);
+            consumerBuffer2 = stealingBuffer.worker(1);
+        } else if ("striped".equalsIgnoreCase(bufferType)) {
+            // One lane per producer; consumers take from all lanes
+            StripedBuffer<String> stripedBuffer = new StripedBuffer<>(3, 2);
+            sharedBuffer = stripedBuffer;
+            producerBuffer1 = stripedBuffer.lane(0);
+            producerBuffer2 = stripedBuffer.lane(1);
+            consumerBuffer1 = sharedBuffer;
+            consumerBuffer2 = sharedBuffer;
+        } else {
+            sharedBuffer = ProducerConsumerDemo.createBuffer(bufferType, 3, logger);
+            producerBuffer1 = sharedBuffer;
+            producerBuffer2 = sharedBuffer;
+            consumerBuffer1 = sharedBuffer;
+            consumerBuffer2 = sharedBuffer;
+        }
+        System.out.println("Using buffer: " + sharedBuffer.getClass().getSimpleName() + "\n");
         
         // Create destination containers
         Container<String> destContainer1 = new Container<>("Destination-1");
@@ -30,18 +97,18 @@ public class MultipleProducersConsumersDemo {
         
         // Create producers
         Producer<String> producer1 = new Producer<>(
-            "Producer-1", sourceContainer1, sharedBuffer, 200
+            "Producer-1", sourceContainer1, producerBuffer1, 200
         );
         Producer<String> producer2 = new Producer<>(
-            "Producer-2", sourceContainer2, sharedBuffer, 250
+            "Producer-2", sourceContainer2, producerBuffer2, 250
         );
         
         // Create consumers
         Consumer<String> consumer1 = new Consumer<>(
-            "Consumer-1", sharedBuffer, destContainer1, 5, 300
+            "Consumer-1", consumerBuffer1, destContainer1, 300
         );
         Consumer<String> consumer2 = new Consumer<>(
-            "Consumer-2", sharedBuffer, destContainer2, 5, 350
+            "Consumer-2", consumerBuffer2, destContainer2, 350
         );
         
         // Start all threads
@@ -57,13 +124,17 @@ public class MultipleProducersConsumersDemo {
         c1Thread.start();
         c2Thread.start();
         
-        // Wait for all threads to complete
+        // Wait for the producers, then close the buffer (end of stream)
         p1Thread.join();
         p2Thread.join();
+        sharedBuffer.close();
+        
+        // Consumers drain what is left and stop
         c1Thread.join();
         c2Thread.join();
         
         long endTime = System.currentTimeMillis();
+        logger.close();
         
         // Print final results
         System.out.println("\n=== Final Results ===");
@@ -72,5 +143,126 @@ public class MultipleProducersConsumersDemo {
         System.out.println("Total items consumed: " + 
             (destContainer1.size() + destContainer2.size()));
         System.out.println("Total time: " + (endTime - startTime) + "ms");
+        
+        if (sharedBuffer instanceof ConditionSharedBuffer) {
+            ConditionSharedBuffer<String> conditionBuffer = (ConditionSharedBuffer<String>) sharedBuffer;
+            System.out.println("Waits: " + conditionBuffer.getWaitCount() 
+                + " | Wakeups: " + conditionBuffer.getWakeupCount()
+                + " | Spurious rechecks: " + conditionBuffer.getSpuriousRecheckCount());
+        }
+        if (sharedBuffer instanceof WorkStealingBuffer) {
+            WorkStealingBuffer<String> stealingBuffer = (WorkStealingBuffer<String>) sharedBuffer;
+            System.out.println("Local takes: " + stealingBuffer.getLocalTakeCount()
+                + " | Steals: " + stealingBuffer.getStealCount());
+        }
+    }
+    
+    /**
+     * Runs the same N:M workload over SharedBuffer, WorkStealingBuffer and
+     * StripedBuffer (one lane per producer) and prints throughput and
+     * latency. The first round of each is a warm-up.
+     */
+    private static void runComparison() throws InterruptedException {
+        System.out.println("=== SharedBuffer vs WorkStealingBuffer vs StripedBuffer ===");
+        System.out.println(COMPARE_PRODUCERS + " producers, " + COMPARE_CONSUMERS + " consumers, "
+            + (COMPARE_PRODUCERS * COMPARE_ITEMS_PER_PRODUCER) + " items, capacity " + COMPARE_CAPACITY + "\n");
+        
+        for (int round = 0; round < COMPARE_ROUNDS; round++) {
+            String label = round == 0 ? " (warm-up)" : "";
+            
+            SharedBuffer<Long> shared = new SharedBuffer<>(COMPARE_CAPACITY);
+            measure("SharedBuffer" + label, shared,
+                views(COMPARE_PRODUCERS, i -> shared), views(COMPARE_CONSUMERS, i -> shared));
+            
+            WorkStealingBuffer<Long> stealing = new WorkStealingBuffer<>(COMPARE_CAPACITY, COMPARE_CONSUMERS);
+            measure("WorkStealingBuffer" + label, stealing,
+                views(COMPARE_PRODUCERS, i -> stealing), views(COMPARE_CONSUMERS, stealing::worker));
+            System.out.println("  steals: " + stealing.getStealCount()
+                + " of " + (stealing.getLocalTakeCount() + stealing.getStealCount()) + " takes");
+            
+            StripedBuffer<Long> striped = new StripedBuffer<>(COMPARE_CAPACITY, COMPARE_PRODUCERS);
+            measure("StripedBuffer" + label, striped,
+                views(COMPARE_PRODUCERS, striped::lane), views(COMPARE_CONSUMERS, i -> striped));
+        }
+    }
+    
+    /**
+     * Producers put System.nanoTime() stamps into the buffer; consumers take
+     * them until the buffer is closed and record how long each one waited.
+     */
+    private static void measure(String label, BoundedBuffer<Long> buffer,
+                                List<BoundedBuffer<Long>> producerViews,
+                                List<BoundedBuffer<Long>> consumerViews) throws InterruptedException {
+        AtomicLong consumed = new AtomicLong();
+        AtomicLong totalLatency = new AtomicLong();
+        LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+        
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerViews.size(); p++) {
+            BoundedBuffer<Long> view = producerViews.get(p);
+            producers.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < COMPARE_ITEMS_PER_PRODUCER; i++) {
+                        view.produce(System.nanoTime());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "Producer-" + (p + 1)));
+        }
+        
+        List<Thread> consumers = new ArrayList<>();
+        for (int c = 0; c < consumerViews.size(); c++) {
+            BoundedBuffer<Long> view = consumerViews.get(c);
+            consumers.add(new Thread(() -> {
+                long count = 0;
+                long latency = 0;
+                long max = 0;
+                try {
+                    Long stamp;
+                    while ((stamp = view.consume()) != null) {
+                        long waited = System.nanoTime() - stamp;
+                        latency += waited;
+                        max = Math.max(max, waited);
+                        count++;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                consumed.addAndGet(count);
+                totalLatency.addAndGet(latency);
+                maxLatency.accumulate(max);
+            }, "Consumer-" + (c + 1)));
+        }
+        
+        long start = System.nanoTime();
+        consumers.forEach(Thread::start);
+        producers.forEach(Thread::start);
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        buffer.close();
+        for (Thread consumer : consumers) {
+            consumer.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        
+        long items = consumed.get();
+        System.out.printf("%-30s %,12.0f items/s | mean latency %,8.1f us | max latency %,10.1f us%n",
+            label,
+            items * 1e9 / elapsed,
+            items == 0 ? 0.0 : totalLatency.get() / 1e3 / items,
+            maxLatency.get() / 1e3);
+    }
+    
+    /**
+     * Builds the list of buffer views handed to the producer or consumer threads.
+     */
+    private static List<BoundedBuffer<Long>> views(int count, IntFunction<BoundedBuffer<Long>> view) {
+        List<BoundedBuffer<Long>> views = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            views.add(view.apply(i));
+        }
+        return views;
     }
 }
@@ -0,0 +1,34 @@
+package com.intuit.producerconsumer;
+
+/**
+ * What a bounded buffer does when a producer adds an item while it is full.
+ * 
+ * BLOCK keeps the classic producer-consumer behavior. The other strategies
+ * trade completeness for bounded producer latency under burst load.
+ */
+public enum OverflowStrategy {
+    /**
+     * Wait until a consumer frees a slot (no limit).
+     */
+    BLOCK,
+    
+    /**
+     * Wait up to a configured timeout, then throw {@link BufferFullException}.
+     */
+    BLOCK_WITH_TIMEOUT,
+    
+    /**
+     * Discard the oldest buffered item to make room for the new one.
+     */
+    DROP_OLDEST,
+    
+    /**
+     * Discard the new item and return immediately.
+     */
+    DROP_NEWEST,
+    
+    /**
+     * Throw {@link BufferFullException} immediately (fail fast).
+     */
+    REJECT
+}
@@ -0,0 +1,351 @@
+package com.intuit.producerconsumer;
+
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * PriorityBuffer is a bounded buffer with the same blocking semantics as
+ * {@link ConditionSharedBuffer}, but consumers take urgent items first
+ * instead of strictly in arrival order.
+ * 
+ * Key Concepts:
+ * - Priority bands: a fixed number of bands, 0 = most urgent; a classifier
+ *   function (or an explicit band argument) puts each item into one band
+ * - Per-band ring buffers: each band is a preallocated circular array, so
+ *   adding and removing is O(1) and items of one band stay FIFO
+ * - Band bitmask: one bit per non-empty band; the most urgent non-empty
+ *   band is found with a single numberOfTrailingZeros(), also O(1)
+ * - Per-band capacity: each band holds at most capacity items and its
+ *   producers wait on their own condition, so a bulk backlog filling its
+ *   band never blocks producers of an urgent band
+ * - Starvation guard: after starvationInterval consecutive takes from a
+ *   more urgent band while a less urgent band is waiting, the next take
+ *   serves the waiting band that was served least recently
+ */
+public class PriorityBuffer<T> implements BoundedBuffer<T> {
+    // Upper limit of bands: one bit each in nonEmptyBands
+    public static final int MAX_BANDS = Integer.SIZE;
+    
+    // Default number of takes a lower band may be skipped in a row
+    public static final int DEFAULT_STARVATION_INTERVAL = 32;
+    
+    // One circular array per band
+    private final Object[][] rings;
+    
+    // Read index and item count per band (guarded by lock)
+    private final int[] heads;
+    private final int[] counts;
+    
+    // Bit b set = band b holds at least one item (guarded by lock)
+    private int nonEmptyBands;
+    
+    // Take number at which each band was last served (guarded by lock)
+    private final long[] lastServed;
+    
+    // Maps an item to its band when no band is given explicitly
+    private final ToIntFunction<? super T> classifier;
+    
+    // Maximum number of items per band
+    private final int capacity;
+    
+    // Takes from a more urgent band allowed before a waiting band is served
+    private final int starvationInterval;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    
+    // Signalled when an item is removed from the band (one condition per band)
+    private final Condition[] notFull;
+    
+    // Items in all bands (guarded by lock)
+    private int size;
+    
+    // Total number of takes, used as a clock for lastServed (guarded by lock)
+    private long takes;
+    
+    // Consecutive takes that skipped a waiting less urgent band (guarded by lock)
+    private int skippedTakes;
+    
+    // Takes redirected by the starvation guard (guarded by lock)
+    private long starvationGuardCount;
+    
+    // Set by close(): no more items will be produced (guarded by lock)
+    private boolean closed;
+    
+    /**
+     * Creates a buffer whose items are classified by the given function.
+     * @param capacity Maximum number of items per band
+     * @param bands Number of priority bands (1 to 32)
+     * @param classifier Returns the band of an item (0 = most urgent)
+     */
+    public PriorityBuffer(int capacity, int bands, ToIntFunction<? super T> classifier) {
+        this(capacity, bands, classifier, DEFAULT_STARVATION_INTERVAL);
+    }
+    
+    /**
+     * Creates a buffer with a custom starvation guard.
+     * @param capacity Maximum number of items per band
+     * @param bands Number of priority bands (1 to 32)
+     * @param classifier Returns the band of an item (0 = most urgent)
+     * @param starvationInterval Consecutive takes from more urgent bands after
+     *                           which a waiting band is served (positive)
+     */
+    public PriorityBuffer(int capacity, int bands, ToIntFunction<? super T> classifier, int starvationInterval) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (bands <= 0 || bands > MAX_BANDS) {
+            throw new IllegalArgumentException("Bands must be between 1 and " + MAX_BANDS + ": " + bands);
+        }
+        if (starvationInterval <= 0) {
+            throw new IllegalArgumentException("Starvation interval must be positive: " + starvationInterval);
+        }
+        this.capacity = capacity;
+        this.rings = new Object[bands][capacity];
+        this.heads = new int[bands];
+        this.counts = new int[bands];
+        this.lastServed = new long[bands];
+        this.notFull = new Condition[bands];
+        for (int band = 0; band < bands; band++) {
+            notFull[band] = lock.newCondition();
+        }
+        this.classifier = Objects.requireNonNull(classifier, "classifier");
+        this.starvationInterval = starvationInterval;
+    }
+    
+    /**
+     * Adds an item to the band chosen by the classifier, waiting while that band is full.
+     */
+    @Override
+    public void produce(T item) throws InterruptedException {
+        produce(item, classifier.applyAsInt(item));
+    }
+    
+    /**
+     * Adds an item to the given band, waiting while that band is full.
+     * @param item The item to add
+     * @param band Priority band (0 = most urgent)
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IllegalStateException if the buffer is (or gets) closed
+     */
+    public void produce(T item, int band) throws InterruptedException {
+        checkBand(band);
+        lock.lockInterruptibly();
+        try {
+            while (counts[band] == capacity && !closed) {
+                notFull[band].await();
+            }
+            ensureOpen();
+            enqueue(item, band);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Removes the most urgent item (or a starving one, see the class comment),
+     * waiting while the buffer is empty.
+     */
+    @Override
+    public T consume() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (closed) {
+                    return null;
+                }
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean offer(T item) {
+        return offer(item, classifier.applyAsInt(item));
+    }
+    
+    /**
+     * Adds an item to the given band only if the band has space right now.
+     * @param item The item to add
+     * @param band Priority band (0 = most urgent)
+     * @return true if added, false if the band was full
+     * @throws IllegalStateException if the buffer is closed
+     */
+    public boolean offer(T item, int band) {
+        checkBand(band);
+        lock.lock();
+        try {
+            ensureOpen();
+            if (counts[band] == capacity) {
+                return false;
+            }
+            enqueue(item, band);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public T poll() {
+        lock.lock();
+        try {
+            return size == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Closes the buffer and wakes every waiting producer and consumer.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            for (Condition bandNotFull : notFull) {
+                bandNotFull.signalAll();
+            }
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Returns the number of items waiting in one band.
+     * @param band Priority band
+     * @return Items in the band
+     */
+    public int size(int band) {
+        checkBand(band);
+        lock.lock();
+        try {
+            return counts[band];
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the number of priority bands.
+     * @return Band count
+     */
+    public int getBandCount() {
+        return rings.length;
+    }
+    
+    /**
+     * Returns how many takes the starvation guard redirected to a less urgent band.
+     * @return Starvation guard count
+     */
+    public long getStarvationGuardCount() {
+        lock.lock();
+        try {
+            return starvationGuardCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Appends an item to a band's ring. Must be called holding the lock with space available.
+     */
+    private void enqueue(T item, int band) {
+        Objects.requireNonNull(item, "PriorityBuffer does not accept null items");
+        int tail = heads[band] + counts[band];
+        rings[band][tail < capacity ? tail : tail - capacity] = item;
+        counts[band]++;
+        nonEmptyBands |= 1 << band;
+        size++;
+        notEmpty.signal();
+    }
+    
+    /**
+     * Removes the next item to serve. Must be called holding the lock with size > 0.
+     */
+    @SuppressWarnings("unchecked")
+    private T dequeue() {
+        int band = Integer.numberOfTrailingZeros(nonEmptyBands);
+        
+        // Less urgent bands waiting: count the skip, and serve one of them once too many piled up
+        int waitingBands = nonEmptyBands & ~(1 << band);
+        if (waitingBands == 0) {
+            skippedTakes = 0;
+        } else if (++skippedTakes > starvationInterval) {
+            band = leastRecentlyServed(waitingBands);
+            skippedTakes = 0;
+            starvationGuardCount++;
+        }
+        
+        Object[] ring = rings[band];
+        int head = heads[band];
+        T item = (T) ring[head];
+        ring[head] = null;
+        heads[band] = head + 1 == capacity ? 0 : head + 1;
+        if (--counts[band] == 0) {
+            nonEmptyBands &= ~(1 << band);
+        }
+        size--;
+        lastServed[band] = ++takes;
+        notFull[band].signal();
+        return item;
+    }
+    
+    /**
+     * Returns the band among the given bit set that was served longest ago.
+     */
+    private int leastRecentlyServed(int bands) {
+        int chosen = Integer.numberOfTrailingZeros(bands);
+        for (int remaining = bands & (bands - 1); remaining != 0; remaining &= remaining - 1) {
+            int band = Integer.numberOfTrailingZeros(remaining);
+            if (lastServed[band] < lastServed[chosen]) {
+                chosen = band;
+            }
+        }
+        return chosen;
+    }
+    
+    private void checkBand(int band) {
+        if (band < 0 || band >= rings.length) {
+            throw new IllegalArgumentException("Band must be between 0 and " + (rings.length - 1) + ": " + band);
+        }
+    }
+    
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+    }
+}
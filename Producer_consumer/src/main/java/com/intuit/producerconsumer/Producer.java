@@ -1,5 +1,7 @@
 package com.intuit.producerconsumer;
 
+import java.util.List;
+
 /**
  * Producer thread that reads items from a source container 
  * and places them into a shared buffer.
@@ -8,14 +10,15 @@ package com.intuit.producerconsumer;
  * It continuously reads items from the source container and produces them
  * to the shared buffer until all items are processed.
  * 
- * Thread Safety: All synchronization is handled by the SharedBuffer class.
+ * Thread Safety: All synchronization is handled by the BoundedBuffer implementation
+ * (SharedBuffer, SpscRingBuffer, ...).
  */
 public class Producer<T> implements Runnable {
     // Source container from which items are read
     private final Container<T> sourceContainer;
     
-    // Shared buffer where items are placed (thread-safe)
-    private final SharedBuffer<T> sharedBuffer;
+    // Shared buffer where items are placed (any thread-safe BoundedBuffer)
+    private final BoundedBuffer<T> sharedBuffer;
     
     // Name of this producer (for logging/identification)
     private final String name;
@@ -23,8 +26,11 @@ public class Producer<T> implements Runnable {
     // Delay in milliseconds between producing items (simulates processing time)
     private final int delayMs;
     
+    // Maximum number of items moved per source read / buffer produce call
+    private final int batchSize;
+    
     /**
-     * Constructs a new Producer.
+     * Constructs a new Producer that moves one item at a time.
      * 
      * @param name Name of this producer thread
      * @param sourceContainer Container to read items from
@@ -32,11 +38,31 @@ public class Producer<T> implements Runnable {
      * @param delayMs Delay in milliseconds between producing items (0 = no delay)
      */
     public Producer(String name, Container<T> sourceContainer, 
-                   SharedBuffer<T> sharedBuffer, int delayMs) {
+                   BoundedBuffer<T> sharedBuffer, int delayMs) {
+        this(name, sourceContainer, sharedBuffer, delayMs, 1);
+    }
+    
+    /**
+     * Constructs a new Producer that moves up to batchSize items at a time.
+     * Each batch costs one source range read and one produceAll() call
+     * instead of one lock round-trip per item on both sides.
+     * 
+     * @param name Name of this producer thread
+     * @param sourceContainer Container to read items from
+     * @param sharedBuffer Shared buffer to place items into
+     * @param delayMs Delay in milliseconds between producing batches (0 = no delay)
+     * @param batchSize Maximum number of items per batch (1 = item by item)
+     */
+    public Producer(String name, Container<T> sourceContainer, 
+                   BoundedBuffer<T> sharedBuffer, int delayMs, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
         this.name = name;
         this.sourceContainer = sourceContainer;
         this.sharedBuffer = sharedBuffer;
         this.delayMs = delayMs;
+        this.batchSize = batchSize;
     }
     
     /**
@@ -48,12 +74,20 @@ public class Producer<T> implements Runnable {
      * 2. Produce item to shared buffer (may block if buffer is full)
      * 3. Sleep for configured delay (simulates processing time)
      * 4. Repeat until all items are processed
+     * 
+     * With a batch size above 1, steps 1 and 2 move a whole batch at once.
      */
     @Override
     public void run() {
         try {
             System.out.println(name + " started producing...");
             
+            if (batchSize > 1) {
+                produceInBatches();
+                System.out.println(name + " finished producing all items.");
+                return;
+            }
+            
             // Index to track current position in source container
             int index = 0;
             
@@ -84,6 +118,31 @@ public class Producer<T> implements Runnable {
             // Restore interrupt status
             Thread.currentThread().interrupt();
             System.err.println(name + " was interrupted: " + e.getMessage());
+        } catch (BufferFullException e) {
+            // REJECT / BLOCK_WITH_TIMEOUT overflow strategy: fail fast
+            System.err.println(name + " stopped, buffer full: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Batch variant of the main loop: one range read and one produceAll()
+     * per batch of up to batchSize items.
+     */
+    private void produceInBatches() throws InterruptedException {
+        int index = 0;
+        while (true) {
+            List<T> batch = sourceContainer.getRange(index, index + batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            
+            // May BLOCK (possibly several times) until the whole batch fits
+            sharedBuffer.produceAll(batch);
+            index += batch.size();
+            
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
         }
     }
     
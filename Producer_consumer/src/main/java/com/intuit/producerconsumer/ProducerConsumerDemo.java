@@ -1,5 +1,13 @@
 package com.intuit.producerconsumer;
 
+import com.intuit.producerconsumer.event.AsyncLoggingEventListener;
+import com.intuit.producerconsumer.event.BufferEventListener;
+import com.intuit.producerconsumer.metrics.Envelope;
+import com.intuit.producerconsumer.metrics.LatencyTracker;
+import com.intuit.producerconsumer.metrics.TrackedBuffer;
+import com.intuit.producerconsumer.ringbuffer.MpmcRingBuffer;
+import com.intuit.producerconsumer.ringbuffer.SpscRingBuffer;
+
 /**
  * Main demonstration class for Producer-Consumer pattern using wait/notify mechanism.
  * This demonstrates classic thread synchronization with custom SharedBuffer.
@@ -14,6 +22,9 @@ package com.intuit.producerconsumer;
  * - Producer will sometimes wait when buffer is full
  * - Consumer will sometimes wait when buffer is empty
  * - All items transferred successfully maintaining FIFO order
+ * 
+ * Pass "spsc" (or "mpmc") as the first argument to run the same pipeline
+ * over a lock-free ring buffer instead of the wait/notify SharedBuffer.
  */
 public class ProducerConsumerDemo {
     
@@ -30,7 +41,15 @@ public class ProducerConsumerDemo {
         
         // Step 2: Create shared buffer with bounded capacity
         // Buffer capacity = 5: Small enough to demonstrate blocking behavior
-        SharedBuffer<String> sharedBuffer = new SharedBuffer<>(5);
+        String bufferType = args.length > 0 ? args[0] : "shared";
+        // Log lines are printed by a background thread, off the buffer's hot path
+        AsyncLoggingEventListener logger = new AsyncLoggingEventListener();
+        BoundedBuffer<Envelope<String>> innerBuffer = createBuffer(bufferType, 5, logger);
+        System.out.println("Using buffer: " + innerBuffer.getClass().getSimpleName() + "\n");
+        
+        // Items are timestamped so we can report how long they waited in the buffer
+        LatencyTracker latency = new LatencyTracker();
+        BoundedBuffer<String> sharedBuffer = new TrackedBuffer<>(innerBuffer, latency);
         
         // Step 3: Create destination container (initially empty)
         // This simulates a data sink (e.g., file, database, queue)
@@ -54,7 +73,9 @@ public class ProducerConsumerDemo {
             sharedBuffer, 
             destinationContainer, 
             10, // consume 10 items total
-            500 // 500ms delay between consumptions (slower than producer)
+            500, // 500ms delay between consumptions (slower than producer)
+            1, // one item at a time
+            latency // records how long storing each item took
         );
         
         // Step 6: Create Thread objects and set thread names
@@ -79,12 +100,38 @@ public class ProducerConsumerDemo {
         
         // Record end time
         long endTime = System.currentTimeMillis();
+        logger.close();
         
         // Step 9: Print final results
         System.out.println("\n=== Final Results ===");
         System.out.println(sourceContainer);  // Shows source items (unchanged)
         System.out.println(destinationContainer);  // Shows all items transferred
         System.out.println("Total time: " + (endTime - startTime) + "ms");
+        System.out.println(latency.report());
         System.out.println("\nAll items successfully transferred from source to destination!");
     }
+    
+    /**
+     * Creates the buffer implementation selected on the command line.
+     * @param type "shared" (default, wait/notify), "condition" (lock with
+     *             notFull/notEmpty conditions), "spsc" (lock-free 1:1 ring)
+     *             or "mpmc" (lock-free N:M sequenced ring)
+     * @param capacity Requested buffer capacity
+     * @param listener Event listener (used by the lock-based buffers only)
+     * @return A new buffer instance
+     */
+    static <T> BoundedBuffer<T> createBuffer(String type, int capacity, BufferEventListener listener) {
+        switch (type.toLowerCase()) {
+            case "shared":
+                return new SharedBuffer<>(capacity, listener);
+            case "condition":
+                return new ConditionSharedBuffer<>(capacity, false, listener);
+            case "spsc":
+                return new SpscRingBuffer<>(capacity);
+            case "mpmc":
+                return new MpmcRingBuffer<>(capacity);
+            default:
+                throw new IllegalArgumentException("Unknown buffer type: " + type);
+        }
+    }
 }
@@ -1,109 +1,452 @@
 package com.intuit.producerconsumer;
 
+import com.intuit.producerconsumer.event.BufferEventListener;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * SharedBuffer implements a thread-safe buffer using wait/notify mechanism.
  * This demonstrates classic producer-consumer synchronization.
  * 
  * Key Concepts:
- * - synchronized: Ensures only one thread can execute produce() or consume() at a time
+ * - synchronized: Ensures only one thread can mutate the queue at a time
  * - wait(): Releases the lock and puts thread in WAITING state until notified
  * - notifyAll(): Wakes up all threads waiting on this object's monitor
  * - while loop: Prevents spurious wakeups by rechecking condition after wait()
+ * - close(): wakes every waiting thread; consumers drain the remaining
+ *   items and then receive null, producers get an IllegalStateException
+ * 
+ * Logging is delegated to a {@link BufferEventListener} which is called
+ * AFTER the monitor is released, so the lock only covers the queue mutation.
+ * The default listener does nothing.
+ * 
+ * An {@link OverflowStrategy} decides what produce() does when the buffer
+ * is full. The default is BLOCK; the others bound producer latency by
+ * waiting at most a timeout, dropping an item or failing fast, and each
+ * outcome is counted (see getDroppedOldestCount() and friends).
  */
-public class SharedBuffer<T> {
+public class SharedBuffer<T> implements BoundedBuffer<T> {
     // Internal queue to store items (FIFO - First In First Out)
     private final Queue<T> buffer;
     
     // Maximum number of items the buffer can hold
     private final int capacity;
     
+    // Receives produced/consumed/waiting events (never null)
+    private final BufferEventListener listener;
+    
+    // What produce() does when the buffer is full
+    private final OverflowStrategy overflowStrategy;
+    
+    // Maximum wait for BLOCK_WITH_TIMEOUT, in nanoseconds
+    private final long timeoutNanos;
+    
+    // Set by close(): no more items will be produced (guarded by this)
+    private boolean closed;
+    
+    // Per-strategy overflow counters (guarded by this)
+    private long droppedOldestCount;
+    private long droppedNewestCount;
+    private long rejectedCount;
+    private long timedOutCount;
+    
     /**
      * Constructor initializes the buffer with specified capacity.
      * @param capacity Maximum number of items the buffer can hold
      */
     public SharedBuffer(int capacity) {
+        this(capacity, BufferEventListener.NO_OP);
+    }
+    
+    /**
+     * Constructor initializes the buffer with specified capacity and event listener.
+     * @param capacity Maximum number of items the buffer can hold
+     * @param listener Listener notified about buffer events
+     */
+    public SharedBuffer(int capacity, BufferEventListener listener) {
+        this(capacity, OverflowStrategy.BLOCK, 0, listener);
+    }
+    
+    /**
+     * Constructor initializes the buffer with specified capacity and overflow strategy.
+     * @param capacity Maximum number of items the buffer can hold
+     * @param overflowStrategy What produce() does when the buffer is full
+     *                         (BLOCK_WITH_TIMEOUT needs the constructor with a timeout)
+     */
+    public SharedBuffer(int capacity, OverflowStrategy overflowStrategy) {
+        this(capacity, overflowStrategy, 0, BufferEventListener.NO_OP);
+    }
+    
+    /**
+     * Constructor initializes the buffer with capacity, overflow strategy and event listener.
+     * @param capacity Maximum number of items the buffer can hold
+     * @param overflowStrategy What produce() does when the buffer is full
+     * @param timeoutMs Maximum wait for BLOCK_WITH_TIMEOUT (ignored by the other strategies)
+     * @param listener Listener notified about buffer events
+     */
+    public SharedBuffer(int capacity, OverflowStrategy overflowStrategy, long timeoutMs,
+                        BufferEventListener listener) {
+        if (overflowStrategy == OverflowStrategy.BLOCK_WITH_TIMEOUT && timeoutMs <= 0) {
+            throw new IllegalArgumentException("BLOCK_WITH_TIMEOUT needs a positive timeout: " + timeoutMs);
+        }
         this.buffer = new LinkedList<>();
         this.capacity = capacity;
+        this.listener = listener;
+        this.overflowStrategy = overflowStrategy;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
     }
     
     /**
      * Producer calls this method to add items to the buffer.
-     * This method will BLOCK if the buffer is full (at capacity).
+     * This method will BLOCK if the buffer is full (at capacity), unless a
+     * different {@link OverflowStrategy} was configured.
      * 
-     * Thread Safety: synchronized keyword ensures mutual exclusion
+     * Thread Safety: synchronized block ensures mutual exclusion
      * Blocking Behavior: wait() is called when buffer is full
      * 
      * @param item The item to add to the buffer
      * @throws InterruptedException if thread is interrupted while waiting
+     * @throws BufferFullException if the buffer is full and the strategy is
+     *         REJECT, or BLOCK_WITH_TIMEOUT and the timeout elapsed
      */
-    public synchronized void produce(T item) throws InterruptedException {
-        // CRITICAL: Use 'while' not 'if' to handle spurious wakeups
-        // Keep checking condition even after being notified
-        while (buffer.size() == capacity) {
-            System.out.println(Thread.currentThread().getName() + 
-                " - Buffer is full. Producer waiting...");
-            
-            // wait() releases the lock and puts this thread in WAITING state
-            // Thread will remain here until another thread calls notify()/notifyAll()
-            wait();
-            
-            // After waking up, thread reacquires the lock and rechecks the while condition
+    @Override
+    public void produce(T item) throws InterruptedException {
+        int size;
+        boolean accepted = true;
+        T dropped = null;
+        int waits = 0;
+        try {
+            synchronized (this) {
+                if (overflowStrategy == OverflowStrategy.BLOCK) {
+                    // CRITICAL: Use 'while' not 'if' to handle spurious wakeups
+                    // Keep checking condition even after being notified
+                    while (buffer.size() == capacity && !closed) {
+                        // Recorded here, reported after the lock is released
+                        waits++;
+                        
+                        // wait() releases the lock and puts this thread in WAITING state
+                        // Thread will remain here until another thread calls notify()/notifyAll()
+                        wait();
+                        
+                        // After waking up, thread reacquires the lock and rechecks the while condition
+                    }
+                } else if (buffer.size() == capacity && !closed) {
+                    switch (overflowStrategy) {
+                        case BLOCK_WITH_TIMEOUT:
+                            waits++;
+                            if (!awaitNotFull(timeoutNanos)) {
+                                timedOutCount++;
+                                throw new BufferFullException("Buffer still full after "
+                                    + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms");
+                            }
+                            break;
+                        case DROP_OLDEST:
+                            // Make room by discarding the head of the queue
+                            dropped = buffer.poll();
+                            droppedOldestCount++;
+                            break;
+                        case DROP_NEWEST:
+                            dropped = item;
+                            accepted = false;
+                            droppedNewestCount++;
+                            break;
+                        default:
+                            rejectedCount++;
+                            throw new BufferFullException("Buffer is full (capacity " + capacity + ")");
+                    }
+                }
+                
+                ensureOpen();
+                
+                if (accepted) {
+                    // Buffer has space - add the item
+                    buffer.add(item);
+                    
+                    // Notify ALL waiting consumer threads that buffer is no longer empty
+                    // notifyAll() is safer than notify() as it wakes all waiting threads
+                    notifyAll();
+                }
+                size = buffer.size();
+            }
+        } finally {
+            reportWaits(true, waits);
         }
         
-        // Buffer has space - add the item
-        buffer.add(item);
-        System.out.println(Thread.currentThread().getName() + 
-            " - Produced: " + item + " | Buffer size: " + buffer.size());
-        
-        // Notify ALL waiting consumer threads that buffer is no longer empty
-        // notifyAll() is safer than notify() as it wakes all waiting threads
-        notifyAll();
+        // Report outside the lock so slow listeners never extend the critical section
+        if (dropped != null) {
+            listener.onDropped(dropped, size);
+        }
+        if (accepted) {
+            listener.onProduced(item, size);
+        }
     }
     
     /**
      * Consumer calls this method to remove items from the buffer.
      * This method will BLOCK if the buffer is empty.
      * 
-     * Thread Safety: synchronized keyword ensures mutual exclusion
+     * Thread Safety: synchronized block ensures mutual exclusion
      * Blocking Behavior: wait() is called when buffer is empty
      * 
-     * @return The item removed from the buffer
+     * @return The item removed from the buffer, or null if closed and empty
      * @throws InterruptedException if thread is interrupted while waiting
      */
-    public synchronized T consume() throws InterruptedException {
-        // CRITICAL: Use 'while' not 'if' to handle spurious wakeups
-        // Keep checking condition even after being notified
-        while (buffer.isEmpty()) {
-            System.out.println(Thread.currentThread().getName() + 
-                " - Buffer is empty. Consumer waiting...");
-            
-            // wait() releases the lock and puts this thread in WAITING state
-            // Thread will remain here until another thread calls notify()/notifyAll()
-            wait();
-            
-            // After waking up, thread reacquires the lock and rechecks the while condition
+    @Override
+    public T consume() throws InterruptedException {
+        T item;
+        int size;
+        int waits = 0;
+        try {
+            synchronized (this) {
+                // CRITICAL: Use 'while' not 'if' to handle spurious wakeups
+                // Keep checking condition even after being notified
+                while (buffer.isEmpty() && !closed) {
+                    // Recorded here, reported after the lock is released
+                    waits++;
+                    
+                    // wait() releases the lock and puts this thread in WAITING state
+                    // Thread will remain here until another thread calls notify()/notifyAll()
+                    wait();
+                    
+                    // After waking up, thread reacquires the lock and rechecks the while condition
+                }
+                
+                if (buffer.isEmpty()) {
+                    // Closed and fully drained: end of stream
+                    return null;
+                }
+                
+                // Buffer has items - remove the first item (FIFO)
+                item = buffer.poll();
+                size = buffer.size();
+                
+                // Notify ALL waiting producer threads that buffer is no longer full
+                // notifyAll() is safer than notify() as it wakes all waiting threads
+                notifyAll();
+            }
+        } finally {
+            reportWaits(false, waits);
         }
         
-        // Buffer has items - remove and return the first item (FIFO)
-        T item = buffer.poll();
-        System.out.println(Thread.currentThread().getName() + 
-            " - Consumed: " + item + " | Buffer size: " + buffer.size());
+        listener.onConsumed(item, size);
+        return item;
+    }
+    
+    /**
+     * Producer calls this method to add a batch of items to the buffer.
+     * Adds as many items as fit per lock acquisition and only waits when
+     * the buffer is full, instead of paying one lock round-trip per item.
+     * 
+     * With an overflow strategy other than BLOCK every item is handled like
+     * a separate produce() call, so the strategy is applied per item.
+     * 
+     * @param items The items to add to the buffer (in iteration order)
+     * @throws InterruptedException if thread is interrupted while waiting
+     */
+    @Override
+    public void produceAll(Collection<? extends T> items) throws InterruptedException {
+        if (overflowStrategy != OverflowStrategy.BLOCK) {
+            BoundedBuffer.super.produceAll(items);
+            return;
+        }
+        int size;
+        int waits = 0;
+        try {
+            synchronized (this) {
+                ensureOpen();
+                int added = 0;
+                for (T item : items) {
+                    // Same rule as produce(): wait while full, recheck after every wakeup
+                    while (buffer.size() == capacity && !closed) {
+                        if (added > 0) {
+                            // Let consumers take what was added so far before we wait
+                            notifyAll();
+                            added = 0;
+                        }
+                        waits++;
+                        wait();
+                    }
+                    ensureOpen();
+                    buffer.add(item);
+                    added++;
+                }
+                size = buffer.size();
+                notifyAll();
+            }
+        } finally {
+            reportWaits(true, waits);
+        }
         
-        // Notify ALL waiting producer threads that buffer is no longer full
-        // notifyAll() is safer than notify() as it wakes all waiting threads
-        notifyAll();
+        listener.onProducedBatch(items.size(), size);
+    }
+    
+    /**
+     * Consumer calls this method to remove a batch of items from the buffer.
+     * Waits until the buffer is not empty, then removes up to maxItems
+     * items in one lock acquisition.
+     * 
+     * @param target Collection receiving the removed items (in FIFO order)
+     * @param maxItems Maximum number of items to remove (must be positive)
+     * @return Number of items moved into target, 0 if closed and empty
+     * @throws InterruptedException if thread is interrupted while waiting
+     */
+    @Override
+    public int drainTo(Collection<? super T> target, int maxItems) throws InterruptedException {
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("maxItems must be positive: " + maxItems);
+        }
+        int drained = 0;
+        int size;
+        int waits = 0;
+        try {
+            synchronized (this) {
+                while (buffer.isEmpty() && !closed) {
+                    waits++;
+                    wait();
+                }
+                if (buffer.isEmpty()) {
+                    return 0;
+                }
+                
+                while (drained < maxItems && !buffer.isEmpty()) {
+                    target.add(buffer.poll());
+                    drained++;
+                }
+                size = buffer.size();
+                notifyAll();
+            }
+        } finally {
+            reportWaits(false, waits);
+        }
+        
+        listener.onConsumedBatch(drained, size);
+        return drained;
+    }
+    
+    /**
+     * Adds an item to the buffer only if there is space right now.
+     * Never blocks - returns false instead of waiting when the buffer is full.
+     * With DROP_OLDEST the oldest item is discarded instead and the offer
+     * succeeds; every other strategy simply returns false.
+     * 
+     * @param item The item to add to the buffer
+     * @return true if the item was added, false if the buffer was full
+     */
+    @Override
+    public boolean offer(T item) {
+        int size;
+        T dropped = null;
+        synchronized (this) {
+            ensureOpen();
+            if (buffer.size() == capacity) {
+                if (overflowStrategy != OverflowStrategy.DROP_OLDEST) {
+                    return false;
+                }
+                dropped = buffer.poll();
+                droppedOldestCount++;
+            }
+            buffer.add(item);
+            size = buffer.size();
+            notifyAll();
+        }
         
+        if (dropped != null) {
+            listener.onDropped(dropped, size);
+        }
+        listener.onProduced(item, size);
+        return true;
+    }
+    
+    /**
+     * Removes an item from the buffer only if one is available right now.
+     * Never blocks - returns null instead of waiting when the buffer is empty.
+     * 
+     * @return The item removed from the buffer, or null if the buffer was empty
+     */
+    @Override
+    public T poll() {
+        T item;
+        int size;
+        synchronized (this) {
+            if (buffer.isEmpty()) {
+                return null;
+            }
+            item = buffer.poll();
+            size = buffer.size();
+            notifyAll();
+        }
+        
+        listener.onConsumed(item, size);
         return item;
     }
     
+    /**
+     * Closes the buffer (end of stream) and wakes up every waiting thread.
+     * Thread-safe method (synchronized).
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+    
+    /**
+     * Checks if the buffer has been closed.
+     * Thread-safe method (synchronized).
+     * @return true if close() has been called
+     */
+    @Override
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+    
+    /**
+     * Waits while the buffer is full and not closed, at most timeoutNanos in total.
+     * Must be called holding the monitor.
+     * @return false if the buffer was still full when the timeout elapsed
+     */
+    private boolean awaitNotFull(long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (buffer.size() == capacity && !closed) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+    
+    /**
+     * Reports recorded waits to the listener. Must be called WITHOUT holding the monitor.
+     */
+    private void reportWaits(boolean producer, int waits) {
+        for (int i = 0; i < waits; i++) {
+            if (producer) {
+                listener.onProducerWaiting();
+            } else {
+                listener.onConsumerWaiting();
+            }
+        }
+    }
+    
+    /**
+     * Throws if the buffer has been closed. Must be called holding the monitor.
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+    }
+    
     /**
      * Returns the current number of items in the buffer.
      * Thread-safe method (synchronized).
      * @return Current buffer size
      */
+    @Override
     public synchronized int size() {
         return buffer.size();
     }
@@ -113,7 +456,48 @@ public class SharedBuffer<T> {
      * Thread-safe method (synchronized).
      * @return true if buffer is empty, false otherwise
      */
+    @Override
     public synchronized boolean isEmpty() {
         return buffer.isEmpty();
     }
+    
+    /**
+     * Returns the strategy applied when a producer finds the buffer full.
+     * @return Overflow strategy
+     */
+    public OverflowStrategy getOverflowStrategy() {
+        return overflowStrategy;
+    }
+    
+    /**
+     * Returns how many buffered items DROP_OLDEST discarded.
+     * @return Number of dropped oldest items
+     */
+    public synchronized long getDroppedOldestCount() {
+        return droppedOldestCount;
+    }
+    
+    /**
+     * Returns how many new items DROP_NEWEST discarded.
+     * @return Number of dropped new items
+     */
+    public synchronized long getDroppedNewestCount() {
+        return droppedNewestCount;
+    }
+    
+    /**
+     * Returns how many produce() calls REJECT failed.
+     * @return Number of rejected items
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+    
+    /**
+     * Returns how many produce() calls BLOCK_WITH_TIMEOUT gave up on.
+     * @return Number of timed-out items
+     */
+    public synchronized long getTimedOutCount() {
+        return timedOutCount;
+    }
 }
@@ -0,0 +1,293 @@
+package com.intuit.producerconsumer;
+
+import com.intuit.producerconsumer.ringbuffer.MpmcRingBuffer;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * StripedBuffer splits one logical bounded buffer into several lanes so
+ * independent producers stop serializing on a single monitor.
+ * 
+ * Key Concepts:
+ * - Lanes: one lock-free ring per producer ({@link #lane(int)}), or a lane
+ *   picked by hashing the producer thread when produce() is called directly
+ * - Per-lane budget: each lane holds capacity / laneCount items (rounded
+ *   up) and has its own Semaphore of free slots, so producers on different
+ *   lanes never touch a shared counter. A producer blocks when ITS lane is
+ *   full, even if other lanes have room
+ * - Consumers: scan the lanes starting at a random one, so they spread over
+ *   the lanes without a shared cursor, and back off (spin, then park) while
+ *   every lane is empty
+ * 
+ * Ordering: a producer always writes to the same lane and a lane is FIFO,
+ * so items of one producer are consumed in the order it produced them
+ * (FIFO-per-producer, same guarantee as SharedBuffer). There is no order
+ * across lanes. Null items are not supported.
+ */
+public class StripedBuffer<T> implements BoundedBuffer<T> {
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = 50_000L;
+    
+    // Permits released on close() so every blocked producer wakes up
+    private static final int CLOSE_PERMITS = Integer.MAX_VALUE / 2;
+    
+    // One ring per lane
+    private final MpmcRingBuffer<T>[] lanes;
+    
+    // Free slots per lane; a producer blocks on its lane's semaphore when the lane is full
+    private final Semaphore[] freeSlots;
+    
+    // Maximum number of items in one lane
+    private final int laneCapacity;
+    
+    // Set by close(): end of stream
+    private volatile boolean closed;
+    
+    /**
+     * Creates a buffer with the given total capacity and number of lanes.
+     * @param capacity Maximum number of items across all lanes (rounded up
+     *        to a multiple of laneCount)
+     * @param laneCount Number of lanes (typically one per producer)
+     */
+    @SuppressWarnings("unchecked")
+    public StripedBuffer(int capacity, int laneCount) {
+        if (capacity <= 0 || laneCount <= 0) {
+            throw new IllegalArgumentException("Capacity and lane count must be positive");
+        }
+        this.laneCapacity = (capacity + laneCount - 1) / laneCount;
+        this.lanes = (MpmcRingBuffer<T>[]) new MpmcRingBuffer<?>[laneCount];
+        this.freeSlots = new Semaphore[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new MpmcRingBuffer<>(laneCapacity);
+            freeSlots[i] = new Semaphore(laneCapacity);
+        }
+    }
+    
+    /**
+     * Returns the producer-side view of one lane. Give each Producer its own
+     * lane so producers never touch each other's ring; consume()/poll() on
+     * the view take from all lanes like the buffer itself.
+     * 
+     * @param index Lane index (0 to laneCount - 1)
+     * @return Buffer view writing into that lane
+     */
+    public BoundedBuffer<T> lane(int index) {
+        Objects.checkIndex(index, lanes.length);
+        return new Lane(index);
+    }
+    
+    /**
+     * Adds an item to the calling thread's hashed lane, waiting while that
+     * lane is full.
+     */
+    @Override
+    public void produce(T item) throws InterruptedException {
+        put(hashedLane(), item);
+    }
+    
+    /**
+     * Takes the next item from any lane, waiting while all lanes are empty.
+     * 
+     * @return The item, or null if the buffer is closed and empty
+     */
+    @Override
+    public T consume() throws InterruptedException {
+        int attempt = 0;
+        while (true) {
+            T item = poll();
+            if (item != null) {
+                return item;
+            }
+            if (closed) {
+                // Every publish happened before close() - one last full scan
+                return poll();
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (attempt++ < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    }
+    
+    @Override
+    public boolean offer(T item) {
+        return tryPut(hashedLane(), item);
+    }
+    
+    /**
+     * Takes an item from the first non-empty lane, starting at a random one.
+     * @return The item, or null if every lane is empty
+     */
+    @Override
+    public T poll() {
+        int start = ThreadLocalRandom.current().nextInt(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            int lane = (start + i) % lanes.length;
+            T item = lanes[lane].poll();
+            if (item != null) {
+                freeSlots[lane].release();
+                return item;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Closes the buffer (end of stream) and wakes up every waiting thread.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i].close();
+            freeSlots[i].release(CLOSE_PERMITS);
+        }
+    }
+    
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    /**
+     * Returns the number of items across all lanes (approximate while
+     * operations are in flight).
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (MpmcRingBuffer<T> lane : lanes) {
+            size += lane.size();
+        }
+        return Math.min(size, capacity());
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Returns the maximum number of items across all lanes.
+     * @return Total capacity (lane capacity times lane count)
+     */
+    public int capacity() {
+        return laneCapacity * lanes.length;
+    }
+    
+    /**
+     * Returns the maximum number of items in one lane.
+     * @return Lane capacity
+     */
+    public int laneCapacity() {
+        return laneCapacity;
+    }
+    
+    /**
+     * Returns the number of lanes.
+     * @return Lane count
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+    
+    private int hashedLane() {
+        return (int) (Thread.currentThread().threadId() % lanes.length);
+    }
+    
+    private void put(int lane, T item) throws InterruptedException {
+        Objects.requireNonNull(item, "StripedBuffer does not accept null items");
+        ensureOpen();
+        freeSlots[lane].acquire();
+        publish(lane, item);
+    }
+    
+    private boolean tryPut(int lane, T item) {
+        Objects.requireNonNull(item, "StripedBuffer does not accept null items");
+        ensureOpen();
+        if (!freeSlots[lane].tryAcquire()) {
+            return false;
+        }
+        publish(lane, item);
+        return true;
+    }
+    
+    /**
+     * Writes an item into its lane after a permit of that lane was acquired.
+     * The ring never fills up first: it holds at least laneCapacity items.
+     */
+    private void publish(int lane, T item) {
+        // Woken by close() rather than by a free slot
+        ensureOpen();
+        lanes[lane].offer(item);
+    }
+    
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+    }
+    
+    /**
+     * Producer-side view bound to one lane.
+     */
+    private final class Lane implements BoundedBuffer<T> {
+        private final int index;
+        
+        Lane(int index) {
+            this.index = index;
+        }
+        
+        @Override
+        public void produce(T item) throws InterruptedException {
+            put(index, item);
+        }
+        
+        @Override
+        public T consume() throws InterruptedException {
+            return StripedBuffer.this.consume();
+        }
+        
+        @Override
+        public boolean offer(T item) {
+            return tryPut(index, item);
+        }
+        
+        @Override
+        public T poll() {
+            return StripedBuffer.this.poll();
+        }
+        
+        @Override
+        public void close() {
+            StripedBuffer.this.close();
+        }
+        
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+        
+        /**
+         * Returns the number of items waiting in this lane.
+         */
+        @Override
+        public int size() {
+            return lanes[index].size();
+        }
+        
+        @Override
+        public boolean isEmpty() {
+            return lanes[index].isEmpty();
+        }
+    }
+}
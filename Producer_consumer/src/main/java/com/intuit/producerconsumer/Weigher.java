@@ -0,0 +1,46 @@
+package com.intuit.producerconsumer;
+
+/**
+ * Computes the weight of an item for a {@link WeightedBuffer}, usually an
+ * estimate of the bytes it keeps alive on the heap.
+ * 
+ * The weight of an item is computed once, when it is added; the buffer
+ * remembers it and releases the same weight when the item is removed.
+ * 
+ * @param <T> Type of items weighed
+ */
+@FunctionalInterface
+public interface Weigher<T> {
+    
+    /**
+     * Returns the weight of an item.
+     * @param item Item being added (never null)
+     * @return Weight, zero or positive
+     */
+    long weigh(T item);
+    
+    /**
+     * Weighs every item as 1, so the weight budget is an item count.
+     * @return Item-count weigher
+     */
+    static <T> Weigher<T> ofItems() {
+        return item -> 1;
+    }
+    
+    /**
+     * Weighs a byte[] payload by its length.
+     * @return Byte array length weigher
+     */
+    static Weigher<byte[]> byteArrayLength() {
+        return bytes -> bytes.length;
+    }
+    
+    /**
+     * Weighs a String by its characters, 2 bytes each (an upper bound of
+     * its content, ignoring the object headers).
+     * @return UTF-16 size weigher
+     */
+    static Weigher<String> utf16Bytes() {
+        return string -> (long) string.length() * Character.BYTES;
+    }
+}
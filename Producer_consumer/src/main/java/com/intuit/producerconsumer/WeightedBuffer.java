@@ -0,0 +1,318 @@
+package com.intuit.producerconsumer;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * WeightedBuffer is a bounded FIFO buffer whose capacity is a weight budget
+ * (typically bytes) instead of an item count, so memory use stays
+ * predictable when small and large payloads are mixed.
+ * 
+ * Key Concepts:
+ * - Weigher: computes each item's weight once, when it is added; the
+ *   buffer stores it next to the item and releases it on removal
+ * - Budget: producers wait while the item would push the total weight
+ *   over the budget
+ * - Oversize items: an item heavier than the whole budget is admitted once
+ *   the buffer is empty, so it is delayed but never rejected forever
+ * - Arrival order: once a producer waits, later producers queue behind it,
+ *   so a large item is not starved by a stream of small ones
+ * - Growable ring: the number of items is only limited by the budget, so
+ *   the item and weight arrays double when full
+ */
+public class WeightedBuffer<T> implements BoundedBuffer<T> {
+    private static final int INITIAL_SLOTS = 16;
+    
+    // Items and their weights, circular (guarded by lock)
+    private Object[] items = new Object[INITIAL_SLOTS];
+    private long[] weights = new long[INITIAL_SLOTS];
+    private int head;
+    private int count;
+    
+    // Computes the weight of every added item
+    private final Weigher<? super T> weigher;
+    
+    // Maximum total weight (an oversize item may exceed it while alone)
+    private final long weightCapacity;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    
+    // Signalled (all) when weight is released, since waiters need different amounts
+    private final Condition weightReleased = lock.newCondition();
+    
+    // Waiting producers in arrival order; only the first may add (guarded by lock)
+    private final ArrayDeque<Object> waitingProducers = new ArrayDeque<>();
+    
+    // Total weight of the items held (guarded by lock)
+    private long currentWeight;
+    
+    // Statistics (guarded by lock)
+    private long peakWeight;
+    private long producerWaits;
+    
+    // Set by close(): no more items will be produced (guarded by lock)
+    private boolean closed;
+    
+    /**
+     * Creates a buffer with the given weight budget.
+     * @param weightCapacity Maximum total weight (positive)
+     * @param weigher Computes the weight of an item
+     */
+    public WeightedBuffer(long weightCapacity, Weigher<? super T> weigher) {
+        if (weightCapacity <= 0) {
+            throw new IllegalArgumentException("Weight capacity must be positive: " + weightCapacity);
+        }
+        this.weightCapacity = weightCapacity;
+        this.weigher = Objects.requireNonNull(weigher, "weigher");
+    }
+    
+    /**
+     * Adds an item, waiting while its weight does not fit into the budget
+     * (or, for an item heavier than the budget, until the buffer is empty).
+     * @throws IllegalArgumentException if the weigher returns a negative weight
+     */
+    @Override
+    public void produce(T item) throws InterruptedException {
+        long weight = weigh(item);
+        lock.lockInterruptibly();
+        try {
+            ensureOpen();
+            if (waitingProducers.isEmpty() && fits(weight)) {
+                enqueue(item, weight);
+                return;
+            }
+            
+            // Queue up behind earlier waiters
+            Object turn = new Object();
+            waitingProducers.addLast(turn);
+            producerWaits++;
+            try {
+                while ((waitingProducers.peekFirst() != turn || !fits(weight)) && !closed) {
+                    weightReleased.await();
+                }
+                ensureOpen();
+                enqueue(item, weight);
+            } finally {
+                waitingProducers.remove(turn);
+                // The next waiter may fit into what is left
+                weightReleased.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public T consume() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (closed) {
+                    return null;
+                }
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Adds an item only if its weight fits right now and no producer is waiting.
+     * @throws IllegalArgumentException if the weigher returns a negative weight
+     */
+    @Override
+    public boolean offer(T item) {
+        long weight = weigh(item);
+        lock.lock();
+        try {
+            ensureOpen();
+            if (!waitingProducers.isEmpty() || !fits(weight)) {
+                return false;
+            }
+            enqueue(item, weight);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public T poll() {
+        lock.lock();
+        try {
+            return count == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            weightReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Returns the total weight of the items held.
+     * @return Current weight
+     */
+    public long getCurrentWeight() {
+        lock.lock();
+        try {
+            return currentWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the largest total weight held so far.
+     * @return Peak weight
+     */
+    public long getPeakWeight() {
+        lock.lock();
+        try {
+            return peakWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the weight budget.
+     * @return Weight capacity
+     */
+    public long getWeightCapacity() {
+        return weightCapacity;
+    }
+    
+    /**
+     * Returns the share of the budget in use (above 1 while an oversize item is held).
+     * @return Current weight / weight capacity
+     */
+    public double getUtilization() {
+        return (double) getCurrentWeight() / weightCapacity;
+    }
+    
+    /**
+     * Returns how often a producer had to wait for weight to be released.
+     * @return Producer wait count
+     */
+    public long getProducerWaitCount() {
+        lock.lock();
+        try {
+            return producerWaits;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private long weigh(T item) {
+        Objects.requireNonNull(item, "WeightedBuffer does not accept null items");
+        long weight = weigher.weigh(item);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight must not be negative: " + weight);
+        }
+        return weight;
+    }
+    
+    /**
+     * True if an item of this weight may be added now. Must be called holding the lock.
+     */
+    private boolean fits(long weight) {
+        return count == 0 || currentWeight + weight <= weightCapacity;
+    }
+    
+    /**
+     * Appends an item and its weight, growing the ring when full. Must be called holding the lock.
+     */
+    private void enqueue(T item, long weight) {
+        if (count == items.length) {
+            grow();
+        }
+        int tail = head + count;
+        if (tail >= items.length) {
+            tail -= items.length;
+        }
+        items[tail] = item;
+        weights[tail] = weight;
+        count++;
+        currentWeight += weight;
+        peakWeight = Math.max(peakWeight, currentWeight);
+        notEmpty.signal();
+    }
+    
+    /**
+     * Removes the oldest item and releases its weight. Must be called holding the lock with count > 0.
+     */
+    @SuppressWarnings("unchecked")
+    private T dequeue() {
+        T item = (T) items[head];
+        items[head] = null;
+        currentWeight -= weights[head];
+        head = head + 1 == items.length ? 0 : head + 1;
+        count--;
+        if (!waitingProducers.isEmpty()) {
+            weightReleased.signalAll();
+        }
+        return item;
+    }
+    
+    /**
+     * Doubles the ring, unwrapping it so the oldest item is at index 0.
+     */
+    private void grow() {
+        Object[] newItems = new Object[items.length * 2];
+        long[] newWeights = new long[items.length * 2];
+        int firstPart = Math.min(count, items.length - head);
+        System.arraycopy(items, head, newItems, 0, firstPart);
+        System.arraycopy(items, 0, newItems, firstPart, count - firstPart);
+        System.arraycopy(weights, head, newWeights, 0, firstPart);
+        System.arraycopy(weights, 0, newWeights, firstPart, count - firstPart);
+        items = newItems;
+        weights = newWeights;
+        head = 0;
+    }
+    
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.intuit.producerconsumer.benchmark;
+
+import com.intuit.producerconsumer.ringbuffer.EventRing;
+import com.intuit.producerconsumer.ringbuffer.MpmcRingBuffer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the heap allocated per transfer when every item is a new object
+ * (MpmcRingBuffer of immutable ticks) and when preallocated event slots
+ * are reused (EventRing of mutable ticks).
+ * 
+ * One producer and one consumer move the same data both ways; each thread
+ * reports its own allocated bytes (com.sun.management.ThreadMXBean), and the
+ * number of GC cycles during the run is printed. Run with -Xlog:gc to see
+ * that the EventRing phase triggers no collections.
+ * 
+ * Usage: AllocationBenchmark [transfers]
+ */
+public class AllocationBenchmark {
+    private static final int CAPACITY = 1024;
+    
+    /**
+     * Item allocated per transfer.
+     */
+    private record Tick(long id, long price) {
+    }
+    
+    /**
+     * Reusable event, filled in place.
+     */
+    private static final class MutableTick {
+        long id;
+        long price;
+    }
+    
+    // Keeps the consumer's reads from being optimized away
+    private static volatile long checksumSink;
+    
+    public static void main(String[] args) throws InterruptedException {
+        int transfers = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        
+        System.out.println("=== Allocation Benchmark ===");
+        System.out.println("Transfers: " + transfers + " | Capacity: " + CAPACITY + "\n");
+        
+        // Warm up both paths so JIT compilation is not measured
+        runAllocating(transfers / 10);
+        runSlotReuse(transfers / 10);
+        
+        System.out.println(runAllocating(transfers));
+        System.out.println(runSlotReuse(transfers));
+    }
+    
+    private static String runAllocating(int transfers) throws InterruptedException {
+        MpmcRingBuffer<Tick> buffer = new MpmcRingBuffer<>(CAPACITY);
+        AtomicLong consumerBytes = new AtomicLong();
+        Thread consumer = Thread.ofPlatform().start(() -> {
+            long before = allocatedBytes();
+            long checksum = 0;
+            try {
+                for (int i = 0; i < transfers; i++) {
+                    Tick tick = buffer.consume();
+                    checksum += tick.price();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumerBytes.set(allocatedBytes() - before);
+            checksumSink = checksum;
+        });
+        
+        long gcBefore = gcCount();
+        long start = System.nanoTime();
+        long before = allocatedBytes();
+        for (int i = 0; i < transfers; i++) {
+            buffer.produce(new Tick(i, i * 3L));
+        }
+        long producerBytes = allocatedBytes() - before;
+        consumer.join();
+        return report("MpmcRingBuffer (new item)", transfers, start, producerBytes, consumerBytes.get(),
+            gcCount() - gcBefore);
+    }
+    
+    private static String runSlotReuse(int transfers) throws InterruptedException {
+        EventRing<MutableTick> ring = new EventRing<>(CAPACITY, MutableTick::new);
+        AtomicLong consumerBytes = new AtomicLong();
+        Thread consumer = Thread.ofPlatform().start(() -> {
+            long before = allocatedBytes();
+            long checksum = 0;
+            try {
+                for (int i = 0; i < transfers; i++) {
+                    long sequence = ring.take();
+                    checksum += ring.get(sequence).price;
+                    ring.release(sequence);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumerBytes.set(allocatedBytes() - before);
+            checksumSink = checksum;
+        });
+        
+        long gcBefore = gcCount();
+        long start = System.nanoTime();
+        long before = allocatedBytes();
+        for (int i = 0; i < transfers; i++) {
+            long sequence = ring.claim();
+            MutableTick tick = ring.get(sequence);
+            tick.id = i;
+            tick.price = i * 3L;
+            ring.publish(sequence);
+        }
+        long producerBytes = allocatedBytes() - before;
+        consumer.join();
+        return report("EventRing (slot reuse)", transfers, start, producerBytes, consumerBytes.get(),
+            gcCount() - gcBefore);
+    }
+    
+    private static String report(String label, int transfers, long startNanos, long producerBytes,
+                                 long consumerBytes, long gcCycles) {
+        long elapsed = System.nanoTime() - startNanos;
+        return String.format("%-26s %,12.0f transfers/s | allocated: producer %,12d B, consumer %,10d B "
+                + "(%.2f B/transfer) | GC cycles: %d",
+            label, transfers * 1e9 / elapsed, producerBytes, consumerBytes,
+            (double) (producerBytes + consumerBytes) / transfers, gcCycles);
+    }
+    
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+            .getCurrentThreadAllocatedBytes();
+    }
+    
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,85 @@
+package com.intuit.producerconsumer.benchmark;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import com.intuit.producerconsumer.ConditionSharedBuffer;
+import com.intuit.producerconsumer.WeightedBuffer;
+import com.intuit.producerconsumer.Weigher;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the payload bytes held by an item-count buffer
+ * (ConditionSharedBuffer) and a byte-budget WeightedBuffer under mixed
+ * payload sizes.
+ * 
+ * A fast producer sends mostly 1 KB payloads with an occasional 1 MB one,
+ * and a slower consumer keeps both buffers full. The item-count buffer
+ * sized for small payloads can end up holding many large ones at once;
+ * the weighted buffer never holds more than its byte budget (plus at most
+ * one oversize payload while it is alone).
+ * 
+ * Usage: MemoryBudgetBenchmark [payloads]
+ */
+public class MemoryBudgetBenchmark {
+    private static final int ITEM_CAPACITY = 256;
+    private static final long BYTE_BUDGET = 4L * 1024 * 1024;
+    private static final int SMALL_PAYLOAD = 1024;
+    private static final int LARGE_PAYLOAD = 1024 * 1024;
+    private static final int LARGE_EVERY = 20;
+    
+    // Keeps the consumer's reads from being optimized away
+    private static volatile long checksumSink;
+    
+    public static void main(String[] args) throws InterruptedException {
+        int payloads = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        
+        System.out.println("=== Memory Budget Benchmark ===");
+        System.out.println("Payloads: " + payloads + " (1 in " + LARGE_EVERY + " is 1 MB, the rest 1 KB)\n");
+        
+        run("ConditionSharedBuffer(" + ITEM_CAPACITY + " items)",
+            new ConditionSharedBuffer<>(ITEM_CAPACITY), payloads);
+        WeightedBuffer<byte[]> weighted = new WeightedBuffer<>(BYTE_BUDGET, Weigher.byteArrayLength());
+        run("WeightedBuffer(" + BYTE_BUDGET / 1024 / 1024 + " MB)", weighted, payloads);
+        System.out.printf("%nWeightedBuffer peak weight: %,d KB, producer waits: %,d%n",
+            weighted.getPeakWeight() / 1024, weighted.getProducerWaitCount());
+    }
+    
+    private static void run(String label, BoundedBuffer<byte[]> buffer, int payloads) throws InterruptedException {
+        // Bytes currently in the buffer, tracked outside of it so both buffers are measured alike
+        AtomicLong bytesHeld = new AtomicLong();
+        AtomicLong peakBytes = new AtomicLong();
+        
+        Thread consumer = Thread.ofPlatform().start(() -> {
+            try {
+                byte[] payload;
+                long checksum = 0;
+                while ((payload = buffer.consume()) != null) {
+                    bytesHeld.addAndGet(-payload.length);
+                    // Touch every 64th byte: slower than the producer, so the buffer stays full
+                    for (int i = 0; i < payload.length; i += 64) {
+                        checksum += payload[i];
+                    }
+                    Thread.sleep(0, 200_000);
+                }
+                checksumSink = checksum;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < payloads; i++) {
+            byte[] payload = new byte[i % LARGE_EVERY == LARGE_EVERY - 1 ? LARGE_PAYLOAD : SMALL_PAYLOAD];
+            payload[0] = (byte) ThreadLocalRandom.current().nextInt();
+            // Counted before produce(): the payload is committed to the buffer from here on
+            peakBytes.accumulateAndGet(bytesHeld.addAndGet(payload.length), Math::max);
+            buffer.produce(payload);
+        }
+        buffer.close();
+        consumer.join();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        
+        System.out.printf("%-32s peak payload bytes held: %,8d KB | %,6dms%n",
+            label, peakBytes.get() / 1024, elapsedMs);
+    }
+}
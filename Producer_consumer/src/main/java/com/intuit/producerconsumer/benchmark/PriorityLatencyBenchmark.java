@@ -0,0 +1,102 @@
+package com.intuit.producerconsumer.benchmark;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import com.intuit.producerconsumer.ConditionSharedBuffer;
+import com.intuit.producerconsumer.PriorityBuffer;
+import com.intuit.producerconsumer.metrics.LatencyHistogram;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures how long urgent items wait behind a bulk backlog in a FIFO
+ * buffer (ConditionSharedBuffer) compared with a two-band PriorityBuffer.
+ * 
+ * A bulk producer keeps the buffer full, an urgent producer adds one
+ * timestamped item every 500us, and a single consumer spends a fixed amount
+ * of CPU on every item, so it is always the bottleneck. In the FIFO buffer
+ * every urgent item queues behind a full buffer of bulk work. In the
+ * PriorityBuffer it is taken next, and the urgent band has its own
+ * capacity, so the urgent producer never waits behind the bulk producer.
+ * 
+ * Usage: PriorityLatencyBenchmark [seconds] [workMicros]
+ */
+public class PriorityLatencyBenchmark {
+    private static final int CAPACITY = 1024;
+    private static final long URGENT_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+    
+    /**
+     * Item carrying its priority and creation time.
+     */
+    private record Message(boolean urgent, long createdNanos) {
+    }
+    
+    public static void main(String[] args) throws InterruptedException {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        int workMicros = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        
+        System.out.println("=== Priority Latency Benchmark ===");
+        System.out.println("Capacity: " + CAPACITY + " | Work per item: " + workMicros + "us"
+            + " | Duration: " + seconds + "s per buffer\n");
+        
+        run("FIFO (ConditionSharedBuffer)", new ConditionSharedBuffer<>(CAPACITY), seconds, workMicros);
+        PriorityBuffer<Message> priority = new PriorityBuffer<>(CAPACITY, 2, message -> message.urgent() ? 0 : 1);
+        run("PriorityBuffer (2 bands)", priority, seconds, workMicros);
+        System.out.println("Starvation guard served bulk " + priority.getStarvationGuardCount() + " times");
+    }
+    
+    private static void run(String label, BoundedBuffer<Message> buffer, int seconds, int workMicros)
+            throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        LatencyHistogram urgentLatency = new LatencyHistogram();
+        LatencyHistogram bulkLatency = new LatencyHistogram();
+        
+        Thread bulk = new Thread(() -> {
+            try {
+                while (System.nanoTime() < end) {
+                    buffer.produce(new Message(false, System.nanoTime()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "bulk-producer");
+        Thread urgent = new Thread(() -> {
+            try {
+                while (System.nanoTime() < end) {
+                    buffer.produce(new Message(true, System.nanoTime()));
+                    LockSupport.parkNanos(URGENT_INTERVAL_NANOS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "urgent-producer");
+        Thread consumer = new Thread(() -> {
+            long workNanos = TimeUnit.MICROSECONDS.toNanos(workMicros);
+            try {
+                Message message;
+                while ((message = buffer.consume()) != null) {
+                    long latency = System.nanoTime() - message.createdNanos();
+                    (message.urgent() ? urgentLatency : bulkLatency).record(latency);
+                    // Simulated processing: burn CPU for a fixed time
+                    long until = System.nanoTime() + workNanos;
+                    while (System.nanoTime() < until) {
+                        Thread.onSpinWait();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "consumer");
+        
+        consumer.start();
+        bulk.start();
+        urgent.start();
+        bulk.join();
+        urgent.join();
+        buffer.close();
+        consumer.join();
+        
+        System.out.println(label);
+        System.out.println("  " + urgentLatency.summary("urgent"));
+        System.out.println("  " + bulkLatency.summary("bulk  "));
+    }
+}
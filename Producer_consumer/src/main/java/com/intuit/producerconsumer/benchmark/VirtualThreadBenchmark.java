@@ -0,0 +1,77 @@
+package com.intuit.producerconsumer.benchmark;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import com.intuit.producerconsumer.ConditionSharedBuffer;
+import com.intuit.producerconsumer.Consumer;
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.Producer;
+import com.intuit.producerconsumer.pipeline.PipelineRunner;
+import com.intuit.producerconsumer.pipeline.PipelineRunner.ThreadMode;
+
+/**
+ * Benchmark running a few fast producers against 10,000 slow consumers.
+ * 
+ * Each consumer sleeps delayMs after every item, simulating an I/O-bound
+ * sink. With VIRTUAL threads the sleeping consumers unmount from their
+ * carriers, so the run finishes in roughly itemsPerConsumer * delayMs no
+ * matter how many consumers there are. The buffer is a ConditionSharedBuffer
+ * so that blocked consumers do not pin carrier threads.
+ * 
+ * Usage: VirtualThreadBenchmark [VIRTUAL|PLATFORM] [consumers] [itemsPerConsumer] [delayMs]
+ */
+public class VirtualThreadBenchmark {
+    private static final int PRODUCERS = 4;
+    
+    public static void main(String[] args) throws InterruptedException {
+        ThreadMode mode = args.length > 0 ? ThreadMode.valueOf(args[0].toUpperCase()) : ThreadMode.VIRTUAL;
+        int consumers = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int itemsPerConsumer = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int delayMs = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        
+        System.out.println("=== Virtual Thread Benchmark ===");
+        System.out.println("Mode: " + mode + " | Producers: " + PRODUCERS + " | Consumers: " + consumers
+            + " | Items per consumer: " + itemsPerConsumer + " | Consumer delay: " + delayMs + "ms\n");
+        
+        long elapsedMs = run(mode, consumers, itemsPerConsumer, delayMs);
+        long totalItems = (long) consumers * itemsPerConsumer;
+        
+        System.out.println("Total items: " + totalItems);
+        System.out.println("Total time: " + elapsedMs + "ms");
+        System.out.println("Throughput: " + (totalItems * 1000 / Math.max(elapsedMs, 1)) + " items/s");
+    }
+    
+    /**
+     * Runs one benchmark round and returns its wall-clock time.
+     * @return Elapsed time in milliseconds
+     */
+    static long run(ThreadMode mode, int consumers, int itemsPerConsumer, int delayMs) 
+            throws InterruptedException {
+        int totalItems = consumers * itemsPerConsumer;
+        BoundedBuffer<Integer> buffer = new ConditionSharedBuffer<>(1024);
+        Container<Integer> destination = new Container<>("Destination");
+        
+        PipelineRunner runner = new PipelineRunner(mode);
+        long startTime = System.currentTimeMillis();
+        
+        for (int c = 0; c < consumers; c++) {
+            runner.submit("Consumer-" + c, 
+                new Consumer<>("Consumer-" + c, buffer, destination, itemsPerConsumer, delayMs));
+        }
+        // Split the source evenly between producers
+        for (int p = 0; p < PRODUCERS; p++) {
+            Container<Integer> source = new Container<>("Source-" + p);
+            for (int i = p; i < totalItems; i += PRODUCERS) {
+                source.add(i);
+            }
+            runner.submit("Producer-" + p, new Producer<>("Producer-" + p, source, buffer, 0));
+        }
+        
+        runner.awaitCompletion();
+        long elapsedMs = System.currentTimeMillis() - startTime;
+        
+        if (destination.size() != totalItems) {
+            throw new IllegalStateException("Expected " + totalItems + " items but got " + destination.size());
+        }
+        return elapsedMs;
+    }
+}
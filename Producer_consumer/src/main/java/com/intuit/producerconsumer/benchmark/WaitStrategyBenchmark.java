@@ -0,0 +1,119 @@
+package com.intuit.producerconsumer.benchmark;
+
+import com.intuit.producerconsumer.ringbuffer.SpscRingBuffer;
+import com.intuit.producerconsumer.waitstrategy.BlockingWaitStrategy;
+import com.intuit.producerconsumer.waitstrategy.BusySpinWaitStrategy;
+import com.intuit.producerconsumer.waitstrategy.ParkingWaitStrategy;
+import com.intuit.producerconsumer.waitstrategy.SpinThenParkWaitStrategy;
+import com.intuit.producerconsumer.waitstrategy.WaitStrategy;
+import com.intuit.producerconsumer.waitstrategy.YieldingWaitStrategy;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Ping-pong benchmark showing the latency/CPU trade-off of each WaitStrategy.
+ * 
+ * Two threads bounce one item over a pair of SpscRingBuffers. The pinger
+ * measures the round-trip time and then pauses for gapMicros, so the echo
+ * thread really has to wait for the next ping - exactly the situation the
+ * wait strategy handles. Reported per strategy:
+ * - round-trip latency percentiles (two hand-offs per round trip)
+ * - CPU time the echo thread used, as a share of one core; an idle waiter
+ *   that spins shows ~100%, one that blocks shows close to 0%
+ * 
+ * Busy spinning needs two free cores: with one core each hand-off costs a
+ * scheduler time slice, so it is skipped on single-core machines.
+ * 
+ * Usage: WaitStrategyBenchmark [rounds] [gapMicros]
+ */
+public class WaitStrategyBenchmark {
+    private static final Integer PING = 1;
+    
+    public static void main(String[] args) throws InterruptedException {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int gapMicros = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        
+        System.out.println("=== Wait Strategy Benchmark (ping-pong) ===");
+        System.out.println("Rounds: " + rounds + " | Gap between pings: " + gapMicros + "us"
+            + " | CPUs: " + Runtime.getRuntime().availableProcessors() + "\n");
+        System.out.printf("%-20s %10s %10s %10s %10s %12s%n",
+            "Strategy", "mean(us)", "p50(us)", "p99(us)", "p99.9(us)", "echo CPU");
+        
+        if (Runtime.getRuntime().availableProcessors() >= 2) {
+            run("BusySpin", BusySpinWaitStrategy::new, rounds, gapMicros);
+        } else {
+            System.out.printf("%-20s %s%n", "BusySpin", "skipped (needs 2 cores)");
+        }
+        run("Yielding", YieldingWaitStrategy::new, rounds, gapMicros);
+        run("SpinThenPark", SpinThenParkWaitStrategy::new, rounds, gapMicros);
+        run("Parking", ParkingWaitStrategy::new, rounds, gapMicros);
+        run("Blocking", BlockingWaitStrategy::new, rounds, gapMicros);
+    }
+    
+    /**
+     * Runs one ping-pong session; the first 10% of the rounds are a warm-up.
+     */
+    static void run(String label, Supplier<WaitStrategy> strategy, int rounds, int gapMicros) 
+            throws InterruptedException {
+        SpscRingBuffer<Integer> ping = new SpscRingBuffer<>(1, strategy.get());
+        SpscRingBuffer<Integer> pong = new SpscRingBuffer<>(1, strategy.get());
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        AtomicLong echoCpuNanos = new AtomicLong();
+        
+        Thread echo = new Thread(() -> {
+            try {
+                Integer item;
+                while ((item = ping.consume()) != null) {
+                    pong.produce(item);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            echoCpuNanos.set(threads.getCurrentThreadCpuTime());
+        }, "echo-" + label);
+        echo.start();
+        
+        int warmup = rounds / 10;
+        long[] roundTrips = new long[rounds - warmup];
+        long measureStart = 0;
+        long cpuAtMeasureStart = 0;
+        for (int i = 0; i < rounds; i++) {
+            if (i == warmup) {
+                measureStart = System.nanoTime();
+                cpuAtMeasureStart = threads.getThreadCpuTime(echo.threadId());
+            }
+            long start = System.nanoTime();
+            ping.produce(PING);
+            pong.consume();
+            long roundTrip = System.nanoTime() - start;
+            if (i >= warmup) {
+                roundTrips[i - warmup] = roundTrip;
+            }
+            if (gapMicros > 0) {
+                LockSupport.parkNanos(gapMicros * 1_000L);
+            }
+        }
+        long wallNanos = System.nanoTime() - measureStart;
+        ping.close();
+        echo.join();
+        
+        Arrays.sort(roundTrips);
+        double cpuShare = (echoCpuNanos.get() - cpuAtMeasureStart) * 100.0 / wallNanos;
+        System.out.printf("%-20s %10.1f %10.1f %10.1f %10.1f %11.0f%%%n",
+            label,
+            Arrays.stream(roundTrips).average().orElse(0) / 1e3,
+            percentile(roundTrips, 0.50) / 1e3,
+            percentile(roundTrips, 0.99) / 1e3,
+            percentile(roundTrips, 0.999) / 1e3,
+            cpuShare);
+    }
+    
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
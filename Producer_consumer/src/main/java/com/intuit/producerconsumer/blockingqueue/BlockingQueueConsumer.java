@@ -1,27 +1,76 @@
 package com.intuit.producerconsumer.blockingqueue;
 
-import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.AppendOnlyContainer;
+import com.intuit.producerconsumer.event.BufferEventListener;
+import java.util.Objects;
 import java.util.concurrent.BlockingQueue;
 
 /**
  * Consumer implementation using Java's BlockingQueue.
  * BlockingQueue handles thread synchronization internally.
+ * Per-item logging goes through a BufferEventListener (no-op by default).
+ * 
+ * End of stream: a consumer created with {@link #untilPoisonPill} stops when
+ * it takes the poison pill instead of after a fixed item count. It puts the
+ * pill back before stopping, so ONE pill put after all producers finished
+ * stops every consumer sharing the queue.
  */
 public class BlockingQueueConsumer<T> implements Runnable {
     private final BlockingQueue<T> blockingQueue;
-    private final Container<T> destinationContainer;
+    private final AppendOnlyContainer<T> destinationContainer;
     private final String name;
     private final int itemsToConsume;
     private final int delayMs;
+    private final BufferEventListener listener;
+    
+    // End-of-stream marker, or null when stopping after itemsToConsume items
+    private final T poisonPill;
     
     public BlockingQueueConsumer(String name, BlockingQueue<T> blockingQueue,
-                                Container<T> destinationContainer, 
+                                AppendOnlyContainer<T> destinationContainer, 
                                 int itemsToConsume, int delayMs) {
+        this(name, blockingQueue, destinationContainer, itemsToConsume, delayMs,
+            BufferEventListener.NO_OP);
+    }
+    
+    public BlockingQueueConsumer(String name, BlockingQueue<T> blockingQueue,
+                                AppendOnlyContainer<T> destinationContainer, 
+                                int itemsToConsume, int delayMs,
+                                BufferEventListener listener) {
+        this(name, blockingQueue, destinationContainer, itemsToConsume, delayMs, listener, null);
+    }
+    
+    private BlockingQueueConsumer(String name, BlockingQueue<T> blockingQueue,
+                                  AppendOnlyContainer<T> destinationContainer, 
+                                  int itemsToConsume, int delayMs,
+                                  BufferEventListener listener, T poisonPill) {
         this.name = name;
         this.blockingQueue = blockingQueue;
         this.destinationContainer = destinationContainer;
         this.itemsToConsume = itemsToConsume;
         this.delayMs = delayMs;
+        this.listener = listener;
+        this.poisonPill = poisonPill;
+    }
+    
+    /**
+     * Creates a consumer that takes items until it sees the poison pill.
+     * The pill itself is never added to the destination container.
+     * 
+     * @param name Consumer name
+     * @param blockingQueue Queue to take items from
+     * @param destinationContainer Container to store consumed items
+     * @param poisonPill End-of-stream marker (compared with equals)
+     * @param delayMs Delay in milliseconds between consuming items (0 = no delay)
+     * @param listener Listener notified about consumed items
+     * @return A new consumer
+     */
+    public static <T> BlockingQueueConsumer<T> untilPoisonPill(String name, BlockingQueue<T> blockingQueue,
+                                                              AppendOnlyContainer<T> destinationContainer,
+                                                              T poisonPill, int delayMs,
+                                                              BufferEventListener listener) {
+        return new BlockingQueueConsumer<>(name, blockingQueue, destinationContainer,
+            Integer.MAX_VALUE, delayMs, listener, Objects.requireNonNull(poisonPill));
     }
     
     @Override
@@ -33,10 +82,14 @@ public class BlockingQueueConsumer<T> implements Runnable {
             while (consumed < itemsToConsume) {
                 // take() blocks if queue is empty
                 T item = blockingQueue.take();
+                if (poisonPill != null && poisonPill.equals(item)) {
+                    // Put the pill back so the other consumers stop too
+                    blockingQueue.put(item);
+                    break;
+                }
                 
                 destinationContainer.add(item);
-                System.out.println(name + " - Consumed: " + item + 
-                    " | Queue size: " + blockingQueue.size());
+                listener.onConsumed(item, blockingQueue.size());
                 consumed++;
                 
                 if (delayMs > 0) {
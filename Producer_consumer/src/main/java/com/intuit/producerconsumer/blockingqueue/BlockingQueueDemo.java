@@ -1,14 +1,19 @@
 package com.intuit.producerconsumer.blockingqueue;
 
 import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.event.AsyncLoggingEventListener;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 
 /**
  * Demonstration of Producer-Consumer pattern using Java's BlockingQueue.
  * BlockingQueue provides built-in thread synchronization.
+ * The consumer runs until it takes a poison pill, which the main thread
+ * puts into the queue once the producer has finished.
  */
 public class BlockingQueueDemo {
+    // End-of-stream marker; source values are positive multiples of 10
+    private static final Integer POISON_PILL = -1;
     
     public static void main(String[] args) throws InterruptedException {
         System.out.println("=== BlockingQueue Producer-Consumer Demo ===\n");
@@ -26,21 +31,26 @@ public class BlockingQueueDemo {
         // Create destination container
         Container<Integer> destinationContainer = new Container<>("Destination");
         
+        // Per-item log lines are printed by a background thread, off the queue hot path
+        AsyncLoggingEventListener logger = new AsyncLoggingEventListener();
+        
         // Create producer
         BlockingQueueProducer<Integer> producer = new BlockingQueueProducer<>(
             "BQ-Producer", 
             sourceContainer, 
             blockingQueue, 
-            200
+            200,
+            logger
         );
         
-        // Create consumer
-        BlockingQueueConsumer<Integer> consumer = new BlockingQueueConsumer<>(
+        // Create consumer (stops at the poison pill, no item count needed)
+        BlockingQueueConsumer<Integer> consumer = BlockingQueueConsumer.untilPoisonPill(
             "BQ-Consumer", 
             blockingQueue, 
             destinationContainer, 
-            15, 
-            400
+            POISON_PILL, 
+            400,
+            logger
         );
         
         // Start threads
@@ -52,11 +62,13 @@ public class BlockingQueueDemo {
         producerThread.start();
         consumerThread.start();
         
-        // Wait for completion
+        // Wait for the producer, then signal end of stream to the consumer
         producerThread.join();
+        blockingQueue.put(POISON_PILL);
         consumerThread.join();
         
         long endTime = System.currentTimeMillis();
+        logger.close();
         
         // Print results
         System.out.println("\n=== Final Results ===");
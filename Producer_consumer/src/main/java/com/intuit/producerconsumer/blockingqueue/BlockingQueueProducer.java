@@ -1,24 +1,34 @@
 package com.intuit.producerconsumer.blockingqueue;
 
 import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.event.BufferEventListener;
 import java.util.concurrent.BlockingQueue;
 
 /**
  * Producer implementation using Java's BlockingQueue.
  * BlockingQueue handles thread synchronization internally.
+ * Per-item logging goes through a BufferEventListener (no-op by default).
  */
 public class BlockingQueueProducer<T> implements Runnable {
     private final Container<T> sourceContainer;
     private final BlockingQueue<T> blockingQueue;
     private final String name;
     private final int delayMs;
+    private final BufferEventListener listener;
     
     public BlockingQueueProducer(String name, Container<T> sourceContainer, 
                                  BlockingQueue<T> blockingQueue, int delayMs) {
+        this(name, sourceContainer, blockingQueue, delayMs, BufferEventListener.NO_OP);
+    }
+    
+    public BlockingQueueProducer(String name, Container<T> sourceContainer, 
+                                 BlockingQueue<T> blockingQueue, int delayMs,
+                                 BufferEventListener listener) {
         this.name = name;
         this.sourceContainer = sourceContainer;
         this.blockingQueue = blockingQueue;
         this.delayMs = delayMs;
+        this.listener = listener;
     }
     
     @Override
@@ -33,8 +43,7 @@ public class BlockingQueueProducer<T> implements Runnable {
                 if (item != null) {
                     // put() blocks if queue is full
                     blockingQueue.put(item);
-                    System.out.println(name + " - Produced: " + item + 
-                        " | Queue size: " + blockingQueue.size());
+                    listener.onProduced(item, blockingQueue.size());
                     index++;
                     
                     if (delayMs > 0) {
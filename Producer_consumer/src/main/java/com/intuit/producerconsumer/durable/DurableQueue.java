@@ -0,0 +1,589 @@
+package com.intuit.producerconsumer.durable;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import com.intuit.producerconsumer.offheap.FrameSerializer;
+import com.intuit.producerconsumer.waitstrategy.SpinThenParkWaitStrategy;
+import com.intuit.producerconsumer.waitstrategy.WaitStrategy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * DurableQueue is a crash-safe bounded buffer: items are appended to
+ * memory-mapped segment files and the consumer's read position is stored
+ * on disk, so a restarted process resumes exactly where the old one stopped.
+ * 
+ * Key Concepts:
+ * - Append-only log: producers serialize frames straight into the mapped
+ *   memory of the current segment file; nothing is ever rewritten in place
+ * - Frames: [int frame length][int CRC32C of payload][payload][padding to 8];
+ *   the length is written LAST, so a frame only exists once it is complete
+ * - Segments: fixed-size files named after their index; a frame never spans
+ *   two segments (the rest of a segment is marked with -1 and skipped)
+ * - Consumer offset: the byte position of the next unread frame, kept in a
+ *   small mapped file and updated after every read
+ * - Segment deletion: a segment file is deleted once the consumer offset
+ *   has moved past it
+ * - Recovery: on open, frames are scanned from the consumer offset; the
+ *   first missing or corrupt frame (checksum mismatch) marks the end of the log
+ * - Bound: producers wait while unconsumed bytes would exceed capacityBytes
+ * 
+ * Writes go to the OS page cache and survive a JVM crash immediately; the
+ * {@link FsyncPolicy} decides when they are forced to the disk as well.
+ * 
+ * Like OffHeapRingBuffer, producers and consumers use separate locks, so
+ * they never block each other. Reading a queue from two processes at once
+ * is not supported.
+ */
+public class DurableQueue<T> implements BoundedBuffer<T> {
+    // Default size of one segment file
+    public static final int DEFAULT_SEGMENT_BYTES = 16 * 1024 * 1024;
+    
+    // Default limit on unconsumed bytes
+    public static final long DEFAULT_CAPACITY_BYTES = 256L * 1024 * 1024;
+    
+    // Frame length + payload checksum in front of every frame
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    
+    // Frames start at multiples of this, so a header always fits before the end
+    private static final int ALIGNMENT = 8;
+    
+    // Frame length value marking "rest of the segment unused, continue in the next one"
+    private static final int END_OF_SEGMENT = -1;
+    
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String OFFSET_FILE = "consumer.offset";
+    
+    private final Path directory;
+    private final FrameSerializer<T> serializer;
+    private final int segmentBytes;
+    private final long capacityBytes;
+    private final FsyncPolicy fsyncPolicy;
+    
+    // Mapped segments by index (index = position / segmentBytes)
+    private final ConcurrentSkipListMap<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+    
+    // Mapped consumer offset file (one long)
+    private final MappedByteBuffer consumerOffset;
+    
+    // Next byte position to write (written under producerLock only)
+    private final AtomicLong tail = new AtomicLong();
+    
+    // Next byte position to read (written under consumerLock only)
+    private final AtomicLong head = new AtomicLong();
+    
+    // Frames written / read, for size(); recovered frames count as written
+    private final AtomicLong framesWritten = new AtomicLong();
+    private final AtomicLong framesRead = new AtomicLong();
+    
+    private final ReentrantLock producerLock = new ReentrantLock();
+    private final ReentrantLock consumerLock = new ReentrantLock();
+    
+    // Producer side state (guarded by producerLock)
+    private long writeIndex;
+    private MappedByteBuffer writeSegment;
+    private ByteBuffer writeView;
+    private final CRC32C checksum = new CRC32C();
+    private int requiredBytes;
+    
+    // Consumer side state (guarded by consumerLock)
+    private long readIndex = -1;
+    private ByteBuffer readView;
+    
+    // How producers/consumers wait for space/data
+    private final WaitStrategy waitStrategy = new SpinThenParkWaitStrategy();
+    
+    // Set by close(): end of stream (not persisted, a reopened queue accepts writes again)
+    private volatile boolean closed;
+    
+    // Wait conditions, allocated once so waiting never allocates
+    private final BooleanSupplier spaceAvailable = () -> freeBytes() >= requiredBytes || closed;
+    private final BooleanSupplier frameAvailable = () -> head.get() < tail.get() || closed;
+    
+    /**
+     * Opens (or creates) a queue in the directory with default sizes and
+     * the ON_ROLL fsync policy.
+     * @param directory Directory holding the segment and offset files
+     * @param serializer Converts items to and from frames
+     * @throws IOException if the files cannot be opened or mapped
+     */
+    public DurableQueue(Path directory, FrameSerializer<T> serializer) throws IOException {
+        this(directory, serializer, DEFAULT_SEGMENT_BYTES, DEFAULT_CAPACITY_BYTES, FsyncPolicy.ON_ROLL);
+    }
+    
+    /**
+     * Opens (or creates) a queue in the directory, recovering any frames
+     * the previous owner wrote but its consumer did not read yet.
+     * 
+     * @param directory Directory holding the segment and offset files
+     * @param serializer Converts items to and from frames
+     * @param segmentBytes Size of one segment file (multiple of 8); also the largest frame
+     * @param capacityBytes Maximum unconsumed bytes (at least 2 segments)
+     * @param fsyncPolicy When writes are forced to the disk
+     * @throws IOException if the files cannot be opened or mapped
+     */
+    public DurableQueue(Path directory, FrameSerializer<T> serializer, int segmentBytes,
+                        long capacityBytes, FsyncPolicy fsyncPolicy) throws IOException {
+        if (segmentBytes < 2 * HEADER_BYTES || segmentBytes % ALIGNMENT != 0) {
+            throw new IllegalArgumentException("Segment size must be a multiple of " + ALIGNMENT
+                + " and at least " + (2 * HEADER_BYTES) + ": " + segmentBytes);
+        }
+        if (capacityBytes < 2L * segmentBytes) {
+            // Guarantees that an empty queue can take any frame, even after skipping a segment end
+            throw new IllegalArgumentException("Capacity must be at least two segments: " + capacityBytes);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.serializer = Objects.requireNonNull(serializer, "serializer");
+        this.segmentBytes = segmentBytes;
+        this.capacityBytes = capacityBytes;
+        this.fsyncPolicy = Objects.requireNonNull(fsyncPolicy, "fsyncPolicy");
+        this.consumerOffset = map(directory.resolve(OFFSET_FILE), Long.BYTES);
+        recover();
+    }
+    
+    /**
+     * Appends an item, waiting while the queue holds capacityBytes of unconsumed frames.
+     * @throws IllegalStateException if the queue is closed
+     * @throws IllegalArgumentException if the frame is larger than a segment
+     * @throws UncheckedIOException if a new segment file cannot be created
+     */
+    @Override
+    public void produce(T item) throws InterruptedException {
+        Objects.requireNonNull(item, "DurableQueue does not accept null items");
+        producerLock.lockInterruptibly();
+        try {
+            ensureOpen();
+            while (!tryWrite(item)) {
+                waitStrategy.waitFor(spaceAvailable);
+                ensureOpen();
+            }
+        } finally {
+            producerLock.unlock();
+        }
+    }
+    
+    /**
+     * Removes the oldest unread item, waiting while the queue is empty.
+     * @return The item, or null if the queue is closed and drained
+     */
+    @Override
+    public T consume() throws InterruptedException {
+        consumerLock.lockInterruptibly();
+        try {
+            T item;
+            while ((item = tryRead()) == null) {
+                if (closed) {
+                    // Everything written before close() is visible now - one last look
+                    return tryRead();
+                }
+                waitStrategy.waitFor(frameAvailable);
+            }
+            return item;
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean offer(T item) {
+        Objects.requireNonNull(item, "DurableQueue does not accept null items");
+        producerLock.lock();
+        try {
+            ensureOpen();
+            return tryWrite(item);
+        } finally {
+            producerLock.unlock();
+        }
+    }
+    
+    @Override
+    public T poll() {
+        consumerLock.lock();
+        try {
+            return tryRead();
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+    
+    /**
+     * Closes the queue (end of stream) and, unless the policy is NEVER,
+     * forces the current segment and the consumer offset to the disk.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (fsyncPolicy != FsyncPolicy.NEVER) {
+            flush();
+        }
+        waitStrategy.signalAll();
+    }
+    
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    /**
+     * Returns the number of unread frames (approximate while operations are in flight).
+     */
+    @Override
+    public int size() {
+        long read = framesRead.get();
+        return (int) Math.max(framesWritten.get() - read, 0);
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Forces the current segment and the consumer offset to the disk,
+     * whatever the fsync policy.
+     */
+    public void flush() {
+        producerLock.lock();
+        try {
+            writeSegment.force();
+        } finally {
+            producerLock.unlock();
+        }
+        consumerLock.lock();
+        try {
+            consumerOffset.force();
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the bytes of unconsumed frames, headers and padding.
+     * @return Used bytes
+     */
+    public long usedBytes() {
+        long currentHead = head.get();
+        return tail.get() - currentHead;
+    }
+    
+    /**
+     * Returns the number of segment files currently kept.
+     * @return Segment count
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+    
+    /**
+     * Returns the largest payload a single frame can carry.
+     * @return Maximum payload size in bytes
+     */
+    public int maxPayloadBytes() {
+        return segmentBytes - HEADER_BYTES;
+    }
+    
+    /**
+     * Returns the directory holding the queue files.
+     * @return Queue directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+    
+    /**
+     * Restores head, tail and frame count from the files of a previous run.
+     */
+    private void recover() throws IOException {
+        long savedHead = consumerOffset.getLong(0);
+        long headIndex = savedHead / segmentBytes;
+        
+        // Map the segments still needed; older ones were fully consumed
+        for (long index : listSegmentIndexes()) {
+            if (index < headIndex) {
+                Files.deleteIfExists(segmentPath(index));
+            } else {
+                segments.put(index, map(segmentPath(index), segmentBytes));
+            }
+        }
+        
+        // Scan the frames nobody has read yet
+        long position = savedHead;
+        long frames = 0;
+        long markerPosition = -1;
+        while (true) {
+            MappedByteBuffer segment = segments.get(position / segmentBytes);
+            if (segment == null) {
+                break;
+            }
+            int offset = (int) (position % segmentBytes);
+            int frameLength = segment.getInt(offset);
+            if (frameLength == END_OF_SEGMENT) {
+                markerPosition = position;
+                position = nextSegmentStart(position);
+                continue;
+            }
+            if (!isValidFrame(segment, offset, frameLength)) {
+                break;
+            }
+            markerPosition = -1;
+            position += align(frameLength);
+            frames++;
+        }
+        if (markerPosition >= 0) {
+            // Crash after the segment end was marked but before the frame behind it was complete:
+            // the log ends at the marker, which is cleared below and overwritten by the next frame
+            position = markerPosition;
+        }
+        
+        // Everything after the last valid frame is a torn write or garbage
+        long tailIndex = position / segmentBytes;
+        for (Map.Entry<Long, MappedByteBuffer> later : segments.tailMap(tailIndex, false).entrySet()) {
+            segments.remove(later.getKey());
+            Files.deleteIfExists(segmentPath(later.getKey()));
+        }
+        MappedByteBuffer tailSegment = segments.get(tailIndex);
+        if (tailSegment == null) {
+            tailSegment = map(segmentPath(tailIndex), segmentBytes);
+            segments.put(tailIndex, tailSegment);
+        } else {
+            // Only dirty words are written, untouched (sparse) pages stay unallocated
+            for (int offset = (int) (position % segmentBytes); offset < segmentBytes; offset += Long.BYTES) {
+                if (tailSegment.getLong(offset) != 0L) {
+                    tailSegment.putLong(offset, 0L);
+                }
+            }
+        }
+        
+        head.set(savedHead);
+        tail.set(position);
+        framesWritten.set(frames);
+        writeIndex = tailIndex;
+        writeSegment = tailSegment;
+        writeView = tailSegment.duplicate();
+    }
+    
+    /**
+     * Appends one frame if it fits. Must be called holding producerLock.
+     */
+    private boolean tryWrite(T item) {
+        int length = serializer.sizeOf(item);
+        if (length < 0 || length > maxPayloadBytes()) {
+            throw new IllegalArgumentException("Frame of " + length + " bytes exceeds the maximum of "
+                + maxPayloadBytes() + " bytes");
+        }
+        int frameLength = HEADER_BYTES + length;
+        int frameBytes = align(frameLength);
+        long position = tail.getPlain();
+        int offset = (int) (position % segmentBytes);
+        
+        // A frame that does not fit before the segment end goes into the next segment
+        int skipBytes = segmentBytes - offset < frameBytes ? segmentBytes - offset : 0;
+        requiredBytes = skipBytes + frameBytes;
+        if (freeBytes() < requiredBytes) {
+            return false;
+        }
+        MappedByteBuffer segment = writeSegment;
+        ByteBuffer view = writeView;
+        int markerOffset = offset;
+        if (skipBytes > 0) {
+            // Switched to only once the frame is complete: if the serializer
+            // fails, the producer still writes at the tail of the old segment
+            segment = mapSegment(writeIndex + 1);
+            view = segment.duplicate();
+            position += skipBytes;
+            offset = 0;
+        }
+        
+        // Serialize straight into the mapped segment, then checksum the payload
+        view.limit(offset + frameLength).position(offset + HEADER_BYTES);
+        serializer.write(item, view);
+        if (view.hasRemaining()) {
+            throw new IllegalStateException("Serializer wrote " + (length - view.remaining())
+                + " bytes but sizeOf() returned " + length);
+        }
+        view.position(offset + HEADER_BYTES);
+        checksum.reset();
+        checksum.update(view);
+        segment.putInt(offset + Integer.BYTES, (int) checksum.getValue());
+        if (skipBytes > 0) {
+            // Marked before the frame gets its length (recovery ignores a marker with no frame behind it)
+            writeSegment.putInt(markerOffset, END_OF_SEGMENT);
+            rollTo(writeIndex + 1, segment);
+        }
+        
+        // The length goes last: a frame torn by a crash has none and is not recovered
+        segment.putInt(offset, frameLength);
+        if (fsyncPolicy == FsyncPolicy.EVERY_WRITE) {
+            segment.force(offset, frameBytes);
+        }
+        
+        // A full segment is rolled right away: the tail's segment is always mapped
+        position += frameBytes;
+        if (position % segmentBytes == 0) {
+            rollTo(writeIndex + 1, mapSegment(writeIndex + 1));
+        }
+        
+        // Release write: the frame bytes are visible before the new tail
+        framesWritten.setRelease(framesWritten.getPlain() + 1);
+        tail.setRelease(position);
+        waitStrategy.signalAll();
+        return true;
+    }
+    
+    /**
+     * Reads one frame if there is one. Must be called holding consumerLock.
+     */
+    private T tryRead() {
+        long position = head.getPlain();
+        if (position >= tail.get()) {
+            return null;
+        }
+        ByteBuffer segment = readSegment(position / segmentBytes);
+        int offset = (int) (position % segmentBytes);
+        int frameLength = segment.getInt(offset);
+        if (frameLength == END_OF_SEGMENT) {
+            position = nextSegmentStart(position);
+            if (position >= tail.get()) {
+                // The frame behind the marker is not complete yet
+                return null;
+            }
+            segment = readSegment(position / segmentBytes);
+            offset = 0;
+            frameLength = segment.getInt(0);
+        }
+        
+        // Decode straight from the mapped segment
+        segment.limit(offset + frameLength).position(offset + HEADER_BYTES);
+        T item = serializer.read(segment);
+        
+        // Persist the new offset first, then drop segments behind it
+        long next = position + align(frameLength);
+        consumerOffset.putLong(0, next);
+        if (fsyncPolicy == FsyncPolicy.EVERY_WRITE) {
+            consumerOffset.force();
+        }
+        framesRead.setRelease(framesRead.getPlain() + 1);
+        head.setRelease(next);
+        deleteSegmentsBefore(next / segmentBytes);
+        waitStrategy.signalAll();
+        return item;
+    }
+    
+    /**
+     * Maps (creating if needed) the segment file with the given index.
+     */
+    private MappedByteBuffer mapSegment(long index) {
+        try {
+            return map(segmentPath(index), segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create segment " + index + " in " + directory, e);
+        }
+    }
+    
+    /**
+     * Makes the mapped segment the producer's, before the tail moves into it.
+     * Must be called holding producerLock.
+     */
+    private void rollTo(long index, MappedByteBuffer segment) {
+        if (fsyncPolicy != FsyncPolicy.NEVER) {
+            writeSegment.force();
+        }
+        writeSegment = segment;
+        writeView = writeSegment.duplicate();
+        writeIndex = index;
+        segments.put(index, writeSegment);
+    }
+    
+    /**
+     * Returns the consumer's read-only view of a segment. Must be called holding consumerLock.
+     */
+    private ByteBuffer readSegment(long index) {
+        if (index != readIndex) {
+            readView = segments.get(index).asReadOnlyBuffer();
+            readIndex = index;
+        }
+        return readView.clear();
+    }
+    
+    /**
+     * Deletes the files of all segments below the given index. Must be called holding consumerLock.
+     */
+    private void deleteSegmentsBefore(long index) {
+        Map.Entry<Long, MappedByteBuffer> oldest;
+        while ((oldest = segments.firstEntry()) != null && oldest.getKey() < index) {
+            segments.remove(oldest.getKey());
+            try {
+                Files.deleteIfExists(segmentPath(oldest.getKey()));
+            } catch (IOException e) {
+                // Ignored, harmless: the next open deletes consumed segments again
+            }
+        }
+    }
+    
+    private boolean isValidFrame(MappedByteBuffer segment, int offset, int frameLength) {
+        if (frameLength < HEADER_BYTES || frameLength > segmentBytes - offset) {
+            return false;
+        }
+        ByteBuffer payload = segment.duplicate().limit(offset + frameLength).position(offset + HEADER_BYTES);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue() == segment.getInt(offset + Integer.BYTES);
+    }
+    
+    private List<Long> listSegmentIndexes() throws IOException {
+        List<Long> indexes = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                .forEach(name -> indexes.add(Long.parseLong(
+                    name.substring(0, name.length() - SEGMENT_SUFFIX.length()))));
+        }
+        indexes.sort(null);
+        return indexes;
+    }
+    
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%020d%s", index, SEGMENT_SUFFIX));
+    }
+    
+    private long nextSegmentStart(long position) {
+        return (position / segmentBytes + 1) * segmentBytes;
+    }
+    
+    private long freeBytes() {
+        return capacityBytes - (tail.get() - head.get());
+    }
+    
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+    }
+    
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Mapping beyond the end grows the file (sparse, zero-filled)
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+    
+    private static int align(int bytes) {
+        return (bytes + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
@@ -0,0 +1,30 @@
+package com.intuit.producerconsumer.durable;
+
+/**
+ * When a {@link DurableQueue} forces its memory-mapped pages to the disk.
+ * 
+ * Every write lands in the OS page cache immediately, so all policies
+ * survive a crash of the JVM; they differ in what survives a crash of the
+ * whole machine (power loss, kernel panic) and in what that costs.
+ */
+public enum FsyncPolicy {
+    
+    /**
+     * Never force explicitly: the OS writes dirty pages back when it wants.
+     * Fastest; a machine crash may lose the most recent writes.
+     */
+    NEVER,
+    
+    /**
+     * Force a segment once it is full (when the producer rolls to the next
+     * one) and on close(). A machine crash may lose the current segment's tail.
+     */
+    ON_ROLL,
+    
+    /**
+     * Force every appended frame and every consumer offset update before
+     * the call returns. Nothing acknowledged is ever lost, at the price of
+     * one disk flush per operation.
+     */
+    EVERY_WRITE
+}
@@ -0,0 +1,404 @@
+package com.intuit.producerconsumer.elastic;
+
+import com.intuit.producerconsumer.AppendOnlyContainer;
+import com.intuit.producerconsumer.BoundedBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ElasticConsumerPool replaces a fixed set of Consumer threads with a pool
+ * that grows during bursts and shrinks when the buffer stays empty.
+ * 
+ * Key Concepts:
+ * - Workers: behave like Consumer (take an item, add it to the destination,
+ *   sleep delayMs), but poll the buffer and park briefly when it is empty,
+ *   so the time spent waiting for items can be measured and a worker can
+ *   be retired between two items without interrupting it
+ * - Supervisor: a background thread samples the buffer occupancy and the
+ *   workers' idle ratio every sample interval and applies the
+ *   {@link ScalingPolicy}
+ * - Hysteresis: separate high/low watermarks, consecutive samples and a
+ *   cooldown after every change (see ScalingPolicy)
+ * - Metrics: every change is recorded as a {@link ScalingEvent}; current,
+ *   peak and per-direction counts are available at any time
+ * 
+ * The pool finishes once the buffer is closed and drained, like Consumer.
+ */
+public class ElasticConsumerPool<T> {
+    // How long an idle worker parks before polling again
+    private static final long IDLE_PARK_NANOS = 500_000L;
+    
+    private final String name;
+    private final BoundedBuffer<T> sharedBuffer;
+    private final int bufferCapacity;
+    private final AppendOnlyContainer<T> destinationContainer;
+    private final int delayMs;
+    
+    // Copied from the ScalingPolicy
+    private final int minConsumers;
+    private final int maxConsumers;
+    private final double highWatermark;
+    private final double lowWatermark;
+    private final double minIdleRatio;
+    private final int scaleUpSamples;
+    private final int scaleDownSamples;
+    private final int cooldownSamples;
+    private final int scaleUpStep;
+    private final long sampleIntervalMs;
+    
+    // Running workers, newest last (guarded by this)
+    private final List<Worker> workers = new ArrayList<>();
+    
+    // Worker threads that have not finished yet, running or retired, for awaitTermination() (guarded by this)
+    private final List<Thread> threads = new ArrayList<>();
+    
+    // Scaling decisions so far (guarded by this)
+    private final List<ScalingEvent> events = new ArrayList<>();
+    
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder idleNanos = new LongAdder();
+    
+    private Thread supervisor;
+    private volatile boolean shutdown;
+    private int nextWorkerId = 1;
+    private int peakConsumers;
+    private int scaleUps;
+    private int scaleDowns;
+    private volatile double lastOccupancy;
+    private volatile double lastIdleRatio;
+    
+    // Decision state, used by the supervisor thread only
+    private int highStreak;
+    private int lowStreak;
+    private int cooldown;
+    private long lastIdleNanos;
+    private long lastSampleNanos;
+    
+    /**
+     * Creates a pool; call {@link #start()} to run it.
+     * 
+     * @param name Prefix of the worker thread names
+     * @param sharedBuffer Buffer to consume items from
+     * @param bufferCapacity Capacity of the buffer (to compute its occupancy)
+     * @param destinationContainer Container to store consumed items
+     * @param delayMs Delay in milliseconds after every item (simulated processing)
+     * @param policy When to add and retire consumers
+     */
+    public ElasticConsumerPool(String name, BoundedBuffer<T> sharedBuffer, int bufferCapacity,
+                               AppendOnlyContainer<T> destinationContainer, int delayMs, ScalingPolicy policy) {
+        if (bufferCapacity <= 0) {
+            throw new IllegalArgumentException("Buffer capacity must be positive: " + bufferCapacity);
+        }
+        this.name = name;
+        this.sharedBuffer = sharedBuffer;
+        this.bufferCapacity = bufferCapacity;
+        this.destinationContainer = destinationContainer;
+        this.delayMs = delayMs;
+        this.minConsumers = policy.getMinConsumers();
+        this.maxConsumers = policy.getMaxConsumers();
+        this.highWatermark = policy.getHighWatermark();
+        this.lowWatermark = policy.getLowWatermark();
+        this.minIdleRatio = policy.getMinIdleRatio();
+        this.scaleUpSamples = policy.getScaleUpSamples();
+        this.scaleDownSamples = policy.getScaleDownSamples();
+        this.cooldownSamples = policy.getCooldownSamples();
+        this.scaleUpStep = policy.getScaleUpStep();
+        this.sampleIntervalMs = policy.getSampleIntervalMs();
+    }
+    
+    /**
+     * Starts the minimum number of consumers and the supervisor.
+     * @throws IllegalStateException if the pool was already started
+     */
+    public synchronized void start() {
+        if (supervisor != null) {
+            throw new IllegalStateException("Pool already started");
+        }
+        for (int i = 0; i < minConsumers; i++) {
+            addWorker();
+        }
+        peakConsumers = minConsumers;
+        lastSampleNanos = System.nanoTime();
+        supervisor = new Thread(this::supervise, name + "-supervisor");
+        supervisor.setDaemon(true);
+        supervisor.start();
+    }
+    
+    /**
+     * Waits until the buffer was closed and drained (or the pool was shut
+     * down) and every worker has finished.
+     * @param timeoutMs Maximum time to wait in milliseconds
+     * @return true if everything finished, false if the timeout expired first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        Thread supervisorThread;
+        synchronized (this) {
+            supervisorThread = supervisor;
+        }
+        if (supervisorThread == null || !join(supervisorThread, deadline)) {
+            return false;
+        }
+        List<Thread> started;
+        synchronized (this) {
+            started = new ArrayList<>(threads);
+        }
+        for (Thread thread : started) {
+            if (!join(thread, deadline)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Retires every worker after its current item and stops the supervisor.
+     * Items left in the buffer stay there; the buffer is not closed.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        for (Worker worker : workers) {
+            worker.retired = true;
+        }
+        workers.clear();
+    }
+    
+    /**
+     * Returns the number of running consumers.
+     * @return Current consumers
+     */
+    public synchronized int getConsumerCount() {
+        return workers.size();
+    }
+    
+    /**
+     * Returns the largest number of consumers that ran at once.
+     * @return Peak consumers
+     */
+    public synchronized int getPeakConsumerCount() {
+        return peakConsumers;
+    }
+    
+    /**
+     * Returns how often consumers were added.
+     * @return Scale-up count
+     */
+    public synchronized int getScaleUpCount() {
+        return scaleUps;
+    }
+    
+    /**
+     * Returns how often a consumer was retired.
+     * @return Scale-down count
+     */
+    public synchronized int getScaleDownCount() {
+        return scaleDowns;
+    }
+    
+    /**
+     * Returns every scaling decision so far, oldest first.
+     * @return Copy of the scaling events
+     */
+    public synchronized List<ScalingEvent> getScalingEvents() {
+        return Collections.unmodifiableList(new ArrayList<>(events));
+    }
+    
+    /**
+     * Returns the number of items moved to the destination.
+     * @return Processed items
+     */
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+    
+    /**
+     * Returns the buffer occupancy (0 to 1) at the last sample.
+     * @return Last occupancy
+     */
+    public double getLastOccupancy() {
+        return lastOccupancy;
+    }
+    
+    /**
+     * Returns the share of worker time spent waiting for items during the last sample.
+     * @return Last idle ratio
+     */
+    public double getLastIdleRatio() {
+        return lastIdleRatio;
+    }
+    
+    /**
+     * Supervisor loop: sample, decide, apply; until end of stream or shutdown.
+     */
+    private void supervise() {
+        try {
+            while (!shutdown && !(sharedBuffer.isClosed() && sharedBuffer.isEmpty())) {
+                Thread.sleep(sampleIntervalMs);
+                sample();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println(name + " supervisor was interrupted: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Takes one sample of occupancy and idle ratio and applies the resulting decision.
+     */
+    private void sample() {
+        long now = System.nanoTime();
+        long idle = idleNanos.sum();
+        int current = getConsumerCount();
+        double occupancy = Math.min(1.0, (double) sharedBuffer.size() / bufferCapacity);
+        double idleRatio = current == 0 || now == lastSampleNanos ? 0.0
+            : Math.min(1.0, (idle - lastIdleNanos) / ((double) (now - lastSampleNanos) * current));
+        lastIdleNanos = idle;
+        lastSampleNanos = now;
+        lastOccupancy = occupancy;
+        lastIdleRatio = idleRatio;
+        
+        int target = decide(current, occupancy, idleRatio);
+        if (target != current) {
+            resize(current, target, occupancy, idleRatio);
+        }
+    }
+    
+    /**
+     * Applies the policy to one sample and returns the desired number of consumers.
+     * Keeps the streak and cooldown state between calls.
+     */
+    int decide(int current, double occupancy, double idleRatio) {
+        if (cooldown > 0) {
+            cooldown--;
+            return current;
+        }
+        if (occupancy >= highWatermark) {
+            highStreak++;
+            lowStreak = 0;
+        } else if (occupancy <= lowWatermark && idleRatio >= minIdleRatio) {
+            lowStreak++;
+            highStreak = 0;
+        } else {
+            // Between the watermarks: keep the current size
+            highStreak = 0;
+            lowStreak = 0;
+        }
+        
+        int target = current;
+        if (highStreak >= scaleUpSamples && current < maxConsumers) {
+            target = Math.min(maxConsumers, current + scaleUpStep);
+        } else if (lowStreak >= scaleDownSamples && current > minConsumers) {
+            target = current - 1;
+        }
+        if (target != current) {
+            highStreak = 0;
+            lowStreak = 0;
+            cooldown = cooldownSamples;
+        }
+        return target;
+    }
+    
+    private synchronized void resize(int from, int to, double occupancy, double idleRatio) {
+        if (shutdown) {
+            return;
+        }
+        while (workers.size() < to) {
+            addWorker();
+        }
+        while (workers.size() > to) {
+            // Retire the newest worker; it stops after its current item
+            workers.remove(workers.size() - 1).retired = true;
+        }
+        if (to > from) {
+            scaleUps++;
+        } else {
+            scaleDowns++;
+        }
+        peakConsumers = Math.max(peakConsumers, to);
+        events.add(new ScalingEvent(System.currentTimeMillis(), from, to, occupancy, idleRatio));
+    }
+    
+    /**
+     * Starts one more worker. Must be called holding the monitor.
+     */
+    private void addWorker() {
+        Worker worker = new Worker();
+        Thread thread = new Thread(worker, name + "-" + nextWorkerId++);
+        worker.thread = thread;
+        workers.add(worker);
+        threads.add(thread);
+        thread.start();
+    }
+    
+    /**
+     * Called by every worker as it ends. Forgets its thread and, while the
+     * stream goes on, replaces a worker that died of an exception so the
+     * pool never runs below minConsumers (retired workers were already
+     * removed, down to the minimum at most).
+     */
+    private synchronized void finished(Worker worker) {
+        workers.remove(worker);
+        threads.remove(worker.thread);
+        if (!shutdown && !(sharedBuffer.isClosed() && sharedBuffer.isEmpty())) {
+            while (workers.size() < minConsumers) {
+                addWorker();
+            }
+        }
+    }
+    
+    private static boolean join(Thread thread, long deadlineNanos) throws InterruptedException {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.timedJoin(thread, remaining);
+        }
+        return !thread.isAlive();
+    }
+    
+    /**
+     * One consumer of the pool.
+     */
+    private class Worker implements Runnable {
+        // Set by the supervisor or shutdown(): stop after the current item
+        volatile boolean retired;
+        
+        // Thread running this worker (set before it starts)
+        Thread thread;
+        
+        @Override
+        public void run() {
+            try {
+                while (!retired) {
+                    T item = sharedBuffer.poll();
+                    if (item == null) {
+                        if (sharedBuffer.isClosed() && sharedBuffer.isEmpty()) {
+                            // Buffer closed and drained: end of stream
+                            break;
+                        }
+                        long start = System.nanoTime();
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                        idleNanos.add(System.nanoTime() - start);
+                        continue;
+                    }
+                    
+                    destinationContainer.add(item);
+                    processed.increment();
+                    
+                    // Simulate processing time (e.g., writing to database, file I/O, etc.)
+                    if (delayMs > 0) {
+                        Thread.sleep(delayMs);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println(Thread.currentThread().getName() + " was interrupted: " + e.getMessage());
+            } finally {
+                finished(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.intuit.producerconsumer.elastic;
+
+import com.intuit.producerconsumer.ConditionSharedBuffer;
+import com.intuit.producerconsumer.Container;
+
+/**
+ * Demonstrates an ElasticConsumerPool following a bursty producer:
+ * 
+ * burst (fast) -> quiet (trickle) -> burst (fast) -> quiet
+ * 
+ * The pool grows while the buffer fills up during a burst and shrinks back
+ * to its minimum once the buffer stays empty. Every scaling decision is
+ * printed with the occupancy and idle ratio it was based on.
+ * 
+ * Run with: mvn exec:java -Dexec.mainClass="com.intuit.producerconsumer.elastic.ElasticPoolDemo"
+ */
+public class ElasticPoolDemo {
+    private static final int BUFFER_CAPACITY = 200;
+    private static final int BURST_ITEMS = 3_000;
+    private static final int QUIET_ITEMS = 100;
+    private static final int CONSUMER_DELAY_MS = 2;
+    
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== Elastic Consumer Pool Demo ===\n");
+        
+        ConditionSharedBuffer<String> buffer = new ConditionSharedBuffer<>(BUFFER_CAPACITY);
+        Container<String> destination = new Container<>("Destination");
+        ScalingPolicy policy = ScalingPolicy.between(1, 16)
+            .watermarks(0.75, 0.10)
+            .samples(2, 5)
+            .cooldown(2)
+            .scaleUpStep(2)
+            .sampleInterval(50);
+        ElasticConsumerPool<String> pool =
+            new ElasticConsumerPool<>("Elastic", buffer, BUFFER_CAPACITY, destination, CONSUMER_DELAY_MS, policy);
+        pool.start();
+        
+        long start = System.currentTimeMillis();
+        int produced = 0;
+        for (int phase = 1; phase <= 4; phase++) {
+            boolean burst = phase % 2 == 1;
+            int items = burst ? BURST_ITEMS : QUIET_ITEMS;
+            System.out.println((burst ? "Burst" : "Quiet") + " phase: " + items + " items");
+            for (int i = 0; i < items; i++) {
+                buffer.produce("Item-" + ++produced);
+                if (!burst) {
+                    Thread.sleep(20);
+                }
+            }
+        }
+        buffer.close();
+        pool.awaitTermination(60_000);
+        long elapsed = System.currentTimeMillis() - start;
+        
+        System.out.println("\nScaling decisions:");
+        for (ScalingEvent event : pool.getScalingEvents()) {
+            System.out.printf("  +%,6dms  %s%n", event.getTimestampMillis() - start, event);
+        }
+        System.out.println("\nProcessed " + pool.getProcessedCount() + " of " + produced + " items in "
+            + elapsed + "ms");
+        System.out.println("Peak consumers: " + pool.getPeakConsumerCount() + ", scale ups: "
+            + pool.getScaleUpCount() + ", scale downs: " + pool.getScaleDownCount());
+    }
+}
@@ -0,0 +1,70 @@
+package com.intuit.producerconsumer.elastic;
+
+/**
+ * One scaling decision of an {@link ElasticConsumerPool}, with the
+ * measurements it was based on.
+ */
+public final class ScalingEvent {
+    private final long timestampMillis;
+    private final int fromConsumers;
+    private final int toConsumers;
+    private final double occupancy;
+    private final double idleRatio;
+    
+    ScalingEvent(long timestampMillis, int fromConsumers, int toConsumers, double occupancy, double idleRatio) {
+        this.timestampMillis = timestampMillis;
+        this.fromConsumers = fromConsumers;
+        this.toConsumers = toConsumers;
+        this.occupancy = occupancy;
+        this.idleRatio = idleRatio;
+    }
+    
+    /**
+     * @return Wall-clock time of the decision (System.currentTimeMillis())
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+    
+    /**
+     * @return Consumers before the decision
+     */
+    public int getFromConsumers() {
+        return fromConsumers;
+    }
+    
+    /**
+     * @return Consumers after the decision
+     */
+    public int getToConsumers() {
+        return toConsumers;
+    }
+    
+    /**
+     * @return true if consumers were added, false if one was retired
+     */
+    public boolean isScaleUp() {
+        return toConsumers > fromConsumers;
+    }
+    
+    /**
+     * @return Buffer occupancy (0 to 1) of the sample that triggered the decision
+     */
+    public double getOccupancy() {
+        return occupancy;
+    }
+    
+    /**
+     * @return Share of worker time spent waiting for items during that sample
+     */
+    public double getIdleRatio() {
+        return idleRatio;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s %d -> %d (occupancy %.0f%%, idle %.0f%%)",
+            isScaleUp() ? "scale up  " : "scale down", fromConsumers, toConsumers,
+            occupancy * 100, idleRatio * 100);
+    }
+}
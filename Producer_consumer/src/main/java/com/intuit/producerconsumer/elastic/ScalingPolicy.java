@@ -0,0 +1,182 @@
+package com.intuit.producerconsumer.elastic;
+
+/**
+ * When an {@link ElasticConsumerPool} adds or retires consumers.
+ * 
+ * Key Concepts:
+ * - Bounds: the pool never runs fewer than min or more than max consumers
+ * - Watermarks: occupancy (buffer size / capacity) at or above the high
+ *   watermark asks for more consumers; occupancy at or below the low
+ *   watermark, while consumers are idle, asks for fewer
+ * - Hysteresis: the gap between the watermarks, the number of consecutive
+ *   samples a condition must hold, and a cooldown after every change keep
+ *   the pool from flapping on short spikes
+ * 
+ * Created with {@link #between(int, int)} and adjusted with the chained
+ * setters; the pool copies the values when it is constructed.
+ */
+public class ScalingPolicy {
+    private final int minConsumers;
+    private final int maxConsumers;
+    private double highWatermark = 0.75;
+    private double lowWatermark = 0.25;
+    
+    // Minimum share of worker time spent waiting for items before scaling down
+    private double minIdleRatio = 0.5;
+    
+    // Consecutive samples needed to scale up / down
+    private int scaleUpSamples = 2;
+    private int scaleDownSamples = 5;
+    
+    // Samples ignored after every change, so its effect can show first
+    private int cooldownSamples = 3;
+    
+    // Consumers added per scale-up (one is retired per scale-down)
+    private int scaleUpStep = 1;
+    
+    private long sampleIntervalMs = 100;
+    
+    private ScalingPolicy(int minConsumers, int maxConsumers) {
+        if (minConsumers <= 0 || maxConsumers < minConsumers) {
+            throw new IllegalArgumentException(
+                "Need 0 < min <= max consumers: min=" + minConsumers + ", max=" + maxConsumers);
+        }
+        this.minConsumers = minConsumers;
+        this.maxConsumers = maxConsumers;
+    }
+    
+    /**
+     * Creates a policy with default watermarks, sample counts and interval.
+     * @param minConsumers Consumers kept running at all times (positive)
+     * @param maxConsumers Upper limit of consumers (at least minConsumers)
+     * @return A new policy
+     */
+    public static ScalingPolicy between(int minConsumers, int maxConsumers) {
+        return new ScalingPolicy(minConsumers, maxConsumers);
+    }
+    
+    /**
+     * Sets the occupancy thresholds (defaults 0.75 and 0.25).
+     * @param high Occupancy at or above which the pool grows
+     * @param low Occupancy at or below which the pool may shrink (below high)
+     * @return This policy
+     */
+    public ScalingPolicy watermarks(double high, double low) {
+        if (!(0 <= low && low < high && high <= 1)) {
+            throw new IllegalArgumentException("Need 0 <= low < high <= 1: high=" + high + ", low=" + low);
+        }
+        this.highWatermark = high;
+        this.lowWatermark = low;
+        return this;
+    }
+    
+    /**
+     * Sets the idle share required before retiring a consumer (default 0.5).
+     * @param ratio Fraction of worker time spent waiting for items (0 to 1)
+     * @return This policy
+     */
+    public ScalingPolicy minIdleRatio(double ratio) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("Idle ratio must be between 0 and 1: " + ratio);
+        }
+        this.minIdleRatio = ratio;
+        return this;
+    }
+    
+    /**
+     * Sets how many consecutive samples trigger a change (defaults 2 and 5).
+     * @param up Samples above the high watermark before growing
+     * @param down Samples below the low watermark before shrinking
+     * @return This policy
+     */
+    public ScalingPolicy samples(int up, int down) {
+        requirePositive(up, "Scale-up samples");
+        requirePositive(down, "Scale-down samples");
+        this.scaleUpSamples = up;
+        this.scaleDownSamples = down;
+        return this;
+    }
+    
+    /**
+     * Sets the number of samples skipped after every change (default 3).
+     * @param samples Cooldown samples (0 = none)
+     * @return This policy
+     */
+    public ScalingPolicy cooldown(int samples) {
+        if (samples < 0) {
+            throw new IllegalArgumentException("Cooldown must not be negative: " + samples);
+        }
+        this.cooldownSamples = samples;
+        return this;
+    }
+    
+    /**
+     * Sets how many consumers one scale-up adds (default 1).
+     * @param step Consumers per scale-up (positive)
+     * @return This policy
+     */
+    public ScalingPolicy scaleUpStep(int step) {
+        requirePositive(step, "Scale-up step");
+        this.scaleUpStep = step;
+        return this;
+    }
+    
+    /**
+     * Sets the time between two samples (default 100ms).
+     * @param intervalMs Sample interval in milliseconds (positive)
+     * @return This policy
+     */
+    public ScalingPolicy sampleInterval(long intervalMs) {
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive: " + intervalMs);
+        }
+        this.sampleIntervalMs = intervalMs;
+        return this;
+    }
+    
+    public int getMinConsumers() {
+        return minConsumers;
+    }
+    
+    public int getMaxConsumers() {
+        return maxConsumers;
+    }
+    
+    public double getHighWatermark() {
+        return highWatermark;
+    }
+    
+    public double getLowWatermark() {
+        return lowWatermark;
+    }
+    
+    public double getMinIdleRatio() {
+        return minIdleRatio;
+    }
+    
+    public int getScaleUpSamples() {
+        return scaleUpSamples;
+    }
+    
+    public int getScaleDownSamples() {
+        return scaleDownSamples;
+    }
+    
+    public int getCooldownSamples() {
+        return cooldownSamples;
+    }
+    
+    public int getScaleUpStep() {
+        return scaleUpStep;
+    }
+    
+    public long getSampleIntervalMs() {
+        return sampleIntervalMs;
+    }
+    
+    private static void requirePositive(int value, String what) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(what + " must be positive: " + value);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.intuit.producerconsumer.event;
+
+import com.intuit.producerconsumer.ringbuffer.MpmcRingBuffer;
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * BufferEventListener that prints the classic demo log lines
+ * ("Producer-1 - Produced: Item-3 | Buffer size: 2") from a background thread.
+ * 
+ * Key Concepts:
+ * - Hot path: the calling thread only captures its name and offers a small
+ *   event object into a lock-free MpmcRingBuffer - no string building,
+ *   no stdout lock
+ * - Background thread: drains the ring, formats and prints the lines
+ * - Bounded: when the ring is full events are dropped (and counted)
+ *   rather than slowing producers and consumers down
+ * 
+ * Call {@link #close()} to flush the remaining events and stop the thread.
+ */
+public class AsyncLoggingEventListener implements BufferEventListener, AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+    
+    // Events waiting to be printed
+    private final MpmcRingBuffer<LogEvent> events;
+    
+    // Where formatted lines are written
+    private final PrintStream out;
+    
+    // Background printer thread
+    private final Thread printer;
+    
+    // Number of events dropped because the ring was full
+    private final AtomicLong dropped = new AtomicLong();
+    
+    // Cleared by close() to stop the printer
+    private volatile boolean running = true;
+    
+    /**
+     * Creates a logger printing to System.out with the default ring capacity.
+     */
+    public AsyncLoggingEventListener() {
+        this(System.out, DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Creates a logger printing to the given stream.
+     * @param out Stream receiving the log lines
+     * @param capacity Number of events that can be queued before dropping
+     */
+    public AsyncLoggingEventListener(PrintStream out, int capacity) {
+        this.out = out;
+        this.events = new MpmcRingBuffer<>(capacity);
+        this.printer = new Thread(this::printLoop, "buffer-event-logger");
+        this.printer.setDaemon(true);
+        this.printer.start();
+    }
+    
+    @Override
+    public void onProduced(Object item, int bufferSize) {
+        enqueue(EventType.PRODUCED, item, bufferSize);
+    }
+    
+    @Override
+    public void onConsumed(Object item, int bufferSize) {
+        enqueue(EventType.CONSUMED, item, bufferSize);
+    }
+    
+    @Override
+    public void onProducedBatch(int count, int bufferSize) {
+        enqueue(EventType.PRODUCED_BATCH, count, bufferSize);
+    }
+    
+    @Override
+    public void onConsumedBatch(int count, int bufferSize) {
+        enqueue(EventType.CONSUMED_BATCH, count, bufferSize);
+    }
+    
+    @Override
+    public void onDropped(Object item, int bufferSize) {
+        enqueue(EventType.DROPPED, item, bufferSize);
+    }
+    
+    @Override
+    public void onProducerWaiting() {
+        enqueue(EventType.PRODUCER_WAITING, null, 0);
+    }
+    
+    @Override
+    public void onConsumerWaiting() {
+        enqueue(EventType.CONSUMER_WAITING, null, 0);
+    }
+    
+    /**
+     * Returns how many events were dropped because the ring was full.
+     * @return Number of dropped events
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    /**
+     * Prints all queued events and stops the background thread.
+     * If the calling thread is interrupted while waiting for the printer,
+     * it stops waiting and keeps its interrupt status.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(printer);
+        try {
+            printer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void enqueue(EventType type, Object payload, int bufferSize) {
+        LogEvent event = new LogEvent(type, Thread.currentThread().getName(), payload, bufferSize);
+        if (!events.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+    
+    private void printLoop() {
+        while (true) {
+            LogEvent event = events.poll();
+            if (event != null) {
+                out.println(event.format());
+            } else if (running) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            } else {
+                // Stopped and fully drained
+                out.flush();
+                return;
+            }
+        }
+    }
+    
+    private enum EventType {
+        PRODUCED, CONSUMED, PRODUCED_BATCH, CONSUMED_BATCH, DROPPED, PRODUCER_WAITING, CONSUMER_WAITING
+    }
+    
+    /**
+     * One captured event; formatting is deferred to the printer thread.
+     */
+    private static final class LogEvent {
+        private final EventType type;
+        private final String threadName;
+        private final Object payload;
+        private final int bufferSize;
+        
+        LogEvent(EventType type, String threadName, Object payload, int bufferSize) {
+            this.type = type;
+            this.threadName = threadName;
+            this.payload = payload;
+            this.bufferSize = bufferSize;
+        }
+        
+        String format() {
+            switch (type) {
+                case PRODUCED:
+                    return threadName + " - Produced: " + payload + " | Buffer size: " + bufferSize;
+                case CONSUMED:
+                    return threadName + " - Consumed: " + payload + " | Buffer size: " + bufferSize;
+                case PRODUCED_BATCH:
+                    return threadName + " - Produced batch of " + payload + " | Buffer size: " + bufferSize;
+                case CONSUMED_BATCH:
+                    return threadName + " - Consumed batch of " + payload + " | Buffer size: " + bufferSize;
+                case DROPPED:
+                    return threadName + " - Dropped: " + payload + " | Buffer size: " + bufferSize;
+                case PRODUCER_WAITING:
+                    return threadName + " - Buffer is full. Producer waiting...";
+                default:
+                    return threadName + " - Buffer is empty. Consumer waiting...";
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.intuit.producerconsumer.event;
+
+/**
+ * BufferEventListener is the SPI through which buffers report what they do
+ * (items produced/consumed, threads waiting) without logging themselves.
+ * 
+ * Callbacks run on the producing/consuming thread, AFTER the buffer lock
+ * has been released, so implementations must be cheap and thread-safe.
+ * Waits are recorded while the lock is held and reported once the call
+ * that waited releases it (also when it ends with an exception).
+ * Because events are reported outside the lock, events of different
+ * threads may arrive slightly out of order (e.g. a "Consumed" before the
+ * matching "Produced"); events of one thread are always in order.
+ * 
+ * Every method has an empty default, so an implementation only overrides
+ * the events it cares about. {@link #NO_OP} is used when nothing is configured.
+ */
+public interface BufferEventListener {
+    
+    /**
+     * Listener that ignores every event (the default for all buffers).
+     */
+    BufferEventListener NO_OP = new BufferEventListener() {
+    };
+    
+    /**
+     * Called after an item was added to the buffer.
+     * @param item The item that was added
+     * @param bufferSize Buffer size right after the item was added
+     */
+    default void onProduced(Object item, int bufferSize) {
+    }
+    
+    /**
+     * Called after an item was removed from the buffer.
+     * @param item The item that was removed
+     * @param bufferSize Buffer size right after the item was removed
+     */
+    default void onConsumed(Object item, int bufferSize) {
+    }
+    
+    /**
+     * Called after a batch of items was added to the buffer.
+     * @param count Number of items added
+     * @param bufferSize Buffer size right after the batch was added
+     */
+    default void onProducedBatch(int count, int bufferSize) {
+    }
+    
+    /**
+     * Called after a batch of items was removed from the buffer.
+     * @param count Number of items removed
+     * @param bufferSize Buffer size right after the batch was removed
+     */
+    default void onConsumedBatch(int count, int bufferSize) {
+    }
+    
+    /**
+     * Called after an item was discarded by an overflow strategy
+     * (DROP_OLDEST drops a buffered item, DROP_NEWEST the new one).
+     * @param item The item that was discarded
+     * @param bufferSize Buffer size after the producing call completed
+     */
+    default void onDropped(Object item, int bufferSize) {
+    }
+    
+    /**
+     * Called once per wait of a producer because the buffer was full,
+     * after the producing call released the lock.
+     */
+    default void onProducerWaiting() {
+    }
+    
+    /**
+     * Called once per wait of a consumer because the buffer was empty,
+     * after the consuming call released the lock.
+     */
+    default void onConsumerWaiting() {
+    }
+}
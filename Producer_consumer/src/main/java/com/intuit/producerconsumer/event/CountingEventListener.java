@@ -0,0 +1,95 @@
+package com.intuit.producerconsumer.event;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BufferEventListener that only counts events.
+ * 
+ * LongAdder keeps one cell per contending thread, so concurrent producers
+ * and consumers do not fight over a single counter cache line.
+ */
+public class CountingEventListener implements BufferEventListener {
+    private final LongAdder produced = new LongAdder();
+    private final LongAdder consumed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder producerWaits = new LongAdder();
+    private final LongAdder consumerWaits = new LongAdder();
+    
+    @Override
+    public void onProduced(Object item, int bufferSize) {
+        produced.increment();
+    }
+    
+    @Override
+    public void onConsumed(Object item, int bufferSize) {
+        consumed.increment();
+    }
+    
+    @Override
+    public void onProducedBatch(int count, int bufferSize) {
+        produced.add(count);
+    }
+    
+    @Override
+    public void onConsumedBatch(int count, int bufferSize) {
+        consumed.add(count);
+    }
+    
+    @Override
+    public void onDropped(Object item, int bufferSize) {
+        dropped.increment();
+    }
+    
+    @Override
+    public void onProducerWaiting() {
+        producerWaits.increment();
+    }
+    
+    @Override
+    public void onConsumerWaiting() {
+        consumerWaits.increment();
+    }
+    
+    /**
+     * @return Total number of items produced
+     */
+    public long getProducedCount() {
+        return produced.sum();
+    }
+    
+    /**
+     * @return Total number of items consumed
+     */
+    public long getConsumedCount() {
+        return consumed.sum();
+    }
+    
+    /**
+     * @return Number of items discarded by an overflow strategy
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+    
+    /**
+     * @return Number of times a producer had to wait for space
+     */
+    public long getProducerWaitCount() {
+        return producerWaits.sum();
+    }
+    
+    /**
+     * @return Number of times a consumer had to wait for data
+     */
+    public long getConsumerWaitCount() {
+        return consumerWaits.sum();
+    }
+    
+    @Override
+    public String toString() {
+        return "Events [produced=" + getProducedCount() + ", consumed=" + getConsumedCount()
+            + ", dropped=" + getDroppedCount()
+            + ", producerWaits=" + getProducerWaitCount() 
+            + ", consumerWaits=" + getConsumerWaitCount() + "]";
+    }
+}
@@ -0,0 +1,64 @@
+package com.intuit.producerconsumer.flow;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Demand bookkeeping for the subscribers of this package: requests a batch
+ * up front and tops it up once half of it has been consumed, so the
+ * publisher gets one request(n) per half batch instead of one per item and
+ * never runs dry while the next request is on its way.
+ * 
+ * Not thread-safe: callers serialize access (onNext() calls are serialized
+ * by the Flow contract).
+ */
+final class BatchedDemand {
+    private final int batchSize;
+    
+    // Consumed items that trigger the next request
+    private final int replenishThreshold;
+    
+    private Flow.Subscription subscription;
+    
+    // Items consumed since the last request
+    private int consumedSinceRequest;
+    
+    // Number of request(n) calls made, for statistics
+    private long requestCount;
+    
+    BatchedDemand(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.replenishThreshold = Math.max(1, batchSize / 2);
+    }
+    
+    /**
+     * Stores the subscription and requests the first batch.
+     */
+    void start(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        request(batchSize);
+    }
+    
+    /**
+     * Records consumed items and requests more once the threshold is reached.
+     */
+    void consumed(int count) {
+        consumedSinceRequest += count;
+        if (consumedSinceRequest >= replenishThreshold) {
+            int replenish = consumedSinceRequest;
+            consumedSinceRequest = 0;
+            request(replenish);
+        }
+    }
+    
+    long getRequestCount() {
+        return requestCount;
+    }
+    
+    private void request(int n) {
+        requestCount++;
+        subscription.request(n);
+    }
+}
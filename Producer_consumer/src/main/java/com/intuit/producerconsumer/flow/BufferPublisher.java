@@ -0,0 +1,129 @@
+package com.intuit.producerconsumer.flow;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flow.Publisher that emits the items of a {@link BoundedBuffer} (such as
+ * SharedBuffer) as downstream demand allows - the demand-driven
+ * counterpart of {@link com.intuit.producerconsumer.Consumer}.
+ * 
+ * Items are taken with the non-blocking poll(), never consume(). When the
+ * buffer is empty, the buffer has no callback to wake the publisher, so it
+ * polls again after a short delay using a timer instead of a blocked thread.
+ * The delay backs off: it starts at the poll interval and doubles with every
+ * poll that finds the buffer still empty, up to the maximum poll interval,
+ * so an idle stream costs a few timer ticks per second instead of one every
+ * poll interval. The first item resets it. The stream completes once the
+ * buffer is closed and drained.
+ * 
+ * Several subscribers compete for the items, like several Consumer threads.
+ */
+public class BufferPublisher<T> implements Flow.Publisher<T> {
+    // Default delay before an empty buffer is polled again
+    public static final long DEFAULT_POLL_INTERVAL_MICROS = 100;
+    
+    // Default cap for the backed-off delay
+    public static final long DEFAULT_MAX_POLL_INTERVAL_MICROS = 10_000;
+    
+    private final BoundedBuffer<T> buffer;
+    private final Executor executor;
+    
+    // Runs "poll again" after the idle delay; entry i waits pollInterval * 2^i (capped)
+    private final Executor[] idleTimers;
+    
+    /**
+     * Creates a publisher emitting on the common ForkJoinPool.
+     * @param buffer Buffer to take items from
+     */
+    public BufferPublisher(BoundedBuffer<T> buffer) {
+        this(buffer, ForkJoinPool.commonPool(), DEFAULT_POLL_INTERVAL_MICROS);
+    }
+    
+    /**
+     * Creates a publisher emitting on the given executor.
+     * @param buffer Buffer to take items from
+     * @param executor Runs the emitting tasks
+     * @param pollIntervalMicros Delay before an empty buffer is polled again
+     */
+    public BufferPublisher(BoundedBuffer<T> buffer, Executor executor, long pollIntervalMicros) {
+        this(buffer, executor, pollIntervalMicros, Math.max(pollIntervalMicros, DEFAULT_MAX_POLL_INTERVAL_MICROS));
+    }
+    
+    /**
+     * Creates a publisher emitting on the given executor.
+     * @param buffer Buffer to take items from
+     * @param executor Runs the emitting tasks
+     * @param pollIntervalMicros Delay before an empty buffer is polled again
+     * @param maxPollIntervalMicros Cap for the delay while the buffer stays empty
+     */
+    public BufferPublisher(BoundedBuffer<T> buffer, Executor executor, long pollIntervalMicros,
+                           long maxPollIntervalMicros) {
+        if (pollIntervalMicros <= 0) {
+            throw new IllegalArgumentException("Poll interval must be positive: " + pollIntervalMicros);
+        }
+        if (maxPollIntervalMicros < pollIntervalMicros) {
+            throw new IllegalArgumentException("Max poll interval must not be below the poll interval: "
+                + maxPollIntervalMicros);
+        }
+        this.buffer = buffer;
+        this.executor = executor;
+        
+        // One timer per backoff step, created once; the last one waits exactly the cap
+        List<Executor> timers = new ArrayList<>();
+        long delay = pollIntervalMicros;
+        while (true) {
+            // The timer only re-schedules the drain; emitting still happens on the executor
+            timers.add(CompletableFuture.delayedExecutor(delay, TimeUnit.MICROSECONDS, Runnable::run));
+            if (delay == maxPollIntervalMicros) {
+                break;
+            }
+            delay = delay > maxPollIntervalMicros / 2 ? maxPollIntervalMicros : delay * 2;
+        }
+        this.idleTimers = timers.toArray(new Executor[0]);
+    }
+    
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        subscriber.onSubscribe(new BufferSubscription(subscriber));
+    }
+    
+    private class BufferSubscription extends DrainingSubscription<T> {
+        // Current backoff step, index into idleTimers (drain loop only)
+        private int idleStep;
+        
+        BufferSubscription(Flow.Subscriber<? super T> subscriber) {
+            super(subscriber, executor);
+        }
+        
+        @Override
+        T next() {
+            T item = buffer.poll();
+            if (item != null) {
+                idleStep = 0;
+            }
+            return item;
+        }
+        
+        @Override
+        boolean isExhausted() {
+            // Closed first: once closed, an empty buffer stays empty
+            return buffer.isClosed() && buffer.isEmpty();
+        }
+        
+        @Override
+        void onIdle() {
+            Executor timer = idleTimers[idleStep];
+            if (idleStep < idleTimers.length - 1) {
+                idleStep++;
+            }
+            timer.execute(this::drainLater);
+        }
+    }
+}
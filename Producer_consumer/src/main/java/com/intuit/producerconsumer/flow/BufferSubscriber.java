@@ -0,0 +1,135 @@
+package com.intuit.producerconsumer.flow;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flow.Subscriber that moves items into a {@link BoundedBuffer} (such as
+ * SharedBuffer), so a Flow stage can feed blocking Consumer threads.
+ * 
+ * Key Concepts:
+ * - Never blocks the publisher's thread: items go in with offer(); items
+ *   that do not fit wait in a small pending queue and are retried on a timer
+ * - Backpressure: demand is only topped up for items that actually entered
+ *   the buffer, so the pending queue never holds more than one batch
+ * - End of stream: onComplete() closes the buffer once every pending item
+ *   is in, exactly like a producer calling close()
+ * - Upstream failure: onError() closes the buffer as well and keeps the
+ *   error for {@link #getError()} instead of logging it
+ */
+public class BufferSubscriber<T> implements Flow.Subscriber<T> {
+    // Default delay before a full buffer is offered to again
+    public static final long DEFAULT_RETRY_INTERVAL_MICROS = 100;
+    
+    private final BoundedBuffer<T> buffer;
+    private final BatchedDemand demand;
+    
+    // Runs the retry after the delay
+    private final Executor retryTimer;
+    
+    // Items received but not accepted by the buffer yet (guarded by this)
+    private final ArrayDeque<T> pending = new ArrayDeque<>();
+    
+    // onComplete() was received (guarded by this)
+    private boolean completed;
+    
+    // Error received from upstream, if any
+    private volatile Throwable error;
+    
+    /**
+     * Creates a subscriber with the default retry interval.
+     * @param buffer Buffer to move items into
+     * @param batchSize Items requested up front (topped up at half)
+     */
+    public BufferSubscriber(BoundedBuffer<T> buffer, int batchSize) {
+        this(buffer, batchSize, DEFAULT_RETRY_INTERVAL_MICROS);
+    }
+    
+    /**
+     * Creates a subscriber.
+     * @param buffer Buffer to move items into
+     * @param batchSize Items requested up front (topped up at half)
+     * @param retryIntervalMicros Delay before a full buffer is offered to again
+     */
+    public BufferSubscriber(BoundedBuffer<T> buffer, int batchSize, long retryIntervalMicros) {
+        if (retryIntervalMicros <= 0) {
+            throw new IllegalArgumentException("Retry interval must be positive: " + retryIntervalMicros);
+        }
+        this.buffer = buffer;
+        this.demand = new BatchedDemand(batchSize);
+        this.retryTimer = CompletableFuture.delayedExecutor(retryIntervalMicros, TimeUnit.MICROSECONDS);
+    }
+    
+    @Override
+    public synchronized void onSubscribe(Flow.Subscription subscription) {
+        demand.start(subscription);
+    }
+    
+    @Override
+    public synchronized void onNext(T item) {
+        pending.add(item);
+        if (pending.size() == 1) {
+            flushPending();
+        }
+        // Otherwise a retry is already scheduled and keeps the order
+    }
+    
+    @Override
+    public synchronized void onError(Throwable throwable) {
+        error = throwable;
+        buffer.close();
+    }
+    
+    @Override
+    public synchronized void onComplete() {
+        completed = true;
+        if (pending.isEmpty()) {
+            buffer.close();
+        }
+    }
+    
+    /**
+     * Returns the error the upstream failed with.
+     * @return The error, or null if none was received
+     */
+    public Throwable getError() {
+        return error;
+    }
+    
+    /**
+     * Returns how many request(n) calls were made upstream.
+     * @return Request count
+     */
+    public synchronized long getRequestCount() {
+        return demand.getRequestCount();
+    }
+    
+    /**
+     * Offers pending items in order until the buffer is full. Must be called holding this.
+     */
+    private void flushPending() {
+        int accepted = 0;
+        while (!pending.isEmpty() && buffer.offer(pending.peek())) {
+            pending.poll();
+            accepted++;
+        }
+        if (!pending.isEmpty()) {
+            retryTimer.execute(this::retry);
+        } else if (completed) {
+            buffer.close();
+        }
+        if (accepted > 0) {
+            demand.consumed(accepted);
+        }
+    }
+    
+    private synchronized void retry() {
+        if (!pending.isEmpty()) {
+            flushPending();
+        }
+    }
+}
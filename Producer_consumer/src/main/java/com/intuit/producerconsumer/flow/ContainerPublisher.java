@@ -0,0 +1,82 @@
+package com.intuit.producerconsumer.flow;
+
+import com.intuit.producerconsumer.Container;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Flow.Publisher that emits the items of a source {@link Container} only
+ * as far as downstream demand reaches - the demand-driven counterpart of
+ * {@link com.intuit.producerconsumer.Producer}.
+ * 
+ * Items are read from the container in chunks of up to 64 with one
+ * getRange() call each, and are emitted from a task on the executor, so no
+ * thread is dedicated to the publisher. Every subscriber gets all items
+ * from the beginning; the stream completes at the end of the container.
+ */
+public class ContainerPublisher<T> implements Flow.Publisher<T> {
+    // Items read from the container per getRange() call
+    private static final int CHUNK_SIZE = 64;
+    
+    private final Container<T> source;
+    private final Executor executor;
+    
+    /**
+     * Creates a publisher emitting on the common ForkJoinPool.
+     * @param source Container to read items from
+     */
+    public ContainerPublisher(Container<T> source) {
+        this(source, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Creates a publisher emitting on the given executor.
+     * @param source Container to read items from
+     * @param executor Runs the emitting tasks
+     */
+    public ContainerPublisher(Container<T> source, Executor executor) {
+        this.source = source;
+        this.executor = executor;
+    }
+    
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        subscriber.onSubscribe(new ContainerSubscription(subscriber));
+    }
+    
+    /**
+     * One subscriber's read position in the container.
+     */
+    private class ContainerSubscription extends DrainingSubscription<T> {
+        // Next container index to read
+        private int index;
+        
+        // Items read ahead from the container but not emitted yet
+        private List<T> chunk = List.of();
+        private int chunkPosition;
+        
+        ContainerSubscription(Flow.Subscriber<? super T> subscriber) {
+            super(subscriber, executor);
+        }
+        
+        @Override
+        T next() {
+            if (chunkPosition == chunk.size()) {
+                chunk = source.getRange(index, index + CHUNK_SIZE);
+                chunkPosition = 0;
+                index += chunk.size();
+                if (chunk.isEmpty()) {
+                    return null;
+                }
+            }
+            return chunk.get(chunkPosition++);
+        }
+        
+        @Override
+        boolean isExhausted() {
+            return chunkPosition == chunk.size() && index >= source.size();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.intuit.producerconsumer.flow;
+
+import com.intuit.producerconsumer.AppendOnlyContainer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Flow.Subscriber that stores every item in a destination {@link AppendOnlyContainer}
+ * and drives the upstream with batched demand: one request(n) per half
+ * batch instead of one per item.
+ * 
+ * {@link #getCompletion()} completes when the stream ends, so callers can
+ * wait for a pipeline without a thread of their own.
+ */
+public class ContainerSubscriber<T> implements Flow.Subscriber<T> {
+    private final AppendOnlyContainer<T> destination;
+    private final BatchedDemand demand;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    
+    /**
+     * Creates a subscriber requesting items in batches.
+     * @param destination Container to store items in
+     * @param batchSize Items requested up front (topped up at half)
+     */
+    public ContainerSubscriber(AppendOnlyContainer<T> destination, int batchSize) {
+        this.destination = destination;
+        this.demand = new BatchedDemand(batchSize);
+    }
+    
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        demand.start(subscription);
+    }
+    
+    @Override
+    public void onNext(T item) {
+        destination.add(item);
+        demand.consumed(1);
+    }
+    
+    @Override
+    public void onError(Throwable throwable) {
+        completion.completeExceptionally(throwable);
+    }
+    
+    @Override
+    public void onComplete() {
+        completion.complete(null);
+    }
+    
+    /**
+     * Returns a future completed when the stream completes (or failed with its error).
+     * @return Completion of the stream
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+    
+    /**
+     * Returns how many request(n) calls were made upstream.
+     * @return Request count (valid once the stream completed)
+     */
+    public long getRequestCount() {
+        return demand.getRequestCount();
+    }
+}
@@ -0,0 +1,129 @@
+package com.intuit.producerconsumer.flow;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Subscription that emits items from a pull source exactly as fast as the
+ * subscriber requests them (shared by the publishers of this package).
+ * 
+ * Key Concepts:
+ * - Demand: request(n) adds to an outstanding counter (capped at Long.MAX_VALUE,
+ *   which means unbounded); each onNext() consumes one unit
+ * - Drain loop: one task on the executor emits as many items as there is
+ *   demand for, so a batch of n costs one task, not n
+ * - Work-in-progress counter: request() calls racing with a running drain
+ *   only bump the counter and the running drain loops again, so onNext()
+ *   calls never overlap and no lock is needed
+ * - Idle: if the source has nothing right now, onIdle() decides when to look
+ *   again; no thread ever blocks waiting for the source
+ */
+abstract class DrainingSubscription<T> implements Flow.Subscription {
+    private final Flow.Subscriber<? super T> subscriber;
+    private final Executor executor;
+    
+    // Requested but not yet delivered items
+    private final AtomicLong demand = new AtomicLong();
+    
+    // Drain requests not yet handled (0 = no drain running or scheduled)
+    private final AtomicInteger workInProgress = new AtomicInteger();
+    
+    private volatile boolean cancelled;
+    
+    // Invalid request(n) waiting to be reported by the drain loop
+    private volatile Throwable pendingError;
+    
+    // Set once onComplete/onError was signalled (drain loop only)
+    private boolean terminated;
+    
+    DrainingSubscription(Flow.Subscriber<? super T> subscriber, Executor executor) {
+        this.subscriber = subscriber;
+        this.executor = executor;
+    }
+    
+    /**
+     * Returns the next item, or null if the source has none right now.
+     */
+    abstract T next();
+    
+    /**
+     * Returns true once the source will never have another item.
+     */
+    abstract boolean isExhausted();
+    
+    /**
+     * Called when there is demand but the source is empty and not exhausted.
+     * Implementations arrange for {@link #drainLater()} to be called again.
+     */
+    void onIdle() {
+    }
+    
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            // Reactive Streams rule 3.9
+            pendingError = new IllegalArgumentException("Requested items must be positive: " + n);
+        } else {
+            demand.accumulateAndGet(n, (current, added) -> {
+                long sum = current + added;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+        }
+        drainLater();
+    }
+    
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+    
+    /**
+     * Starts a drain on the executor unless one is already running or scheduled.
+     */
+    void drainLater() {
+        if (workInProgress.getAndIncrement() == 0) {
+            executor.execute(this::drain);
+        }
+    }
+    
+    private void drain() {
+        int missed = 1;
+        do {
+            if (!terminated && !cancelled) {
+                emit();
+            }
+            missed = workInProgress.addAndGet(-missed);
+        } while (missed != 0);
+    }
+    
+    private void emit() {
+        if (pendingError != null) {
+            terminated = true;
+            subscriber.onError(pendingError);
+            return;
+        }
+        long requested = demand.get();
+        long emitted = 0;
+        T item = null;
+        while (emitted < requested && !cancelled && (item = next()) != null) {
+            subscriber.onNext(item);
+            emitted++;
+        }
+        if (emitted > 0 && requested != Long.MAX_VALUE) {
+            demand.addAndGet(-emitted);
+        }
+        
+        if (cancelled) {
+            return;
+        }
+        if (isExhausted()) {
+            terminated = true;
+            subscriber.onComplete();
+        } else if (item == null && emitted < requested) {
+            // Demand left but the source is empty: look again later
+            onIdle();
+        }
+    }
+}
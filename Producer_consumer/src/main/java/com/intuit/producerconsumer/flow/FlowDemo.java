@@ -0,0 +1,61 @@
+package com.intuit.producerconsumer.flow;
+
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.SharedBuffer;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Demonstrates the Flow adapters: items move only as fast as the final
+ * subscriber asks for them, and no thread blocks on a buffer.
+ * 
+ * 1. Container -> ContainerPublisher -> ContainerSubscriber -> Container
+ * 2. SubmissionPublisher -> BufferSubscriber -> SharedBuffer
+ *      -> BufferPublisher -> ContainerSubscriber -> Container
+ * 
+ * Run with: mvn exec:java -Dexec.mainClass="com.intuit.producerconsumer.flow.FlowDemo"
+ */
+public class FlowDemo {
+    private static final int ITEMS = 100_000;
+    private static final int BATCH_SIZE = 256;
+    
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Flow (Reactive Streams) Demo ===\n");
+        
+        // 1. Demand-driven copy between containers
+        Container<String> source = new Container<>("Source");
+        for (int i = 1; i <= ITEMS; i++) {
+            source.add("Item-" + i);
+        }
+        Container<String> destination = new Container<>("Destination");
+        ContainerSubscriber<String> copier = new ContainerSubscriber<>(destination, BATCH_SIZE);
+        
+        long start = System.nanoTime();
+        new ContainerPublisher<>(source).subscribe(copier);
+        copier.getCompletion().join();
+        long elapsed = System.nanoTime() - start;
+        
+        System.out.println("Container -> Container: " + destination.size() + " items in "
+            + (elapsed / 1_000_000) + "ms with " + copier.getRequestCount() + " request(n) calls");
+        
+        // 2. JDK SubmissionPublisher feeding a SharedBuffer, drained again as a Flow
+        SharedBuffer<String> sharedBuffer = new SharedBuffer<>(64);
+        Container<String> sink = new Container<>("Sink");
+        ContainerSubscriber<String> drainer = new ContainerSubscriber<>(sink, BATCH_SIZE);
+        new BufferPublisher<>(sharedBuffer).subscribe(drainer);
+        
+        start = System.nanoTime();
+        try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(new BufferSubscriber<>(sharedBuffer, BATCH_SIZE));
+            for (int i = 1; i <= ITEMS; i++) {
+                // submit() waits only if the subscriber falls a whole buffer behind
+                publisher.submit("Event-" + i);
+            }
+        }
+        drainer.getCompletion().join();
+        elapsed = System.nanoTime() - start;
+        
+        System.out.println("SubmissionPublisher -> SharedBuffer -> Container: " + sink.size()
+            + " items in " + (elapsed / 1_000_000) + "ms with " + drainer.getRequestCount()
+            + " request(n) calls");
+    }
+}
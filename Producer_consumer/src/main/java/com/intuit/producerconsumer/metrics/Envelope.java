@@ -0,0 +1,54 @@
+package com.intuit.producerconsumer.metrics;
+
+/**
+ * An item stamped with the System.nanoTime() at which it was produced.
+ * Used by {@link TrackedBuffer} to measure how long items wait in a buffer.
+ */
+public final class Envelope<T> {
+    private final T item;
+    private final long enqueueNanos;
+    
+    private Envelope(T item, long enqueueNanos) {
+        this.item = item;
+        this.enqueueNanos = enqueueNanos;
+    }
+    
+    /**
+     * Wraps an item, stamping it with the current time.
+     * @param item Item to wrap
+     * @return New envelope
+     */
+    public static <T> Envelope<T> wrap(T item) {
+        return new Envelope<>(item, System.nanoTime());
+    }
+    
+    /**
+     * Wraps an item with a given timestamp, so a whole batch can share one
+     * clock read.
+     * @param item Item to wrap
+     * @param enqueueNanos System.nanoTime() to stamp the item with
+     * @return New envelope
+     */
+    static <T> Envelope<T> wrap(T item, long enqueueNanos) {
+        return new Envelope<>(item, enqueueNanos);
+    }
+    
+    /**
+     * @return The wrapped item
+     */
+    public T getItem() {
+        return item;
+    }
+    
+    /**
+     * @return System.nanoTime() at the moment the item was wrapped
+     */
+    public long getEnqueueNanos() {
+        return enqueueNanos;
+    }
+    
+    @Override
+    public String toString() {
+        return String.valueOf(item);
+    }
+}
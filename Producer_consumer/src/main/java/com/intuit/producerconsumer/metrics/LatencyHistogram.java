@@ -0,0 +1,175 @@
+package com.intuit.producerconsumer.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, log-bucketed histogram of latencies in nanoseconds.
+ * 
+ * Key Concepts:
+ * - Log-linear buckets: every power of two is split into 8 sub-buckets, so
+ *   a recorded value is reported with at most 12.5% relative error over the
+ *   whole long range (values below 8ns are exact)
+ * - Allocation-free: record() only increments a preallocated counter
+ * - Single writer: only ONE thread may call record() (see
+ *   {@link LatencyRecorder} for one histogram per thread). It uses plain
+ *   reads and release writes - no lock, no CAS - and other threads can read
+ *   a (possibly slightly stale) snapshot at any time
+ * - Mergeable: {@link #add(LatencyHistogram)} sums the buckets of another
+ *   histogram, so per-thread histograms can be combined for reporting
+ */
+public class LatencyHistogram {
+    // Sub-buckets per power of two = 2^SUB_BUCKET_BITS
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    
+    // Enough buckets for every non-negative long
+    private static final int BUCKET_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+    
+    // Extra slot after the buckets holding the largest recorded value
+    private static final int MAX_SLOT = BUCKET_COUNT;
+    
+    // Bucket counters followed by the max slot
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT + 1);
+    
+    /**
+     * Records one latency. Negative values are recorded as 0.
+     * Must only be called by the owning thread.
+     * @param nanos Latency in nanoseconds
+     */
+    public void record(long nanos) {
+        record(nanos, 1);
+    }
+    
+    /**
+     * Records the same latency several times (e.g. once per item of a batch).
+     * Must only be called by the owning thread.
+     * @param nanos Latency in nanoseconds
+     * @param count Number of occurrences
+     */
+    public void record(long nanos, int count) {
+        long value = Math.max(nanos, 0);
+        int index = bucketIndex(value);
+        counts.setRelease(index, counts.getPlain(index) + count);
+        if (value > counts.getPlain(MAX_SLOT)) {
+            counts.setRelease(MAX_SLOT, value);
+        }
+    }
+    
+    /**
+     * Adds all values recorded in another histogram to this one.
+     * Must only be called by the owning thread of this histogram.
+     * @param other Histogram to merge in (only read)
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.setRelease(i, counts.getPlain(i) + count);
+            }
+        }
+        long otherMax = other.counts.get(MAX_SLOT);
+        if (otherMax > counts.getPlain(MAX_SLOT)) {
+            counts.setRelease(MAX_SLOT, otherMax);
+        }
+    }
+    
+    /**
+     * Returns the number of recorded values.
+     * @return Total count
+     */
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+    
+    /**
+     * Returns the largest recorded value (exact, not bucketed).
+     * @return Maximum in nanoseconds, 0 if empty
+     */
+    public long getMax() {
+        return counts.get(MAX_SLOT);
+    }
+    
+    /**
+     * Returns the value below which the given percentage of the recorded
+     * values fall, as the upper bound of the matching bucket (never above max).
+     * 
+     * @param percentile Percentile between 0 and 100, e.g. 99.9
+     * @return Latency in nanoseconds, 0 if empty
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        
+        // Rank of the requested value (1-based), at least the first value
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+    
+    /**
+     * Formats count, p50, p99, p99.9 and max in microseconds.
+     * @param label Name printed in front of the numbers
+     * @return One-line summary
+     */
+    public String summary(String label) {
+        return String.format("%s: count=%d p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+            label, getCount(),
+            getValueAtPercentile(50) / 1e3,
+            getValueAtPercentile(99) / 1e3,
+            getValueAtPercentile(99.9) / 1e3,
+            getMax() / 1e3);
+    }
+    
+    @Override
+    public String toString() {
+        return summary("LatencyHistogram");
+    }
+    
+    /**
+     * Maps a value to its bucket: values below SUB_BUCKETS get their own
+     * bucket, larger ones use the top SUB_BUCKET_BITS bits below the
+     * highest set bit as sub-bucket.
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+    
+    /**
+     * Returns the largest value that maps to the given bucket.
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowerBound = (1L << exponent) | (subBucket << shift);
+        return lowerBound + (1L << shift) - 1;
+    }
+}
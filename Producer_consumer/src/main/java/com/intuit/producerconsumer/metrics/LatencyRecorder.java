@@ -0,0 +1,83 @@
+package com.intuit.producerconsumer.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records latencies from any number of threads without locking: each thread
+ * writes to its own {@link LatencyHistogram} and {@link #snapshot()} merges
+ * them for reporting.
+ * 
+ * A thread's histogram is created and registered on its first record();
+ * that one-time registration is the only synchronized step. Histograms of
+ * threads that have finished are kept, so nothing recorded is ever lost.
+ */
+public class LatencyRecorder {
+    // Name used in reports
+    private final String name;
+    
+    // Every histogram ever handed out, for snapshot()
+    private final List<LatencyHistogram> histograms = new CopyOnWriteArrayList<>();
+    
+    // The calling thread's own histogram
+    private final ThreadLocal<LatencyHistogram> local = ThreadLocal.withInitial(this::register);
+    
+    /**
+     * @param name Name used in reports (e.g. "queue time")
+     */
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Records one latency into the calling thread's histogram.
+     * @param nanos Latency in nanoseconds
+     */
+    public void record(long nanos) {
+        local.get().record(nanos);
+    }
+    
+    /**
+     * Records the same latency several times into the calling thread's histogram.
+     * @param nanos Latency in nanoseconds
+     * @param count Number of occurrences
+     */
+    public void record(long nanos, int count) {
+        local.get().record(nanos, count);
+    }
+    
+    /**
+     * Merges all per-thread histograms into a new one. Values recorded
+     * concurrently may or may not be included.
+     * @return Merged histogram
+     */
+    public LatencyHistogram snapshot() {
+        LatencyHistogram merged = new LatencyHistogram();
+        for (LatencyHistogram histogram : histograms) {
+            merged.add(histogram);
+        }
+        return merged;
+    }
+    
+    /**
+     * Returns the name used in reports.
+     * @return Recorder name
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Returns a one-line p50/p99/p99.9/max summary of all threads.
+     */
+    @Override
+    public String toString() {
+        return snapshot().summary(name);
+    }
+    
+    private LatencyHistogram register() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histograms.add(histogram);
+        return histogram;
+    }
+}
@@ -0,0 +1,40 @@
+package com.intuit.producerconsumer.metrics;
+
+/**
+ * End-to-end latency of items moving from a Producer to a destination:
+ * - queue time: produce() call until consume() returned the item
+ *   (recorded by {@link TrackedBuffer})
+ * - sink time: consume() returned until the item was stored in the
+ *   destination container (recorded by the Consumer)
+ */
+public class LatencyTracker {
+    private final LatencyRecorder queueTime = new LatencyRecorder("queue time");
+    private final LatencyRecorder sinkTime = new LatencyRecorder("sink time");
+    
+    /**
+     * @return Recorder for enqueue-to-dequeue latency
+     */
+    public LatencyRecorder queueTime() {
+        return queueTime;
+    }
+    
+    /**
+     * @return Recorder for dequeue-to-sink latency
+     */
+    public LatencyRecorder sinkTime() {
+        return sinkTime;
+    }
+    
+    /**
+     * Returns both summaries, one per line.
+     * @return Latency report
+     */
+    public String report() {
+        return queueTime + System.lineSeparator() + sinkTime;
+    }
+    
+    @Override
+    public String toString() {
+        return report();
+    }
+}
@@ -0,0 +1,36 @@
+package com.intuit.producerconsumer.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts items to and from the bytes of one frame in an
+ * {@link OffHeapRingBuffer}.
+ * 
+ * Both directions work directly on a view of the ring's memory: write()
+ * fills the frame in place and read() decodes it in place, so no byte[]
+ * copy is needed. The views are only valid during the call and must not
+ * be kept.
+ */
+public interface FrameSerializer<T> {
+    
+    /**
+     * Returns the exact number of bytes write() will produce for the item.
+     * @param item Item to be written (never null)
+     * @return Payload size in bytes
+     */
+    int sizeOf(T item);
+    
+    /**
+     * Writes the item into the frame.
+     * @param item Item to write (never null)
+     * @param frame View whose remaining() is exactly sizeOf(item)
+     */
+    void write(T item, ByteBuffer frame);
+    
+    /**
+     * Decodes one item from the frame.
+     * @param frame Read-only view from position to limit covering the payload
+     * @return The decoded item (never null)
+     */
+    T read(ByteBuffer frame);
+}
@@ -0,0 +1,320 @@
+package com.intuit.producerconsumer.offheap;
+
+import com.intuit.producerconsumer.waitstrategy.SpinThenParkWaitStrategy;
+import com.intuit.producerconsumer.waitstrategy.WaitStrategy;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * OffHeapRingBuffer is a bounded buffer of variable-length byte frames kept
+ * in one direct ByteBuffer, outside the Java heap.
+ * 
+ * Key Concepts:
+ * - Frames: [int length][payload][padding to 4 bytes], written in place
+ * - Wrap marker: a frame never straddles the end of the memory; if it does
+ *   not fit, the rest of the memory is marked with length -1 and the frame
+ *   starts again at offset 0
+ * - Maximum frame: half of the memory, which guarantees that an EMPTY ring
+ *   always has room for any frame, wherever its positions currently are
+ * - head/tail: ever-growing byte positions (offset = position % capacity);
+ *   used bytes = tail - head
+ * - Zero copy: producers serialize straight into the ring and consumers
+ *   decode straight from it through reusable views, so in-flight items are
+ *   bytes, not heap objects the garbage collector has to trace
+ * - Two locks (like LinkedBlockingQueue): one serializes producers, one
+ *   serializes consumers, so a producer and a consumer never block each
+ *   other; tail/head are published with release writes
+ * 
+ * Waiting for space or data goes through a {@link WaitStrategy}. Use
+ * {@link SerializingBuffer} to plug the ring into Producer/Consumer.
+ */
+public class OffHeapRingBuffer {
+    // Size of the length header in front of every frame
+    private static final int HEADER_BYTES = Integer.BYTES;
+    
+    // Frames start at multiples of this, so a header always fits before the end
+    private static final int ALIGNMENT = 4;
+    
+    // Length value marking "rest of the memory unused, continue at offset 0"
+    private static final int WRAP_MARKER = -1;
+    
+    // The ring memory (absolute get/put only, position is never used)
+    private final ByteBuffer memory;
+    
+    // Reusable views for serializers, each guarded by its side's lock
+    private final ByteBuffer writeView;
+    private final ByteBuffer readView;
+    
+    // Size of the ring memory in bytes
+    private final int capacity;
+    
+    // Next byte position to write (written under producerLock only)
+    private final AtomicLong tail = new AtomicLong();
+    
+    // Next byte position to read (written under consumerLock only)
+    private final AtomicLong head = new AtomicLong();
+    
+    // Frames written / read so far, for frameCount()
+    private final AtomicLong framesWritten = new AtomicLong();
+    private final AtomicLong framesRead = new AtomicLong();
+    
+    private final ReentrantLock producerLock = new ReentrantLock();
+    private final ReentrantLock consumerLock = new ReentrantLock();
+    
+    // How producers/consumers wait for space/data
+    private final WaitStrategy waitStrategy;
+    
+    // Bytes the waiting producer needs (guarded by producerLock)
+    private int requiredBytes;
+    
+    // Set by close(): end of stream
+    private volatile boolean closed;
+    
+    // Wait conditions, allocated once so waiting never allocates
+    private final BooleanSupplier spaceAvailable = () -> freeBytes() >= requiredBytes || closed;
+    private final BooleanSupplier frameAvailable = () -> head.get() < tail.get() || closed;
+    
+    /**
+     * Creates a ring of the given size that waits by spinning, then parking.
+     * @param capacityBytes Size of the off-heap memory (multiple of 4)
+     */
+    public OffHeapRingBuffer(int capacityBytes) {
+        this(capacityBytes, new SpinThenParkWaitStrategy());
+    }
+    
+    /**
+     * Creates a ring of the given size and wait strategy.
+     * @param capacityBytes Size of the off-heap memory (multiple of 4)
+     * @param waitStrategy How blocked producers/consumers wait
+     */
+    public OffHeapRingBuffer(int capacityBytes, WaitStrategy waitStrategy) {
+        if (capacityBytes < 4 * HEADER_BYTES || capacityBytes % ALIGNMENT != 0) {
+            throw new IllegalArgumentException("Capacity must be a multiple of " + ALIGNMENT 
+                + " and at least " + (4 * HEADER_BYTES) + ": " + capacityBytes);
+        }
+        this.capacity = capacityBytes;
+        this.memory = ByteBuffer.allocateDirect(capacityBytes);
+        this.writeView = memory.duplicate();
+        this.readView = memory.asReadOnlyBuffer();
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy");
+    }
+    
+    /**
+     * Serializes an item into the ring if its frame fits right now.
+     * 
+     * @param item Item to write (not null)
+     * @param serializer Serializer writing the payload
+     * @return true if written, false if there was not enough free space
+     * @throws IllegalStateException if the ring is closed
+     * @throws IllegalArgumentException if the frame can never fit
+     */
+    public <T> boolean offer(T item, FrameSerializer<? super T> serializer) {
+        Objects.requireNonNull(item, "OffHeapRingBuffer does not accept null items");
+        producerLock.lock();
+        try {
+            ensureOpen();
+            return tryWrite(item, serializer);
+        } finally {
+            producerLock.unlock();
+        }
+    }
+    
+    /**
+     * Serializes an item into the ring, waiting until its frame fits.
+     * 
+     * @param item Item to write (not null)
+     * @param serializer Serializer writing the payload
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IllegalStateException if the ring is closed
+     * @throws IllegalArgumentException if the frame can never fit
+     */
+    public <T> void put(T item, FrameSerializer<? super T> serializer) throws InterruptedException {
+        Objects.requireNonNull(item, "OffHeapRingBuffer does not accept null items");
+        producerLock.lockInterruptibly();
+        try {
+            ensureOpen();
+            while (!tryWrite(item, serializer)) {
+                waitStrategy.waitFor(spaceAvailable);
+                ensureOpen();
+            }
+        } finally {
+            producerLock.unlock();
+        }
+    }
+    
+    /**
+     * Decodes and removes the oldest frame, if there is one.
+     * 
+     * @param serializer Serializer reading the payload in place
+     * @return The decoded item, or null if the ring is empty
+     */
+    public <T> T poll(FrameSerializer<? extends T> serializer) {
+        consumerLock.lock();
+        try {
+            return tryRead(serializer);
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+    
+    /**
+     * Decodes and removes the oldest frame, waiting while the ring is empty.
+     * 
+     * @param serializer Serializer reading the payload in place
+     * @return The decoded item, or null if the ring is closed and empty
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public <T> T take(FrameSerializer<? extends T> serializer) throws InterruptedException {
+        consumerLock.lockInterruptibly();
+        try {
+            T item;
+            while ((item = tryRead(serializer)) == null) {
+                if (closed) {
+                    // Everything written before close() is visible now - one last look
+                    return tryRead(serializer);
+                }
+                waitStrategy.waitFor(frameAvailable);
+            }
+            return item;
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+    
+    /**
+     * Closes the ring: further writes fail and take() returns null once drained.
+     */
+    public void close() {
+        closed = true;
+        waitStrategy.signalAll();
+    }
+    
+    /**
+     * Checks if the ring has been closed.
+     * @return true if close() has been called
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    /**
+     * Returns the number of frames currently in the ring (approximate while
+     * operations are in flight).
+     * @return Frame count
+     */
+    public int frameCount() {
+        long read = framesRead.get();
+        return (int) Math.max(framesWritten.get() - read, 0);
+    }
+    
+    /**
+     * Returns the bytes currently taken by frames, headers and padding.
+     * @return Used bytes
+     */
+    public int usedBytes() {
+        long currentHead = head.get();
+        return (int) (tail.get() - currentHead);
+    }
+    
+    /**
+     * Returns the size of the off-heap memory.
+     * @return Capacity in bytes
+     */
+    public int capacity() {
+        return capacity;
+    }
+    
+    /**
+     * Returns the largest payload a single frame can carry (a frame with its
+     * header may take at most half of the memory).
+     * @return Maximum payload size in bytes
+     */
+    public int maxPayloadBytes() {
+        return ((capacity / 2) & -ALIGNMENT) - HEADER_BYTES;
+    }
+    
+    /**
+     * Writes one frame if it fits. Must be called holding producerLock.
+     */
+    private <T> boolean tryWrite(T item, FrameSerializer<? super T> serializer) {
+        int length = serializer.sizeOf(item);
+        if (length < 0 || length > maxPayloadBytes()) {
+            throw new IllegalArgumentException("Frame of " + length + " bytes exceeds the maximum of "
+                + maxPayloadBytes() + " bytes");
+        }
+        int frameBytes = align(HEADER_BYTES + length);
+        long position = tail.getPlain();
+        int offset = (int) (position % capacity);
+        
+        // A frame that does not fit before the end starts again at offset 0
+        int wrapBytes = capacity - offset < frameBytes ? capacity - offset : 0;
+        requiredBytes = wrapBytes + frameBytes;
+        if (freeBytes() < requiredBytes) {
+            return false;
+        }
+        if (wrapBytes > 0) {
+            memory.putInt(offset, WRAP_MARKER);
+            position += wrapBytes;
+            offset = 0;
+        }
+        
+        // Serialize straight into the ring memory
+        writeView.limit(offset + HEADER_BYTES + length).position(offset + HEADER_BYTES);
+        serializer.write(item, writeView);
+        if (writeView.hasRemaining()) {
+            throw new IllegalStateException("Serializer wrote " + (length - writeView.remaining()) 
+                + " bytes but sizeOf() returned " + length);
+        }
+        memory.putInt(offset, length);
+        
+        // Release write: the frame bytes are visible before the new tail
+        framesWritten.setRelease(framesWritten.getPlain() + 1);
+        tail.setRelease(position + frameBytes);
+        waitStrategy.signalAll();
+        return true;
+    }
+    
+    /**
+     * Reads one frame if there is one. Must be called holding consumerLock.
+     */
+    private <T> T tryRead(FrameSerializer<? extends T> serializer) {
+        long position = head.getPlain();
+        if (position >= tail.get()) {
+            return null;
+        }
+        int offset = (int) (position % capacity);
+        int length = memory.getInt(offset);
+        if (length == WRAP_MARKER) {
+            position += capacity - offset;
+            offset = 0;
+            length = memory.getInt(0);
+        }
+        
+        // Decode straight from the ring memory
+        readView.limit(offset + HEADER_BYTES + length).position(offset + HEADER_BYTES);
+        T item = serializer.read(readView);
+        
+        // Release write: the frame is fully read before its space is reused
+        framesRead.setRelease(framesRead.getPlain() + 1);
+        head.setRelease(position + align(HEADER_BYTES + length));
+        waitStrategy.signalAll();
+        return item;
+    }
+    
+    private int freeBytes() {
+        return capacity - (int) (tail.get() - head.get());
+    }
+    
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+    }
+    
+    private static int align(int bytes) {
+        return (bytes + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
@@ -0,0 +1,85 @@
+package com.intuit.producerconsumer.offheap;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+
+/**
+ * Typed {@link BoundedBuffer} view of an {@link OffHeapRingBuffer}: items
+ * are serialized into the ring on produce and decoded on consume, so
+ * Producer and Consumer work unchanged while in-flight items live off-heap.
+ * 
+ * The bound is the ring's byte capacity, not an item count.
+ */
+public class SerializingBuffer<T> implements BoundedBuffer<T> {
+    private final OffHeapRingBuffer ring;
+    private final FrameSerializer<T> serializer;
+    
+    /**
+     * Creates a buffer with its own ring.
+     * @param capacityBytes Size of the off-heap memory (multiple of 4)
+     * @param serializer Converts items to and from frames
+     */
+    public SerializingBuffer(int capacityBytes, FrameSerializer<T> serializer) {
+        this(new OffHeapRingBuffer(capacityBytes), serializer);
+    }
+    
+    /**
+     * Creates a buffer on top of an existing ring.
+     * @param ring Ring storing the frames
+     * @param serializer Converts items to and from frames
+     */
+    public SerializingBuffer(OffHeapRingBuffer ring, FrameSerializer<T> serializer) {
+        this.ring = ring;
+        this.serializer = serializer;
+    }
+    
+    @Override
+    public void produce(T item) throws InterruptedException {
+        ring.put(item, serializer);
+    }
+    
+    @Override
+    public T consume() throws InterruptedException {
+        return ring.take(serializer);
+    }
+    
+    @Override
+    public boolean offer(T item) {
+        return ring.offer(item, serializer);
+    }
+    
+    @Override
+    public T poll() {
+        return ring.poll(serializer);
+    }
+    
+    @Override
+    public void close() {
+        ring.close();
+    }
+    
+    @Override
+    public boolean isClosed() {
+        return ring.isClosed();
+    }
+    
+    /**
+     * Returns the number of items (frames) in the ring.
+     */
+    @Override
+    public int size() {
+        return ring.frameCount();
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Returns the underlying off-heap ring.
+     * @return Ring storing the frames
+     */
+    public OffHeapRingBuffer getRing() {
+        return ring;
+    }
+}
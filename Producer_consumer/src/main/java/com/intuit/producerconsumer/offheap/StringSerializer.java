@@ -0,0 +1,36 @@
+package com.intuit.producerconsumer.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Serializes a String as its UTF-16 code units (2 bytes per char).
+ * 
+ * The size is known without encoding and the chars are written straight
+ * into the frame, so producing needs no temporary byte[].
+ */
+public class StringSerializer implements FrameSerializer<String> {
+    
+    /**
+     * Shared instance (the serializer is stateless).
+     */
+    public static final StringSerializer INSTANCE = new StringSerializer();
+    
+    @Override
+    public int sizeOf(String item) {
+        return item.length() * Character.BYTES;
+    }
+    
+    @Override
+    public void write(String item, ByteBuffer frame) {
+        for (int i = 0; i < item.length(); i++) {
+            frame.putChar(item.charAt(i));
+        }
+    }
+    
+    @Override
+    public String read(ByteBuffer frame) {
+        char[] chars = new char[frame.remaining() / Character.BYTES];
+        frame.asCharBuffer().get(chars);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,88 @@
+package com.intuit.producerconsumer.ordered;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import java.util.function.Function;
+
+/**
+ * Consumer thread for ordered-parallel mode: takes numbered items from a
+ * shared buffer, processes them in parallel with its peers and hands each
+ * result to a shared {@link ReorderBuffer}, which emits them in source order.
+ * 
+ * Pipeline:
+ *   Producer -> SequencingBuffer -> OrderedConsumer x N -> ReorderBuffer -> destination
+ * 
+ * An item whose work function throws is reported and skipped, so one bad
+ * item cannot stall the sequence for everybody else. A consumer stopped by
+ * an Error or an interrupt skips the item it holds before it ends.
+ */
+public class OrderedConsumer<T, R> implements Runnable {
+    // Buffer of numbered items (SequencingBuffer.getDelegate())
+    private final BoundedBuffer<Sequenced<T>> sharedBuffer;
+    
+    // Processing of one item (runs in parallel, out of order)
+    private final Function<? super T, ? extends R> work;
+    
+    // Puts the results back into sequence order
+    private final ReorderBuffer<R> reorderBuffer;
+    
+    // Name of this consumer (for logging/identification)
+    private final String name;
+    
+    /**
+     * @param name Name of this consumer thread
+     * @param sharedBuffer Buffer of numbered items
+     * @param work Processing applied to every item (null result = emit nothing)
+     * @param reorderBuffer Reorder buffer shared by all ordered consumers
+     */
+    public OrderedConsumer(String name, BoundedBuffer<Sequenced<T>> sharedBuffer,
+                           Function<? super T, ? extends R> work, ReorderBuffer<R> reorderBuffer) {
+        this.name = name;
+        this.sharedBuffer = sharedBuffer;
+        this.work = work;
+        this.reorderBuffer = reorderBuffer;
+    }
+    
+    /**
+     * Consumes until the buffer is closed and drained.
+     */
+    @Override
+    public void run() {
+        int processed = 0;
+        try {
+            Sequenced<T> sequenced;
+            while ((sequenced = sharedBuffer.consume()) != null) {
+                boolean released = false;
+                try {
+                    R result;
+                    try {
+                        result = work.apply(sequenced.getItem());
+                    } catch (RuntimeException e) {
+                        System.err.println(name + " skipped item " + sequenced + ": " + e);
+                        result = null;
+                    }
+                    // May BLOCK while this result is a whole window ahead
+                    reorderBuffer.release(sequenced.getSequence(), result);
+                    released = true;
+                    processed++;
+                } finally {
+                    if (!released) {
+                        // Error or interrupt: the sequence must not stay open for the other consumers
+                        reorderBuffer.skip(sequenced.getSequence());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println(name + " was interrupted: " + e.getMessage());
+        }
+        System.out.println(name + " finished processing " + processed + " items.");
+    }
+    
+    /**
+     * Returns the name of this consumer.
+     * @return Consumer name
+     */
+    public String getConsumerName() {
+        return name;
+    }
+}
@@ -0,0 +1,175 @@
+package com.intuit.producerconsumer.ordered;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import com.intuit.producerconsumer.ConditionSharedBuffer;
+import com.intuit.producerconsumer.Consumer;
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.Producer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Demonstrates ordered delivery with parallel consumers on items whose
+ * processing time varies:
+ * 
+ * 1. One consumer: in order, but only as fast as a single thread
+ * 2. N plain consumers: fast, but the destination order is scrambled
+ * 3. N ordered consumers + ReorderBuffer: fast and in source order
+ * 
+ * Run with: mvn exec:java -Dexec.mainClass="com.intuit.producerconsumer.ordered.OrderedDeliveryDemo"
+ */
+public class OrderedDeliveryDemo {
+    private static final int ITEMS = 2_000;
+    private static final int CONSUMERS = 8;
+    private static final int BUFFER_CAPACITY = 64;
+    private static final int WINDOW = 256;
+    
+    // Simulated work: 0-2ms per item, so neighbours finish out of order
+    private static final Function<Integer, Integer> WORK = item -> {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return item;
+    };
+    
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== Ordered Delivery Demo ===\n");
+        
+        Container<Integer> source = new Container<>("Source");
+        for (int i = 0; i < ITEMS; i++) {
+            source.add(i);
+        }
+        
+        List<String> results = new ArrayList<>();
+        results.add(runUnordered(source, 1));
+        results.add(runUnordered(source, CONSUMERS));
+        results.add(runOrdered(source, CONSUMERS));
+        
+        System.out.println();
+        results.forEach(System.out::println);
+    }
+    
+    private static String runUnordered(Container<Integer> source, int consumers) throws InterruptedException {
+        ConditionSharedBuffer<Integer> buffer = new ConditionSharedBuffer<>(BUFFER_CAPACITY);
+        Container<Integer> destination = new Container<>("Destination");
+        
+        // Plain consumers applying the same work before storing the item
+        BoundedBuffer<Integer> working = new WorkingBuffer(buffer);
+        long start = System.nanoTime();
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 1; c <= consumers; c++) {
+            threads.add(Thread.ofPlatform().name("Consumer-" + c)
+                .start(new Consumer<>("Consumer-" + c, working, destination, 0)));
+        }
+        runProducer(source, buffer);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        
+        return String.format("%d plain consumer(s):   %,6dms, %,5d items out of order",
+            consumers, elapsed / 1_000_000, countOutOfOrder(destination));
+    }
+    
+    private static String runOrdered(Container<Integer> source, int consumers) throws InterruptedException {
+        SequencingBuffer<Integer> buffer = new SequencingBuffer<>(new ConditionSharedBuffer<>(BUFFER_CAPACITY));
+        Container<Integer> destination = new Container<>("Destination");
+        ReorderBuffer<Integer> reorderBuffer = new ReorderBuffer<>(WINDOW, destination);
+        
+        long start = System.nanoTime();
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 1; c <= consumers; c++) {
+            threads.add(Thread.ofPlatform().name("Ordered-" + c)
+                .start(new OrderedConsumer<>("Ordered-" + c, buffer.getDelegate(), WORK, reorderBuffer)));
+        }
+        runProducer(source, buffer);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        
+        return String.format("%d ordered consumers:   %,6dms, %,5d items out of order "
+                + "(max %d parked, %d window waits)",
+            consumers, elapsed / 1_000_000, countOutOfOrder(destination),
+            reorderBuffer.getMaxPending(), reorderBuffer.getWindowWaitCount());
+    }
+    
+    private static void runProducer(Container<Integer> source, BoundedBuffer<Integer> buffer)
+            throws InterruptedException {
+        Thread producer = Thread.ofPlatform().name("Producer").start(new Producer<>("Producer", source, buffer, 0));
+        producer.join();
+        buffer.close();
+    }
+    
+    /**
+     * Counts items that arrived after a larger item.
+     */
+    private static int countOutOfOrder(Container<Integer> destination) {
+        int outOfOrder = 0;
+        int max = -1;
+        for (Integer item : destination.getAll()) {
+            if (item < max) {
+                outOfOrder++;
+            }
+            max = Math.max(max, item);
+        }
+        return outOfOrder;
+    }
+    
+    /**
+     * Applies WORK on every consume, so plain Consumers do the same work as the ordered ones.
+     */
+    private static class WorkingBuffer implements BoundedBuffer<Integer> {
+        private final BoundedBuffer<Integer> delegate;
+        
+        WorkingBuffer(BoundedBuffer<Integer> delegate) {
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public void produce(Integer item) throws InterruptedException {
+            delegate.produce(item);
+        }
+        
+        @Override
+        public Integer consume() throws InterruptedException {
+            Integer item = delegate.consume();
+            return item == null ? null : WORK.apply(item);
+        }
+        
+        @Override
+        public boolean offer(Integer item) {
+            return delegate.offer(item);
+        }
+        
+        @Override
+        public Integer poll() {
+            Integer item = delegate.poll();
+            return item == null ? null : WORK.apply(item);
+        }
+        
+        @Override
+        public void close() {
+            delegate.close();
+        }
+        
+        @Override
+        public boolean isClosed() {
+            return delegate.isClosed();
+        }
+        
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+        
+        @Override
+        public boolean isEmpty() {
+            return delegate.isEmpty();
+        }
+    }
+}
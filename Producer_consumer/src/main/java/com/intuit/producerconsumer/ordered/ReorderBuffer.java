@@ -0,0 +1,217 @@
+package com.intuit.producerconsumer.ordered;
+
+import com.intuit.producerconsumer.AppendOnlyContainer;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * ReorderBuffer collects results that parallel workers finish in any order
+ * and hands them to a sink strictly in sequence order.
+ * 
+ * Key Concepts:
+ * - Window: results for sequences next .. next + window - 1 are accepted
+ *   and parked in a ring (slot = sequence % window) until their turn
+ * - Release: when the result for "next" arrives, it and every consecutive
+ *   parked result go to the sink at once, and the window slides forward
+ * - Bounded: a worker whose sequence is a whole window ahead waits until
+ *   the window reaches it, so one slow item holds back at most window
+ *   results instead of letting memory grow without limit
+ * - Skips: a null result (filtered or failed item) only advances the sequence
+ * 
+ * The sink is called under the lock, in order, one result at a time.
+ */
+public class ReorderBuffer<R> {
+    // Marks a slot whose result arrived as null (nothing to emit)
+    private static final Object SKIPPED = new Object();
+    
+    // Parked results; null = not arrived yet (guarded by lock)
+    private final Object[] slots;
+    
+    // Receives the results in sequence order
+    private final Consumer<? super R> sink;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    // Signalled whenever the window slides forward
+    private final Condition windowMoved = lock.newCondition();
+    
+    // Next sequence the sink is waiting for (guarded by lock)
+    private long nextSequence;
+    
+    // Results parked out of order right now / at most so far (guarded by lock)
+    private int pending;
+    private int maxPending;
+    
+    // Times a worker had to wait because its sequence was outside the window (guarded by lock)
+    private long windowWaitCount;
+    
+    /**
+     * Creates a reorder buffer that adds results to a container.
+     * @param window Maximum results parked out of order
+     * @param destination Container receiving the results in order
+     */
+    public ReorderBuffer(int window, AppendOnlyContainer<? super R> destination) {
+        this(window, (Consumer<? super R>) destination::add);
+    }
+    
+    /**
+     * Creates a reorder buffer with an arbitrary sink.
+     * @param window Maximum results parked out of order
+     * @param sink Receives the results in order
+     */
+    public ReorderBuffer(int window, Consumer<? super R> sink) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        this.slots = new Object[window];
+        this.sink = Objects.requireNonNull(sink, "sink");
+    }
+    
+    /**
+     * Hands in the result for a sequence number, waiting while the sequence
+     * is a whole window ahead of the next one to emit.
+     * 
+     * @param sequence Sequence number of the source item (each used exactly once)
+     * @param result Result to emit, or null to emit nothing for this sequence
+     * @throws InterruptedException if interrupted while waiting for the window
+     * @throws IllegalArgumentException if the sequence was already emitted
+     */
+    public void release(long sequence, R result) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            checkNotEmitted(sequence);
+            if (sequence >= nextSequence + slots.length) {
+                windowWaitCount++;
+                do {
+                    windowMoved.await();
+                } while (sequence >= nextSequence + slots.length);
+            }
+            store(sequence, result);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Emits nothing for a sequence, like release(sequence, null), but keeps
+     * waiting for the window when interrupted (the interrupt status is kept).
+     * For a worker that gives up on an item it has taken: its sequence must
+     * still be released, or every later result would wait for it forever.
+     * 
+     * @param sequence Sequence number of the source item (each used exactly once)
+     * @throws IllegalArgumentException if the sequence was already released
+     */
+    public void skip(long sequence) {
+        lock.lock();
+        try {
+            checkNotEmitted(sequence);
+            if (sequence >= nextSequence + slots.length) {
+                windowWaitCount++;
+                do {
+                    windowMoved.awaitUninterruptibly();
+                } while (sequence >= nextSequence + slots.length);
+            }
+            store(sequence, null);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the next sequence number the sink is waiting for
+     * (equals the number of sequences emitted so far).
+     * @return Next sequence
+     */
+    public long getNextSequence() {
+        lock.lock();
+        try {
+            return nextSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the number of results parked out of order right now.
+     * @return Pending results
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the largest number of results that were parked at once.
+     * @return Maximum pending results
+     */
+    public int getMaxPending() {
+        lock.lock();
+        try {
+            return maxPending;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns how often a worker waited because its result was a whole window ahead.
+     * @return Window wait count
+     */
+    public long getWindowWaitCount() {
+        lock.lock();
+        try {
+            return windowWaitCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void checkNotEmitted(long sequence) {
+        if (sequence < nextSequence) {
+            throw new IllegalArgumentException("Sequence " + sequence + " was already released");
+        }
+    }
+    
+    /**
+     * Parks a result inside the window and emits whatever became ready.
+     * Must be called holding the lock.
+     */
+    private void store(long sequence, R result) {
+        int slot = (int) (sequence % slots.length);
+        if (slots[slot] != null) {
+            throw new IllegalArgumentException("Sequence " + sequence + " was already released");
+        }
+        slots[slot] = result == null ? SKIPPED : result;
+        pending++;
+        if (sequence == nextSequence) {
+            emitReady();
+        } else {
+            maxPending = Math.max(maxPending, pending);
+        }
+    }
+    
+    /**
+     * Emits the run of consecutive results starting at nextSequence. Must be called holding the lock.
+     */
+    @SuppressWarnings("unchecked")
+    private void emitReady() {
+        int slot = (int) (nextSequence % slots.length);
+        Object result;
+        while ((result = slots[slot]) != null) {
+            slots[slot] = null;
+            pending--;
+            nextSequence++;
+            if (result != SKIPPED) {
+                sink.accept((R) result);
+            }
+            slot = slot + 1 == slots.length ? 0 : slot + 1;
+        }
+        windowMoved.signalAll();
+    }
+}
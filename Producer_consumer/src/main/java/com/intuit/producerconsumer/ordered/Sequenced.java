@@ -0,0 +1,39 @@
+package com.intuit.producerconsumer.ordered;
+
+/**
+ * An item tagged with its position in the source stream (0, 1, 2, ...).
+ * Used by {@link SequencingBuffer} and {@link ReorderBuffer} to restore the
+ * source order after parallel processing.
+ */
+public final class Sequenced<T> {
+    private final long sequence;
+    private final T item;
+    
+    /**
+     * @param sequence Position of the item in the source stream
+     * @param item The item
+     */
+    public Sequenced(long sequence, T item) {
+        this.sequence = sequence;
+        this.item = item;
+    }
+    
+    /**
+     * @return Position of the item in the source stream
+     */
+    public long getSequence() {
+        return sequence;
+    }
+    
+    /**
+     * @return The tagged item
+     */
+    public T getItem() {
+        return item;
+    }
+    
+    @Override
+    public String toString() {
+        return sequence + ":" + item;
+    }
+}
@@ -0,0 +1,135 @@
+package com.intuit.producerconsumer.ordered;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import com.intuit.producerconsumer.ConditionSharedBuffer;
+import com.intuit.producerconsumer.OverflowStrategy;
+import com.intuit.producerconsumer.SharedBuffer;
+import com.intuit.producerconsumer.ringbuffer.MpmcRingBuffer;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decorator that numbers items as they are produced, so they can be put
+ * back into source order after parallel consumers processed them.
+ * 
+ * Producers use it like any BoundedBuffer (an unchanged Producer works);
+ * {@link OrderedConsumer}s take the numbered items from {@link #getDelegate()}.
+ * 
+ * Sequence numbers are dense (no gaps) and follow the order in which items
+ * enter the buffer: numbering and adding happen under one producer lock,
+ * and a number is only used up once produce()/offer() report the item as
+ * added. The lock is held while a producer waits for space, which only
+ * delays other producers that would have to wait anyway; consumers never
+ * take it.
+ * 
+ * That only holds if the delegate is lossless and FIFO, so the constructor
+ * accepts SharedBuffer (any strategy except DROP_OLDEST / DROP_NEWEST,
+ * which discard an item while produce() still returns normally),
+ * ConditionSharedBuffer and MpmcRingBuffer. A dropped item would leave a
+ * gap the ReorderBuffer waits for forever, and a non-FIFO delegate
+ * (StripedBuffer, WorkStealingBuffer, PriorityBuffer) hands consumers
+ * numbers far ahead of the oldest one, overrunning the reorder window.
+ */
+public class SequencingBuffer<T> implements BoundedBuffer<T> {
+    private final BoundedBuffer<Sequenced<T>> delegate;
+    
+    // Serializes numbering + adding (producers only)
+    private final ReentrantLock producerLock = new ReentrantLock();
+    
+    // Next sequence number to hand out (guarded by producerLock)
+    private long nextSequence;
+    
+    /**
+     * @param delegate Buffer the numbered items are stored in
+     * @throws IllegalArgumentException if the delegate may drop items or is not FIFO
+     */
+    public SequencingBuffer(BoundedBuffer<Sequenced<T>> delegate) {
+        requireLosslessFifo(delegate);
+        this.delegate = delegate;
+    }
+    
+    @Override
+    public void produce(T item) throws InterruptedException {
+        producerLock.lockInterruptibly();
+        try {
+            delegate.produce(new Sequenced<>(nextSequence, item));
+            nextSequence++;
+        } finally {
+            producerLock.unlock();
+        }
+    }
+    
+    /**
+     * Removes the oldest item without its sequence number; ordered consumers
+     * take from {@link #getDelegate()} instead.
+     */
+    @Override
+    public T consume() throws InterruptedException {
+        return unwrap(delegate.consume());
+    }
+    
+    @Override
+    public boolean offer(T item) {
+        producerLock.lock();
+        try {
+            if (!delegate.offer(new Sequenced<>(nextSequence, item))) {
+                return false;
+            }
+            nextSequence++;
+            return true;
+        } finally {
+            producerLock.unlock();
+        }
+    }
+    
+    @Override
+    public T poll() {
+        return unwrap(delegate.poll());
+    }
+    
+    @Override
+    public void close() {
+        delegate.close();
+    }
+    
+    @Override
+    public boolean isClosed() {
+        return delegate.isClosed();
+    }
+    
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+    
+    /**
+     * Returns the buffer of numbered items.
+     * @return Underlying buffer
+     */
+    public BoundedBuffer<Sequenced<T>> getDelegate() {
+        return delegate;
+    }
+    
+    private static void requireLosslessFifo(BoundedBuffer<?> delegate) {
+        if (delegate instanceof SharedBuffer<?> shared) {
+            OverflowStrategy strategy = shared.getOverflowStrategy();
+            if (strategy == OverflowStrategy.DROP_OLDEST || strategy == OverflowStrategy.DROP_NEWEST) {
+                throw new IllegalArgumentException("SequencingBuffer needs a lossless delegate, got a "
+                    + strategy + " SharedBuffer");
+            }
+            return;
+        }
+        if (!(delegate instanceof ConditionSharedBuffer || delegate instanceof MpmcRingBuffer)) {
+            throw new IllegalArgumentException("SequencingBuffer needs a FIFO delegate (SharedBuffer, "
+                + "ConditionSharedBuffer or MpmcRingBuffer), got " + delegate.getClass().getSimpleName());
+        }
+    }
+    
+    private T unwrap(Sequenced<T> sequenced) {
+        return sequenced == null ? null : sequenced.getItem();
+    }
+}
@@ -0,0 +1,299 @@
+package com.intuit.producerconsumer.pipeline;
+
+import com.intuit.producerconsumer.AppendOnlyContainer;
+import com.intuit.producerconsumer.ConditionSharedBuffer;
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.pipeline.PipelineBuilder.StageSpec;
+import com.intuit.producerconsumer.pipeline.PipelineRunner.ThreadMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Pipeline chains any number of stages between a source Container and a
+ * destination Container, generalizing the single Producer -> SharedBuffer
+ * -> Consumer hop:
+ * 
+ *   source -> [buffer] -> parse+validate x4 -> [buffer] -> enrich x2 -> destination
+ * 
+ * Key Concepts:
+ * - Stage: a function applied to every item by its own worker threads;
+ *   returning null filters the item out, throwing drops it (counted as error)
+ * - Per-stage buffer: every stage reads from its own bounded
+ *   ConditionSharedBuffer, so a slow stage applies backpressure upstream
+ * - Parallelism: number of workers per stage; with more than one worker the
+ *   stage's output order is no longer the input order
+ * - Batch size: items moved per drainTo()/produceAll() call
+ * - Fusion: a fused stage runs on the previous stage's workers (no buffer,
+ *   no thread hop), which is cheaper for light stages
+ * - End of stream: each stage closes the next stage's buffer once its last
+ *   worker has drained its own buffer
+ * - {@link StageStats}: throughput, utilization and queue depth per stage
+ *   to find the bottleneck
+ * 
+ * Example:
+ * <pre>
+ * Pipeline pipeline = Pipeline.from(lines)
+ *     .stage("parse", Record::parse).parallelism(4).batchSize(64)
+ *     .stage("validate", r -> r.isValid() ? r : null).fused()
+ *     .stage("enrich", enricher::enrich).parallelism(2).bufferCapacity(256)
+ *     .to(records);
+ * pipeline.run();
+ * System.out.println(pipeline.report());
+ * </pre>
+ * 
+ * A pipeline runs once.
+ */
+public class Pipeline {
+    private final Container<?> source;
+    private final AppendOnlyContainer<Object> destination;
+    
+    // Physical stages (fused stages merged), in pipeline order
+    private final List<Stage> stages = new ArrayList<>();
+    
+    // Items read from the source per getRange() call
+    private final int sourceBatchSize;
+    
+    private final PipelineRunner runner;
+    private boolean started;
+    
+    @SuppressWarnings("unchecked")
+    Pipeline(Container<?> source, AppendOnlyContainer<?> destination, List<StageSpec> specs, ThreadMode threadMode) {
+        this.source = source;
+        this.destination = (AppendOnlyContainer<Object>) destination;
+        this.runner = new PipelineRunner(threadMode);
+        
+        // Group every stage with the fused stages that follow it
+        List<List<StageSpec>> groups = new ArrayList<>();
+        for (StageSpec spec : specs) {
+            if (!spec.fused) {
+                groups.add(new ArrayList<>());
+            }
+            groups.get(groups.size() - 1).add(spec);
+        }
+        for (List<StageSpec> group : groups) {
+            stages.add(new Stage(group));
+        }
+        for (int i = 0; i + 1 < stages.size(); i++) {
+            stages.get(i).next = stages.get(i + 1);
+        }
+        this.sourceBatchSize = stages.isEmpty() ? PipelineBuilder.DEFAULT_BATCH_SIZE : stages.get(0).batchSize;
+    }
+    
+    /**
+     * Starts describing a pipeline that reads the items of a container.
+     * @param source Container to read items from
+     * @return Builder to add stages to
+     */
+    public static <S> PipelineBuilder<S> from(Container<S> source) {
+        return new PipelineBuilder<>(source);
+    }
+    
+    /**
+     * Starts the source thread and all stage workers.
+     * @throws IllegalStateException if the pipeline was already started
+     */
+    public synchronized void start() {
+        if (started) {
+            throw new IllegalStateException("Pipeline already started");
+        }
+        started = true;
+        long now = System.nanoTime();
+        for (Stage stage : stages) {
+            stage.stats.started(now);
+            for (int w = 1; w <= stage.parallelism; w++) {
+                runner.submit(stage.stats.getName() + "-" + w, stage::work);
+            }
+        }
+        runner.submit("source", this::readSource);
+    }
+    
+    /**
+     * Starts the pipeline and waits until every item reached the destination.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void run() throws InterruptedException {
+        start();
+        awaitCompletion();
+    }
+    
+    /**
+     * Waits until the source and every stage have finished.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitCompletion() throws InterruptedException {
+        runner.awaitCompletion();
+    }
+    
+    /**
+     * Waits until the pipeline has finished or the timeout expires.
+     * @param timeoutMs Maximum time to wait in milliseconds
+     * @return true if the pipeline finished, false if the timeout expired first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitCompletion(long timeoutMs) throws InterruptedException {
+        return runner.awaitCompletion(timeoutMs);
+    }
+    
+    /**
+     * Returns the statistics of every physical stage, in pipeline order.
+     * @return Stage statistics (live while running)
+     */
+    public List<StageStats> getStageStats() {
+        List<StageStats> stats = new ArrayList<>();
+        for (Stage stage : stages) {
+            stats.add(stage.stats);
+        }
+        return Collections.unmodifiableList(stats);
+    }
+    
+    /**
+     * Returns the stage whose workers were busy for the largest share of
+     * their time - the first candidate for more parallelism.
+     * @return The busiest stage, or null if the pipeline has no stages
+     */
+    public StageStats getBottleneck() {
+        return getStageStats().stream()
+            .max(Comparator.comparingDouble(StageStats::getUtilization))
+            .orElse(null);
+    }
+    
+    /**
+     * Formats the statistics of all stages, one line per stage.
+     * @return Report text
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        for (StageStats stats : getStageStats()) {
+            report.append(stats).append(System.lineSeparator());
+        }
+        StageStats bottleneck = getBottleneck();
+        if (bottleneck != null) {
+            report.append("Bottleneck: ").append(bottleneck.getName()).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+    
+    /**
+     * Source thread: copies the source container into the first stage in batches.
+     */
+    private void readSource() {
+        Stage first = stages.isEmpty() ? null : stages.get(0);
+        try {
+            int index = 0;
+            while (true) {
+                List<?> batch = source.getRange(index, index + sourceBatchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                if (first == null) {
+                    destination.addAll(batch);
+                } else {
+                    first.input.produceAll(batch);
+                }
+                index += batch.size();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Pipeline source was interrupted: " + e.getMessage());
+        } finally {
+            if (first != null) {
+                first.input.close();
+            }
+        }
+    }
+    
+    /**
+     * One physical stage: its input buffer, its (possibly fused) functions and its workers.
+     */
+    private class Stage {
+        final int parallelism;
+        final int batchSize;
+        final ConditionSharedBuffer<Object> input;
+        final List<Function<Object, Object>> functions = new ArrayList<>();
+        final AtomicInteger activeWorkers;
+        final StageStats stats;
+        Stage next;
+        
+        Stage(List<StageSpec> group) {
+            // The first spec configures the stage, fused ones only add their function
+            StageSpec spec = group.get(0);
+            this.parallelism = spec.parallelism;
+            this.batchSize = spec.batchSize;
+            this.input = new ConditionSharedBuffer<>(spec.bufferCapacity);
+            this.activeWorkers = new AtomicInteger(spec.parallelism);
+            List<String> names = new ArrayList<>();
+            for (StageSpec member : group) {
+                functions.add(member.function);
+                names.add(member.name);
+            }
+            this.stats = new StageStats(String.join("+", names), parallelism, spec.bufferCapacity, input::size);
+        }
+        
+        /**
+         * Worker loop: take a batch, transform it, pass it on; until the input is closed and drained.
+         */
+        void work() {
+            List<Object> in = new ArrayList<>(batchSize);
+            List<Object> out = new ArrayList<>(batchSize);
+            try {
+                while (true) {
+                    stats.sampleQueueDepth();
+                    in.clear();
+                    if (input.drainTo(in, batchSize) == 0) {
+                        break;
+                    }
+                    
+                    long start = System.nanoTime();
+                    for (Object item : in) {
+                        Object result = apply(item);
+                        if (result != null) {
+                            out.add(result);
+                        }
+                    }
+                    stats.recordBatch(in.size(), out.size(), System.nanoTime() - start);
+                    
+                    // May BLOCK while the next stage's buffer is full (backpressure)
+                    if (!out.isEmpty()) {
+                        if (next == null) {
+                            destination.addAll(out);
+                        } else {
+                            next.input.produceAll(out);
+                        }
+                        out.clear();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println(Thread.currentThread().getName() + " was interrupted: " + e.getMessage());
+            } finally {
+                // The last worker out ends the stream for the next stage
+                if (activeWorkers.decrementAndGet() == 0) {
+                    stats.finished(System.nanoTime());
+                    if (next != null) {
+                        next.input.close();
+                    }
+                }
+            }
+        }
+        
+        private Object apply(Object item) {
+            try {
+                Object result = item;
+                for (Function<Object, Object> function : functions) {
+                    result = function.apply(result);
+                    if (result == null) {
+                        return null;
+                    }
+                }
+                return result;
+            } catch (RuntimeException e) {
+                stats.recordError();
+                return null;
+            }
+        }
+    }
+}
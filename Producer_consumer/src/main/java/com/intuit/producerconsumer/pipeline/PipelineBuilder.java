@@ -0,0 +1,145 @@
+package com.intuit.producerconsumer.pipeline;
+
+import com.intuit.producerconsumer.AppendOnlyContainer;
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.pipeline.PipelineRunner.ThreadMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Fluent builder for a {@link Pipeline}, started with {@link Pipeline#from(Container)}.
+ * 
+ * stage() appends a stage; parallelism(), batchSize(), bufferCapacity() and
+ * fused() configure the stage added last; to() names the sink and builds.
+ * 
+ * @param <T> Type of the items leaving the stage added last
+ */
+public class PipelineBuilder<T> {
+    // Defaults for a stage that is not configured further
+    static final int DEFAULT_PARALLELISM = 1;
+    static final int DEFAULT_BATCH_SIZE = 16;
+    static final int DEFAULT_BUFFER_CAPACITY = 1024;
+    
+    private final Container<?> source;
+    private final List<StageSpec> stages = new ArrayList<>();
+    private ThreadMode threadMode = ThreadMode.PLATFORM;
+    
+    PipelineBuilder(Container<?> source) {
+        this.source = Objects.requireNonNull(source, "source");
+    }
+    
+    /**
+     * Appends a stage applying the function to every item. A function
+     * returning null filters the item out.
+     * 
+     * @param name Stage name (used for thread names and statistics)
+     * @param function Transformation of one item
+     * @return This builder, typed by the new stage's output
+     */
+    @SuppressWarnings("unchecked")
+    public <R> PipelineBuilder<R> stage(String name, Function<? super T, ? extends R> function) {
+        stages.add(new StageSpec(Objects.requireNonNull(name, "name"),
+            (Function<Object, Object>) Objects.requireNonNull(function, "function")));
+        return (PipelineBuilder<R>) this;
+    }
+    
+    /**
+     * Sets the number of worker threads of the last stage.
+     * @param parallelism Number of workers (positive)
+     * @return This builder
+     */
+    public PipelineBuilder<T> parallelism(int parallelism) {
+        requirePositive(parallelism, "Parallelism");
+        lastStage().parallelism = parallelism;
+        return this;
+    }
+    
+    /**
+     * Sets how many items a worker of the last stage takes from its input
+     * buffer and passes on per lock round-trip.
+     * @param batchSize Items per batch (positive)
+     * @return This builder
+     */
+    public PipelineBuilder<T> batchSize(int batchSize) {
+        requirePositive(batchSize, "Batch size");
+        lastStage().batchSize = batchSize;
+        return this;
+    }
+    
+    /**
+     * Sets the capacity of the last stage's input buffer.
+     * @param capacity Maximum items waiting for the stage (positive)
+     * @return This builder
+     */
+    public PipelineBuilder<T> bufferCapacity(int capacity) {
+        requirePositive(capacity, "Buffer capacity");
+        lastStage().bufferCapacity = capacity;
+        return this;
+    }
+    
+    /**
+     * Fuses the last stage into the stage before it: its function runs on
+     * the previous stage's workers right after the previous function, with
+     * no buffer and no thread hop in between. Cheap stages should be fused;
+     * the parallelism, batch size and capacity of a fused stage are unused.
+     * @return This builder
+     */
+    public PipelineBuilder<T> fused() {
+        if (stages.size() < 2) {
+            throw new IllegalStateException("The first stage has no stage to fuse with");
+        }
+        lastStage().fused = true;
+        return this;
+    }
+    
+    /**
+     * Selects platform or virtual threads for all workers (default PLATFORM).
+     * @param mode Thread mode
+     * @return This builder
+     */
+    public PipelineBuilder<T> threadMode(ThreadMode mode) {
+        this.threadMode = Objects.requireNonNull(mode, "mode");
+        return this;
+    }
+    
+    /**
+     * Ends the pipeline in a destination container and builds it.
+     * @param destination Container receiving the items leaving the last stage
+     * @return The pipeline, ready to start
+     */
+    public Pipeline to(AppendOnlyContainer<? super T> destination) {
+        return new Pipeline(source, destination, stages, threadMode);
+    }
+    
+    private StageSpec lastStage() {
+        if (stages.isEmpty()) {
+            throw new IllegalStateException("Add a stage first");
+        }
+        return stages.get(stages.size() - 1);
+    }
+    
+    private static void requirePositive(int value, String what) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(what + " must be positive: " + value);
+        }
+    }
+    
+    /**
+     * Configuration of one declared stage.
+     */
+    static class StageSpec {
+        final String name;
+        final Function<Object, Object> function;
+        int parallelism = DEFAULT_PARALLELISM;
+        int batchSize = DEFAULT_BATCH_SIZE;
+        int bufferCapacity = DEFAULT_BUFFER_CAPACITY;
+        boolean fused;
+        
+        StageSpec(String name, Function<Object, Object> function) {
+            this.name = name;
+            this.function = function;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.intuit.producerconsumer.pipeline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PipelineRunner starts Producer/Consumer runnables on either platform
+ * threads or virtual threads and waits for all of them to finish.
+ * 
+ * Key Concepts:
+ * - PLATFORM: one OS thread per task, the same as the hand-written demos
+ * - VIRTUAL: cheap JVM-scheduled threads; a task blocked in sleep() or in a
+ *   lock wait unmounts from its carrier thread, so thousands of slow
+ *   consumers only need a handful of OS threads
+ * 
+ * Pinning: a virtual thread that blocks inside a synchronized block (such as
+ * SharedBuffer's wait()) keeps its carrier thread busy. With VIRTUAL mode use
+ * a buffer that blocks through java.util.concurrent instead, e.g.
+ * ConditionSharedBuffer (ReentrantLock + Condition) or the ring buffers.
+ * 
+ * A runner is not thread-safe: tasks are submitted and awaited by one thread.
+ */
+public class PipelineRunner {
+    
+    /**
+     * Kind of thread each submitted task runs on.
+     */
+    public enum ThreadMode {
+        PLATFORM,
+        VIRTUAL
+    }
+    
+    // Builder creating named threads of the selected kind
+    private final Thread.Builder threadBuilder;
+    
+    // Kind of thread used for every task
+    private final ThreadMode mode;
+    
+    // All started threads, in submission order
+    private final List<Thread> threads = new ArrayList<>();
+    
+    /**
+     * Creates a runner that starts every task on the given kind of thread.
+     * @param mode PLATFORM or VIRTUAL threads
+     */
+    public PipelineRunner(ThreadMode mode) {
+        this.mode = mode;
+        this.threadBuilder = mode == ThreadMode.VIRTUAL ? Thread.ofVirtual() : Thread.ofPlatform();
+    }
+    
+    /**
+     * Starts a task (typically a Producer or Consumer) on a new named thread.
+     * The thread name shows up in the buffer event logs.
+     * 
+     * @param name Name of the thread
+     * @param task Task to run
+     * @return The started thread
+     */
+    public Thread submit(String name, Runnable task) {
+        Thread thread = threadBuilder.name(name).start(task);
+        threads.add(thread);
+        return thread;
+    }
+    
+    /**
+     * Waits until every submitted task has finished.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitCompletion() throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+    
+    /**
+     * Waits until every submitted task has finished or the timeout expires.
+     * @param timeoutMs Maximum total time to wait in milliseconds
+     * @return true if all tasks finished, false if the timeout expired first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitCompletion(long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        for (Thread thread : threads) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0 || !thread.join(Duration.ofMillis(remaining))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Returns the number of tasks submitted so far.
+     * @return Number of started threads
+     */
+    public int getTaskCount() {
+        return threads.size();
+    }
+    
+    /**
+     * Returns the kind of thread this runner uses.
+     * @return Thread mode
+     */
+    public ThreadMode getMode() {
+        return mode;
+    }
+}
@@ -0,0 +1,180 @@
+package com.intuit.producerconsumer.pipeline;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Live statistics of one pipeline stage (fused stages share one instance).
+ * 
+ * Key Concepts:
+ * - Throughput: items the stage emitted per second of its running time
+ * - Utilization: time spent inside the stage functions divided by the time
+ *   all of its workers were available; close to 100% means the stage is
+ *   the bottleneck and needs more parallelism
+ * - Queue depth: size of the stage's input buffer, sampled before every
+ *   batch; a queue that is always full points at this stage, a queue that
+ *   is always empty points upstream
+ * 
+ * Counters are updated by the stage workers and may be read at any time.
+ */
+public class StageStats {
+    private final String name;
+    private final int parallelism;
+    private final int queueCapacity;
+    
+    // Current size of the stage's input buffer
+    private final IntSupplier queueDepth;
+    
+    private final LongAdder itemsIn = new LongAdder();
+    private final LongAdder itemsOut = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder depthSamples = new LongAdder();
+    private final LongAdder depthSum = new LongAdder();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    
+    // Set when the pipeline starts / the last worker of the stage finishes
+    private volatile long startNanos;
+    private volatile long endNanos;
+    
+    StageStats(String name, int parallelism, int queueCapacity, IntSupplier queueDepth) {
+        this.name = name;
+        this.parallelism = parallelism;
+        this.queueCapacity = queueCapacity;
+        this.queueDepth = queueDepth;
+    }
+    
+    void started(long nanos) {
+        startNanos = nanos;
+    }
+    
+    void finished(long nanos) {
+        endNanos = nanos;
+    }
+    
+    void sampleQueueDepth() {
+        int depth = queueDepth.getAsInt();
+        depthSamples.increment();
+        depthSum.add(depth);
+        maxDepth.accumulateAndGet(depth, Math::max);
+    }
+    
+    void recordBatch(int in, int out, long nanos) {
+        itemsIn.add(in);
+        itemsOut.add(out);
+        busyNanos.add(nanos);
+    }
+    
+    void recordError() {
+        errors.increment();
+    }
+    
+    /**
+     * Returns the stage name (names of fused stages joined with '+').
+     * @return Stage name
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Returns the number of worker threads of the stage.
+     * @return Parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+    
+    /**
+     * Returns the number of items taken from the input buffer.
+     * @return Items in
+     */
+    public long getItemsIn() {
+        return itemsIn.sum();
+    }
+    
+    /**
+     * Returns the number of items passed on (items mapped to null are filtered out).
+     * @return Items out
+     */
+    public long getItemsOut() {
+        return itemsOut.sum();
+    }
+    
+    /**
+     * Returns the number of items dropped because a stage function threw.
+     * @return Error count
+     */
+    public long getErrorCount() {
+        return errors.sum();
+    }
+    
+    /**
+     * Returns the items emitted per second so far.
+     * @return Throughput in items per second
+     */
+    public double getThroughput() {
+        long elapsed = elapsedNanos();
+        return elapsed <= 0 ? 0.0 : getItemsOut() * 1e9 / elapsed;
+    }
+    
+    /**
+     * Returns the fraction of worker time spent in the stage functions.
+     * @return Utilization between 0 and 1
+     */
+    public double getUtilization() {
+        long elapsed = elapsedNanos();
+        return elapsed <= 0 ? 0.0 : Math.min(1.0, busyNanos.sum() / ((double) elapsed * parallelism));
+    }
+    
+    /**
+     * Returns the average sampled size of the input buffer.
+     * @return Average queue depth
+     */
+    public double getAverageQueueDepth() {
+        long samples = depthSamples.sum();
+        return samples == 0 ? 0.0 : (double) depthSum.sum() / samples;
+    }
+    
+    /**
+     * Returns the largest sampled size of the input buffer.
+     * @return Maximum queue depth
+     */
+    public int getMaxQueueDepth() {
+        return maxDepth.get();
+    }
+    
+    /**
+     * Returns the current size of the input buffer.
+     * @return Current queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth.getAsInt();
+    }
+    
+    /**
+     * Returns the capacity of the input buffer.
+     * @return Queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%-20s x%-2d in %,10d | out %,10d | %,12.0f items/s | busy %5.1f%% "
+                + "| queue avg %,7.1f max %,d/%,d | errors %d",
+            name, parallelism, getItemsIn(), getItemsOut(), getThroughput(), getUtilization() * 100,
+            getAverageQueueDepth(), getMaxQueueDepth(), queueCapacity, getErrorCount());
+    }
+    
+    private long elapsedNanos() {
+        long start = startNanos;
+        if (start == 0) {
+            return 0;
+        }
+        long end = endNanos;
+        return (end == 0 ? System.nanoTime() : end) - start;
+    }
+}
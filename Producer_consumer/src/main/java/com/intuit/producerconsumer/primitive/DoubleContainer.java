@@ -0,0 +1,138 @@
+// Generated from src/main/templates/primitive/Container.java.tmpl by generate-primitives.sh - edit the template, not this file.
+package com.intuit.producerconsumer.primitive;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * DoubleContainer is a thread-safe, growable store of primitive double values -
+ * the unboxed counterpart of Container&lt;Double&gt;.
+ * 
+ * Values live in one double[] that doubles when full, so adding a value never
+ * allocates a wrapper object. All operations are synchronized.
+ */
+public class DoubleContainer {
+    private static final int INITIAL_CAPACITY = 16;
+    
+    // Backing array; only the first size entries are valid
+    private double[] values;
+    
+    // Number of stored values
+    private int size;
+    
+    // Name of this container (for identification and logging)
+    private final String name;
+    
+    /**
+     * Constructs a new empty container.
+     * @param name Name identifier for this container
+     */
+    public DoubleContainer(String name) {
+        this.name = name;
+        this.values = new double[INITIAL_CAPACITY];
+    }
+    
+    /**
+     * Add a value to the container.
+     * @param value Value to add
+     */
+    public synchronized void add(double value) {
+        ensureCapacity(size + 1);
+        values[size++] = value;
+    }
+    
+    /**
+     * Add length values from source[offset...] in one lock acquisition.
+     * @param source Array holding the values to add
+     * @param offset Index of the first value in source
+     * @param length Number of values to add
+     * @throws IndexOutOfBoundsException if the range is outside source
+     */
+    public synchronized void addAll(double[] source, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, source.length);
+        ensureCapacity(size + length);
+        System.arraycopy(source, offset, values, size, length);
+        size += length;
+    }
+    
+    /**
+     * Get the value at a specific index.
+     * @param index Index of the value to read
+     * @return The value at the index
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public synchronized double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return values[index];
+    }
+    
+    /**
+     * Copy up to maxValues values starting at fromIndex into target[offset...].
+     * Reading past the end simply copies fewer values.
+     * 
+     * @param fromIndex Index of the first value to copy (not negative)
+     * @param target Array receiving the values
+     * @param offset Index in target of the first copied value
+     * @param maxValues Maximum number of values to copy
+     * @return Number of values copied (0 once fromIndex reaches the end)
+     * @throws IndexOutOfBoundsException if fromIndex is negative or the
+     *         range offset..offset+maxValues is outside target
+     */
+    public synchronized int copyRange(int fromIndex, double[] target, int offset, int maxValues) {
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException("fromIndex must not be negative: " + fromIndex);
+        }
+        Objects.checkFromIndexSize(offset, maxValues, target.length);
+        if (fromIndex >= size) {
+            return 0;
+        }
+        int copied = Math.min(maxValues, size - fromIndex);
+        System.arraycopy(values, fromIndex, target, offset, copied);
+        return copied;
+    }
+    
+    /**
+     * Returns the current number of values in the container.
+     * @return Current size of the container
+     */
+    public synchronized int size() {
+        return size;
+    }
+    
+    /**
+     * Checks if the container is empty.
+     * @return true if container is empty, false otherwise
+     */
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Returns a copy of all values in the container.
+     * @return A new array containing all values
+     */
+    public synchronized double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+    
+    /**
+     * Returns the name of this container.
+     * @return Container name
+     */
+    public String getName() {
+        return name;
+    }
+    
+    private void ensureCapacity(int required) {
+        if (required > values.length) {
+            values = Arrays.copyOf(values, Math.max(required, values.length * 2));
+        }
+    }
+    
+    @Override
+    public synchronized String toString() {
+        return name + " [size=" + size + ", values=" + Arrays.toString(Arrays.copyOf(values, size)) + "]";
+    }
+}
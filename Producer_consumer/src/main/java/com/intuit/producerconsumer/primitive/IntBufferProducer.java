@@ -0,0 +1,68 @@
+// Generated from src/main/templates/primitive/BufferProducer.java.tmpl by generate-primitives.sh - edit the template, not this file.
+package com.intuit.producerconsumer.primitive;
+
+/**
+ * Producer that copies primitive int values from its source container
+ * into the shared buffer in batches, reusing one int[] for every batch
+ * so the transfer loop allocates nothing.
+ * 
+ * Like Producer, it does not close the buffer; whoever starts the producers
+ * closes it once all of them have finished.
+ */
+public class IntBufferProducer implements Runnable {
+    private final String name;
+    private final IntContainer sourceContainer;
+    private final IntSharedBuffer sharedBuffer;
+    private final int batchSize;
+    private final int delayMs;
+    
+    /**
+     * Constructs a new primitive producer.
+     * 
+     * @param name Name of this producer thread
+     * @param sourceContainer Container to read values from
+     * @param sharedBuffer Buffer to place values into
+     * @param batchSize Maximum number of values moved per batch
+     * @param delayMs Delay in milliseconds between batches (0 = no delay)
+     */
+    public IntBufferProducer(String name, IntContainer sourceContainer,
+                             IntSharedBuffer sharedBuffer, int batchSize, int delayMs) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.name = name;
+        this.sourceContainer = sourceContainer;
+        this.sharedBuffer = sharedBuffer;
+        this.batchSize = batchSize;
+        this.delayMs = delayMs;
+    }
+    
+    @Override
+    public void run() {
+        try {
+            System.out.println(name + " started producing...");
+            
+            int[] batch = new int[batchSize];
+            int index = 0;
+            int copied;
+            while ((copied = sourceContainer.copyRange(index, batch, 0, batchSize)) > 0) {
+                // May BLOCK until the whole batch fits into the buffer
+                sharedBuffer.putAll(batch, 0, copied);
+                index += copied;
+                
+                if (delayMs > 0) {
+                    Thread.sleep(delayMs);
+                }
+            }
+            
+            System.out.println(name + " finished producing " + index + " values.");
+            
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println(name + " was interrupted: " + e.getMessage());
+        } catch (IllegalStateException e) {
+            // Buffer closed while values were left
+            System.err.println(name + " stopped: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+// Generated from src/main/templates/primitive/BufferConsumer.java.tmpl by generate-primitives.sh - edit the template, not this file.
+package com.intuit.producerconsumer.primitive;
+
+/**
+ * Consumer that moves primitive long values from the shared buffer into
+ * its destination container in batches, reusing one long[] for every
+ * batch so the transfer loop allocates nothing.
+ * 
+ * It stops after valuesToConsume values, or at end of stream (buffer closed
+ * and drained), whichever comes first.
+ */
+public class LongBufferConsumer implements Runnable {
+    // Pass as valuesToConsume to consume until the buffer is closed and drained
+    public static final int UNTIL_CLOSED = Integer.MAX_VALUE;
+    
+    private final String name;
+    private final LongSharedBuffer sharedBuffer;
+    private final LongContainer destinationContainer;
+    private final int valuesToConsume;
+    private final int batchSize;
+    private final int delayMs;
+    
+    /**
+     * Constructs a new primitive consumer.
+     * 
+     * @param name Name of this consumer thread
+     * @param sharedBuffer Buffer to take values from
+     * @param destinationContainer Container to store consumed values
+     * @param valuesToConsume Number of values to consume before stopping (or UNTIL_CLOSED)
+     * @param batchSize Maximum number of values moved per batch
+     * @param delayMs Delay in milliseconds between batches (0 = no delay)
+     */
+    public LongBufferConsumer(String name, LongSharedBuffer sharedBuffer,
+                              LongContainer destinationContainer, int valuesToConsume,
+                              int batchSize, int delayMs) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.name = name;
+        this.sharedBuffer = sharedBuffer;
+        this.destinationContainer = destinationContainer;
+        this.valuesToConsume = valuesToConsume;
+        this.batchSize = batchSize;
+        this.delayMs = delayMs;
+    }
+    
+    @Override
+    public void run() {
+        try {
+            System.out.println(name + " started consuming...");
+            
+            long[] batch = new long[batchSize];
+            int consumed = 0;
+            while (consumed < valuesToConsume) {
+                // May BLOCK until at least one value is available; never takes more than our share
+                int drained = sharedBuffer.drainTo(batch, 0, Math.min(batchSize, valuesToConsume - consumed));
+                if (drained == 0) {
+                    // Buffer closed and drained: end of stream
+                    break;
+                }
+                destinationContainer.addAll(batch, 0, drained);
+                consumed += drained;
+                
+                if (delayMs > 0) {
+                    Thread.sleep(delayMs);
+                }
+            }
+            
+            System.out.println(name + " finished consuming " + consumed + " values.");
+            
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println(name + " was interrupted: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,271 @@
+// Generated from src/main/templates/primitive/SharedBuffer.java.tmpl by generate-primitives.sh - edit the template, not this file.
+package com.intuit.producerconsumer.primitive;
+
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * LongSharedBuffer is a bounded blocking buffer of primitive long values.
+ * 
+ * It mirrors ConditionSharedBuffer (ReentrantLock + notFull/notEmpty) but
+ * stores values in a preallocated long[] ring instead of a queue of boxed
+ * objects, so put/take never allocate - no Long boxes, no queue nodes.
+ * 
+ * Key Concepts:
+ * - Ring array: head is the next slot to read, count the number of values;
+ *   the write slot is (head + count) % capacity
+ * - putAll()/drainTo(): move whole array ranges per lock acquisition
+ * - close(): end of stream, as for every BoundedBuffer - producers may no
+ *   longer add values, drainTo() returns 0 once the rest is consumed
+ */
+public class LongSharedBuffer {
+    // Preallocated ring storage
+    private final long[] values;
+    
+    // Index of the oldest value (guarded by lock)
+    private int head;
+    
+    // Number of values currently stored (guarded by lock)
+    private int count;
+    
+    // Set by close(): no more values will be added (guarded by lock)
+    private boolean closed;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition notEmpty = lock.newCondition();
+    
+    /**
+     * Constructor initializes the buffer with specified capacity.
+     * @param capacity Maximum number of values the buffer can hold
+     */
+    public LongSharedBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.values = new long[capacity];
+    }
+    
+    /**
+     * Adds a value, waiting while the buffer is full.
+     * @param value The value to add
+     * @throws InterruptedException if thread is interrupted while waiting
+     * @throws IllegalStateException if the buffer is (or gets) closed
+     */
+    public void put(long value) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == values.length && !closed) {
+                notFull.await();
+            }
+            ensureOpen();
+            values[(head + count) % values.length] = value;
+            count++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Adds a value only if space is immediately available.
+     * @param value The value to add
+     * @return true if the value was added, false if the buffer was full
+     * @throws IllegalStateException if the buffer is closed
+     */
+    public boolean offer(long value) {
+        lock.lock();
+        try {
+            ensureOpen();
+            if (count == values.length) {
+                return false;
+            }
+            values[(head + count) % values.length] = value;
+            count++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Removes and returns the oldest value, waiting while the buffer is empty.
+     * A primitive cannot signal end of stream with null; use drainTo() to
+     * detect it without an exception.
+     * 
+     * @return The removed value
+     * @throws InterruptedException if thread is interrupted while waiting
+     * @throws IllegalStateException if the buffer is closed and empty (end of stream)
+     */
+    public long take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (closed) {
+                    throw new IllegalStateException("Buffer is closed and empty");
+                }
+                notEmpty.await();
+            }
+            long value = values[head];
+            head = (head + 1) % values.length;
+            count--;
+            notFull.signal();
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Adds length values from source[offset...], waiting for space whenever
+     * the buffer is full. Copies as many values as fit per lock acquisition.
+     * 
+     * @param source Array holding the values to add
+     * @param offset Index of the first value in source
+     * @param length Number of values to add
+     * @throws InterruptedException if thread is interrupted while waiting
+     * @throws IndexOutOfBoundsException if the range is outside source
+     * @throws IllegalStateException if the buffer is (or gets) closed
+     */
+    public void putAll(long[] source, int offset, int length) throws InterruptedException {
+        Objects.checkFromIndexSize(offset, length, source.length);
+        int copied = 0;
+        lock.lockInterruptibly();
+        try {
+            ensureOpen();
+            while (copied < length) {
+                while (count == values.length && !closed) {
+                    notFull.await();
+                }
+                ensureOpen();
+                int chunk = Math.min(length - copied, values.length - count);
+                copyIn(source, offset + copied, chunk);
+                copied += chunk;
+                notEmpty.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Removes up to maxValues values into target[offset...].
+     * Waits until at least one value is available, then copies whatever is
+     * available (up to maxValues) in one lock acquisition.
+     * 
+     * @param target Array receiving the values (in FIFO order)
+     * @param offset Index in target of the first copied value
+     * @param maxValues Maximum number of values to remove (must be positive)
+     * @return Number of values copied into target, 0 once the buffer is
+     *         both closed and empty (end of stream)
+     * @throws InterruptedException if thread is interrupted while waiting
+     * @throws IndexOutOfBoundsException if the range is outside target
+     */
+    public int drainTo(long[] target, int offset, int maxValues) throws InterruptedException {
+        if (maxValues <= 0) {
+            throw new IllegalArgumentException("maxValues must be positive: " + maxValues);
+        }
+        Objects.checkFromIndexSize(offset, maxValues, target.length);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (closed) {
+                    return 0;
+                }
+                notEmpty.await();
+            }
+            int drained = Math.min(maxValues, count);
+            
+            // Copy in at most two runs: up to the end of the array, then from index 0
+            int firstRun = Math.min(drained, values.length - head);
+            System.arraycopy(values, head, target, offset, firstRun);
+            System.arraycopy(values, 0, target, offset + firstRun, drained - firstRun);
+            
+            head = (head + drained) % values.length;
+            count -= drained;
+            notFull.signalAll();
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Closes the buffer (end of stream) and wakes up every waiting thread.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notFull.signalAll();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Checks if the buffer has been closed.
+     * @return true if close() has been called
+     */
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Copies values into the free part of the ring. Must be called with the
+     * lock held and with length no larger than the free space.
+     */
+    private void copyIn(long[] source, int offset, int length) {
+        int tail = (head + count) % values.length;
+        int firstRun = Math.min(length, values.length - tail);
+        System.arraycopy(source, offset, values, tail, firstRun);
+        System.arraycopy(source, offset + firstRun, values, 0, length - firstRun);
+        count += length;
+    }
+    
+    /**
+     * Returns the current number of values in the buffer.
+     * @return Current buffer size
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Checks if the buffer is empty.
+     * @return true if buffer is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Returns the maximum number of values the buffer can hold.
+     * @return Buffer capacity
+     */
+    public int capacity() {
+        return values.length;
+    }
+    
+    /**
+     * Throws if the buffer has been closed. Must be called with the lock held.
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+    }
+}
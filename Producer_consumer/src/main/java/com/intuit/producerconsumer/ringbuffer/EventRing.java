@@ -0,0 +1,307 @@
+package com.intuit.producerconsumer.ringbuffer;
+
+import com.intuit.producerconsumer.waitstrategy.SpinThenParkWaitStrategy;
+import com.intuit.producerconsumer.waitstrategy.WaitStrategy;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * EventRing transfers data through preallocated, mutable event objects
+ * instead of handing over a new object per item, so the steady-state
+ * transfer allocates nothing.
+ * 
+ * Key Concepts:
+ * - Event factory: every slot gets its event object once, at construction;
+ *   the same objects are reused lap after lap
+ * - Two-phase transfer on both sides, identified by a sequence number:
+ *     producer: claim() -> get(sequence), fill fields -> publish(sequence)
+ *     consumer: take()  -> get(sequence), read fields -> release(sequence)
+ * - Per-slot sequence (as in MpmcRingBuffer), now also covering the time
+ *   between claim and publish / take and release:
+ *     slotSequence == s       -> free for, or being filled by, the producer of s
+ *     slotSequence == s + 1   -> event s is published, ready for its consumer
+ *     slotSequence == s + N   -> event s was released, slot free for lap s + N
+ * - Any number of producers and consumers; claims are lock-free CAS
+ * 
+ * Rules: a claimed sequence must always be published and a taken one always
+ * released (use try/finally), or the ring stops at that slot; an event must
+ * not be used after publish()/release(), because its slot then belongs to
+ * the other side; producers overwrite every field they use, since events
+ * keep the values of the previous lap.
+ * 
+ * produce()/consume() wrap both phases around a callback. With a
+ * non-capturing lambda (and ObjLongConsumer for primitive values), they
+ * allocate nothing either.
+ */
+public class EventRing<E> {
+    // Returned by take()/tryTake()/tryClaim() when there is no sequence
+    public static final long NO_SEQUENCE = -1L;
+    
+    // Preallocated events; length is always a power of two
+    private final E[] events;
+    
+    // Per-slot sequence numbers acting as availability flags
+    private final AtomicLongArray slotSequences;
+    
+    // events.length - 1, used to map a sequence onto a slot index
+    private final int mask;
+    
+    // Next sequence a producer will claim
+    private final AtomicLong tail = new AtomicLong();
+    
+    // Next sequence a consumer will take
+    private final AtomicLong head = new AtomicLong();
+    
+    // Set by close(): end of stream, no further claims accepted
+    private volatile boolean closed;
+    
+    // How claim()/take() wait while the ring is full/empty
+    private final WaitStrategy waitStrategy;
+    
+    // Wait conditions, allocated once so waiting never allocates
+    private final BooleanSupplier slotAvailable = this::isSlotAvailable;
+    private final BooleanSupplier eventAvailable = this::isEventAvailable;
+    
+    /**
+     * Creates a ring whose slots are filled by the event factory.
+     * @param capacity Minimum number of events (rounded up to the next power of two, at least 2)
+     * @param factory Creates one event per slot (called capacity times, up front)
+     */
+    public EventRing(int capacity, Supplier<? extends E> factory) {
+        this(capacity, factory, new SpinThenParkWaitStrategy());
+    }
+    
+    /**
+     * Creates a ring with a wait strategy.
+     * @param capacity Minimum number of events (rounded up to the next power of two, at least 2)
+     * @param factory Creates one event per slot (called capacity times, up front)
+     * @param waitStrategy How blocked producers/consumers wait
+     */
+    @SuppressWarnings("unchecked")
+    public EventRing(int capacity, Supplier<? extends E> factory, WaitStrategy waitStrategy) {
+        Objects.requireNonNull(factory, "factory");
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy");
+        // At least two slots: with one, "published" (s + 1) and "free for lap s + N" would be the same value
+        int size = Math.max(2, Rings.ringSize(capacity));
+        this.events = (E[]) new Object[size];
+        this.slotSequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            events[i] = Objects.requireNonNull(factory.get(), "Event factory returned null");
+            // Slot i is initially free for the producer that claims sequence i
+            slotSequences.set(i, i);
+        }
+    }
+    
+    /**
+     * Claims the next slot for writing, waiting while the ring is full.
+     * @return Sequence of the claimed slot; must be published
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IllegalStateException if the ring is (or gets) closed
+     */
+    public long claim() throws InterruptedException {
+        long sequence;
+        while ((sequence = tryClaim()) == NO_SEQUENCE) {
+            waitStrategy.waitFor(slotAvailable);
+        }
+        return sequence;
+    }
+    
+    /**
+     * Wait condition of claim(): the slot at tail was released (or the ring closed).
+     * Reads the slot sequence like tryClaim(), because a taken but unreleased slot is
+     * not free although head already moved past it. A sequence beyond tail means tail
+     * moved on meanwhile: return true so claim() re-reads it instead of waiting for a
+     * signal that may already have passed.
+     */
+    private boolean isSlotAvailable() {
+        long sequence = tail.get();
+        return slotSequences.get((int) sequence & mask) >= sequence || closed;
+    }
+    
+    /**
+     * Claims the next slot for writing only if one is free right now.
+     * @return Sequence of the claimed slot (must be published), or NO_SEQUENCE if full
+     * @throws IllegalStateException if the ring is closed
+     */
+    public long tryClaim() {
+        if (closed) {
+            throw new IllegalStateException("Ring is closed");
+        }
+        while (true) {
+            long sequence = tail.get();
+            long difference = slotSequences.get((int) sequence & mask) - sequence;
+            if (difference == 0) {
+                // Slot is free for this lap - try to claim the sequence
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    return sequence;
+                }
+            } else if (difference < 0) {
+                // Slot still in use by the previous lap: ring is full
+                return NO_SEQUENCE;
+            }
+            // Another producer claimed it first, or tail moved on - re-read it
+        }
+    }
+    
+    /**
+     * Returns the event of a claimed or taken sequence.
+     * @param sequence Sequence returned by claim()/take()
+     * @return The preallocated event of that slot
+     */
+    public E get(long sequence) {
+        return events[(int) sequence & mask];
+    }
+    
+    /**
+     * Makes a filled event visible to consumers.
+     * @param sequence Sequence returned by claim()
+     */
+    public void publish(long sequence) {
+        slotSequences.lazySet((int) sequence & mask, sequence + 1);
+        waitStrategy.signalAll();
+    }
+    
+    /**
+     * Takes the next published event, waiting while the ring is empty.
+     * @return Sequence of the taken event (must be released), or NO_SEQUENCE
+     *         once the ring is closed and drained (end of stream)
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public long take() throws InterruptedException {
+        long sequence;
+        while ((sequence = tryTake()) == NO_SEQUENCE) {
+            if (closed) {
+                // Everything published before close() is visible now - one last look
+                return tryTake();
+            }
+            waitStrategy.waitFor(eventAvailable);
+        }
+        return sequence;
+    }
+    
+    /**
+     * Wait condition of take(): the slot at head was published (or the ring closed).
+     * Reads the slot sequence like tryTake(), because a claimed but unpublished slot
+     * holds no event although tail already moved past it.
+     */
+    private boolean isEventAvailable() {
+        long sequence = head.get();
+        return slotSequences.get((int) sequence & mask) >= sequence + 1 || closed;
+    }
+    
+    /**
+     * Takes the next published event only if one is available right now.
+     * @return Sequence of the taken event (must be released), or NO_SEQUENCE if none
+     */
+    public long tryTake() {
+        while (true) {
+            long sequence = head.get();
+            long difference = slotSequences.get((int) sequence & mask) - (sequence + 1);
+            if (difference == 0) {
+                // Event published for this sequence - try to take it
+                if (head.compareAndSet(sequence, sequence + 1)) {
+                    return sequence;
+                }
+            } else if (difference < 0) {
+                // Not published yet: ring is empty (or its producer is still filling it)
+                return NO_SEQUENCE;
+            }
+            // Another consumer took it first, or head moved on - re-read it
+        }
+    }
+    
+    /**
+     * Hands a read event's slot back to the producers.
+     * @param sequence Sequence returned by take()
+     */
+    public void release(long sequence) {
+        slotSequences.lazySet((int) sequence & mask, sequence + events.length);
+        waitStrategy.signalAll();
+    }
+    
+    /**
+     * Claims a slot, lets the filler write the event and publishes it.
+     * @param filler Writes the value into the event
+     * @param value Value passed to the filler
+     * @throws InterruptedException if interrupted while waiting for a slot
+     */
+    public void produce(ObjLongConsumer<? super E> filler, long value) throws InterruptedException {
+        long sequence = claim();
+        try {
+            filler.accept(get(sequence), value);
+        } finally {
+            publish(sequence);
+        }
+    }
+    
+    /**
+     * Claims a slot, lets the filler copy the argument into the event and publishes it.
+     * @param filler Writes the argument into the event
+     * @param argument Argument passed to the filler
+     * @throws InterruptedException if interrupted while waiting for a slot
+     */
+    public <A> void produce(BiConsumer<? super E, ? super A> filler, A argument) throws InterruptedException {
+        long sequence = claim();
+        try {
+            filler.accept(get(sequence), argument);
+        } finally {
+            publish(sequence);
+        }
+    }
+    
+    /**
+     * Takes the next event, lets the handler read it and releases it.
+     * @param handler Reads the event (must not keep it)
+     * @return true if an event was handled, false at end of stream
+     * @throws InterruptedException if interrupted while waiting for an event
+     */
+    public boolean consume(Consumer<? super E> handler) throws InterruptedException {
+        long sequence = take();
+        if (sequence == NO_SEQUENCE) {
+            return false;
+        }
+        try {
+            handler.accept(get(sequence));
+        } finally {
+            release(sequence);
+        }
+        return true;
+    }
+    
+    /**
+     * Closes the ring: further claims fail and take() returns NO_SEQUENCE once drained.
+     */
+    public void close() {
+        closed = true;
+        waitStrategy.signalAll();
+    }
+    
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    /**
+     * Returns an approximate number of claimed but not yet taken events.
+     * @return Events in the ring
+     */
+    public int size() {
+        long currentHead = head.get();
+        long currentTail = tail.get();
+        return (int) Math.min(Math.max(currentTail - currentHead, 0), events.length);
+    }
+    
+    /**
+     * Returns the number of slots (a power of two).
+     * @return Capacity
+     */
+    public int capacity() {
+        return events.length;
+    }
+}
@@ -0,0 +1,209 @@
+package com.intuit.producerconsumer.ringbuffer;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import com.intuit.producerconsumer.waitstrategy.SpinThenParkWaitStrategy;
+import com.intuit.producerconsumer.waitstrategy.WaitStrategy;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BooleanSupplier;
+
+/**
+ * MpmcRingBuffer is a lock-free bounded buffer for ANY number of producer
+ * and consumer threads (Disruptor-style sequenced ring).
+ * 
+ * Key Concepts:
+ * - tail sequence: producers claim the next slot with a CAS on tail
+ * - head sequence: consumers claim the next item with a CAS on head
+ * - Per-slot sequence (availability flag): tells each side whether a slot
+ *   is ready for it, so claiming threads never wait on each other:
+ *     slotSequence == s       -> slot is free for the producer claiming s
+ *     slotSequence == s + 1   -> item s is published, ready for its consumer
+ *     slotSequence == s + N   -> item s was consumed, slot free for lap s + N
+ * - Preallocated power-of-two array: no node allocation, index = s & mask
+ * 
+ * Ordering: sequences are claimed in program order by each producer, so all
+ * items of one producer are consumed in the order it produced them
+ * (FIFO-per-producer), exactly as with SharedBuffer.
+ * 
+ * Blocking produce()/consume() wait through a pluggable {@link WaitStrategy}
+ * (spin, then yield, then park by default).
+ * 
+ * Null items are not supported (null marks an empty poll()).
+ */
+public class MpmcRingBuffer<T> implements BoundedBuffer<T> {
+    // Preallocated item slots; length is always a power of two
+    private final AtomicReferenceArray<T> slots;
+    
+    // Per-slot sequence numbers acting as availability flags
+    private final AtomicLongArray slotSequences;
+    
+    // slots.length() - 1, used to map a sequence onto a slot index
+    private final int mask;
+    
+    // Next sequence a producer will claim
+    private final AtomicLong tail = new AtomicLong();
+    
+    // Next sequence a consumer will claim
+    private final AtomicLong head = new AtomicLong();
+    
+    // Set by close(): end of stream, no further offers accepted
+    private volatile boolean closed;
+    
+    // How produce()/consume() wait while the ring is full/empty
+    private final WaitStrategy waitStrategy;
+    
+    // Wait conditions, allocated once so waiting never allocates
+    private final BooleanSupplier spaceAvailable = () -> tail.get() - head.get() < capacity() || closed;
+    private final BooleanSupplier itemAvailable = () -> head.get() < tail.get() || closed;
+    
+    /**
+     * Constructor initializes the ring with at least the specified capacity.
+     * @param capacity Minimum number of items the buffer can hold
+     *                 (rounded up to the next power of two, at least 2)
+     */
+    public MpmcRingBuffer(int capacity) {
+        this(capacity, new SpinThenParkWaitStrategy());
+    }
+    
+    /**
+     * Constructor initializes the ring with a capacity and a wait strategy.
+     * @param capacity Minimum number of items the buffer can hold
+     *                 (rounded up to the next power of two, at least 2)
+     * @param waitStrategy How blocked producers/consumers wait
+     */
+    public MpmcRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy");
+        // At least two slots: with one, "published" (s + 1) and "free for lap s + N" would be the same value
+        int size = Math.max(2, Rings.ringSize(capacity));
+        this.slots = new AtomicReferenceArray<>(size);
+        this.slotSequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        
+        // Slot i is initially free for the producer that claims sequence i
+        for (int i = 0; i < size; i++) {
+            slotSequences.set(i, i);
+        }
+    }
+    
+    /**
+     * Adds an item, waiting through the wait strategy while the ring is full.
+     */
+    @Override
+    public void produce(T item) throws InterruptedException {
+        while (!offer(item)) {
+            waitStrategy.waitFor(spaceAvailable);
+        }
+    }
+    
+    /**
+     * Removes the oldest available item, waiting through the wait strategy while the ring is empty.
+     */
+    @Override
+    public T consume() throws InterruptedException {
+        T item;
+        while ((item = poll()) == null) {
+            if (closed) {
+                // Everything offered before close() is visible now - one last look
+                return poll();
+            }
+            waitStrategy.waitFor(itemAvailable);
+        }
+        return item;
+    }
+    
+    @Override
+    public boolean offer(T item) {
+        Objects.requireNonNull(item, "MpmcRingBuffer does not accept null items");
+        if (closed) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+        
+        while (true) {
+            long sequence = tail.get();
+            int index = (int) sequence & mask;
+            long difference = slotSequences.get(index) - sequence;
+            
+            if (difference == 0) {
+                // Slot is free for this lap - try to claim the sequence
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    slots.lazySet(index, item);
+                    // Publish: marks the slot readable for the consumer of this sequence
+                    slotSequences.lazySet(index, sequence + 1);
+                    waitStrategy.signalAll();
+                    return true;
+                }
+                // Another producer claimed it first - retry with the new tail
+            } else if (difference < 0) {
+                // Slot still holds an item from the previous lap: buffer is full
+                return false;
+            }
+            // difference > 0: tail moved on meanwhile - re-read it
+        }
+    }
+    
+    @Override
+    public T poll() {
+        while (true) {
+            long sequence = head.get();
+            int index = (int) sequence & mask;
+            long difference = slotSequences.get(index) - (sequence + 1);
+            
+            if (difference == 0) {
+                // Item published for this sequence - try to claim it
+                if (head.compareAndSet(sequence, sequence + 1)) {
+                    T item = slots.get(index);
+                    slots.lazySet(index, null);
+                    // Release: frees the slot for the producer one lap ahead
+                    slotSequences.lazySet(index, sequence + slots.length());
+                    waitStrategy.signalAll();
+                    return item;
+                }
+                // Another consumer claimed it first - retry with the new head
+            } else if (difference < 0) {
+                // Producer has not published this sequence yet: buffer is empty
+                return null;
+            }
+            // difference > 0: head moved on meanwhile - re-read it
+        }
+    }
+    
+    /**
+     * Closes the ring: further offers fail and consumers get null once drained.
+     * Blocked producers notice on their next retry.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        waitStrategy.signalAll();
+    }
+    
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    /**
+     * Returns an approximate size; exact when no operation is in flight.
+     */
+    @Override
+    public int size() {
+        long currentHead = head.get();
+        long currentTail = tail.get();
+        return (int) Math.min(Math.max(currentTail - currentHead, 0), slots.length());
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Returns the real capacity of the ring (a power of two).
+     * @return Number of slots in the ring
+     */
+    public int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,25 @@
+package com.intuit.producerconsumer.ringbuffer;
+
+/**
+ * Sizing helper shared by the ring buffers. Waiting is delegated to a
+ * {@link com.intuit.producerconsumer.waitstrategy.WaitStrategy}.
+ */
+final class Rings {
+    
+    private Rings() {
+    }
+    
+    /**
+     * Rounds the requested capacity up to the next power of two so that
+     * slot indexes can be computed with a bit mask instead of a modulo.
+     */
+    static int ringSize(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity too large: " + capacity);
+        }
+        return capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
@@ -0,0 +1,195 @@
+package com.intuit.producerconsumer.ringbuffer;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import com.intuit.producerconsumer.waitstrategy.SpinThenParkWaitStrategy;
+import com.intuit.producerconsumer.waitstrategy.WaitStrategy;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * SpscRingBuffer is a lock-free bounded buffer for exactly ONE producer
+ * thread and ONE consumer thread.
+ * 
+ * Key Concepts:
+ * - Preallocated array: slots are reused, no node is allocated per item
+ * - Power-of-two size: slot index = sequence & mask (no modulo, no wrap checks)
+ * - tail: next sequence to write, only ever written by the producer
+ * - head: next sequence to read, only ever written by the consumer
+ * - Ordered writes (lazySet): the slot is written BEFORE the sequence is
+ *   published, so the other side never sees a sequence without its item
+ * - Cached sequences: each side re-reads the other side's volatile sequence
+ *   only when its cached copy says the buffer looks full/empty
+ * 
+ * Blocking produce()/consume() wait through a pluggable {@link WaitStrategy}
+ * instead of wait()/notifyAll(). The default spins, yields and then parks;
+ * pass BusySpinWaitStrategy for the lowest hand-off latency between two
+ * pinned threads, or BlockingWaitStrategy to use no CPU while idle.
+ * 
+ * Using more than one producer or more than one consumer thread breaks the
+ * single-writer guarantees above - use {@link MpmcRingBuffer} for that.
+ * Null items are not supported (null marks an empty poll()).
+ */
+public class SpscRingBuffer<T> implements BoundedBuffer<T> {
+    // Preallocated slots; length is always a power of two
+    private final Object[] slots;
+    
+    // slots.length - 1, used to map a sequence onto a slot index
+    private final int mask;
+    
+    // Next sequence the consumer will read (written by consumer only)
+    private final AtomicLong head = new AtomicLong();
+    
+    // Next sequence the producer will write (written by producer only)
+    private final AtomicLong tail = new AtomicLong();
+    
+    // Set by close(): end of stream, no further offers accepted
+    private volatile boolean closed;
+    
+    // How produce()/consume() wait while the ring is full/empty
+    private final WaitStrategy waitStrategy;
+    
+    // Wait conditions, allocated once so waiting never allocates
+    private final BooleanSupplier spaceAvailable = () -> tail.get() - head.get() < capacity() || closed;
+    private final BooleanSupplier itemAvailable = () -> head.get() < tail.get() || closed;
+    
+    // Producer-local copy of head, refreshed only when the buffer looks full
+    private long cachedHead;
+    
+    // Consumer-local copy of tail, refreshed only when the buffer looks empty
+    private long cachedTail;
+    
+    /**
+     * Constructor initializes the ring with at least the specified capacity.
+     * @param capacity Minimum number of items the buffer can hold
+     *                 (rounded up to the next power of two)
+     */
+    public SpscRingBuffer(int capacity) {
+        this(capacity, new SpinThenParkWaitStrategy());
+    }
+    
+    /**
+     * Constructor initializes the ring with a capacity and a wait strategy.
+     * @param capacity Minimum number of items the buffer can hold
+     *                 (rounded up to the next power of two)
+     * @param waitStrategy How blocked producers/consumers wait
+     */
+    public SpscRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        this.slots = new Object[Rings.ringSize(capacity)];
+        this.mask = slots.length - 1;
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy");
+    }
+    
+    /**
+     * Adds an item, waiting through the wait strategy while the ring is full.
+     * Must only be called from the single producer thread.
+     */
+    @Override
+    public void produce(T item) throws InterruptedException {
+        while (!offer(item)) {
+            waitStrategy.waitFor(spaceAvailable);
+        }
+    }
+    
+    /**
+     * Removes the oldest item, waiting through the wait strategy while the ring is empty.
+     * Must only be called from the single consumer thread.
+     */
+    @Override
+    public T consume() throws InterruptedException {
+        T item;
+        while ((item = poll()) == null) {
+            if (closed) {
+                // Everything offered before close() is visible now - one last look
+                return poll();
+            }
+            waitStrategy.waitFor(itemAvailable);
+        }
+        return item;
+    }
+    
+    @Override
+    public boolean offer(T item) {
+        Objects.requireNonNull(item, "SpscRingBuffer does not accept null items");
+        if (closed) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+        long currentTail = tail.getPlain();
+        
+        // Only touch the consumer's cache line when our cached view says "full"
+        if (currentTail - cachedHead >= slots.length) {
+            cachedHead = head.get();
+            if (currentTail - cachedHead >= slots.length) {
+                return false;
+            }
+        }
+        
+        slots[(int) currentTail & mask] = item;
+        // Ordered store: publishes the slot write before the new tail
+        tail.lazySet(currentTail + 1);
+        waitStrategy.signalAll();
+        return true;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long currentHead = head.getPlain();
+        
+        // Only touch the producer's cache line when our cached view says "empty"
+        if (currentHead >= cachedTail) {
+            cachedTail = tail.get();
+            if (currentHead >= cachedTail) {
+                return null;
+            }
+        }
+        
+        int index = (int) currentHead & mask;
+        T item = (T) slots[index];
+        // Clear the slot so the consumed item can be garbage collected
+        slots[index] = null;
+        // Ordered store: the slot is free only after the new head is visible
+        head.lazySet(currentHead + 1);
+        waitStrategy.signalAll();
+        return item;
+    }
+    
+    /**
+     * Closes the ring: further offers fail and consumers get null once drained.
+     * Blocked producers notice on their next retry.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        waitStrategy.signalAll();
+    }
+    
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    /**
+     * Returns an approximate size; exact when neither side is mid-operation.
+     */
+    @Override
+    public int size() {
+        // Read head first: tail can only grow meanwhile, so the result never goes negative
+        long currentHead = head.get();
+        long currentTail = tail.get();
+        return (int) Math.min(Math.max(currentTail - currentHead, 0), slots.length);
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Returns the real capacity of the ring (a power of two).
+     * @return Number of slots in the ring
+     */
+    public int capacity() {
+        return slots.length;
+    }
+}
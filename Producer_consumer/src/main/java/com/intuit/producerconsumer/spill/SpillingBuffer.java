@@ -0,0 +1,515 @@
+package com.intuit.producerconsumer.spill;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import com.intuit.producerconsumer.offheap.FrameSerializer;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * SpillingBuffer keeps a fixed number of items in memory and moves the
+ * overflow of a burst to local files instead of blocking producers, so
+ * heap usage stays bounded while bursts of any size are absorbed.
+ * 
+ * Key Concepts:
+ * - Hot ring: while nothing is spilled, items go through a preallocated
+ *   circular array of capacity items, like ConditionSharedBuffer
+ * - Spill: when the ring is full, new items collect in a write batch; a
+ *   full batch is serialized into one spill file ("%020d.spill")
+ * - FIFO: items are always taken in this order, which is also their age:
+ *     ring -> read batch (oldest file, loaded) -> spill files -> write batch
+ *   New items go to the ring again only once every spilled item is consumed
+ * - Compression: spill files can be GZIP-compressed (less disk, more CPU)
+ * - Bounded heap: at most capacity + 2 x spillBatchSize items are in memory
+ * - Disk limit: producers wait (offer fails) while the spill files hold
+ *   maxSpillBytes or more
+ * 
+ * Spilled items are not durable: a spill file is deleted once loaded, and
+ * leftover files are removed when a buffer is created in the directory
+ * (see DurableQueue for a crash-safe queue). Disk I/O happens on the
+ * producer that fills a batch and the consumer that needs the next file,
+ * once per batch, while holding the buffer lock.
+ */
+public class SpillingBuffer<T> implements BoundedBuffer<T> {
+    // Default number of items per spill file
+    public static final int DEFAULT_SPILL_BATCH_SIZE = 1024;
+    
+    private static final String SPILL_SUFFIX = ".spill";
+    private static final int STREAM_BUFFER_BYTES = 64 * 1024;
+    
+    // Hot in-memory ring (guarded by lock)
+    private final Object[] ring;
+    private int head;
+    private int count;
+    
+    // Items loaded from the oldest spill file (guarded by lock)
+    private final ArrayDeque<T> readBatch = new ArrayDeque<>();
+    
+    // Spill files, oldest first (guarded by lock)
+    private final ArrayDeque<SpillFile> spillFiles = new ArrayDeque<>();
+    
+    // Newest spilled items, not written to a file yet (guarded by lock)
+    private final ArrayDeque<T> writeBatch = new ArrayDeque<>();
+    
+    private final Path directory;
+    private final FrameSerializer<T> serializer;
+    private final int spillBatchSize;
+    private final boolean compress;
+    private final long maxSpillBytes;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    
+    // Signalled when a spill file is loaded (only waited on at the disk limit)
+    private final Condition diskFreed = lock.newCondition();
+    
+    // Reused to serialize one item (guarded by lock)
+    private ByteBuffer scratch = ByteBuffer.allocate(256);
+    
+    // Items in all parts (guarded by lock)
+    private int size;
+    
+    // Bytes in spill files right now (guarded by lock)
+    private long diskBytes;
+    
+    // Statistics (guarded by lock)
+    private long nextFileIndex;
+    private long spilledItems;
+    private long spillFilesWritten;
+    private long peakDiskBytes;
+    
+    // Set by close(): no more items will be produced (guarded by lock)
+    private boolean closed;
+    
+    /**
+     * Creates an uncompressed spilling buffer without a disk limit.
+     * @param capacity Items kept in the in-memory ring
+     * @param directory Directory for spill files (created if missing)
+     * @param serializer Converts items to and from bytes
+     * @throws IOException if the directory cannot be created or cleaned
+     */
+    public SpillingBuffer(int capacity, Path directory, FrameSerializer<T> serializer) throws IOException {
+        this(capacity, directory, serializer, DEFAULT_SPILL_BATCH_SIZE, false, Long.MAX_VALUE);
+    }
+    
+    /**
+     * Creates a spilling buffer.
+     * 
+     * @param capacity Items kept in the in-memory ring
+     * @param directory Directory for spill files (created if missing, old spill files are deleted)
+     * @param serializer Converts items to and from bytes
+     * @param spillBatchSize Items per spill file
+     * @param compress true to GZIP-compress spill files
+     * @param maxSpillBytes Disk usage at which producers wait (Long.MAX_VALUE = no limit)
+     * @throws IOException if the directory cannot be created or cleaned
+     */
+    public SpillingBuffer(int capacity, Path directory, FrameSerializer<T> serializer, int spillBatchSize,
+                          boolean compress, long maxSpillBytes) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (spillBatchSize <= 0) {
+            throw new IllegalArgumentException("Spill batch size must be positive: " + spillBatchSize);
+        }
+        if (maxSpillBytes <= 0) {
+            throw new IllegalArgumentException("Spill limit must be positive: " + maxSpillBytes);
+        }
+        this.ring = new Object[capacity];
+        this.directory = Files.createDirectories(directory);
+        this.serializer = Objects.requireNonNull(serializer, "serializer");
+        this.spillBatchSize = spillBatchSize;
+        this.compress = compress;
+        this.maxSpillBytes = maxSpillBytes;
+        deleteLeftoverSpillFiles();
+    }
+    
+    /**
+     * Adds an item; waits only while the spill files reach maxSpillBytes.
+     * @throws IllegalStateException if the buffer is (or gets) closed
+     * @throws UncheckedIOException if a spill file cannot be written (the item is not added)
+     */
+    @Override
+    public void produce(T item) throws InterruptedException {
+        Objects.requireNonNull(item, "SpillingBuffer does not accept null items");
+        lock.lockInterruptibly();
+        try {
+            while (diskBytes >= maxSpillBytes && !closed) {
+                diskFreed.await();
+            }
+            ensureOpen();
+            enqueue(item);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Removes the oldest item, waiting while the buffer is empty.
+     * @return The item, or null if the buffer is closed and drained
+     * @throws UncheckedIOException if a spill file cannot be read
+     */
+    @Override
+    public T consume() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (closed) {
+                    return null;
+                }
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Adds an item unless the spill files have reached maxSpillBytes.
+     * @return true if added
+     * @throws IllegalStateException if the buffer is closed
+     * @throws UncheckedIOException if a spill file cannot be written (the item is not added)
+     */
+    @Override
+    public boolean offer(T item) {
+        Objects.requireNonNull(item, "SpillingBuffer does not accept null items");
+        lock.lock();
+        try {
+            ensureOpen();
+            if (diskBytes >= maxSpillBytes) {
+                return false;
+            }
+            enqueue(item);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public T poll() {
+        lock.lock();
+        try {
+            return size == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Closes the buffer; spilled items can still be consumed.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            diskFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Returns the number of items held in memory (ring and both batches).
+     * @return In-memory items
+     */
+    public int getInMemoryCount() {
+        lock.lock();
+        try {
+            return count + readBatch.size() + writeBatch.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the number of spill files waiting to be read.
+     * @return Spill file count
+     */
+    public int getSpillFileCount() {
+        lock.lock();
+        try {
+            return spillFiles.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the bytes in spill files right now.
+     * @return Disk usage in bytes
+     */
+    public long getDiskBytes() {
+        lock.lock();
+        try {
+            return diskBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the largest disk usage so far.
+     * @return Peak disk usage in bytes
+     */
+    public long getPeakDiskBytes() {
+        lock.lock();
+        try {
+            return peakDiskBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the number of items written to spill files so far.
+     * @return Spilled items
+     */
+    public long getSpilledItemCount() {
+        lock.lock();
+        try {
+            return spilledItems;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the number of spill files written so far.
+     * @return Spill files written
+     */
+    public long getSpillFilesWritten() {
+        lock.lock();
+        try {
+            return spillFilesWritten;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the directory holding the spill files.
+     * @return Spill directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+    
+    /**
+     * Adds an item behind every item already held. Must be called holding the lock.
+     * If the spill fails the item is not added and the exception is rethrown.
+     */
+    private void enqueue(T item) {
+        if (count < ring.length && readBatch.isEmpty() && spillFiles.isEmpty() && writeBatch.isEmpty()) {
+            int tail = head + count;
+            ring[tail < ring.length ? tail : tail - ring.length] = item;
+            count++;
+        } else {
+            // Spilled items exist (or the ring is full): keep FIFO by queuing behind them
+            writeBatch.addLast(item);
+            if (writeBatch.size() >= spillBatchSize) {
+                try {
+                    spill();
+                } catch (RuntimeException e) {
+                    // Not added after all: the producer gets the exception, the rest of the batch stays queued
+                    writeBatch.pollLast();
+                    throw e;
+                }
+            }
+        }
+        size++;
+        notEmpty.signal();
+    }
+    
+    /**
+     * Removes the oldest item. Must be called holding the lock with size > 0.
+     */
+    @SuppressWarnings("unchecked")
+    private T dequeue() {
+        T item;
+        if (count > 0) {
+            item = (T) ring[head];
+            ring[head] = null;
+            head = head + 1 == ring.length ? 0 : head + 1;
+            count--;
+        } else {
+            if (readBatch.isEmpty() && !spillFiles.isEmpty()) {
+                load(spillFiles.peekFirst());
+            }
+            item = readBatch.isEmpty() ? writeBatch.pollFirst() : readBatch.pollFirst();
+        }
+        size--;
+        return item;
+    }
+    
+    /**
+     * Writes the write batch to a new spill file. Must be called holding the lock.
+     * On failure the partial file is deleted and the items stay in the write batch.
+     */
+    private void spill() {
+        Path file = directory.resolve(String.format("%020d", nextFileIndex) + SPILL_SUFFIX);
+        int items = writeBatch.size();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                openOutput(file), STREAM_BUFFER_BYTES))) {
+            out.writeInt(items);
+            for (T item : writeBatch) {
+                int length = serializer.sizeOf(item);
+                if (scratch.capacity() < length) {
+                    scratch = ByteBuffer.allocate(Math.max(length, scratch.capacity() * 2));
+                }
+                scratch.clear().limit(length);
+                serializer.write(item, scratch);
+                out.writeInt(length);
+                out.write(scratch.array(), 0, length);
+            }
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Cannot write spill file " + file, e);
+        } catch (RuntimeException e) {
+            // Serializer failure
+            deleteQuietly(file);
+            throw e;
+        }
+        
+        long bytes;
+        try {
+            bytes = Files.size(file);
+        } catch (IOException e) {
+            bytes = 0;
+        }
+        nextFileIndex++;
+        writeBatch.clear();
+        spillFiles.addLast(new SpillFile(file, bytes));
+        diskBytes += bytes;
+        peakDiskBytes = Math.max(peakDiskBytes, diskBytes);
+        spilledItems += items;
+        spillFilesWritten++;
+    }
+    
+    /**
+     * Reads the oldest spill file into the read batch and deletes it.
+     * Must be called holding the lock. If reading or decoding fails nothing
+     * is added and the file stays first, so no item is delivered twice.
+     */
+    private void load(SpillFile spillFile) {
+        List<T> loaded;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                openInput(spillFile.path), STREAM_BUFFER_BYTES))) {
+            int items = in.readInt();
+            loaded = new ArrayList<>(items);
+            byte[] bytes = scratch.array();
+            for (int i = 0; i < items; i++) {
+                int length = in.readInt();
+                if (bytes.length < length) {
+                    scratch = ByteBuffer.allocate(Math.max(length, bytes.length * 2));
+                    bytes = scratch.array();
+                }
+                in.readFully(bytes, 0, length);
+                loaded.add(serializer.read(ByteBuffer.wrap(bytes, 0, length).asReadOnlyBuffer()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read spill file " + spillFile.path, e);
+        }
+        readBatch.addAll(loaded);
+        spillFiles.removeFirst();
+        deleteQuietly(spillFile.path);
+        diskBytes -= spillFile.bytes;
+        diskFreed.signalAll();
+    }
+    
+    private OutputStream openOutput(Path file) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        return compress ? new GZIPOutputStream(out, STREAM_BUFFER_BYTES) : out;
+    }
+    
+    private InputStream openInput(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        return compress ? new GZIPInputStream(in, STREAM_BUFFER_BYTES) : in;
+    }
+    
+    private void deleteLeftoverSpillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(SPILL_SUFFIX)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Deletes a spill file that is no longer needed, ignoring failures: a file
+     * left behind is never read again (a retried spill overwrites it) and is
+     * removed when the next buffer is created in the directory.
+     */
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Ignored, see above
+        }
+    }
+    
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+    }
+    
+    /**
+     * One spill file: its path and size on disk.
+     */
+    private static final class SpillFile {
+        final Path path;
+        final long bytes;
+        
+        SpillFile(Path path, long bytes) {
+            this.path = path;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.intuit.producerconsumer.waitstrategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Blocks on a ReentrantLock/Condition until the buffer signals a change.
+ * 
+ * No CPU is used while idle, at the price of the highest wake-up latency
+ * (a full OS-level unpark, like SharedBuffer's wait()/notifyAll()).
+ * signalAll() only takes the lock when somebody is actually waiting, so
+ * the fast path of a busy buffer stays lock-free.
+ * 
+ * The lock-free buffers publish with ordered (not volatile) stores, so a
+ * waiter can in rare cases miss the signal for the item it was waiting for.
+ * Waits are therefore timed and the condition is re-checked at least every
+ * recheck interval. Use one instance per buffer: waiters are woken on every
+ * change of that buffer.
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+    private static final long DEFAULT_RECHECK_NANOS = 1_000_000L;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    // Signalled by signalAll() whenever the buffer changed
+    private final Condition changed = lock.newCondition();
+    
+    // Number of threads inside waitFor(); signalAll() skips the lock when 0
+    private final AtomicInteger waiters = new AtomicInteger();
+    
+    // Upper bound for one await() before the condition is checked again
+    private final long recheckNanos;
+    
+    /**
+     * Creates the strategy re-checking the condition at least every millisecond.
+     */
+    public BlockingWaitStrategy() {
+        this(DEFAULT_RECHECK_NANOS);
+    }
+    
+    /**
+     * @param recheckNanos Maximum time of one await() in nanoseconds
+     */
+    public BlockingWaitStrategy(long recheckNanos) {
+        if (recheckNanos <= 0) {
+            throw new IllegalArgumentException("Recheck interval must be positive: " + recheckNanos);
+        }
+        this.recheckNanos = recheckNanos;
+    }
+    
+    @Override
+    public void waitFor(BooleanSupplier condition) throws InterruptedException {
+        if (condition.getAsBoolean()) {
+            return;
+        }
+        lock.lockInterruptibly();
+        waiters.incrementAndGet();
+        try {
+            // Re-check under the lock: a signalAll() after this point cannot be lost
+            while (!condition.getAsBoolean()) {
+                changed.await(recheckNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            waiters.decrementAndGet();
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public void signalAll() {
+        if (waiters.get() == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.intuit.producerconsumer.waitstrategy;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Re-checks the condition in a tight loop with Thread.onSpinWait() (the
+ * PAUSE instruction on x86), never giving up the core.
+ * 
+ * Lowest possible wake-up latency, but every waiting thread burns a full
+ * core. Only use it when each waiter has a dedicated (pinned) core;
+ * with more spinners than cores it is slower than every other strategy.
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+    
+    @Override
+    public void waitFor(BooleanSupplier condition) throws InterruptedException {
+        while (!condition.getAsBoolean()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.intuit.producerconsumer.waitstrategy;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Parks with LockSupport.parkNanos(), doubling the park time after every
+ * unsuccessful check up to a maximum (exponential backoff).
+ * 
+ * Uses almost no CPU while idle. Wake-up latency is bounded by the current
+ * park time plus the OS timer slack (typically 50us or more on Linux), so
+ * it grows with how long the buffer has already been idle.
+ */
+public class ParkingWaitStrategy implements WaitStrategy {
+    private static final long DEFAULT_MIN_PARK_NANOS = 1_000L;
+    private static final long DEFAULT_MAX_PARK_NANOS = 1_000_000L;
+    
+    // First park time
+    private final long minParkNanos;
+    
+    // Upper bound for the doubled park time
+    private final long maxParkNanos;
+    
+    /**
+     * Creates the strategy backing off from 1us to 1ms.
+     */
+    public ParkingWaitStrategy() {
+        this(DEFAULT_MIN_PARK_NANOS, DEFAULT_MAX_PARK_NANOS);
+    }
+    
+    /**
+     * @param minParkNanos First park time in nanoseconds
+     * @param maxParkNanos Maximum park time in nanoseconds
+     */
+    public ParkingWaitStrategy(long minParkNanos, long maxParkNanos) {
+        if (minParkNanos <= 0 || maxParkNanos < minParkNanos) {
+            throw new IllegalArgumentException("Need 0 < minParkNanos <= maxParkNanos");
+        }
+        this.minParkNanos = minParkNanos;
+        this.maxParkNanos = maxParkNanos;
+    }
+    
+    @Override
+    public void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long parkNanos = minParkNanos;
+        while (!condition.getAsBoolean()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(parkNanos);
+            parkNanos = Math.min(parkNanos << 1, maxParkNanos);
+        }
+    }
+}
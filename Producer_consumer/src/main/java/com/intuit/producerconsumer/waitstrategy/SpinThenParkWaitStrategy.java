@@ -0,0 +1,66 @@
+package com.intuit.producerconsumer.waitstrategy;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Hybrid strategy and the default of the ring buffers. A waiting thread
+ * escalates through:
+ * 1. Busy spin with Thread.onSpinWait() - catches short gaps at spin latency
+ * 2. Thread.yield() - gives the core to other runnable threads
+ * 3. LockSupport.parkNanos() - stops burning CPU during long waits
+ */
+public class SpinThenParkWaitStrategy implements WaitStrategy {
+    private static final int DEFAULT_SPIN_TRIES = 100;
+    private static final int DEFAULT_YIELD_TRIES = 100;
+    private static final long DEFAULT_PARK_NANOS = 50_000L;
+    
+    // Spins before the first yield
+    private final int spinTries;
+    
+    // Yields before the first park
+    private final int yieldTries;
+    
+    // Park time once spinning and yielding did not help
+    private final long parkNanos;
+    
+    /**
+     * Creates the strategy with 100 spins, 100 yields and 50us parks.
+     */
+    public SpinThenParkWaitStrategy() {
+        this(DEFAULT_SPIN_TRIES, DEFAULT_YIELD_TRIES, DEFAULT_PARK_NANOS);
+    }
+    
+    /**
+     * @param spinTries Number of Thread.onSpinWait() checks before yielding
+     * @param yieldTries Number of Thread.yield() checks before parking
+     * @param parkNanos Park time in nanoseconds for every later check
+     */
+    public SpinThenParkWaitStrategy(int spinTries, int yieldTries, long parkNanos) {
+        if (spinTries < 0 || yieldTries < 0 || parkNanos <= 0) {
+            throw new IllegalArgumentException("Tries must not be negative and parkNanos must be positive");
+        }
+        this.spinTries = spinTries;
+        this.yieldTries = yieldTries;
+        this.parkNanos = parkNanos;
+    }
+    
+    @Override
+    public void waitFor(BooleanSupplier condition) throws InterruptedException {
+        int attempt = 0;
+        while (!condition.getAsBoolean()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (attempt < spinTries) {
+                Thread.onSpinWait();
+            } else if (attempt < spinTries + yieldTries) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(parkNanos);
+                continue;
+            }
+            attempt++;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.intuit.producerconsumer.waitstrategy;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * WaitStrategy decides HOW a thread waits for a lock-free buffer to become
+ * ready (space for a producer, data for a consumer).
+ * 
+ * The choice is a trade-off between wake-up latency and CPU burnt while idle:
+ * - {@link BusySpinWaitStrategy}: lowest latency, one core at 100% per waiter
+ * - {@link YieldingWaitStrategy}: near-spin latency, lets other threads run
+ * - {@link SpinThenParkWaitStrategy}: spin briefly, then yield, then park (default)
+ * - {@link ParkingWaitStrategy}: parkNanos with exponential backoff, little CPU
+ * - {@link BlockingWaitStrategy}: lock/condition, no CPU while idle, highest latency
+ * 
+ * The buffer passes the condition as a preallocated BooleanSupplier (no
+ * allocation per wait) and calls {@link #signalAll()} after every change of
+ * state, so strategies that really block know when to wake their waiters.
+ * Conditions must be side-effect free; they may be evaluated many times.
+ */
+public interface WaitStrategy {
+    
+    /**
+     * Returns once the condition is true. The caller re-checks by retrying
+     * its operation, so returning early is allowed but wastes a retry.
+     * 
+     * @param condition Readiness check (e.g. "ring not empty or closed")
+     * @throws InterruptedException if the waiting thread was interrupted
+     */
+    void waitFor(BooleanSupplier condition) throws InterruptedException;
+    
+    /**
+     * Called by the buffer after an item was added or removed, or when it
+     * was closed. Only strategies that block need to do anything here.
+     */
+    default void signalAll() {
+    }
+}
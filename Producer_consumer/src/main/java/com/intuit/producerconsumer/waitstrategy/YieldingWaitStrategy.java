@@ -0,0 +1,49 @@
+package com.intuit.producerconsumer.waitstrategy;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Spins a few times, then calls Thread.yield() between checks.
+ * 
+ * Latency stays close to busy spinning while another runnable thread can
+ * use the core, but an idle waiter still shows up as 100% CPU.
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+    private static final int DEFAULT_SPIN_TRIES = 100;
+    
+    // Spins before the first yield
+    private final int spinTries;
+    
+    /**
+     * Creates the strategy with 100 spins before yielding.
+     */
+    public YieldingWaitStrategy() {
+        this(DEFAULT_SPIN_TRIES);
+    }
+    
+    /**
+     * @param spinTries Number of Thread.onSpinWait() checks before yielding
+     */
+    public YieldingWaitStrategy(int spinTries) {
+        if (spinTries < 0) {
+            throw new IllegalArgumentException("Spin tries must not be negative: " + spinTries);
+        }
+        this.spinTries = spinTries;
+    }
+    
+    @Override
+    public void waitFor(BooleanSupplier condition) throws InterruptedException {
+        int attempt = 0;
+        while (!condition.getAsBoolean()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (attempt < spinTries) {
+                attempt++;
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+}
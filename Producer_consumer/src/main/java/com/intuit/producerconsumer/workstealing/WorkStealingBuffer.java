@@ -0,0 +1,312 @@
+package com.intuit.producerconsumer.workstealing;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * WorkStealingBuffer spreads items over one lock-free deque per consumer
+ * (worker) instead of one shared queue, so consumers stop contending on a
+ * single head.
+ * 
+ * Key Concepts:
+ * - Distribution: produce() appends each item to the tail of the next
+ *   worker's deque (round-robin)
+ * - Local pop: a consumer takes from the HEAD of its own deque
+ * - Stealing: a consumer whose deque is empty takes from the TAIL of a
+ *   randomly chosen victim, so idle consumers help busy ones without
+ *   touching the victim's hot end
+ * - Global bound: a Semaphore with one permit per free slot keeps the total
+ *   number of buffered items at or below capacity
+ * 
+ * Consumers obtain their view with {@link #worker(int)} and pass it to a
+ * regular {@link com.intuit.producerconsumer.Consumer}. Items of one
+ * producer may be consumed out of order (they land in different deques).
+ * Null items are not supported.
+ */
+public class WorkStealingBuffer<T> implements BoundedBuffer<T> {
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = 50_000L;
+    
+    // Permits released on close() so every blocked producer wakes up
+    private static final int CLOSE_PERMITS = Integer.MAX_VALUE / 2;
+    
+    // One deque per worker
+    private final ConcurrentLinkedDeque<T>[] deques;
+    
+    // Free slots; producers block here when the buffer is full
+    private final Semaphore freeSlots;
+    
+    // Maximum number of buffered items
+    private final int capacity;
+    
+    // Round-robin cursor for choosing the target deque
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    
+    // Items taken from the consumer's own deque / stolen from another deque
+    private final LongAdder localTakes = new LongAdder();
+    private final LongAdder steals = new LongAdder();
+    
+    // Set by close(): end of stream
+    private volatile boolean closed;
+    
+    /**
+     * Creates a buffer with one deque per worker.
+     * @param capacity Maximum total number of items across all deques
+     * @param workers Number of worker (consumer) deques
+     */
+    @SuppressWarnings("unchecked")
+    public WorkStealingBuffer(int capacity, int workers) {
+        if (capacity <= 0 || workers <= 0) {
+            throw new IllegalArgumentException("Capacity and workers must be positive");
+        }
+        this.capacity = capacity;
+        this.freeSlots = new Semaphore(capacity);
+        this.deques = (ConcurrentLinkedDeque<T>[]) new ConcurrentLinkedDeque<?>[workers];
+        for (int i = 0; i < workers; i++) {
+            deques[i] = new ConcurrentLinkedDeque<>();
+        }
+    }
+    
+    /**
+     * Returns the consumer-side view for one worker. Its consume()/poll()
+     * pop from that worker's deque first and steal when it is empty; its
+     * produce() pushes directly onto that worker's deque.
+     * 
+     * @param index Worker index (0 to workers - 1)
+     * @return Buffer view bound to the worker's deque
+     */
+    public BoundedBuffer<T> worker(int index) {
+        Objects.checkIndex(index, deques.length);
+        return new Worker(index);
+    }
+    
+    /**
+     * Adds an item to the next worker's deque, waiting while the buffer is full.
+     */
+    @Override
+    public void produce(T item) throws InterruptedException {
+        push(nextDeque(), item);
+    }
+    
+    /**
+     * Takes an item from any deque (this view has no home deque).
+     */
+    @Override
+    public T consume() throws InterruptedException {
+        return take(-1);
+    }
+    
+    @Override
+    public boolean offer(T item) {
+        return tryPush(nextDeque(), item);
+    }
+    
+    @Override
+    public T poll() {
+        return tryTake(-1);
+    }
+    
+    /**
+     * Closes the buffer (end of stream) and wakes up every producer waiting
+     * for a free slot.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        freeSlots.release(CLOSE_PERMITS);
+    }
+    
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    /**
+     * Returns an approximate total number of buffered items.
+     * Counted over the deques: after close() the semaphore no longer
+     * reflects occupancy.
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (ConcurrentLinkedDeque<T> deque : deques) {
+            size += deque.size();
+        }
+        return Math.min(size, capacity);
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Returns the number of worker deques.
+     * @return Worker count
+     */
+    public int getWorkerCount() {
+        return deques.length;
+    }
+    
+    /**
+     * Returns how many items consumers took from their own deque.
+     * @return Local take count
+     */
+    public long getLocalTakeCount() {
+        return localTakes.sum();
+    }
+    
+    /**
+     * Returns how many items consumers stole from another worker's deque.
+     * @return Steal count
+     */
+    public long getStealCount() {
+        return steals.sum();
+    }
+    
+    private int nextDeque() {
+        return Math.floorMod(nextWorker.getAndIncrement(), deques.length);
+    }
+    
+    private void push(int index, T item) throws InterruptedException {
+        Objects.requireNonNull(item, "WorkStealingBuffer does not accept null items");
+        ensureOpen();
+        freeSlots.acquire();
+        // Woken by close() rather than by a free slot
+        ensureOpen();
+        deques[index].offerLast(item);
+    }
+    
+    private boolean tryPush(int index, T item) {
+        Objects.requireNonNull(item, "WorkStealingBuffer does not accept null items");
+        ensureOpen();
+        if (!freeSlots.tryAcquire()) {
+            return false;
+        }
+        deques[index].offerLast(item);
+        return true;
+    }
+    
+    /**
+     * Waits for an item: own deque first, then steal, then back off.
+     * @param home Index of the caller's own deque, or -1 for none
+     * @return The item, or null if the buffer is closed and empty
+     */
+    private T take(int home) throws InterruptedException {
+        int attempt = 0;
+        while (true) {
+            T item = tryTake(home);
+            if (item != null) {
+                return item;
+            }
+            if (closed) {
+                // Every push happened before close() - one last full scan
+                return tryTake(home);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (attempt++ < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    }
+    
+    private T tryTake(int home) {
+        if (home >= 0) {
+            T item = deques[home].pollFirst();
+            if (item != null) {
+                localTakes.increment();
+                freeSlots.release();
+                return item;
+            }
+        }
+        
+        // Steal from the tail of victims, starting at a random one
+        int start = ThreadLocalRandom.current().nextInt(deques.length);
+        for (int i = 0; i < deques.length; i++) {
+            int victim = (start + i) % deques.length;
+            if (victim == home) {
+                continue;
+            }
+            T item = deques[victim].pollLast();
+            if (item != null) {
+                steals.increment();
+                freeSlots.release();
+                return item;
+            }
+        }
+        return null;
+    }
+    
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+    }
+    
+    /**
+     * Consumer-side view bound to one worker deque.
+     */
+    private final class Worker implements BoundedBuffer<T> {
+        private final int home;
+        
+        Worker(int home) {
+            this.home = home;
+        }
+        
+        @Override
+        public void produce(T item) throws InterruptedException {
+            push(home, item);
+        }
+        
+        @Override
+        public T consume() throws InterruptedException {
+            return take(home);
+        }
+        
+        @Override
+        public boolean offer(T item) {
+            return tryPush(home, item);
+        }
+        
+        @Override
+        public T poll() {
+            return tryTake(home);
+        }
+        
+        @Override
+        public void close() {
+            WorkStealingBuffer.this.close();
+        }
+        
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+        
+        /**
+         * Returns the number of items in this worker's own deque.
+         */
+        @Override
+        public int size() {
+            return deques[home].size();
+        }
+        
+        @Override
+        public boolean isEmpty() {
+            return deques[home].isEmpty();
+        }
+    }
+}
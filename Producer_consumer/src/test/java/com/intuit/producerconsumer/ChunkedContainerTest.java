@@ -0,0 +1,96 @@
+package com.intuit.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for the lock-free append-only ChunkedContainer.
+ */
+class ChunkedContainerTest {
+    
+    @Test
+    void testIndexedReadsAcrossChunkBoundaries() {
+        ChunkedContainer<Integer> container = new ChunkedContainer<>("Chunked");
+        // 16 + 32 + 64 + 128 = 240 slots in the first four chunks
+        for (int i = 0; i < 1000; i++) {
+            container.add(i);
+        }
+        
+        assertEquals(1000, container.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, container.get(i));
+        }
+        assertNull(container.get(1000));
+        assertNull(container.get(-1));
+        assertEquals(List.of(14, 15, 16, 17), container.getRange(14, 18));
+        assertEquals(List.of(998, 999), container.getRange(998, 2000));
+    }
+    
+    @Test
+    void testAppendOnlyContract() {
+        ChunkedContainer<String> container = new ChunkedContainer<>("Chunked");
+        container.addAll(List.of("a", "b"));
+        
+        assertEquals(List.of("a", "b"), container.getAll());
+        assertThrows(NullPointerException.class, () -> container.add(null));
+        assertThrows(NullPointerException.class, () -> container.addAll(Arrays.asList("c", null)));
+        
+        // A rejected batch must not reserve slots
+        container.add("d");
+        assertEquals(List.of("a", "b", "d"), container.getAll());
+        assertEquals("d", container.get(2));
+    }
+    
+    @Test
+    void testConcurrentWritersLoseNothing() throws InterruptedException {
+        ChunkedContainer<Integer> container = new ChunkedContainer<>("Chunked");
+        int threadCount = 8;
+        int itemsPerThread = 20_000;
+        List<Thread> threads = new ArrayList<>();
+        
+        for (int t = 0; t < threadCount; t++) {
+            final int threadId = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < itemsPerThread; i++) {
+                    if (i % 2 == 0) {
+                        container.add(threadId * itemsPerThread + i);
+                    } else {
+                        container.addAll(List.of(threadId * itemsPerThread + i));
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(threadCount * itemsPerThread, container.size());
+        Set<Integer> unique = new HashSet<>(container.getAll());
+        assertEquals(threadCount * itemsPerThread, unique.size(), "Every item should be stored once");
+    }
+    
+    @Test
+    void testUsableAsConsumerDestination() throws InterruptedException {
+        Container<String> source = new Container<>("Source");
+        for (int i = 0; i < 500; i++) {
+            source.add("Item-" + i);
+        }
+        ChunkedContainer<String> destination = new ChunkedContainer<>("Destination");
+        ConditionSharedBuffer<String> buffer = new ConditionSharedBuffer<>(16);
+        
+        Thread producer = new Thread(new Producer<>("P", source, buffer, 0));
+        Thread consumer = new Thread(new Consumer<>("C", buffer, destination, 500, 0, 8));
+        producer.start();
+        consumer.start();
+        producer.join(5000);
+        consumer.join(5000);
+        
+        assertEquals(source.getAll(), destination.getAll());
+    }
+}
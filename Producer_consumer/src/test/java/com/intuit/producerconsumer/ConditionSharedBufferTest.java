@@ -0,0 +1,109 @@
+package com.intuit.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the ReentrantLock/Condition based buffer.
+ */
+class ConditionSharedBufferTest {
+    
+    @Test
+    void testSingleProducerSingleConsumerKeepsOrder() throws InterruptedException {
+        Container<String> source = new Container<>("Source");
+        Container<String> destination = new Container<>("Destination");
+        for (int i = 1; i <= 1000; i++) {
+            source.add("Item-" + i);
+        }
+        ConditionSharedBuffer<String> buffer = new ConditionSharedBuffer<>(5, true);
+        assertTrue(buffer.isFair());
+        
+        Thread producer = new Thread(new Producer<>("P", source, buffer, 0));
+        Thread consumer = new Thread(new Consumer<>("C", buffer, destination, 1000, 0));
+        producer.start();
+        consumer.start();
+        producer.join(5000);
+        consumer.join(5000);
+        
+        assertEquals(source.getAll(), destination.getAll(), "Items should match in order");
+    }
+    
+    @Test
+    void testProducerWaitsWhenFullAndCountsWakeup() throws InterruptedException {
+        ConditionSharedBuffer<Integer> buffer = new ConditionSharedBuffer<>(1);
+        buffer.produce(1);
+        assertFalse(buffer.offer(2), "Full buffer should reject offer");
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        Thread producer = new Thread(() -> {
+            try {
+                latch.countDown();
+                buffer.produce(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        
+        assertEquals(Thread.State.WAITING, producer.getState(), 
+            "Producer should be waiting when buffer is full");
+        assertEquals(1, buffer.getWaitCount());
+        
+        assertEquals(1, buffer.consume());
+        producer.join(1000);
+        assertEquals(2, buffer.poll());
+        assertNull(buffer.poll());
+        assertEquals(1, buffer.getWakeupCount());
+        assertEquals(0, buffer.getSpuriousRecheckCount());
+    }
+    
+    @Test
+    void testManyThreadsTransferEveryItem() throws InterruptedException {
+        ConditionSharedBuffer<Integer> buffer = new ConditionSharedBuffer<>(2);
+        Container<Integer> destination = new Container<>("Destination");
+        List<Thread> threads = new ArrayList<>();
+        int threadPairs = 8;
+        int itemsPerThread = 500;
+        
+        for (int t = 0; t < threadPairs; t++) {
+            Container<Integer> source = new Container<>("Source-" + t);
+            for (int i = 0; i < itemsPerThread; i++) {
+                source.add(t * itemsPerThread + i);
+            }
+            threads.add(new Thread(new Producer<>("P" + t, source, buffer, 0)));
+            threads.add(new Thread(new Consumer<>("C" + t, buffer, destination, itemsPerThread, 0)));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join(10_000);
+        }
+        
+        assertEquals(threadPairs * itemsPerThread, destination.size());
+        assertTrue(buffer.getWakeupCount() >= buffer.getSpuriousRecheckCount());
+    }
+    
+    @Test
+    void testBatchedTransferLargerThanCapacity() throws InterruptedException {
+        Container<Integer> source = new Container<>("Source");
+        Container<Integer> destination = new Container<>("Destination");
+        for (int i = 0; i < 997; i++) {
+            source.add(i);
+        }
+        ConditionSharedBuffer<Integer> buffer = new ConditionSharedBuffer<>(16);
+        
+        Thread producer = new Thread(new Producer<>("P", source, buffer, 0, 64));
+        Thread consumer = new Thread(new Consumer<>("C", buffer, destination, 997, 0, 10));
+        producer.start();
+        consumer.start();
+        producer.join(5000);
+        consumer.join(5000);
+        
+        assertEquals(source.getAll(), destination.getAll(), "Items should match in order");
+    }
+}
@@ -0,0 +1,109 @@
+package com.intuit.producerconsumer;
+
+import com.intuit.producerconsumer.ringbuffer.MpmcRingBuffer;
+import com.intuit.producerconsumer.ringbuffer.SpscRingBuffer;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the close()/end-of-stream protocol on every BoundedBuffer implementation.
+ */
+class EndOfStreamTest {
+    
+    private static final List<String> ALL_TYPES = List.of("shared", "condition", "spsc", "mpmc");
+    
+    private static BoundedBuffer<Integer> create(String type, int capacity) {
+        switch (type) {
+            case "shared":
+                return new SharedBuffer<>(capacity);
+            case "condition":
+                return new ConditionSharedBuffer<>(capacity);
+            case "spsc":
+                return new SpscRingBuffer<>(capacity);
+            default:
+                return new MpmcRingBuffer<>(capacity);
+        }
+    }
+    
+    @Test
+    void testConsumersDrainThenSeeEndOfStream() throws InterruptedException {
+        for (String type : ALL_TYPES) {
+            assertDrainThenEndOfStream(type);
+        }
+    }
+    
+    private void assertDrainThenEndOfStream(String type) throws InterruptedException {
+        BoundedBuffer<Integer> buffer = create(type, 4);
+        buffer.produce(1);
+        buffer.produce(2);
+        buffer.close();
+        
+        assertTrue(buffer.isClosed());
+        assertThrows(IllegalStateException.class, () -> buffer.produce(3));
+        assertThrows(IllegalStateException.class, () -> buffer.offer(3));
+        assertEquals(1, buffer.consume());
+        List<Integer> rest = new ArrayList<>();
+        assertEquals(1, buffer.drainTo(rest, 10));
+        assertEquals(List.of(2), rest);
+        assertNull(buffer.consume(), type + ": closed and empty buffer should signal end of stream");
+        assertEquals(0, buffer.drainTo(rest, 10));
+    }
+    
+    @Test
+    void testCloseWakesWaitingConsumer() throws InterruptedException {
+        for (String type : ALL_TYPES) {
+            assertCloseWakesWaitingConsumer(type);
+        }
+    }
+    
+    private void assertCloseWakesWaitingConsumer(String type) throws InterruptedException {
+        BoundedBuffer<Integer> buffer = create(type, 4);
+        Container<Integer> destination = new Container<>("Destination");
+        Thread consumer = new Thread(new Consumer<>("C", buffer, destination, 0));
+        consumer.start();
+        
+        buffer.produce(7);
+        Thread.sleep(50);
+        buffer.close();
+        consumer.join(2000);
+        
+        assertFalse(consumer.isAlive(), type + ": consumer should stop once the buffer is closed and empty");
+        assertEquals(List.of(7), destination.getAll());
+    }
+    
+    @Test
+    void testConsumersBalanceLoadDynamically() throws InterruptedException {
+        // SPSC is excluded: it allows only one consumer
+        for (String type : List.of("shared", "condition", "mpmc")) {
+            assertConsumersBalanceLoad(type);
+        }
+    }
+    
+    private void assertConsumersBalanceLoad(String type) throws InterruptedException {
+        BoundedBuffer<Integer> buffer = create(type, 8);
+        Container<Integer> source = new Container<>("Source");
+        for (int i = 0; i < 200; i++) {
+            source.add(i);
+        }
+        Container<Integer> fastDestination = new Container<>("Fast");
+        Container<Integer> slowDestination = new Container<>("Slow");
+        
+        Thread producer = new Thread(new Producer<>("P", source, buffer, 0));
+        Thread fast = new Thread(new Consumer<>("Fast", buffer, fastDestination, Consumer.UNTIL_CLOSED, 0, 4));
+        Thread slow = new Thread(new Consumer<>("Slow", buffer, slowDestination, 5));
+        producer.start();
+        fast.start();
+        slow.start();
+        
+        producer.join(5000);
+        buffer.close();
+        fast.join(5000);
+        slow.join(5000);
+        
+        assertEquals(200, fastDestination.size() + slowDestination.size());
+        assertTrue(fastDestination.size() > slowDestination.size(), 
+            type + ": the fast consumer should take over the slow consumer's share");
+    }
+}
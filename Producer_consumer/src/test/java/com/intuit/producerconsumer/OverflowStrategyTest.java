@@ -0,0 +1,90 @@
+package com.intuit.producerconsumer;
+
+import com.intuit.producerconsumer.event.BufferEventListener;
+import com.intuit.producerconsumer.event.CountingEventListener;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for the SharedBuffer overflow strategies.
+ */
+class OverflowStrategyTest {
+    
+    @Test
+    void testDropOldestKeepsNewestItems() throws InterruptedException {
+        CountingEventListener events = new CountingEventListener();
+        SharedBuffer<Integer> buffer = new SharedBuffer<>(3, OverflowStrategy.DROP_OLDEST, 0, events);
+        
+        for (int i = 1; i <= 5; i++) {
+            buffer.produce(i);
+        }
+        assertTrue(buffer.offer(6), "offer() should also evict the oldest item");
+        
+        List<Integer> drained = new ArrayList<>();
+        buffer.drainTo(drained, 10);
+        assertEquals(Arrays.asList(4, 5, 6), drained);
+        assertEquals(3, buffer.getDroppedOldestCount());
+        assertEquals(3, events.getDroppedCount());
+    }
+    
+    @Test
+    void testDropNewestKeepsOldestItems() throws InterruptedException {
+        SharedBuffer<Integer> buffer = new SharedBuffer<>(3, OverflowStrategy.DROP_NEWEST);
+        
+        for (int i = 1; i <= 5; i++) {
+            buffer.produce(i);
+        }
+        assertFalse(buffer.offer(6));
+        
+        List<Integer> drained = new ArrayList<>();
+        buffer.drainTo(drained, 10);
+        assertEquals(Arrays.asList(1, 2, 3), drained);
+        assertEquals(2, buffer.getDroppedNewestCount());
+    }
+    
+    @Test
+    void testRejectFailsFast() throws InterruptedException {
+        SharedBuffer<Integer> buffer = new SharedBuffer<>(1, OverflowStrategy.REJECT);
+        buffer.produce(1);
+        
+        assertThrows(BufferFullException.class, () -> buffer.produce(2));
+        assertEquals(1, buffer.getRejectedCount());
+        assertEquals(1, buffer.size(), "Rejected item must not be added");
+    }
+    
+    @Test
+    void testBlockWithTimeoutGivesUpOrSucceeds() throws InterruptedException {
+        SharedBuffer<Integer> buffer = new SharedBuffer<>(
+            1, OverflowStrategy.BLOCK_WITH_TIMEOUT, 50, BufferEventListener.NO_OP);
+        buffer.produce(1);
+        
+        long start = System.nanoTime();
+        assertThrows(BufferFullException.class, () -> buffer.produce(2));
+        assertTrue(System.nanoTime() - start >= 40_000_000L, "Should wait about the timeout");
+        assertEquals(1, buffer.getTimedOutCount());
+        
+        // A consumer freeing the slot within the timeout lets the producer through
+        Thread consumer = new Thread(() -> {
+            try {
+                Thread.sleep(10);
+                buffer.consume();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        buffer.produce(3);
+        consumer.join();
+        assertEquals(3, buffer.consume());
+        assertEquals(1, buffer.getTimedOutCount());
+    }
+    
+    @Test
+    void testTimeoutIsRequiredForBlockWithTimeout() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new SharedBuffer<Integer>(1, OverflowStrategy.BLOCK_WITH_TIMEOUT));
+    }
+}
@@ -0,0 +1,80 @@
+package com.intuit.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the priority-band buffer.
+ */
+class PriorityBufferTest {
+    
+    @Test
+    void testUrgentBandFirstAndFifoWithinBand() throws InterruptedException {
+        PriorityBuffer<String> buffer = new PriorityBuffer<>(8, 3, item -> item.charAt(0) - 'a');
+        for (String item : List.of("c1", "b1", "c2", "a1", "b2", "a2")) {
+            buffer.produce(item);
+        }
+        assertEquals(2, buffer.size(0));
+        
+        List<String> taken = new ArrayList<>();
+        String item;
+        while ((item = buffer.poll()) != null) {
+            taken.add(item);
+        }
+        assertEquals(List.of("a1", "a2", "b1", "b2", "c1", "c2"), taken);
+    }
+    
+    @Test
+    void testStarvationGuardServesWaitingBand() throws InterruptedException {
+        PriorityBuffer<Integer> buffer = new PriorityBuffer<>(64, 2, item -> 0, 4);
+        buffer.produce(-1, 1);
+        for (int i = 0; i < 20; i++) {
+            buffer.produce(i, 0);
+        }
+        
+        List<Integer> taken = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            taken.add(buffer.consume());
+        }
+        // Four urgent takes, then the guard lets the waiting low item through
+        assertEquals(List.of(0, 1, 2, 3, -1, 4), taken);
+        assertEquals(1, buffer.getStarvationGuardCount());
+    }
+    
+    @Test
+    void testFullBandBlocksOnlyItsOwnProducers() throws InterruptedException {
+        PriorityBuffer<String> buffer = new PriorityBuffer<>(2, 2, item -> item.startsWith("urgent") ? 0 : 1);
+        buffer.produce("bulk-1");
+        buffer.produce("bulk-2");
+        assertFalse(buffer.offer("bulk-3"), "The bulk band is full");
+        assertTrue(buffer.offer("urgent-1"), "The urgent band still has its own space");
+        
+        CountDownLatch produced = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                buffer.produce("bulk-3");
+                produced.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertFalse(produced.await(100, TimeUnit.MILLISECONDS), "Producer should block on the full band");
+        
+        assertEquals("urgent-1", buffer.consume());
+        assertFalse(produced.await(100, TimeUnit.MILLISECONDS), "Space in another band must not wake it");
+        assertEquals("bulk-1", buffer.consume());
+        assertTrue(produced.await(1, TimeUnit.SECONDS), "Space in its band should wake the producer");
+        producer.join();
+        
+        buffer.close();
+        assertEquals("bulk-2", buffer.consume());
+        assertEquals("bulk-3", buffer.consume());
+        assertNull(buffer.consume(), "Closed and drained buffer signals end of stream");
+        assertThrows(IllegalStateException.class, () -> buffer.produce("late"));
+    }
+}
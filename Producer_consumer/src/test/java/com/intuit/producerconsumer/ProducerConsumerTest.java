@@ -238,4 +238,61 @@ class ProducerConsumerTest {
         assertEquals(3, destinationContainer.size(), "Should consume exactly 3 items");
         assertEquals(2, sharedBuffer.size(), "Buffer should have 2 remaining items");
     }
+    
+    @Test
+    void testBatchedProducerAndConsumerKeepOrder() throws InterruptedException {
+        // Arrange - batch larger than buffer capacity forces produceAll to wait mid-batch
+        int itemCount = 53;
+        for (int i = 1; i <= itemCount; i++) {
+            sourceContainer.add("Item-" + i);
+        }
+        
+        Producer<String> producer = new Producer<>(
+            "BatchProducer", sourceContainer, sharedBuffer, 0, 8
+        );
+        Consumer<String> consumer = new Consumer<>(
+            "BatchConsumer", sharedBuffer, destinationContainer, itemCount, 0, 4
+        );
+        
+        // Act
+        Thread producerThread = new Thread(producer);
+        Thread consumerThread = new Thread(consumer);
+        producerThread.start();
+        consumerThread.start();
+        producerThread.join(5000);
+        consumerThread.join(5000);
+        
+        // Assert
+        assertFalse(consumerThread.isAlive(), "Consumer should have completed");
+        assertEquals(sourceContainer.getAll(), destinationContainer.getAll(), 
+            "Items should match in order");
+        assertTrue(sharedBuffer.isEmpty(), "Consumer should not take more than its share");
+    }
+    
+    @Test
+    void testDrainToTakesAvailableItemsUpToMax() throws InterruptedException {
+        // Arrange
+        sharedBuffer.produceAll(List.of("A", "B", "C"));
+        List<String> drained = new ArrayList<>();
+        
+        // Act & Assert
+        assertEquals(2, sharedBuffer.drainTo(drained, 2));
+        assertEquals(List.of("A", "B"), drained);
+        assertEquals(1, sharedBuffer.drainTo(drained, 10));
+        assertEquals(List.of("A", "B", "C"), drained);
+        assertThrows(IllegalArgumentException.class, () -> sharedBuffer.drainTo(drained, 0));
+    }
+    
+    @Test
+    void testContainerBulkOperations() {
+        // Arrange
+        Container<Integer> container = new Container<>("Bulk");
+        container.addAll(List.of(1, 2, 3, 4, 5));
+        
+        // Assert - ranges are clipped to the container size
+        assertEquals(5, container.size());
+        assertEquals(List.of(2, 3), container.getRange(1, 3));
+        assertEquals(List.of(4, 5), container.getRange(3, 100));
+        assertTrue(container.getRange(5, 10).isEmpty());
+    }
 }
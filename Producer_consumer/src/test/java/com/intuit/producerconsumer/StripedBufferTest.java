@@ -0,0 +1,117 @@
+package com.intuit.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for the striped (multi-lane) buffer.
+ */
+class StripedBufferTest {
+    
+    @Test
+    void testEachLaneHoldsItsShareOfTheCapacity() {
+        StripedBuffer<Integer> buffer = new StripedBuffer<>(3, 2);
+        BoundedBuffer<Integer> lane0 = buffer.lane(0);
+        BoundedBuffer<Integer> lane1 = buffer.lane(1);
+        assertEquals(2, buffer.laneCapacity(), "Capacity is split over the lanes, rounded up");
+        assertEquals(4, buffer.capacity());
+        
+        assertTrue(lane0.offer(1));
+        assertTrue(lane0.offer(2));
+        assertFalse(lane0.offer(3), "Budget is per lane, not global");
+        assertTrue(lane1.offer(4), "A full lane does not block the others");
+        assertEquals(3, buffer.size());
+        assertEquals(2, lane0.size());
+        
+        // Consumers take from every lane
+        Set<Integer> taken = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            taken.add(buffer.poll());
+        }
+        assertEquals(Set.of(1, 2, 4), taken);
+        assertTrue(lane0.offer(3), "Consuming frees budget in the lane it came from");
+        assertEquals(3, buffer.poll());
+        assertNull(buffer.poll());
+    }
+    
+    @Test
+    void testCloseWakesProducerBlockedOnFullLane() throws InterruptedException {
+        StripedBuffer<Integer> buffer = new StripedBuffer<>(2, 2);
+        BoundedBuffer<Integer> lane0 = buffer.lane(0);
+        lane0.produce(1);
+        
+        List<Throwable> failures = new ArrayList<>();
+        Thread producer = new Thread(() -> {
+            try {
+                lane0.produce(2);
+            } catch (Throwable t) {
+                failures.add(t);
+            }
+        });
+        producer.start();
+        buffer.close();
+        producer.join(5_000);
+        
+        assertFalse(producer.isAlive(), "close() should wake a producer waiting on its lane");
+        assertInstanceOf(IllegalStateException.class, failures.get(0));
+        assertEquals(1, buffer.consume());
+        assertNull(buffer.consume(), "Closed and drained buffer should report end of stream");
+    }
+    
+    @Test
+    void testPerProducerOrderIsPreservedAcrossLanes() throws InterruptedException {
+        int producerCount = 4;
+        int consumerCount = 3;
+        int itemsPerProducer = 10_000;
+        StripedBuffer<String> buffer = new StripedBuffer<>(32, producerCount);
+        
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            Container<String> source = new Container<>("Source-" + p);
+            for (int i = 0; i < itemsPerProducer; i++) {
+                source.add(p + ":" + i);
+            }
+            producers.add(new Thread(new Producer<>("P" + p, source, buffer.lane(p), 0)));
+        }
+        List<Thread> consumers = new ArrayList<>();
+        List<Container<String>> destinations = new ArrayList<>();
+        for (int c = 0; c < consumerCount; c++) {
+            Container<String> destination = new Container<>("Dest-" + c);
+            destinations.add(destination);
+            consumers.add(new Thread(new Consumer<>("C" + c, buffer, destination, 0)));
+        }
+        
+        consumers.forEach(Thread::start);
+        producers.forEach(Thread::start);
+        for (Thread producer : producers) {
+            producer.join(20_000);
+            assertFalse(producer.isAlive(), "Producers should have completed");
+        }
+        buffer.close();
+        for (Thread consumer : consumers) {
+            consumer.join(20_000);
+            assertFalse(consumer.isAlive(), "Consumers should stop once the buffer is closed and empty");
+        }
+        
+        Set<String> seen = new HashSet<>();
+        for (Container<String> destination : destinations) {
+            int[] lastIndex = new int[producerCount];
+            Arrays.fill(lastIndex, -1);
+            for (String item : destination.getAll()) {
+                String[] parts = item.split(":");
+                int producer = Integer.parseInt(parts[0]);
+                int index = Integer.parseInt(parts[1]);
+                assertTrue(index > lastIndex[producer], "Per-producer FIFO order violated: " + item);
+                lastIndex[producer] = index;
+                assertTrue(seen.add(item), "Duplicate item: " + item);
+            }
+        }
+        assertEquals(producerCount * itemsPerProducer, seen.size(), "Every item should be consumed once");
+        assertTrue(buffer.isEmpty());
+    }
+}
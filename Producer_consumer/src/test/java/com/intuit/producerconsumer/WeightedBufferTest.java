@@ -0,0 +1,109 @@
+package com.intuit.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for the weight-budget buffer.
+ */
+class WeightedBufferTest {
+    
+    @Test
+    void testProducerWaitsUntilWeightIsReleased() throws InterruptedException {
+        WeightedBuffer<String> buffer = new WeightedBuffer<>(10, Weigher.utf16Bytes());
+        buffer.produce("abc");
+        buffer.produce("d");
+        assertEquals(8, buffer.getCurrentWeight());
+        assertFalse(buffer.offer("ef"), "12 bytes do not fit into 10");
+        assertTrue(buffer.offer(""), "Zero weight always fits");
+        
+        Thread producer = Thread.ofPlatform().start(() -> {
+            try {
+                buffer.produce("ef");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.join(200);
+        assertTrue(producer.isAlive(), "Producer should wait for the budget");
+        
+        assertEquals("abc", buffer.consume());
+        producer.join(5_000);
+        assertFalse(producer.isAlive());
+        assertEquals(6, buffer.getCurrentWeight());
+        assertEquals(8, buffer.getPeakWeight());
+        assertEquals(1, buffer.getProducerWaitCount());
+        assertEquals(List.of("d", "", "ef"), List.of(buffer.poll(), buffer.poll(), buffer.poll()));
+        assertEquals(0, buffer.getCurrentWeight());
+    }
+    
+    @Test
+    void testOversizeItemWaitsForEmptyBufferAndBlocksLaterProducers() throws InterruptedException {
+        WeightedBuffer<byte[]> buffer = new WeightedBuffer<>(100, Weigher.byteArrayLength());
+        buffer.produce(new byte[60]);
+        
+        List<Integer> order = new ArrayList<>();
+        Thread large = Thread.ofPlatform().start(() -> produce(buffer, new byte[500]));
+        while (buffer.getProducerWaitCount() == 0) {
+            Thread.sleep(1);
+        }
+        // Fits by weight, but must queue behind the waiting large item
+        assertFalse(buffer.offer(new byte[10]));
+        Thread small = Thread.ofPlatform().start(() -> produce(buffer, new byte[10]));
+        while (buffer.getProducerWaitCount() < 2) {
+            Thread.sleep(1);
+        }
+        
+        order.add(buffer.consume().length);
+        large.join(5_000);
+        assertFalse(large.isAlive());
+        assertEquals(500, buffer.getCurrentWeight(), "Oversize item admitted once the buffer is empty");
+        assertTrue(small.isAlive(), "Nothing fits next to the oversize item");
+        
+        order.add(buffer.consume().length);
+        small.join(5_000);
+        order.add(buffer.consume().length);
+        assertEquals(List.of(60, 500, 10), order);
+        
+        assertThrows(IllegalArgumentException.class,
+            () -> new WeightedBuffer<String>(10, item -> -1).offer("x"));
+    }
+    
+    @Test
+    void testConcurrentTransferStaysWithinBudget() throws InterruptedException {
+        WeightedBuffer<byte[]> buffer = new WeightedBuffer<>(1_000, Weigher.byteArrayLength());
+        AtomicLong received = new AtomicLong();
+        Thread consumer = Thread.ofPlatform().start(() -> {
+            try {
+                byte[] item;
+                while ((item = buffer.consume()) != null) {
+                    received.addAndGet(item.length);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        long sent = 0;
+        for (int i = 0; i < 10_000; i++) {
+            byte[] item = new byte[1 + i % 200];
+            sent += item.length;
+            buffer.produce(item);
+        }
+        buffer.close();
+        consumer.join(10_000);
+        
+        assertEquals(sent, received.get());
+        assertTrue(buffer.getPeakWeight() <= 1_000, "Peak weight " + buffer.getPeakWeight());
+    }
+    
+    private static void produce(WeightedBuffer<byte[]> buffer, byte[] item) {
+        try {
+            buffer.produce(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.intuit.producerconsumer.blockingqueue;
+
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.event.BufferEventListener;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Tests the poison-pill end-of-stream protocol of the BlockingQueue consumer.
+ */
+class BlockingQueuePoisonPillTest {
+    
+    @Test
+    void testOnePillStopsEveryConsumer() throws InterruptedException {
+        BlockingQueue<String> queue = new ArrayBlockingQueue<>(4);
+        Container<String> source = new Container<>("Source");
+        Container<String> destination = new Container<>("Destination");
+        for (int i = 0; i < 50; i++) {
+            source.add("Item-" + i);
+        }
+        
+        Thread producer = new Thread(new BlockingQueueProducer<>("P", source, queue, 0));
+        Thread consumer1 = new Thread(BlockingQueueConsumer.untilPoisonPill(
+            "C1", queue, destination, "EOF", 0, BufferEventListener.NO_OP));
+        Thread consumer2 = new Thread(BlockingQueueConsumer.untilPoisonPill(
+            "C2", queue, destination, "EOF", 0, BufferEventListener.NO_OP));
+        producer.start();
+        consumer1.start();
+        consumer2.start();
+        
+        producer.join(5000);
+        queue.put("EOF");
+        consumer1.join(5000);
+        consumer2.join(5000);
+        
+        assertFalse(consumer1.isAlive());
+        assertFalse(consumer2.isAlive());
+        assertEquals(50, destination.size(), "The pill must not reach the destination");
+        assertEquals("EOF", queue.peek(), "The pill stays in the queue for late consumers");
+    }
+}
@@ -0,0 +1,201 @@
+package com.intuit.producerconsumer.durable;
+
+import com.intuit.producerconsumer.Consumer;
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.Producer;
+import com.intuit.producerconsumer.offheap.FrameSerializer;
+import com.intuit.producerconsumer.offheap.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for the memory-mapped durable queue: resume after a restart,
+ * segment rolling/deletion and recovery from a torn write.
+ */
+class DurableQueueTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void testReopenedQueueResumesAfterLastConsumedItem() throws Exception {
+        DurableQueue<String> queue = open();
+        for (int i = 0; i < 100; i++) {
+            queue.produce("Item-" + i);
+        }
+        for (int i = 0; i < 40; i++) {
+            assertEquals("Item-" + i, queue.consume());
+        }
+        
+        // Simulated crash: the old instance is abandoned without close()
+        DurableQueue<String> reopened = open();
+        assertEquals(60, reopened.size(), "Unread frames should be recovered");
+        for (int i = 40; i < 100; i++) {
+            assertEquals("Item-" + i, reopened.poll(), "Consumer should resume exactly where it stopped");
+        }
+        assertNull(reopened.poll());
+        
+        // The recovered queue keeps appending after the old tail
+        reopened.produce("After-restart");
+        reopened.close();
+        assertEquals("After-restart", open().poll());
+    }
+    
+    @Test
+    void testSegmentsRollAndConsumedSegmentsAreDeleted() throws Exception {
+        // 64-byte segments: each holds a handful of short frames
+        DurableQueue<String> queue = open();
+        List<String> read = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            queue.produce("x".repeat(i % 7) + i);
+            if (i % 3 == 0) {
+                read.add(queue.poll());
+            }
+        }
+        assertTrue(segmentFiles() > 2, "The backlog should span several segments");
+        
+        String item;
+        while ((item = queue.poll()) != null) {
+            read.add(item);
+        }
+        
+        for (int i = 0; i < 200; i++) {
+            assertEquals("x".repeat(i % 7) + i, read.get(i), "Frames should be read in FIFO order");
+        }
+        assertEquals(1, segmentFiles(), "Only the segment being written should remain");
+        assertEquals(1, queue.getSegmentCount());
+        assertEquals(0, queue.usedBytes());
+    }
+    
+    @Test
+    void testTornLastFrameIsDiscardedOnRecovery() throws Exception {
+        DurableQueue<String> queue = new DurableQueue<>(directory, StringSerializer.INSTANCE,
+            256, 4096, FsyncPolicy.EVERY_WRITE);
+        queue.produce("first");
+        queue.produce("second");
+        queue.produce("third");
+        queue.close();
+        
+        // Corrupt one payload byte of "third" (frames: 8 header + 10/12/10 payload, aligned to 8)
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f}), 24 + 24 + 8);
+        }
+        
+        DurableQueue<String> recovered = new DurableQueue<>(directory, StringSerializer.INSTANCE,
+            256, 4096, FsyncPolicy.EVERY_WRITE);
+        assertEquals(2, recovered.size(), "The corrupt frame marks the end of the log");
+        assertEquals("first", recovered.poll());
+        assertEquals("second", recovered.poll());
+        assertNull(recovered.poll());
+        
+        // The torn space is reused by the next append
+        recovered.produce("replacement");
+        assertEquals("replacement", recovered.poll());
+    }
+    
+    @Test
+    void testSerializerFailureAtSegmentEndLeavesQueueUsable() throws Exception {
+        FrameSerializer<String> failing = new FrameSerializer<>() {
+            @Override
+            public int sizeOf(String item) {
+                return StringSerializer.INSTANCE.sizeOf(item);
+            }
+            
+            @Override
+            public void write(String item, ByteBuffer frame) {
+                if (item.startsWith("fail")) {
+                    throw new IllegalArgumentException("Cannot encode " + item);
+                }
+                StringSerializer.INSTANCE.write(item, frame);
+            }
+            
+            @Override
+            public String read(ByteBuffer frame) {
+                return StringSerializer.INSTANCE.read(frame);
+            }
+        };
+        DurableQueue<String> queue = new DurableQueue<>(directory, failing, 64, 64 * 1024, FsyncPolicy.ON_ROLL);
+        // 32 of 64 bytes used: the 40-byte frame of the failing item would start the next segment
+        queue.produce("a".repeat(12));
+        assertThrows(IllegalArgumentException.class, () -> queue.produce("fail".repeat(4)));
+        queue.produce("b");
+        queue.produce("c".repeat(16));
+        
+        assertEquals("a".repeat(12), queue.poll());
+        assertEquals("b", queue.poll());
+        assertEquals("c".repeat(16), queue.poll());
+        assertNull(queue.poll());
+        
+        queue.produce("d");
+        assertEquals("d", open().poll(), "The log stays readable after a restart");
+    }
+    
+    @Test
+    void testSegmentEndMarkerWithoutFrameIsDiscardedOnRecovery() throws Exception {
+        DurableQueue<String> queue = open();
+        queue.produce("a".repeat(12));
+        
+        // Crash between marking the segment end (at byte 32) and completing the frame behind it
+        try (FileChannel channel = FileChannel.open(directory.resolve("00000000000000000000.seg"),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, -1), 32);
+        }
+        
+        DurableQueue<String> recovered = open();
+        assertEquals(1, recovered.size());
+        assertEquals("a".repeat(12), recovered.poll());
+        assertNull(recovered.poll());
+        assertEquals(0, recovered.usedBytes());
+        
+        recovered.produce("b");
+        recovered.produce("c".repeat(16));
+        assertEquals("b", recovered.poll());
+        assertEquals("c".repeat(16), recovered.poll());
+        assertNull(recovered.poll());
+    }
+    
+    @Test
+    void testProducerAndConsumerThreadsThroughDurableQueue() throws Exception {
+        DurableQueue<String> queue = new DurableQueue<>(directory, StringSerializer.INSTANCE,
+            4096, 8192, FsyncPolicy.NEVER);
+        Container<String> source = new Container<>("Source");
+        Container<String> destination = new Container<>("Destination");
+        for (int i = 0; i < 20_000; i++) {
+            source.add("Item-" + i);
+        }
+        
+        Thread producer = new Thread(new Producer<>("Producer", source, queue, 0));
+        Thread consumer = new Thread(new Consumer<>("Consumer", queue, destination, 0));
+        producer.start();
+        consumer.start();
+        producer.join();
+        queue.close();
+        consumer.join();
+        
+        assertEquals(source.getAll(), destination.getAll(), "Every item should arrive once, in order");
+    }
+    
+    private DurableQueue<String> open() throws IOException {
+        return new DurableQueue<>(directory, StringSerializer.INSTANCE, 64, 64 * 1024, FsyncPolicy.ON_ROLL);
+    }
+    
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".seg")).count();
+        }
+    }
+}
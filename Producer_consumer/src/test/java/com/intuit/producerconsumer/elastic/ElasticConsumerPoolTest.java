@@ -0,0 +1,111 @@
+package com.intuit.producerconsumer.elastic;
+
+import com.intuit.producerconsumer.ConditionSharedBuffer;
+import com.intuit.producerconsumer.Container;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Unit tests for ElasticConsumerPool and ScalingPolicy.
+ */
+class ElasticConsumerPoolTest {
+    
+    @Test
+    void testDecisionsUseStreaksCooldownAndBounds() {
+        ConditionSharedBuffer<Integer> buffer = new ConditionSharedBuffer<>(10);
+        ScalingPolicy policy = ScalingPolicy.between(1, 3).watermarks(0.8, 0.2).samples(2, 3).cooldown(1);
+        ElasticConsumerPool<Integer> pool =
+            new ElasticConsumerPool<>("Pool", buffer, 10, new Container<>("Destination"), 0, policy);
+        
+        // One high sample is a spike, two in a row scale up
+        assertEquals(1, pool.decide(1, 0.9, 0.0));
+        assertEquals(1, pool.decide(1, 0.5, 0.0), "Between the watermarks resets the streak");
+        assertEquals(1, pool.decide(1, 0.9, 0.0));
+        assertEquals(2, pool.decide(1, 0.9, 0.0));
+        assertEquals(2, pool.decide(2, 1.0, 0.0), "Cooldown sample is ignored");
+        assertEquals(2, pool.decide(2, 1.0, 0.0));
+        assertEquals(3, pool.decide(2, 1.0, 0.0));
+        assertEquals(3, pool.decide(3, 1.0, 0.0));
+        assertEquals(3, pool.decide(3, 1.0, 0.0));
+        assertEquals(3, pool.decide(3, 1.0, 0.0), "Never above max");
+        
+        // Low occupancy only counts while the consumers are idle
+        assertEquals(3, pool.decide(3, 0.0, 0.1));
+        assertEquals(3, pool.decide(3, 0.0, 0.9));
+        assertEquals(3, pool.decide(3, 0.0, 0.9));
+        assertEquals(2, pool.decide(3, 0.0, 0.9));
+        
+        assertThrows(IllegalArgumentException.class, () -> ScalingPolicy.between(2, 1));
+        assertThrows(IllegalArgumentException.class, () -> ScalingPolicy.between(1, 2).watermarks(0.2, 0.8));
+    }
+    
+    @Test
+    void testPoolGrowsUnderBacklogAndShrinksWhenIdle() throws InterruptedException {
+        ConditionSharedBuffer<Integer> buffer = new ConditionSharedBuffer<>(100);
+        Container<Integer> destination = new Container<>("Destination");
+        ScalingPolicy policy = ScalingPolicy.between(1, 4).samples(1, 2).cooldown(0).sampleInterval(10);
+        ElasticConsumerPool<Integer> pool =
+            new ElasticConsumerPool<>("Pool", buffer, 100, destination, 5, policy);
+        
+        // A full buffer before start: the slow single consumer cannot keep up
+        for (int i = 0; i < 100; i++) {
+            buffer.produce(i);
+        }
+        pool.start();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (pool.getConsumerCount() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(pool.getConsumerCount() >= 2, "Backlog should add consumers");
+        
+        // Drained and idle: back to the minimum
+        deadline = System.currentTimeMillis() + 10_000;
+        while ((pool.getConsumerCount() > 1 || !buffer.isEmpty()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, pool.getConsumerCount(), "Idle consumers should be retired");
+        assertTrue(pool.getScaleDownCount() > 0);
+        
+        buffer.close();
+        assertTrue(pool.awaitTermination(5_000));
+        assertEquals(100, destination.size());
+        assertEquals(100, pool.getProcessedCount());
+        assertEquals(pool.getScaleUpCount() + pool.getScaleDownCount(), pool.getScalingEvents().size());
+        assertTrue(pool.getPeakConsumerCount() <= 4);
+    }
+    
+    @Test
+    void testWorkerKilledByExceptionIsReplaced() throws InterruptedException {
+        ConditionSharedBuffer<Integer> buffer = new ConditionSharedBuffer<>(100);
+        AtomicBoolean failed = new AtomicBoolean();
+        Container<Integer> destination = new Container<>("Destination") {
+            @Override
+            public synchronized void add(Integer item) {
+                if (item == 3 && failed.compareAndSet(false, true)) {
+                    throw new IllegalStateException("Destination rejected item " + item);
+                }
+                super.add(item);
+            }
+        };
+        // Watermarks never reached: only the replacement can bring the pool back to two
+        ScalingPolicy policy = ScalingPolicy.between(2, 4).watermarks(1.0, 0.0).sampleInterval(10);
+        ElasticConsumerPool<Integer> pool =
+            new ElasticConsumerPool<>("Pool", buffer, 100, destination, 0, policy);
+        pool.start();
+        for (int i = 0; i < 10; i++) {
+            buffer.produce(i);
+        }
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((destination.size() < 9 || pool.getConsumerCount() < 2) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        
+        assertTrue(failed.get());
+        assertEquals(2, pool.getConsumerCount(), "The dead worker should be replaced");
+        assertTrue(pool.getScalingEvents().isEmpty(), "A replacement is not a scaling decision");
+        buffer.close();
+        assertTrue(pool.awaitTermination(5_000));
+        assertEquals(9, destination.size(), "Only the rejected item is lost");
+    }
+}
@@ -0,0 +1,139 @@
+package com.intuit.producerconsumer.event;
+
+import com.intuit.producerconsumer.ConditionSharedBuffer;
+import com.intuit.producerconsumer.SharedBuffer;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for the buffer event listener implementations.
+ */
+class BufferEventListenerTest {
+    
+    @Test
+    void testCountingListenerSeesEveryTransfer() throws InterruptedException {
+        CountingEventListener counter = new CountingEventListener();
+        SharedBuffer<Integer> buffer = new SharedBuffer<>(10, counter);
+        
+        buffer.produce(1);
+        buffer.offer(2);
+        buffer.produceAll(List.of(3, 4, 5));
+        buffer.consume();
+        buffer.poll();
+        buffer.drainTo(new ArrayList<>(), 10);
+        
+        assertEquals(5, counter.getProducedCount());
+        assertEquals(5, counter.getConsumedCount());
+        assertEquals(0, counter.getProducerWaitCount());
+    }
+    
+    @Test
+    void testCountingListenerSeesConsumerWait() throws InterruptedException {
+        CountingEventListener counter = new CountingEventListener();
+        ConditionSharedBuffer<String> buffer = new ConditionSharedBuffer<>(1, false, counter);
+        
+        Thread consumer = new Thread(() -> {
+            try {
+                buffer.consume();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        while (consumer.getState() != Thread.State.WAITING) {
+            Thread.sleep(5);
+        }
+        buffer.produce("wake-up");
+        consumer.join(1000);
+        
+        assertEquals(1, counter.getConsumerWaitCount());
+        assertEquals(1, counter.getConsumedCount());
+    }
+    
+    @Test
+    void testWaitIsReportedAfterTheLockIsReleased() throws InterruptedException {
+        List<Boolean> heldLock = new ArrayList<>();
+        AtomicReference<SharedBuffer<String>> holder = new AtomicReference<>();
+        holder.set(new SharedBuffer<>(1, new BufferEventListener() {
+            @Override
+            public void onProducerWaiting() {
+                synchronized (heldLock) {
+                    heldLock.add(Thread.holdsLock(holder.get()));
+                }
+            }
+        }));
+        SharedBuffer<String> buffer = holder.get();
+        buffer.produce("first");
+        
+        Thread producer = new Thread(() -> {
+            try {
+                buffer.produce("second");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        while (producer.getState() != Thread.State.WAITING) {
+            Thread.sleep(5);
+        }
+        synchronized (heldLock) {
+            assertTrue(heldLock.isEmpty(), "Nothing is reported while the producer still waits");
+        }
+        buffer.consume();
+        producer.join(1000);
+        
+        synchronized (heldLock) {
+            assertEquals(List.of(false), heldLock, "Wait reported once, outside the monitor");
+        }
+    }
+    
+    @Test
+    void testAsyncLoggerPrintsClassicLinesOnClose() throws InterruptedException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AsyncLoggingEventListener logger = new AsyncLoggingEventListener(new PrintStream(bytes, true), 64);
+        SharedBuffer<String> buffer = new SharedBuffer<>(5, logger);
+        
+        buffer.produce("Item-1");
+        buffer.consume();
+        logger.close();
+        
+        String output = bytes.toString();
+        String thread = Thread.currentThread().getName();
+        assertTrue(output.contains(thread + " - Produced: Item-1 | Buffer size: 1"), output);
+        assertTrue(output.contains(thread + " - Consumed: Item-1 | Buffer size: 0"), output);
+        assertEquals(0, logger.getDroppedCount());
+    }
+    
+    @Test
+    void testAsyncLoggerDropsInsteadOfBlockingWhenFull() throws InterruptedException {
+        // A stream that blocks keeps the printer thread stuck on the first event
+        Object gate = new Object();
+        PrintStream slow = new PrintStream(new ByteArrayOutputStream()) {
+            @Override
+            public void println(String line) {
+                synchronized (gate) {
+                    try {
+                        gate.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+        AsyncLoggingEventListener logger = new AsyncLoggingEventListener(slow, 4);
+        
+        for (int i = 0; i < 100; i++) {
+            logger.onProduced(i, 0);
+        }
+        
+        assertTrue(logger.getDroppedCount() > 0, "Events beyond the ring capacity should be dropped");
+        synchronized (gate) {
+            gate.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.intuit.producerconsumer.flow;
+
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.SharedBuffer;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the Flow publishers/subscribers over Container and SharedBuffer.
+ */
+class FlowAdaptersTest {
+    
+    @Test
+    void testContainerToContainerUsesBatchedDemand() throws Exception {
+        Container<Integer> source = new Container<>("Source");
+        for (int i = 0; i < 10_000; i++) {
+            source.add(i);
+        }
+        Container<Integer> destination = new Container<>("Destination");
+        ContainerSubscriber<Integer> subscriber = new ContainerSubscriber<>(destination, 100);
+        
+        new ContainerPublisher<>(source).subscribe(subscriber);
+        subscriber.getCompletion().get(10, TimeUnit.SECONDS);
+        
+        assertEquals(source.getAll(), destination.getAll(), "All items should arrive in order");
+        // One initial request plus one top-up per half batch
+        assertEquals(1 + 10_000 / 50, subscriber.getRequestCount());
+    }
+    
+    @Test
+    void testPublisherNeverEmitsMoreThanRequested() throws Exception {
+        Container<Integer> source = new Container<>("Source");
+        for (int i = 0; i < 100; i++) {
+            source.add(i);
+        }
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        new ContainerPublisher<>(source, Runnable::run).subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+            
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+            }
+            
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+            
+            @Override
+            public void onComplete() {
+            }
+        });
+        
+        assertTrue(received.isEmpty(), "Nothing may be emitted before request(n)");
+        subscription[0].request(3);
+        assertEquals(List.of(0, 1, 2), received);
+        subscription[0].request(2);
+        assertEquals(List.of(0, 1, 2, 3, 4), received);
+    }
+    
+    @Test
+    void testSubmissionPublisherThroughSharedBufferToContainer() throws Exception {
+        // A tiny buffer forces the subscriber to hold items back and retry
+        SharedBuffer<Integer> buffer = new SharedBuffer<>(4);
+        Container<Integer> sink = new Container<>("Sink");
+        ContainerSubscriber<Integer> drainer = new ContainerSubscriber<>(sink, 16);
+        new BufferPublisher<>(buffer).subscribe(drainer);
+        
+        BufferSubscriber<Integer> feeder = new BufferSubscriber<>(buffer, 16);
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(feeder);
+            for (int i = 0; i < 2_000; i++) {
+                publisher.submit(i);
+            }
+        }
+        drainer.getCompletion().get(10, TimeUnit.SECONDS);
+        
+        assertEquals(2_000, sink.size());
+        for (int i = 0; i < 2_000; i++) {
+            assertEquals(i, sink.get(i), "Order should be preserved across the buffer");
+        }
+        assertTrue(buffer.isClosed(), "onComplete should close the buffer");
+        assertNull(feeder.getError());
+    }
+    
+    @Test
+    void testIdlePublisherBacksOffPolling() throws Exception {
+        AtomicInteger polls = new AtomicInteger();
+        SharedBuffer<Integer> buffer = new SharedBuffer<>(4) {
+            @Override
+            public Integer poll() {
+                polls.incrementAndGet();
+                return super.poll();
+            }
+        };
+        Container<Integer> sink = new Container<>("Sink");
+        ContainerSubscriber<Integer> drainer = new ContainerSubscriber<>(sink, 16);
+        // 100us doubling up to 1.6ms: at a fixed 100us, 100ms idle would be ~1000 polls
+        new BufferPublisher<>(buffer, ForkJoinPool.commonPool(), 100, 1_600).subscribe(drainer);
+        
+        Thread.sleep(100);
+        assertTrue(polls.get() < 150, "Idle polling should back off, got " + polls.get() + " polls");
+        
+        buffer.produce(1);
+        buffer.close();
+        drainer.getCompletion().get(10, TimeUnit.SECONDS);
+        assertEquals(List.of(1), sink.getAll(), "Items should still arrive after a long idle period");
+    }
+}
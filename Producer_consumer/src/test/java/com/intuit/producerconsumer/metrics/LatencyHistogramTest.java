@@ -0,0 +1,129 @@
+package com.intuit.producerconsumer.metrics;
+
+import com.intuit.producerconsumer.Consumer;
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.Producer;
+import com.intuit.producerconsumer.SharedBuffer;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the latency histogram, per-thread recorders and TrackedBuffer.
+ */
+class LatencyHistogramTest {
+    
+    @Test
+    void testPercentilesStayWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(42);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // Spread over six orders of magnitude (1us .. 1s)
+            values[i] = (long) Math.pow(10, 3 + random.nextDouble() * 6);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(values[values.length - 1], histogram.getMax(), "Max should be exact");
+        for (double percentile : new double[] {50, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.getValueAtPercentile(percentile);
+            assertTrue(reported >= exact && reported <= exact * 1.125,
+                "p" + percentile + " should be within 12.5%: exact=" + exact + " reported=" + reported);
+        }
+    }
+    
+    @Test
+    void testBucketsCoverTheWholeLongRange() {
+        for (long value : new long[] {0, 1, 7, 8, 9, 1_000, 123_456_789L, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.bucketUpperBound(index) >= value, "Upper bound below " + value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.bucketUpperBound(index - 1) < value, "Wrong bucket for " + value);
+            }
+        }
+    }
+    
+    @Test
+    void testRecordersMergePerThreadHistograms() throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder("test");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 1; t <= 4; t++) {
+            long value = t * 1_000L;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    recorder.record(value);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        LatencyHistogram merged = recorder.snapshot();
+        assertEquals(40_000, merged.getCount());
+        assertEquals(4_000, merged.getMax());
+        assertEquals(2_048 - 1, merged.getValueAtPercentile(50), "p50 falls in the 2000ns bucket");
+    }
+    
+    @Test
+    void testTrackedBufferRecordsQueueAndSinkTime() throws InterruptedException {
+        LatencyTracker tracker = new LatencyTracker();
+        TrackedBuffer<String> buffer = new TrackedBuffer<>(new SharedBuffer<>(4), tracker);
+        Container<String> source = new Container<>("Source");
+        for (int i = 0; i < 100; i++) {
+            source.add("Item-" + i);
+        }
+        Container<String> destination = new Container<>("Destination");
+        
+        Thread producer = new Thread(new Producer<>("P", source, buffer, 0));
+        Thread consumer = new Thread(new Consumer<>(
+            "C", buffer, destination, Consumer.UNTIL_CLOSED, 1, 1, tracker));
+        producer.start();
+        consumer.start();
+        producer.join();
+        buffer.close();
+        consumer.join();
+        
+        assertEquals(source.getAll(), destination.getAll(), "Items should arrive unwrapped and in order");
+        assertEquals(100, tracker.queueTime().snapshot().getCount());
+        assertEquals(100, tracker.sinkTime().snapshot().getCount());
+        // The consumer sleeps 1ms per item while the buffer is full, so items wait in the queue
+        assertTrue(tracker.queueTime().snapshot().getValueAtPercentile(50) >= 1_000_000L);
+        assertTrue(tracker.report().contains("p99.9="));
+    }
+    
+    @Test
+    void testTrackedBufferForwardsBatchesToTheDelegate() throws InterruptedException {
+        LatencyTracker tracker = new LatencyTracker();
+        List<Integer> batchSizes = new ArrayList<>();
+        SharedBuffer<Envelope<String>> delegate = new SharedBuffer<>(8) {
+            @Override
+            public void produceAll(Collection<? extends Envelope<String>> items) throws InterruptedException {
+                batchSizes.add(items.size());
+                super.produceAll(items);
+            }
+        };
+        TrackedBuffer<String> buffer = new TrackedBuffer<>(delegate, tracker);
+        
+        buffer.produceAll(List.of("a", "b", "c"));
+        assertEquals(List.of(3), batchSizes, "The batch should reach the delegate in one call");
+        assertEquals(3, delegate.size());
+        
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertEquals(1, buffer.drainTo(drained, 5));
+        assertEquals(List.of("a", "b", "c"), drained, "Items should arrive unwrapped and in order");
+        assertEquals(3, tracker.queueTime().snapshot().getCount());
+        
+        buffer.close();
+        assertEquals(0, buffer.drainTo(drained, 5), "End of stream should pass through");
+    }
+}
@@ -0,0 +1,105 @@
+package com.intuit.producerconsumer.offheap;
+
+import com.intuit.producerconsumer.Consumer;
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.Producer;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the off-heap frame ring and its typed BoundedBuffer view.
+ */
+class OffHeapRingBufferTest {
+    
+    @Test
+    void testVariableLengthFramesWrapAroundInOrder() {
+        OffHeapRingBuffer ring = new OffHeapRingBuffer(64);
+        List<String> written = new ArrayList<>();
+        List<String> read = new ArrayList<>();
+        
+        // Many laps with frame sizes that do not divide the ring size
+        for (int i = 0; i < 500; i++) {
+            String item = "x".repeat(i % 10) + i;
+            while (!ring.offer(item, StringSerializer.INSTANCE)) {
+                // Full (or no contiguous space before the end): make room
+                String oldest = ring.poll(StringSerializer.INSTANCE);
+                assertNotNull(oldest, "An empty ring must accept every frame up to the maximum size");
+                read.add(oldest);
+            }
+            written.add(item);
+        }
+        String item;
+        while ((item = ring.poll(StringSerializer.INSTANCE)) != null) {
+            read.add(item);
+        }
+        
+        assertEquals(written, read, "Frames should come back intact and in FIFO order");
+        assertEquals(0, ring.frameCount());
+        assertEquals(0, ring.usedBytes());
+    }
+    
+    @Test
+    void testFullRingRejectsAndOversizedFrameFails() {
+        OffHeapRingBuffer ring = new OffHeapRingBuffer(32);
+        
+        // 4-byte header + 8-byte payload = 12 bytes per frame
+        assertTrue(ring.offer("abcd", StringSerializer.INSTANCE));
+        assertTrue(ring.offer("efgh", StringSerializer.INSTANCE));
+        assertFalse(ring.offer("ijkl", StringSerializer.INSTANCE), "Only 8 bytes left");
+        assertEquals("abcd", ring.poll(StringSerializer.INSTANCE));
+        
+        // Frames are limited to half of the ring: 16 bytes - 4 header bytes
+        assertEquals(12, ring.maxPayloadBytes());
+        assertThrows(IllegalArgumentException.class,
+            () -> ring.offer("0123456", StringSerializer.INSTANCE));
+    }
+    
+    @Test
+    void testConsumerReadsInPlaceView() {
+        OffHeapRingBuffer ring = new OffHeapRingBuffer(64);
+        ring.offer("hi", StringSerializer.INSTANCE);
+        
+        FrameSerializer<Boolean> inspector = new FrameSerializer<>() {
+            @Override
+            public int sizeOf(Boolean item) {
+                return 0;
+            }
+            
+            @Override
+            public void write(Boolean item, ByteBuffer frame) {
+            }
+            
+            @Override
+            public Boolean read(ByteBuffer frame) {
+                return frame.isDirect() && frame.isReadOnly() && frame.remaining() == 4;
+            }
+        };
+        assertTrue(ring.poll(inspector), "Reader should get a read-only view of the off-heap frame");
+    }
+    
+    @Test
+    void testProducerConsumerThroughSerializingBuffer() throws InterruptedException {
+        SerializingBuffer<String> buffer = new SerializingBuffer<>(256, StringSerializer.INSTANCE);
+        Container<String> source = new Container<>("Source");
+        for (int i = 0; i < 20_000; i++) {
+            source.add("Item-" + i);
+        }
+        Container<String> destination = new Container<>("Destination");
+        
+        Thread producer = new Thread(new Producer<>("P", source, buffer, 0));
+        Thread consumer = new Thread(new Consumer<>("C", buffer, destination, 0));
+        producer.start();
+        consumer.start();
+        producer.join(20_000);
+        buffer.close();
+        consumer.join(20_000);
+        
+        assertFalse(consumer.isAlive(), "Consumer should stop once the ring is closed and empty");
+        List<String> expected = new ArrayList<>(source.getAll());
+        assertEquals(expected, destination.getAll(), "Items should arrive intact and in order");
+        assertThrows(IllegalStateException.class, () -> buffer.produce("late"));
+    }
+}
@@ -0,0 +1,164 @@
+package com.intuit.producerconsumer.ordered;
+
+import com.intuit.producerconsumer.ConditionSharedBuffer;
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.OverflowStrategy;
+import com.intuit.producerconsumer.Producer;
+import com.intuit.producerconsumer.SharedBuffer;
+import com.intuit.producerconsumer.StripedBuffer;
+import com.intuit.producerconsumer.ringbuffer.MpmcRingBuffer;
+import com.intuit.producerconsumer.workstealing.WorkStealingBuffer;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Unit tests for SequencingBuffer, ReorderBuffer and OrderedConsumer.
+ */
+class OrderedDeliveryTest {
+    
+    @Test
+    void testReorderBufferEmitsInSequenceAndSkipsNulls() throws InterruptedException {
+        List<String> emitted = new ArrayList<>();
+        ReorderBuffer<String> reorderBuffer = new ReorderBuffer<>(8, emitted::add);
+        
+        reorderBuffer.release(2, "c");
+        reorderBuffer.release(1, null);
+        assertTrue(emitted.isEmpty(), "Nothing may be emitted before sequence 0");
+        assertEquals(2, reorderBuffer.getPendingCount());
+        
+        reorderBuffer.release(0, "a");
+        assertEquals(List.of("a", "c"), emitted, "Sequence 1 was skipped");
+        assertEquals(3, reorderBuffer.getNextSequence());
+        assertEquals(0, reorderBuffer.getPendingCount());
+        assertThrows(IllegalArgumentException.class, () -> reorderBuffer.release(1, "again"));
+    }
+    
+    @Test
+    void testReleaseWaitsWhileAWholeWindowAhead() throws InterruptedException {
+        List<Integer> emitted = new ArrayList<>();
+        ReorderBuffer<Integer> reorderBuffer = new ReorderBuffer<>(4, emitted::add);
+        for (int sequence = 1; sequence < 4; sequence++) {
+            reorderBuffer.release(sequence, sequence);
+        }
+        
+        // Sequence 4 does not fit while sequence 0 is missing
+        Thread ahead = Thread.ofPlatform().start(() -> {
+            try {
+                reorderBuffer.release(4, 4);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ahead.join(200);
+        assertTrue(ahead.isAlive(), "Release should wait for the window");
+        assertEquals(3, reorderBuffer.getPendingCount());
+        
+        reorderBuffer.release(0, 0);
+        ahead.join(5_000);
+        assertFalse(ahead.isAlive());
+        assertEquals(List.of(0, 1, 2, 3, 4), emitted);
+        assertEquals(1, reorderBuffer.getWindowWaitCount());
+        assertEquals(3, reorderBuffer.getMaxPending());
+    }
+    
+    @Test
+    void testParallelConsumersDeliverInSourceOrder() throws InterruptedException {
+        Container<Integer> source = new Container<>("Source");
+        for (int i = 0; i < 1_000; i++) {
+            source.add(i);
+        }
+        SequencingBuffer<Integer> buffer = new SequencingBuffer<>(new ConditionSharedBuffer<>(16));
+        Container<Integer> destination = new Container<>("Destination");
+        ReorderBuffer<Integer> reorderBuffer = new ReorderBuffer<>(32, destination);
+        
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < 4; c++) {
+            threads.add(Thread.ofPlatform().start(new OrderedConsumer<>("Ordered-" + c, buffer.getDelegate(),
+                (Integer item) -> {
+                    // Uneven work and a filter: every tenth item is dropped
+                    if (ThreadLocalRandom.current().nextInt(20) == 0) {
+                        Thread.yield();
+                    }
+                    return item % 10 == 9 ? null : item * 2;
+                }, reorderBuffer)));
+        }
+        Thread producer = Thread.ofPlatform().start(new Producer<>("Producer", source, buffer, 0, 7));
+        producer.join();
+        buffer.close();
+        for (Thread thread : threads) {
+            thread.join(10_000);
+        }
+        
+        assertEquals(1_000, reorderBuffer.getNextSequence());
+        assertEquals(900, destination.size());
+        int previous = -1;
+        for (Integer item : destination.getAll()) {
+            assertTrue(item > previous, "Items should leave in source order");
+            assertNotEquals(9, (item / 2) % 10, "Filtered items should not be emitted");
+            previous = item;
+        }
+        assertTrue(reorderBuffer.getMaxPending() < 32, "Parked results stay within the window");
+    }
+    
+    @Test
+    void testConsumerKilledByErrorDoesNotStallTheOthers() throws InterruptedException {
+        Container<Integer> source = new Container<>("Source");
+        for (int i = 0; i < 200; i++) {
+            source.add(i);
+        }
+        SequencingBuffer<Integer> buffer = new SequencingBuffer<>(new ConditionSharedBuffer<>(16));
+        Container<Integer> destination = new Container<>("Destination");
+        ReorderBuffer<Integer> reorderBuffer = new ReorderBuffer<>(8, destination);
+        List<Throwable> uncaught = new CopyOnWriteArrayList<>();
+        
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < 2; c++) {
+            threads.add(Thread.ofPlatform().uncaughtExceptionHandler((thread, e) -> uncaught.add(e))
+                .start(new OrderedConsumer<>("Ordered-" + c, buffer.getDelegate(), (Integer item) -> {
+                    if (item == 5) {
+                        throw new AssertionError("Fatal for item " + item);
+                    }
+                    return item;
+                }, reorderBuffer)));
+        }
+        Thread producer = Thread.ofPlatform().start(new Producer<>("Producer", source, buffer, 0, 7));
+        producer.join(10_000);
+        buffer.close();
+        for (Thread thread : threads) {
+            thread.join(10_000);
+            assertFalse(thread.isAlive(), "The surviving consumer must not wait for item 5");
+        }
+        
+        assertEquals(1, uncaught.size(), "The Error still ends its consumer");
+        assertEquals(200, reorderBuffer.getNextSequence());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            if (i != 5) {
+                expected.add(i);
+            }
+        }
+        assertEquals(expected, destination.getAll());
+    }
+    
+    @Test
+    void testSequencingBufferRejectsLossyOrUnorderedDelegates() throws InterruptedException {
+        assertThrows(IllegalArgumentException.class,
+            () -> new SequencingBuffer<Integer>(new SharedBuffer<>(4, OverflowStrategy.DROP_NEWEST)));
+        assertThrows(IllegalArgumentException.class,
+            () -> new SequencingBuffer<Integer>(new SharedBuffer<>(4, OverflowStrategy.DROP_OLDEST)));
+        assertThrows(IllegalArgumentException.class,
+            () -> new SequencingBuffer<Integer>(new StripedBuffer<>(4, 2)));
+        assertThrows(IllegalArgumentException.class,
+            () -> new SequencingBuffer<Integer>(new WorkStealingBuffer<>(4, 2)));
+        
+        SequencingBuffer<Integer> buffer = new SequencingBuffer<>(new MpmcRingBuffer<>(4));
+        buffer.produce(7);
+        buffer.produce(8);
+        assertEquals(0, buffer.getDelegate().consume().getSequence());
+        assertEquals(1, buffer.getDelegate().consume().getSequence());
+    }
+}
@@ -0,0 +1,49 @@
+package com.intuit.producerconsumer.pipeline;
+
+import com.intuit.producerconsumer.ConditionSharedBuffer;
+import com.intuit.producerconsumer.Consumer;
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.Producer;
+import com.intuit.producerconsumer.pipeline.PipelineRunner.ThreadMode;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for running producer/consumer pipelines on platform and virtual threads.
+ */
+class PipelineRunnerTest {
+    
+    @Test
+    void testThousandSlowConsumersOnVirtualThreads() throws InterruptedException {
+        int consumers = 1000;
+        Container<Integer> source = new Container<>("Source");
+        Container<Integer> destination = new Container<>("Destination");
+        for (int i = 0; i < consumers * 2; i++) {
+            source.add(i);
+        }
+        ConditionSharedBuffer<Integer> buffer = new ConditionSharedBuffer<>(64);
+        PipelineRunner runner = new PipelineRunner(ThreadMode.VIRTUAL);
+        
+        for (int c = 0; c < consumers; c++) {
+            runner.submit("C" + c, new Consumer<>("C" + c, buffer, destination, 2, 20));
+        }
+        Thread producer = runner.submit("P", new Producer<>("P", source, buffer, 0));
+        
+        assertTrue(producer.isVirtual());
+        assertEquals(consumers + 1, runner.getTaskCount());
+        // 1000 consumers sleeping 20ms per item would need ~40s if run one after another
+        assertTrue(runner.awaitCompletion(10_000), "All virtual threads should finish");
+        assertEquals(consumers * 2, destination.size());
+    }
+    
+    @Test
+    void testPlatformModeUsesNamedPlatformThreads() throws InterruptedException {
+        PipelineRunner runner = new PipelineRunner(ThreadMode.PLATFORM);
+        Thread thread = runner.submit("Worker-1", () -> { });
+        
+        assertFalse(thread.isVirtual());
+        assertEquals("Worker-1", thread.getName());
+        runner.awaitCompletion();
+        assertFalse(thread.isAlive());
+    }
+}
@@ -0,0 +1,112 @@
+package com.intuit.producerconsumer.pipeline;
+
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.pipeline.PipelineRunner.ThreadMode;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Unit tests for the multi-stage pipeline DSL.
+ */
+class PipelineTest {
+    
+    @Test
+    void testParallelStagesDeliverEveryItem() throws InterruptedException {
+        Container<String> source = new Container<>("Source");
+        for (int i = 0; i < 5_000; i++) {
+            source.add("record-" + i);
+        }
+        ConcurrentHashMap<Integer, LongAdder> histogram = new ConcurrentHashMap<>();
+        Container<Integer> destination = new Container<>("Destination");
+        
+        Pipeline pipeline = Pipeline.from(source)
+            .stage("parse", line -> Integer.parseInt(line.substring("record-".length())))
+                .parallelism(3).batchSize(32).bufferCapacity(64)
+            .stage("enrich", value -> value * 2).parallelism(2).batchSize(8)
+            .stage("aggregate", value -> {
+                histogram.computeIfAbsent(value % 10, key -> new LongAdder()).increment();
+                return value;
+            })
+            .threadMode(ThreadMode.VIRTUAL)
+            .to(destination);
+        pipeline.run();
+        
+        List<Integer> values = new ArrayList<>(destination.getAll());
+        Collections.sort(values);
+        assertEquals(5_000, values.size());
+        for (int i = 0; i < 5_000; i++) {
+            assertEquals(i * 2, values.get(i));
+        }
+        assertEquals(1_000, histogram.get(0).sum());
+        
+        List<StageStats> stats = pipeline.getStageStats();
+        assertEquals(List.of("parse", "enrich", "aggregate"), stats.stream().map(StageStats::getName).toList());
+        assertEquals(3, stats.get(0).getParallelism());
+        stats.forEach(stage -> assertEquals(5_000, stage.getItemsOut()));
+    }
+    
+    @Test
+    void testFusedStagesShareWorkersAndFilterNulls() throws InterruptedException {
+        Container<Integer> source = new Container<>("Source");
+        for (int i = 0; i < 1_000; i++) {
+            source.add(i);
+        }
+        Container<String> destination = new Container<>("Destination");
+        
+        Pipeline pipeline = Pipeline.from(source)
+            .stage("even", value -> value % 2 == 0 ? value : null)
+            .stage("check", value -> {
+                if (value % 100 == 0) {
+                    throw new IllegalArgumentException("rejected " + value);
+                }
+                return value;
+            }).fused()
+            .stage("format", value -> "#" + value).fused()
+            .to(destination);
+        pipeline.run();
+        
+        StageStats stage = pipeline.getStageStats().get(0);
+        assertEquals(1, pipeline.getStageStats().size(), "Fused stages form one physical stage");
+        assertEquals("even+check+format", stage.getName());
+        assertEquals(1_000, stage.getItemsIn());
+        assertEquals(490, stage.getItemsOut());
+        assertEquals(10, stage.getErrorCount(), "Throwing items are dropped and counted");
+        // A single worker keeps the input order
+        assertEquals("#2", destination.get(0));
+        assertEquals("#998", destination.get(489));
+        assertThrows(IllegalStateException.class, () -> Pipeline.from(source).stage("x", v -> v).fused());
+    }
+    
+    @Test
+    void testSlowStageIsReportedAsBottleneck() throws InterruptedException {
+        Container<Integer> source = new Container<>("Source");
+        for (int i = 0; i < 200; i++) {
+            source.add(i);
+        }
+        Container<Integer> destination = new Container<>("Destination");
+        
+        Pipeline pipeline = Pipeline.from(source)
+            .stage("fast", value -> value + 1)
+            .stage("slow", value -> {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return value;
+            }).bufferCapacity(16)
+            .to(destination);
+        pipeline.run();
+        
+        assertEquals(200, destination.size());
+        StageStats slow = pipeline.getStageStats().get(1);
+        assertSame(slow, pipeline.getBottleneck());
+        assertTrue(slow.getMaxQueueDepth() > 0, "Items should pile up in front of the slow stage");
+        assertTrue(pipeline.report().contains("Bottleneck: slow"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.intuit.producerconsumer.primitive;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the primitive-specialized buffers, containers and runnables.
+ */
+class PrimitiveBufferTest {
+    
+    @Test
+    void testIntBufferWrapsAroundInFifoOrder() throws InterruptedException {
+        IntSharedBuffer buffer = new IntSharedBuffer(4);
+        int[] drained = new int[4];
+        
+        buffer.putAll(new int[] {1, 2, 3}, 0, 3);
+        assertEquals(2, buffer.drainTo(drained, 0, 2));
+        // Tail now wraps past the end of the ring
+        buffer.putAll(new int[] {4, 5, 6}, 0, 3);
+        assertFalse(buffer.offer(7), "Full buffer should reject offer");
+        
+        assertEquals(4, buffer.drainTo(drained, 0, 4));
+        assertArrayEquals(new int[] {3, 4, 5, 6}, drained);
+        assertTrue(buffer.isEmpty());
+        
+        buffer.put(8);
+        assertEquals(8, buffer.take());
+    }
+    
+    @Test
+    void testLongProducerConsumerTransferInOrder() throws InterruptedException {
+        int valueCount = 100_000;
+        LongContainer source = new LongContainer("Source");
+        LongContainer destination = new LongContainer("Destination");
+        for (long i = 0; i < valueCount; i++) {
+            source.add(i * 3);
+        }
+        LongSharedBuffer buffer = new LongSharedBuffer(100);
+        
+        Thread producer = new Thread(new LongBufferProducer("P", source, buffer, 64, 0));
+        Thread consumer = new Thread(new LongBufferConsumer("C", buffer, destination, valueCount, 32, 0));
+        producer.start();
+        consumer.start();
+        producer.join(10_000);
+        consumer.join(10_000);
+        
+        assertArrayEquals(source.toArray(), destination.toArray(), "Values should match in order");
+        assertEquals(0, buffer.size());
+    }
+    
+    @Test
+    void testDoubleContainerBulkOperations() {
+        DoubleContainer container = new DoubleContainer("Doubles");
+        double[] values = new double[40];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i / 2.0;
+        }
+        container.addAll(values, 0, values.length);
+        
+        double[] range = new double[8];
+        assertEquals(8, container.copyRange(4, range, 0, 8));
+        assertEquals(2.0, range[0]);
+        assertEquals(3, container.copyRange(37, range, 0, 8), "Range should be clipped to size");
+        assertEquals(0, container.copyRange(40, range, 0, 8));
+        assertEquals(0, container.copyRange(1_000, range, 0, 8), "Far past the end copies nothing");
+        assertEquals(19.5, container.get(39));
+        assertThrows(IndexOutOfBoundsException.class, () -> container.get(40));
+        assertThrows(IndexOutOfBoundsException.class, () -> container.copyRange(-1, range, 0, 8));
+        assertThrows(IndexOutOfBoundsException.class, () -> container.copyRange(0, range, 4, 8));
+        assertThrows(IndexOutOfBoundsException.class, () -> container.addAll(values, 35, 8));
+        assertEquals(40, container.size(), "Rejected addAll should not change the container");
+    }
+    
+    @Test
+    void testIntConsumerStopsAtEndOfStream() throws InterruptedException {
+        IntSharedBuffer buffer = new IntSharedBuffer(8);
+        IntContainer destination = new IntContainer("Destination");
+        Thread consumer = new Thread(new IntBufferConsumer("C", buffer, destination,
+                IntBufferConsumer.UNTIL_CLOSED, 4, 0));
+        consumer.start();
+        
+        buffer.putAll(new int[] {1, 2, 3, 4, 5}, 0, 5);
+        buffer.close();
+        consumer.join(5_000);
+        
+        assertFalse(consumer.isAlive(), "Consumer should stop once the buffer is closed and drained");
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5}, destination.toArray());
+        assertEquals(0, buffer.drainTo(new int[4], 0, 4), "Closed, empty buffer should report end of stream");
+        assertThrows(IllegalStateException.class, buffer::take);
+        assertThrows(IllegalStateException.class, () -> buffer.put(6));
+        assertThrows(IllegalStateException.class, () -> buffer.offer(6));
+    }
+    
+    @Test
+    void testCloseWakesBlockedProducer() throws InterruptedException {
+        LongSharedBuffer buffer = new LongSharedBuffer(2);
+        buffer.putAll(new long[] {1, 2}, 0, 2);
+        Thread producer = new Thread(() -> {
+            try {
+                buffer.put(3);
+            } catch (IllegalStateException | InterruptedException e) {
+                // Expected: closed while waiting for space
+            }
+        });
+        producer.start();
+        
+        buffer.close();
+        producer.join(5_000);
+        
+        assertFalse(producer.isAlive(), "close() should wake a producer waiting for space");
+        assertEquals(2, buffer.size(), "Values already in the buffer stay available");
+    }
+}
@@ -0,0 +1,172 @@
+package com.intuit.producerconsumer.ringbuffer;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import com.intuit.producerconsumer.waitstrategy.BlockingWaitStrategy;
+import com.intuit.producerconsumer.waitstrategy.WaitStrategy;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Unit tests for the preallocated event ring.
+ */
+class EventRingTest {
+    
+    /**
+     * Mutable event used by the tests.
+     */
+    static final class LongEvent {
+        long value;
+    }
+    
+    @Test
+    void testSlotsAreReusedInOrderAcrossLaps() {
+        EventRing<LongEvent> ring = new EventRing<>(3, LongEvent::new);
+        assertEquals(4, ring.capacity());
+        Set<LongEvent> seen = new HashSet<>();
+        
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 4; i++) {
+                long sequence = ring.tryClaim();
+                assertEquals(lap * 4 + i, sequence);
+                ring.get(sequence).value = sequence * 10;
+                ring.publish(sequence);
+            }
+            assertEquals(EventRing.NO_SEQUENCE, ring.tryClaim(), "Full ring should refuse a claim");
+            for (int i = 0; i < 4; i++) {
+                long sequence = ring.tryTake();
+                assertEquals(sequence * 10, ring.get(sequence).value);
+                seen.add(ring.get(sequence));
+                ring.release(sequence);
+            }
+            assertEquals(EventRing.NO_SEQUENCE, ring.tryTake(), "Empty ring should have nothing to take");
+        }
+        assertEquals(4, seen.size(), "Only the four preallocated events are ever used");
+        
+        // A claimed but unpublished event is invisible to consumers
+        long sequence = ring.tryClaim();
+        assertEquals(EventRing.NO_SEQUENCE, ring.tryTake());
+        ring.publish(sequence);
+        assertEquals(sequence, ring.tryTake());
+    }
+    
+    @Test
+    void testProducerWaitsWhileTheNextSlotIsStillHeld() throws InterruptedException {
+        AtomicInteger waits = new AtomicInteger();
+        WaitStrategy blocking = new BlockingWaitStrategy();
+        WaitStrategy counting = new WaitStrategy() {
+            @Override
+            public void waitFor(BooleanSupplier condition) throws InterruptedException {
+                waits.incrementAndGet();
+                blocking.waitFor(condition);
+            }
+            
+            @Override
+            public void signalAll() {
+                blocking.signalAll();
+            }
+        };
+        EventRing<LongEvent> ring = new EventRing<>(1, LongEvent::new, counting);
+        assertEquals(2, ring.capacity(), "A ring has at least two slots");
+        ring.publish(ring.claim());
+        ring.publish(ring.claim());
+        
+        // Head moved past slot 0, but the consumer still holds its event
+        long held = ring.take();
+        AtomicLong claimed = new AtomicLong(EventRing.NO_SEQUENCE);
+        Thread producer = Thread.ofPlatform().start(() -> {
+            try {
+                claimed.set(ring.claim());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread.sleep(50);
+        
+        assertEquals(EventRing.NO_SEQUENCE, claimed.get(), "Slot 0 must not be reused before release");
+        assertTrue(waits.get() <= 2, "Producer spun through waitFor() " + waits.get() + " times");
+        ring.release(held);
+        producer.join(5_000);
+        assertEquals(2, claimed.get());
+    }
+    
+    @Test
+    void testMultipleProducersAndConsumersTransferEveryValue() throws InterruptedException {
+        EventRing<LongEvent> ring = new EventRing<>(64, LongEvent::new);
+        AtomicLong sum = new AtomicLong();
+        AtomicLong count = new AtomicLong();
+        List<Thread> consumers = new ArrayList<>();
+        for (int c = 0; c < 2; c++) {
+            consumers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    while (ring.consume(event -> {
+                        sum.addAndGet(event.value);
+                        count.incrementAndGet();
+                    })) {
+                        // handled one event
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 2; p++) {
+            producers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    for (long i = 1; i <= 50_000; i++) {
+                        ring.produce((event, value) -> event.value = value, i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        ring.close();
+        for (Thread consumer : consumers) {
+            consumer.join(10_000);
+        }
+        
+        assertEquals(100_000, count.get());
+        assertEquals(2 * (50_000L * 50_001 / 2), sum.get());
+        assertThrows(IllegalStateException.class, ring::tryClaim);
+    }
+    
+    @Test
+    void testSteadyStateTransferDoesNotAllocate() throws InterruptedException {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+            "Needs per-thread allocation counters");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        EventRing<LongEvent> ring = new EventRing<>(16, LongEvent::new);
+        
+        transfer(ring, 10_000);
+        long before = threads.getCurrentThreadAllocatedBytes();
+        long checksum = transfer(ring, 1_000_000);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        
+        assertEquals(1_000_000L * 999_999 / 2, checksum);
+        // A new 16-byte object per transfer would be 16 MB
+        assertTrue(allocated < 64 * 1024, "Allocated " + allocated + " bytes");
+    }
+    
+    private static long transfer(EventRing<LongEvent> ring, int transfers) throws InterruptedException {
+        long checksum = 0;
+        for (int i = 0; i < transfers; i++) {
+            ring.produce((event, value) -> event.value = value, i);
+            long sequence = ring.take();
+            checksum += ring.get(sequence).value;
+            ring.release(sequence);
+        }
+        return checksum;
+    }
+}
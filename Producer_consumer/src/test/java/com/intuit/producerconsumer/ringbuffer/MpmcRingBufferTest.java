@@ -0,0 +1,96 @@
+package com.intuit.producerconsumer.ringbuffer;
+
+import com.intuit.producerconsumer.Consumer;
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.Producer;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for the lock-free multi-producer/multi-consumer ring buffer.
+ */
+class MpmcRingBufferTest {
+    
+    @Test
+    void testOfferAndPollRespectBoundsAndOrder() {
+        MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(3);
+        assertEquals(4, buffer.capacity());
+        
+        // Wrap around the ring a few times
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(buffer.offer(lap * 10 + i));
+            }
+            assertFalse(buffer.offer(99), "Full buffer should reject offer");
+            for (int i = 0; i < 4; i++) {
+                assertEquals(lap * 10 + i, buffer.poll());
+            }
+            assertNull(buffer.poll(), "Empty buffer should return null");
+        }
+    }
+    
+    @Test
+    void testCapacityOneStillHoldsEveryOfferedItem() {
+        // One slot cannot tell "published" from "free", so the ring gets two
+        MpmcRingBuffer<String> buffer = new MpmcRingBuffer<>(1);
+        assertEquals(2, buffer.capacity());
+        assertTrue(buffer.offer("A"));
+        assertTrue(buffer.offer("B"));
+        assertFalse(buffer.offer("C"), "Full buffer must not overwrite unconsumed items");
+        assertEquals("A", buffer.poll());
+        assertEquals("B", buffer.poll());
+        assertNull(buffer.poll());
+    }
+    
+    @Test
+    void testMultipleProducersMultipleConsumersKeepPerProducerOrder() throws InterruptedException {
+        int producerCount = 4;
+        int consumerCount = 4;
+        int itemsPerProducer = 20_000;
+        MpmcRingBuffer<String> buffer = new MpmcRingBuffer<>(128);
+        
+        List<Thread> threads = new ArrayList<>();
+        List<Container<String>> destinations = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            Container<String> source = new Container<>("Source-" + p);
+            for (int i = 0; i < itemsPerProducer; i++) {
+                source.add(p + ":" + i);
+            }
+            threads.add(new Thread(new Producer<>("P" + p, source, buffer, 0)));
+        }
+        int itemsPerConsumer = producerCount * itemsPerProducer / consumerCount;
+        for (int c = 0; c < consumerCount; c++) {
+            Container<String> destination = new Container<>("Dest-" + c);
+            destinations.add(destination);
+            threads.add(new Thread(new Consumer<>("C" + c, buffer, destination, itemsPerConsumer, 0)));
+        }
+        
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join(20_000);
+            assertFalse(thread.isAlive(), "All threads should have completed");
+        }
+        
+        Set<String> seen = new HashSet<>();
+        for (Container<String> destination : destinations) {
+            // Within one consumer, items of the same producer must appear in produce order
+            int[] lastIndex = new int[producerCount];
+            Arrays.fill(lastIndex, -1);
+            for (String item : destination.getAll()) {
+                String[] parts = item.split(":");
+                int producer = Integer.parseInt(parts[0]);
+                int index = Integer.parseInt(parts[1]);
+                assertTrue(index > lastIndex[producer], "Per-producer FIFO order violated: " + item);
+                lastIndex[producer] = index;
+                assertTrue(seen.add(item), "Duplicate item: " + item);
+            }
+        }
+        assertEquals(producerCount * itemsPerProducer, seen.size(), "Every item should be consumed once");
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,84 @@
+package com.intuit.producerconsumer.ringbuffer;
+
+import com.intuit.producerconsumer.Consumer;
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.Producer;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the lock-free single-producer/single-consumer ring buffer.
+ */
+class SpscRingBufferTest {
+    
+    @Test
+    void testCapacityRoundedUpToPowerOfTwo() {
+        assertEquals(8, new SpscRingBuffer<String>(5).capacity());
+        assertEquals(16, new SpscRingBuffer<String>(16).capacity());
+        assertEquals(1, new SpscRingBuffer<String>(1).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new SpscRingBuffer<String>(0));
+    }
+    
+    @Test
+    void testOfferAndPollRespectBoundsAndOrder() {
+        SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(4);
+        
+        assertNull(buffer.poll(), "Empty buffer should return null");
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(5), "Full buffer should reject offer");
+        assertEquals(4, buffer.size());
+        
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, buffer.poll());
+        }
+        assertTrue(buffer.isEmpty());
+        assertThrows(NullPointerException.class, () -> buffer.offer(null));
+    }
+    
+    @Test
+    void testProducerConsumerTransferInOrder() throws InterruptedException {
+        int itemCount = 100_000;
+        Container<Integer> source = new Container<>("Source");
+        Container<Integer> destination = new Container<>("Destination");
+        for (int i = 0; i < itemCount; i++) {
+            source.add(i);
+        }
+        SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(64);
+        
+        Thread producer = new Thread(new Producer<>("P", source, buffer, 0));
+        Thread consumer = new Thread(new Consumer<>("C", buffer, destination, itemCount, 0));
+        producer.start();
+        consumer.start();
+        producer.join(10_000);
+        consumer.join(10_000);
+        
+        assertFalse(consumer.isAlive(), "Consumer should have completed");
+        assertEquals(source.getAll(), destination.getAll(), "Items should match in order");
+    }
+    
+    @Test
+    void testConsumeBlocksUntilItemArrives() throws InterruptedException {
+        SpscRingBuffer<String> buffer = new SpscRingBuffer<>(2);
+        CountDownLatch consumed = new CountDownLatch(1);
+        
+        Thread consumer = new Thread(() -> {
+            try {
+                if ("late".equals(buffer.consume())) {
+                    consumed.countDown();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        
+        assertFalse(consumed.await(100, TimeUnit.MILLISECONDS), "Consumer should still be waiting");
+        buffer.produce("late");
+        assertTrue(consumed.await(1, TimeUnit.SECONDS), "Consumer should receive the item");
+        consumer.join(1000);
+    }
+}
@@ -0,0 +1,170 @@
+package com.intuit.producerconsumer.spill;
+
+import com.intuit.producerconsumer.Consumer;
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.offheap.FrameSerializer;
+import com.intuit.producerconsumer.offheap.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for SpillingBuffer: FIFO order across memory and disk,
+ * bounded heap, file cleanup and the disk limit.
+ */
+class SpillingBufferTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void testBurstSpillsAndDrainsInFifoOrder() throws Exception {
+        SpillingBuffer<String> buffer = new SpillingBuffer<>(10, directory, StringSerializer.INSTANCE, 8, true,
+            Long.MAX_VALUE);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(buffer.offer("Item-" + i), "Spilling never rejects below the disk limit");
+        }
+        assertEquals(100, buffer.size());
+        assertTrue(buffer.getInMemoryCount() <= 10 + 2 * 8, "Heap holds the ring and two batches at most");
+        assertEquals(11, buffer.getSpillFileCount());
+        assertEquals(11, countSpillFiles());
+        
+        // Interleave consuming and producing: new items must queue behind the spilled ones
+        for (int i = 0; i < 50; i++) {
+            assertEquals("Item-" + i, buffer.poll());
+        }
+        for (int i = 100; i < 120; i++) {
+            buffer.produce("Item-" + i);
+        }
+        for (int i = 50; i < 120; i++) {
+            assertEquals("Item-" + i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+        assertEquals(0, countSpillFiles(), "Spill files are deleted once read");
+        assertEquals(0, buffer.getDiskBytes());
+        
+        // Back to the hot ring once everything spilled was consumed
+        long spilled = buffer.getSpilledItemCount();
+        buffer.produce("Item-120");
+        assertEquals(spilled, buffer.getSpilledItemCount());
+        assertEquals("Item-120", buffer.poll());
+    }
+    
+    @Test
+    void testConcurrentConsumerSeesEveryItemInOrder() throws Exception {
+        SpillingBuffer<String> buffer = new SpillingBuffer<>(64, directory, StringSerializer.INSTANCE, 100, false,
+            Long.MAX_VALUE);
+        Container<String> destination = new Container<>("Destination");
+        Thread consumer = new Thread(new Consumer<>("Consumer", buffer, destination, Consumer.UNTIL_CLOSED, 0, 32));
+        consumer.start();
+        for (int i = 0; i < 20_000; i++) {
+            buffer.produce("Item-" + i);
+        }
+        buffer.close();
+        consumer.join(10_000);
+        
+        assertEquals(20_000, destination.size());
+        for (int i = 0; i < 20_000; i++) {
+            assertEquals("Item-" + i, destination.get(i));
+        }
+    }
+    
+    @Test
+    void testDiskLimitRejectsOffersAndLeftoversAreRemoved() throws Exception {
+        Files.writeString(directory.resolve("00000000000000000007.spill"), "stale");
+        SpillingBuffer<String> buffer = new SpillingBuffer<>(2, directory, StringSerializer.INSTANCE, 2, false, 1);
+        assertEquals(0, countSpillFiles(), "Leftover spill files are deleted on creation");
+        
+        assertTrue(buffer.offer("a"));
+        assertTrue(buffer.offer("b"));
+        assertTrue(buffer.offer("c"));
+        assertTrue(buffer.offer("d"));
+        assertFalse(buffer.offer("e"), "One spill file exceeds the 1-byte limit");
+        
+        assertEquals("a", buffer.poll());
+        assertEquals("b", buffer.poll());
+        assertEquals("c", buffer.poll());
+        assertTrue(buffer.offer("e"), "Loading the file frees the disk");
+        assertEquals("d", buffer.poll());
+        assertEquals("e", buffer.poll());
+    }
+    
+    @Test
+    void testFailedSpillDoesNotAddTheItem() throws Exception {
+        Path spillDirectory = directory.resolve("spill");
+        SpillingBuffer<String> buffer = new SpillingBuffer<>(2, spillDirectory, StringSerializer.INSTANCE, 2, false,
+            Long.MAX_VALUE);
+        buffer.produce("A");
+        buffer.produce("B");
+        buffer.produce("C");
+        
+        // Replace the directory with a plain file so the next spill cannot be written
+        Files.delete(spillDirectory);
+        Files.createFile(spillDirectory);
+        assertThrows(UncheckedIOException.class, () -> buffer.produce("D"));
+        assertEquals(3, buffer.size(), "The failed item must not be counted");
+        
+        Files.delete(spillDirectory);
+        Files.createDirectory(spillDirectory);
+        buffer.produce("E");
+        for (String expected : new String[] {"A", "B", "C", "E"}) {
+            assertEquals(expected, buffer.poll());
+        }
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+    
+    @Test
+    void testFailedDecodeDeliversEveryItemOnce() throws Exception {
+        // Fails to decode "S2" the first time only
+        AtomicBoolean failed = new AtomicBoolean();
+        FrameSerializer<String> serializer = new FrameSerializer<>() {
+            @Override
+            public int sizeOf(String item) {
+                return StringSerializer.INSTANCE.sizeOf(item);
+            }
+            
+            @Override
+            public void write(String item, ByteBuffer frame) {
+                StringSerializer.INSTANCE.write(item, frame);
+            }
+            
+            @Override
+            public String read(ByteBuffer frame) {
+                String item = StringSerializer.INSTANCE.read(frame);
+                if (item.equals("S2") && failed.compareAndSet(false, true)) {
+                    throw new IllegalArgumentException("Cannot decode " + item);
+                }
+                return item;
+            }
+        };
+        SpillingBuffer<String> buffer = new SpillingBuffer<>(1, directory, serializer, 3, false, Long.MAX_VALUE);
+        buffer.produce("M0");
+        for (int i = 1; i <= 6; i++) {
+            buffer.produce("S" + i);
+        }
+        assertEquals(2, buffer.getSpillFileCount());
+        
+        assertEquals("M0", buffer.poll());
+        assertThrows(IllegalArgumentException.class, buffer::poll);
+        assertEquals(6, buffer.size(), "A failed decode takes no item");
+        for (int i = 1; i <= 6; i++) {
+            assertEquals("S" + i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+        assertEquals(0, countSpillFiles());
+    }
+    
+    private long countSpillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".spill")).count();
+        }
+    }
+}
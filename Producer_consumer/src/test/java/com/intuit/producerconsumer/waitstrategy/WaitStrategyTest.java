@@ -0,0 +1,101 @@
+package com.intuit.producerconsumer.waitstrategy;
+
+import com.intuit.producerconsumer.ringbuffer.MpmcRingBuffer;
+import com.intuit.producerconsumer.ringbuffer.SpscRingBuffer;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for the wait strategies plugged into the ring buffers.
+ */
+class WaitStrategyTest {
+    
+    private static List<WaitStrategy> strategies() {
+        return Arrays.asList(
+            new BusySpinWaitStrategy(),
+            new YieldingWaitStrategy(),
+            new SpinThenParkWaitStrategy(),
+            new ParkingWaitStrategy(),
+            new BlockingWaitStrategy());
+    }
+    
+    @Test
+    void testEveryStrategyHandsOffAllItemsInOrder() throws InterruptedException {
+        for (WaitStrategy strategy : strategies()) {
+            String name = strategy.getClass().getSimpleName();
+            // Tiny ring so both the full and the empty wait paths are exercised
+            SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(2, strategy);
+            int items = 2_000;
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            
+            Thread consumer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < items; i++) {
+                        assertEquals(i, buffer.consume());
+                    }
+                    assertNull(buffer.consume(), "Closed and drained buffer should return null");
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            });
+            consumer.start();
+            for (int i = 0; i < items; i++) {
+                buffer.produce(i);
+            }
+            buffer.close();
+            consumer.join(20_000);
+            
+            assertFalse(consumer.isAlive(), name + ": consumer should have finished");
+            assertNull(failure.get(), name + ": " + failure.get());
+        }
+    }
+    
+    @Test
+    void testWaitingConsumerCanBeInterrupted() throws InterruptedException {
+        for (WaitStrategy strategy : strategies()) {
+            String name = strategy.getClass().getSimpleName();
+            MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(4, strategy);
+            AtomicBoolean interrupted = new AtomicBoolean();
+            
+            Thread consumer = new Thread(() -> {
+                try {
+                    buffer.consume();
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+            });
+            consumer.start();
+            Thread.sleep(20);
+            consumer.interrupt();
+            consumer.join(5_000);
+            
+            assertFalse(consumer.isAlive(), name + ": consumer should have stopped");
+            assertTrue(interrupted.get(), name + ": consume() should throw InterruptedException");
+        }
+    }
+    
+    @Test
+    void testBlockingStrategyWakesUpOnSignal() throws InterruptedException {
+        // Recheck interval far above the test timeout: only signalAll() can wake the waiter
+        BlockingWaitStrategy strategy = new BlockingWaitStrategy(60_000_000_000L);
+        AtomicBoolean ready = new AtomicBoolean();
+        
+        Thread waiter = new Thread(() -> {
+            try {
+                strategy.waitFor(ready::get);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        Thread.sleep(20);
+        ready.set(true);
+        strategy.signalAll();
+        waiter.join(5_000);
+        assertFalse(waiter.isAlive(), "signalAll() should wake the blocked thread");
+    }
+}
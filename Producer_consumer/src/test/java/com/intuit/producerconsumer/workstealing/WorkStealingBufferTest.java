@@ -0,0 +1,114 @@
+package com.intuit.producerconsumer.workstealing;
+
+import com.intuit.producerconsumer.BoundedBuffer;
+import com.intuit.producerconsumer.Consumer;
+import com.intuit.producerconsumer.Container;
+import com.intuit.producerconsumer.Producer;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for the work-stealing buffer.
+ */
+class WorkStealingBufferTest {
+    
+    @Test
+    void testOwnerPopsHeadAndThiefStealsTail() {
+        WorkStealingBuffer<Integer> buffer = new WorkStealingBuffer<>(4, 2);
+        BoundedBuffer<Integer> owner = buffer.worker(0);
+        BoundedBuffer<Integer> thief = buffer.worker(1);
+        
+        // Fill the buffer through onto worker 0's deque
+        assertTrue(owner.offer(1));
+        assertTrue(owner.offer(2));
+        assertTrue(owner.offer(3));
+        assertTrue(owner.offer(4));
+        assertFalse(buffer.offer(5), "Global capacity should be enforced");
+        assertEquals(4, buffer.size());
+        
+        assertEquals(1, owner.poll(), "Owner should take the oldest item");
+        assertEquals(4, thief.poll(), "Thief should take from the tail");
+        assertEquals(1, buffer.getLocalTakeCount());
+        assertEquals(1, buffer.getStealCount());
+        assertEquals(2, buffer.size());
+    }
+    
+    @Test
+    void testIdleConsumersStealAndEveryItemIsConsumedOnce() throws InterruptedException {
+        int producerCount = 3;
+        int consumerCount = 4;
+        int itemsPerProducer = 10_000;
+        WorkStealingBuffer<String> buffer = new WorkStealingBuffer<>(64, consumerCount);
+        
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            Container<String> source = new Container<>("Source-" + p);
+            for (int i = 0; i < itemsPerProducer; i++) {
+                source.add(p + ":" + i);
+            }
+            producers.add(new Thread(new Producer<>("P" + p, source, buffer, 0)));
+        }
+        List<Thread> consumers = new ArrayList<>();
+        List<Container<String>> destinations = new ArrayList<>();
+        for (int c = 0; c < consumerCount; c++) {
+            Container<String> destination = new Container<>("Dest-" + c);
+            destinations.add(destination);
+            // Consumer 0 is slow, so the others have to steal from its deque
+            consumers.add(new Thread(new Consumer<>("C" + c, buffer.worker(c), destination, c == 0 ? 1 : 0)));
+        }
+        
+        consumers.forEach(Thread::start);
+        producers.forEach(Thread::start);
+        for (Thread producer : producers) {
+            producer.join(20_000);
+            assertFalse(producer.isAlive(), "Producers should have completed");
+        }
+        buffer.close();
+        for (Thread consumer : consumers) {
+            consumer.join(20_000);
+            assertFalse(consumer.isAlive(), "Consumers should stop once the buffer is closed and empty");
+        }
+        
+        Set<String> seen = new HashSet<>();
+        for (Container<String> destination : destinations) {
+            for (String item : destination.getAll()) {
+                assertTrue(seen.add(item), "Duplicate item: " + item);
+            }
+        }
+        assertEquals(producerCount * itemsPerProducer, seen.size(), "Every item should be consumed once");
+        assertTrue(buffer.getStealCount() > 0, "Fast consumers should have stolen work");
+        assertTrue(buffer.isEmpty());
+        assertThrows(IllegalStateException.class, () -> buffer.produce("late"));
+    }
+    
+    @Test
+    void testCloseWakesProducerBlockedOnFullBuffer() throws InterruptedException {
+        WorkStealingBuffer<String> buffer = new WorkStealingBuffer<>(2, 2);
+        buffer.produce("a");
+        buffer.produce("b");
+        
+        List<Throwable> failures = new ArrayList<>();
+        Thread producer = new Thread(() -> {
+            try {
+                buffer.produce("c");
+            } catch (Throwable t) {
+                failures.add(t);
+            }
+        });
+        producer.start();
+        buffer.close();
+        producer.join(5_000);
+        
+        assertFalse(producer.isAlive(), "close() should wake a producer waiting for a free slot");
+        assertEquals(1, failures.size());
+        assertInstanceOf(IllegalStateException.class, failures.get(0));
+        assertEquals(2, buffer.size(), "Items buffered before close() are still counted");
+        assertNotNull(buffer.consume());
+        assertNotNull(buffer.consume());
+        assertNull(buffer.consume(), "Closed and drained buffer should report end of stream");
+    }
+}
@@ -66,10 +66,10 @@ run_check "Java installation"
 if command -v java &> /dev/null; then
     JAVA_VERSION=$(java -version 2>&1 | awk -F '"' '/version/ {print $2}')
     JAVA_MAJOR_VERSION=$(echo $JAVA_VERSION | cut -d'.' -f1)
-    if [ "$JAVA_MAJOR_VERSION" -ge 11 ] || [ "$JAVA_MAJOR_VERSION" -eq 1 ]; then
+    if [ "$JAVA_MAJOR_VERSION" -ge 21 ]; then
         print_success "Java $JAVA_VERSION is installed and compatible"
     else
-        print_error "Java version $JAVA_VERSION is too old (need 11+)"
+        print_error "Java version $JAVA_VERSION is too old (need 21+)"
     fi
 else
     print_error "Java is not installed"
@@ -135,6 +135,14 @@ if [ "$ALL_FILES_EXIST" = true ]; then
     print_success "All core source files present"
 fi
 
+# Check generated primitive variants match their templates
+run_check "Generated primitive sources"
+if ./generate-primitives.sh --check > /dev/null; then
+    print_success "Primitive variants are up to date with their templates"
+else
+    print_error "Primitive variants are stale - run ./generate-primitives.sh"
+fi
+
 ################################################################################
 # 3. Compilation Verification
 ################################################################################